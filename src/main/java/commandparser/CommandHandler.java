@@ -1,26 +1,48 @@
 package commandparser;
 
+import data.CompletionTrie;
 import data.TaskManager;
 import data.exceptions.TaskManagerException;
 import time.MonthView;
 import time.WeekView;
 import ui.AvatarUi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 /**
  * The CommandHandler class handles user commands by delegating to appropriate methods based on the command type.
  * It provides methods to handle various commands such as "next", "prev", "update", "add", "delete", "mark", "free",
- * "priority", "month", "week", "help", and "quit".
+ * "priority", "id", "filter", "find", "complete", "repeat", "repeats", "unrepeat", "begin", "commit", "rollback",
+ * "undo", "redo", "month", "week", "help", and "quit".
+ * The "update", "delete", "mark" and "priority" commands take either the day and index of a task, or its ID.
+ * The "complete" command offers completions of a partly typed command, from a trie of the command words ranked by
+ * how often and how lately they were used, or from the task descriptions kept by the TaskManager.
+ * Commands entered between "begin" and "commit" are saved together. If a command that changes tasks fails in
+ * between, the whole batch is rolled back and the changes after it are rejected until "commit" or "rollback" is
+ * entered, so that the batch is either saved in full or not at all.
+ * The "undo" and "redo" commands step back and forth through the changes made by earlier commands, with a committed
+ * batch undone as a whole.
  * The class uses a Scanner object for user input, a TaskManager object for managing tasks, a WeekView object for
  * displaying weekly tasks, and a MonthView object for displaying monthly tasks.
  */
 public class CommandHandler {
+    private static final List<String> COMMANDS = List.of("next", "prev", "update", "add", "delete", "mark", "free",
+            "priority", "id", "filter", "find", "complete", "repeat", "repeats", "unrepeat", "begin", "commit",
+            "rollback", "undo", "redo", "month", "week", "help", "quit");
+    private static final int MAX_COMPLETIONS = 5;
+    private static final int COMMAND_HALF_LIFE = 20;
+    private static final int MAX_COMMAND_HALF_LIVES = 16;
+
     private final Scanner scanner;
     private final TaskManager taskManager;
     private final WeekView weekView;
     private final MonthView monthView;
     private boolean inMonthView;
-
+    private final CompletionTrie commandTrie = new CompletionTrie();
+    private int commandUseCount = 0;
 
     /**
      * Constructs a CommandHandler with the specified dependencies.
@@ -36,12 +58,14 @@ public class CommandHandler {
         this.weekView = weekView;
         this.monthView = monthView;
         this.inMonthView = false;
+        COMMANDS.forEach(command -> commandTrie.add(command, 1));
     }
 
     /**
      * Handles user commands by delegating to appropriate methods based on the command type.
      */
     public void handleCommand() {
+        taskManager.reloadChangedMonths();
         AvatarUi.printAvatar();
         if (!inMonthView) {
             weekView.printView(taskManager);
@@ -51,8 +75,12 @@ public class CommandHandler {
 
         System.out.println("Enter help to learn commands");
         String input = scanner.nextLine().trim().toLowerCase();
+        taskManager.reloadChangedMonths();
         String[] parts = input.split(",\\s*");
         String command = parts[0];
+        if (COMMANDS.contains(command)) {
+            recordCommandUse(command);
+        }
 
         switch (command) {
         case "next":
@@ -79,6 +107,42 @@ public class CommandHandler {
         case "priority":
             handlePriorityCommand(parts);
             break;
+        case "id":
+            handleIdCommand(parts);
+            break;
+        case "filter":
+            handleFilterCommand(parts);
+            break;
+        case "find":
+            handleFindCommand(parts);
+            break;
+        case "complete":
+            handleCompleteCommand(parts);
+            break;
+        case "repeat":
+            handleRepeatCommand(parts);
+            break;
+        case "repeats":
+            taskManager.repeatsManager();
+            break;
+        case "unrepeat":
+            handleUnrepeatCommand(parts);
+            break;
+        case "begin":
+            handleBeginCommand();
+            break;
+        case "commit":
+            handleCommitCommand();
+            break;
+        case "rollback":
+            handleRollbackCommand();
+            break;
+        case "undo":
+            handleUndoCommand();
+            break;
+        case "redo":
+            handleRedoCommand();
+            break;
         case "month":
             handleMonthCommand();
             break;
@@ -126,13 +190,18 @@ public class CommandHandler {
     private void handleUpdateCommand(String[] parts) {
         try {
             StringParser.validateUpdateCommand(parts);
+            if (StringParser.isTaskIdCommand(parts)) {
+                taskManager.updateManager(scanner, weekView, inMonthView, StringParser.parseTaskId(parts[1]),
+                        StringParser.parseTaskDescription(parts[2]));
+                return;
+            }
             int day = StringParser.parseTaskIndex(parts[1]);
             int taskIndex = StringParser.parseTaskIndex(parts[2]);
             String newDescription = StringParser.parseTaskDescription(parts[3]);
             taskManager.updateManager(scanner, weekView, monthView, inMonthView, taskManager, day,
                     taskIndex, newDescription);
         } catch (TaskManagerException e) {
-            System.out.println(e.getMessage());
+            handleChangeError(e);
         }
     }
 
@@ -151,7 +220,39 @@ public class CommandHandler {
             taskManager.addManager(scanner, weekView, monthView, inMonthView, "add", day,
                     taskTypeString, taskDescription);
         } catch (TaskManagerException e) {
-            System.out.println(e.getMessage());
+            handleChangeError(e);
+        }
+    }
+
+    /**
+     * Handles the "repeat" command to add recurring tasks.
+     *
+     * @param parts the array of command parts.
+     */
+    private void handleRepeatCommand(String[] parts) {
+        try {
+            StringParser.validateRepeatCommand(parts);
+            String day = parts[1].trim();
+            StringParser.parseTaskIndex(day);
+            String taskDescription = StringParser.parseTaskDescription(parts[5]);
+            taskManager.repeatManager(scanner, weekView, monthView, inMonthView, day, parts[2], parts[3],
+                    parts[4].trim(), taskDescription);
+        } catch (TaskManagerException e) {
+            handleChangeError(e);
+        }
+    }
+
+    /**
+     * Handles the "unrepeat" command to delete recurring tasks.
+     *
+     * @param parts the array of command parts.
+     */
+    private void handleUnrepeatCommand(String[] parts) {
+        try {
+            StringParser.validateUnrepeatCommand(parts);
+            taskManager.unrepeatManager(StringParser.parseTaskIndex(parts[1].trim()));
+        } catch (TaskManagerException e) {
+            handleChangeError(e);
         }
     }
 
@@ -163,12 +264,16 @@ public class CommandHandler {
     private void handleDeleteCommand(String[] parts) {
         try {
             StringParser.validateDeleteCommand(parts);
+            if (StringParser.isTaskIdCommand(parts)) {
+                taskManager.deleteManager(StringParser.parseTaskId(parts[1]));
+                return;
+            }
             String day = parts[1].trim();
             int taskIndex = StringParser.parseTaskIndex(parts[2]);
             int dayIndex = StringParser.parseTaskIndex(day);
-            TaskManager.deleteManager(weekView, monthView, inMonthView, taskManager, day, taskIndex);
+            taskManager.deleteManager(weekView, monthView, inMonthView, taskManager, day, taskIndex);
         } catch (TaskManagerException e) {
-            System.out.println(e.getMessage());
+            handleChangeError(e);
         }
     }
 
@@ -180,10 +285,87 @@ public class CommandHandler {
     private void handleMarkCommand(String[] parts) {
         try {
             StringParser.validateMarkCommand(parts);
+            if (StringParser.isTaskIdCommand(parts)) {
+                taskManager.markManager(StringParser.parseTaskId(parts[1]));
+                return;
+            }
             String day = parts[1].trim();
             int taskIndex = StringParser.parseTaskIndex(parts[2]);
             int dayIndex = StringParser.parseTaskIndex(day);
             taskManager.markManager(weekView, monthView, inMonthView, day, taskIndex);
+        } catch (TaskManagerException e) {
+            handleChangeError(e);
+        }
+    }
+
+    /**
+     * Prints the error of a command that changes tasks, and rolls back the open batch, if there is one. The batch
+     * stays open in a failed state until "commit" or "rollback" is entered, so that the commands after the failed one
+     * are rejected rather than saved one by one.
+     *
+     * @param e the exception thrown by the command.
+     */
+    private void handleChangeError(TaskManagerException e) {
+        System.out.println(e.getMessage());
+        if (taskManager.isInBatch()) {
+            try {
+                taskManager.failBatchManager();
+            } catch (TaskManagerException batchException) {
+                System.out.println(batchException.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Handles the "begin" command to start a batch of changes that are saved together.
+     */
+    private void handleBeginCommand() {
+        try {
+            taskManager.beginManager();
+        } catch (TaskManagerException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the "commit" command to save the changes of the open batch.
+     */
+    private void handleCommitCommand() {
+        try {
+            taskManager.commitManager();
+        } catch (TaskManagerException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the "rollback" command to undo the changes of the open batch.
+     */
+    private void handleRollbackCommand() {
+        try {
+            taskManager.rollbackManager();
+        } catch (TaskManagerException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the "undo" command to undo the most recent change.
+     */
+    private void handleUndoCommand() {
+        try {
+            taskManager.undoManager();
+        } catch (TaskManagerException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the "redo" command to redo the most recently undone change.
+     */
+    private void handleRedoCommand() {
+        try {
+            taskManager.redoManager();
         } catch (TaskManagerException e) {
             System.out.println(e.getMessage());
         }
@@ -209,16 +391,114 @@ public class CommandHandler {
     private void handlePriorityCommand(String[] parts) {
         try {
             StringParser.validatePriorityCommand(parts);
+            if (StringParser.isTaskIdCommand(parts)) {
+                taskManager.priorityManager(StringParser.parseTaskId(parts[1]),
+                        StringParser.parsePriorityLevel(parts[2]));
+                return;
+            }
             String day = parts[1].trim();
             int taskIndex = StringParser.parseTaskIndex(parts[2]);
             String priorityLevel = StringParser.parsePriorityLevel(parts[3]);
             int dayIndex = StringParser.parseTaskIndex(day);
             taskManager.priorityManager(weekView, monthView, inMonthView, day, taskIndex, priorityLevel);
+        } catch (TaskManagerException e) {
+            handleChangeError(e);
+        }
+    }
+
+    /**
+     * Handles the "id" command to show the ID of a task.
+     *
+     * @param parts the array of command parts.
+     */
+    private void handleIdCommand(String[] parts) {
+        try {
+            StringParser.validateIdCommand(parts);
+            String day = parts[1].trim();
+            int taskIndex = StringParser.parseTaskIndex(parts[2]);
+            int dayIndex = StringParser.parseTaskIndex(day);
+            taskManager.idManager(weekView, monthView, inMonthView, day, taskIndex);
         } catch (TaskManagerException e) {
             System.out.println(e.getMessage());
         }
     }
 
+    /**
+     * Handles the "filter" command to list the tasks with the given priority levels, marked statuses and types.
+     *
+     * @param parts the array of command parts.
+     */
+    private void handleFilterCommand(String[] parts) {
+        try {
+            StringParser.validateFilterCommand(parts);
+            taskManager.filterManager(Arrays.copyOfRange(parts, 1, parts.length));
+        } catch (TaskManagerException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the "find" command to search for tasks by the words in their descriptions.
+     *
+     * @param parts the array of command parts.
+     */
+    private void handleFindCommand(String[] parts) {
+        try {
+            StringParser.validateFindCommand(parts);
+            taskManager.findManager(String.join(" ", Arrays.copyOfRange(parts, 1, parts.length)));
+        } catch (TaskManagerException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the "complete" command to list completions of a partly typed command. A command word is completed
+     * from the command words, and the description of an "add" or "update" command from the task descriptions.
+     *
+     * @param parts the array of command parts, which are followed by the parts of the partly typed command.
+     */
+    private void handleCompleteCommand(String[] parts) {
+        try {
+            StringParser.validateCompleteCommand(parts);
+        } catch (TaskManagerException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+        String[] commandParts = Arrays.copyOfRange(parts, 1, parts.length);
+        String lastPart = commandParts[commandParts.length - 1];
+        List<String> completions = new ArrayList<>();
+        if (commandParts.length == 1) {
+            completions.addAll(commandTrie.complete(lastPart, MAX_COMPLETIONS));
+        } else if (StringParser.isDescriptionLast(commandParts)) {
+            String typedStart = String.join(", ", Arrays.copyOf(commandParts, commandParts.length - 1)) + ", ";
+            for (String description : taskManager.completeDescription(lastPart, MAX_COMPLETIONS)) {
+                completions.add(typedStart + description);
+            }
+        }
+
+        if (completions.isEmpty()) {
+            System.out.println("No completions found.");
+            return;
+        }
+        System.out.println("Completions:");
+        completions.forEach(System.out::println);
+    }
+
+    /**
+     * Adds a use of a command word to the command trie, with a weight that doubles every COMMAND_HALF_LIFE uses so
+     * that recent uses count for more. The trie is scaled down whenever the weights grow too large.
+     *
+     * @param command the command word.
+     */
+    private void recordCommandUse(String command) {
+        commandUseCount++;
+        if (commandUseCount > COMMAND_HALF_LIFE * MAX_COMMAND_HALF_LIVES) {
+            commandTrie.scale(Math.pow(2, -MAX_COMMAND_HALF_LIVES));
+            commandUseCount -= COMMAND_HALF_LIFE * MAX_COMMAND_HALF_LIVES;
+        }
+        commandTrie.add(command, Math.pow(2, (double) commandUseCount / COMMAND_HALF_LIFE));
+    }
+
     /**
      * Handles the "month" command to switch to the month view.
      */
@@ -242,8 +522,14 @@ public class CommandHandler {
 
     /**
      * Handles the "quit" command to exit the calendar application.
+     * Waits for any unsaved changes to be written before exiting. The changes of a batch that was not committed are
+     * not saved.
      */
     private void handleQuitCommand() {
+        if (taskManager.isInBatch()) {
+            System.out.println("The open batch was not committed, so its changes were not saved.");
+        }
+        taskManager.flushChanges();
         System.out.println("Exiting Calendar...");
         System.exit(0);
     }
@@ -45,6 +45,31 @@ public class StringParser {
         }
     }
 
+    /**
+     * Checks if a command refers to a task by its ID, given as # followed by the ID, in place of its day and index.
+     *
+     * @param parts the array of command parts.
+     * @return true if the second part of the command is a task ID, false otherwise.
+     */
+    public static boolean isTaskIdCommand(String[] parts) {
+        return parts.length > 1 && parts[1].trim().startsWith("#");
+    }
+
+    /**
+     * Parses a task ID string, given as # followed by the ID, into a long.
+     *
+     * @param idString the string representing the task ID.
+     * @return the long value of the task ID.
+     * @throws TaskManagerException if the task ID string is not # followed by a valid integer.
+     */
+    public static long parseTaskId(String idString) throws TaskManagerException {
+        try {
+            return Long.parseLong(idString.trim().substring(1));
+        } catch (NumberFormatException e) {
+            throw new TaskManagerException("Invalid task ID. Please enter # followed by a valid integer.");
+        }
+    }
+
     /**
      * Parses a task description string.
      *
@@ -85,6 +110,32 @@ public class StringParser {
         }
     }
 
+    /**
+     * Validates the format of a "repeat" command.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateRepeatCommand(String[] parts) throws TaskManagerException {
+        if (parts.length != 6) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "repeat, <day>, <rule>, <limit>, <taskType>, <taskDescription>");
+        }
+    }
+
+    /**
+     * Validates the format of an "unrepeat" command.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateUnrepeatCommand(String[] parts) throws TaskManagerException {
+        if (parts.length != 2) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "unrepeat, <recurringTaskNumber>");
+        }
+    }
+
     /**
      * Validates the format of an "update" command.
      *
@@ -92,9 +143,9 @@ public class StringParser {
      * @throws TaskManagerException if the command format is invalid.
      */
     public static void validateUpdateCommand(String[] parts) throws TaskManagerException {
-        if (parts.length != 4) {
+        if (parts.length != (isTaskIdCommand(parts) ? 3 : 4)) {
             throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
-                    "update, <day>, <taskIndex>, <newDescription>");
+                    "update, <day>, <taskIndex>, <newDescription> or update, #<taskId>, <newDescription>");
         }
     }
 
@@ -105,9 +156,9 @@ public class StringParser {
      * @throws TaskManagerException if the command format is invalid.
      */
     public static void validateDeleteCommand(String[] parts) throws TaskManagerException {
-        if (parts.length != 3) {
+        if (parts.length != (isTaskIdCommand(parts) ? 2 : 3)) {
             throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
-                    "delete, <day>, <taskIndex>");
+                    "delete, <day>, <taskIndex> or delete, #<taskId>");
         }
     }
 
@@ -118,9 +169,81 @@ public class StringParser {
      * @throws TaskManagerException if the command format is invalid.
      */
     public static void validateMarkCommand(String[] parts) throws TaskManagerException {
+        if (parts.length != (isTaskIdCommand(parts) ? 2 : 3)) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "mark, <day>, <taskIndex> or mark, #<taskId>");
+        }
+    }
+
+    /**
+     * Validates the format of a "filter" command.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateFilterCommand(String[] parts) throws TaskManagerException {
+        if (parts.length < 2) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "filter, <criterion>, <criterion>, ...");
+        }
+    }
+
+    /**
+     * Validates the format of a "find" command.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateFindCommand(String[] parts) throws TaskManagerException {
+        if (parts.length < 2 || parts[1].isBlank()) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "find, <words>");
+        }
+    }
+
+    /**
+     * Validates the format of a "complete" command.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateCompleteCommand(String[] parts) throws TaskManagerException {
+        if (parts.length < 2) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "complete, <partOfCommand>");
+        }
+    }
+
+    /**
+     * Checks whether the last part of a partly typed command is a task description, as it is for the description
+     * of an "add", "update" or "repeat" command.
+     *
+     * @param commandParts the array of the parts of the partly typed command.
+     * @return true if the last part is a task description, false otherwise.
+     */
+    public static boolean isDescriptionLast(String[] commandParts) {
+        switch (commandParts[0]) {
+        case "add":
+            return commandParts.length == 4;
+        case "update":
+            return commandParts.length == (isTaskIdCommand(commandParts) ? 3 : 4);
+        case "repeat":
+            return commandParts.length == 6;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Validates the format of an "id" command.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateIdCommand(String[] parts) throws TaskManagerException {
         if (parts.length != 3) {
             throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
-                    "mark, <day>, <taskIndex>");
+                    "id, <day>, <taskIndex>");
         }
     }
 
@@ -138,9 +261,9 @@ public class StringParser {
      * @throws TaskManagerException if the command format is invalid.
      */
     public static void validatePriorityCommand(String[] parts) throws TaskManagerException {
-        if (parts.length != 4) {
+        if (parts.length != (isTaskIdCommand(parts) ? 3 : 4)) {
             throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
-                    "priority, <day>, <taskIndex>, <priorityLevel>");
+                    "priority, <day>, <taskIndex>, <priorityLevel> or priority, #<taskId>, <priorityLevel>");
         }
     }
 }
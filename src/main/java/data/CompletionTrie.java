@@ -0,0 +1,316 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The CompletionTrie class is a radix trie of strings, such as task descriptions or command words, that finds the
+ * highest scoring strings starting with a prefix, so that they can be offered as completions.
+ * The score of a string is the sum of the weights it was added with, less those it was removed with, so that
+ * strings added more often rank higher, and callers rank recent strings higher by giving them larger weights.
+ * Each edge is labelled with a run of characters, so that a chain of nodes with one child each is kept as a single
+ * node. Each node also keeps the highest score of the strings below it, so that the best completions are found by
+ * visiting the most promising nodes first, without going through every string starting with the prefix.
+ * A CompletionTrie is not thread safe.
+ */
+public class CompletionTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node("");
+    private int size = 0;
+
+    /**
+     * Node of the trie, holding the string spelt by the labels from the root to it if its count is above 0.
+     */
+    private static class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private int count = 0;
+        private double score = 0;
+        private double bestScore = Double.NEGATIVE_INFINITY;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private boolean isString() {
+            return count > 0;
+        }
+
+        /**
+         * Finds the child whose label starts with a character. Children are kept sorted by that character.
+         *
+         * @param c The character.
+         * @return Index of the child, or (-(insertion point) - 1) if there is no such child.
+         */
+        private int findChild(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char middleChar = children[middle].label.charAt(0);
+                if (middleChar < c) {
+                    low = middle + 1;
+                } else if (middleChar > c) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -low - 1;
+        }
+
+        private void insertChild(int index, Node child) {
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildren[index] = child;
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            children = newChildren;
+        }
+
+        private void removeChild(int index) {
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, newChildren.length - index);
+            children = newChildren;
+        }
+
+        private void updateBestScore() {
+            bestScore = isString() ? score : Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                bestScore = Math.max(bestScore, child.bestScore);
+            }
+        }
+    }
+
+    /**
+     * Node or string waiting to be visited while finding completions. Candidates with higher scores come first,
+     * then those whose strings come first in alphabetical order, with nodes coming before their own strings.
+     */
+    private static class Candidate implements Comparable<Candidate> {
+        private final Node node;
+        private final String string;
+        private final double score;
+        private final boolean isComplete;
+
+        private Candidate(Node node, String string, double score, boolean isComplete) {
+            this.node = node;
+            this.string = string;
+            this.score = score;
+            this.isComplete = isComplete;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int comparison = Double.compare(other.score, score);
+            if (comparison == 0) {
+                comparison = string.compareTo(other.string);
+            }
+            if (comparison == 0) {
+                comparison = Boolean.compare(isComplete, other.isComplete);
+            }
+            return comparison;
+        }
+    }
+
+    /**
+     * Adds a string to the trie, or adds to its score if it is already in the trie.
+     *
+     * @param string The string.
+     * @param weight The weight added to the score of the string, which is above 0.
+     */
+    public void add(String string, double weight) {
+        assert weight > 0 : "Completion weight must be positive!";
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int depth = 0;
+        while (depth < string.length()) {
+            int index = node.findChild(string.charAt(depth));
+            if (index < 0) {
+                Node leaf = new Node(string.substring(depth));
+                node.insertChild(-index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int commonLength = getCommonLength(child.label, string, depth);
+            if (commonLength < child.label.length()) {
+                Node parent = new Node(child.label.substring(0, commonLength));
+                child.label = child.label.substring(commonLength);
+                parent.children = new Node[]{child};
+                parent.bestScore = child.bestScore;
+                node.children[index] = parent;
+                child = parent;
+            }
+            node = child;
+            path.add(node);
+            depth += commonLength;
+        }
+        if (!node.isString()) {
+            size++;
+        }
+        node.count++;
+        node.score += weight;
+        updateBestScores(path);
+    }
+
+    /**
+     * Removes a string from the trie once, taking its weight off its score. The string is only removed from the
+     * trie when it has been removed as many times as it was added. Strings not in the trie are ignored.
+     *
+     * @param string The string.
+     * @param weight The weight the string was added with.
+     */
+    public void remove(String string, double weight) {
+        List<Node> path = findPath(string);
+        if (path == null) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        node.count--;
+        node.score -= weight;
+        if (node.isString()) {
+            updateBestScores(path);
+            return;
+        }
+        node.score = 0;
+        size--;
+        if (node.children.length == 0 && path.size() > 1) {
+            Node parent = path.get(path.size() - 2);
+            parent.removeChild(parent.findChild(node.label.charAt(0)));
+            path.remove(path.size() - 1);
+            node = parent;
+        }
+        if (!node.isString() && node.children.length == 1 && path.size() > 1) {
+            Node parent = path.get(path.size() - 2);
+            Node child = node.children[0];
+            child.label = node.label + child.label;
+            parent.children[parent.findChild(child.label.charAt(0))] = child;
+            path.set(path.size() - 1, child);
+        }
+        updateBestScores(path);
+    }
+
+    /**
+     * Returns the highest scoring strings starting with a prefix, highest score first, and in alphabetical order
+     * among strings with the same score.
+     *
+     * @param prefix The prefix.
+     * @param limit The largest number of strings returned.
+     * @return The strings.
+     */
+    public List<String> complete(String prefix, int limit) {
+        List<String> completions = new ArrayList<>();
+        Node node = root;
+        String nodeString = "";
+        int depth = 0;
+        while (depth < prefix.length()) {
+            int index = node.findChild(prefix.charAt(depth));
+            if (index < 0) {
+                return completions;
+            }
+            node = node.children[index];
+            int commonLength = getCommonLength(node.label, prefix, depth);
+            if (commonLength < Math.min(node.label.length(), prefix.length() - depth)) {
+                return completions;
+            }
+            nodeString += node.label;
+            depth += node.label.length();
+        }
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        candidates.add(new Candidate(node, nodeString, node.bestScore, false));
+        while (!candidates.isEmpty() && completions.size() < limit) {
+            Candidate candidate = candidates.poll();
+            if (candidate.isComplete) {
+                completions.add(candidate.string);
+                continue;
+            }
+            if (candidate.node.isString()) {
+                candidates.add(new Candidate(candidate.node, candidate.string, candidate.node.score, true));
+            }
+            for (Node child : candidate.node.children) {
+                candidates.add(new Candidate(child, candidate.string + child.label, child.bestScore, false));
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * Multiplies the score of every string by a factor, which does not change their order. Used by callers whose
+     * weights grow over time, to keep the scores within range.
+     *
+     * @param factor The factor, which is above 0.
+     */
+    public void scale(double factor) {
+        assert factor > 0 : "Scale factor must be positive!";
+        scale(root, factor);
+    }
+
+    /**
+     * Returns the number of strings in the trie.
+     *
+     * @return Number of strings.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static void scale(Node node, double factor) {
+        node.score *= factor;
+        node.bestScore *= factor;
+        for (Node child : node.children) {
+            scale(child, factor);
+        }
+    }
+
+    /**
+     * Finds the nodes from the root to the node holding a string.
+     *
+     * @param string The string.
+     * @return The nodes, or null if the string is not in the trie.
+     */
+    private List<Node> findPath(String string) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int depth = 0;
+        while (depth < string.length()) {
+            int index = node.findChild(string.charAt(depth));
+            if (index < 0 || !string.startsWith(node.children[index].label, depth)) {
+                return null;
+            }
+            node = node.children[index];
+            path.add(node);
+            depth += node.label.length();
+        }
+        return node.isString() ? path : null;
+    }
+
+    private static void updateBestScores(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).updateBestScore();
+        }
+    }
+
+    /**
+     * Returns the length of the common prefix of a label and the part of a string from an offset.
+     *
+     * @param label The label.
+     * @param string The string.
+     * @param offset The offset into the string.
+     * @return Length of the common prefix.
+     */
+    private static int getCommonLength(String label, String string, int offset) {
+        int maxLength = Math.min(label.length(), string.length() - offset);
+        int length = 0;
+        while (length < maxLength && label.charAt(length) == string.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -1,25 +1,46 @@
 package data;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 /**
  * Represents a deadline task.
  * A Deadline is a task that needs to be done before a specific date and time.
  */
 public class Deadline extends Task {
-    protected String byDate;
-    protected String byTime;
+    private final long by;
+    private final String[] unparsedFields;
 
     /**
      * Constructor for new tasks given its name.
      * Tasks are initialized as incomplete.
      * Deadlines are also considered as tasks.
+     * The date and time are parsed once here. If either of them is not valid, both are kept as they are given
+     * instead.
      *
      * @param name The name of the task to be created.
      * @param byDate The date of the task's deadline as a string.
      */
     public Deadline(String name, String byDate, String byTime) {
         super(name);
-        this.byDate = byDate;
-        this.byTime = byTime;
+        this.by = TaskDateTime.parse(byDate, byTime);
+        this.unparsedFields = by == TaskDateTime.NONE
+                ? new String[] {TaskFieldPool.intern(byDate), TaskFieldPool.intern(byTime)}
+                : null;
+    }
+
+    /**
+     * Constructor for new tasks given its name and the date and time of its deadline.
+     * Tasks are initialized as incomplete.
+     *
+     * @param name The name of the task to be created.
+     * @param byDate The date of the task's deadline.
+     * @param byTime The time of the task's deadline.
+     */
+    public Deadline(String name, LocalDate byDate, LocalTime byTime) {
+        super(name);
+        this.by = TaskDateTime.of(byDate, byTime);
+        this.unparsedFields = null;
     }
 
     /**
@@ -30,7 +51,7 @@ public class Deadline extends Task {
      */
     @Override
     public String getByDate() {
-        return byDate;
+        return unparsedFields == null ? TaskDateTime.formatDate(by) : unparsedFields[0];
     }
 
     /**
@@ -41,7 +62,29 @@ public class Deadline extends Task {
      */
     @Override
     public String getByTime() {
-        return byTime;
+        return unparsedFields == null ? TaskDateTime.formatTime(by) : unparsedFields[1];
+    }
+
+    /**
+     * Getter for the by date of Deadline task as a LocalDate.
+     * Overrides super dummy function.
+     *
+     * @return The by date, or null if the date and time are not valid.
+     */
+    @Override
+    public LocalDate getByLocalDate() {
+        return unparsedFields == null ? TaskDateTime.toDate(by) : null;
+    }
+
+    /**
+     * Getter for the by time of Deadline task as a LocalTime.
+     * Overrides super dummy function.
+     *
+     * @return The by time, or null if the date and time are not valid.
+     */
+    @Override
+    public LocalTime getByLocalTime() {
+        return unparsedFields == null ? TaskDateTime.toTime(by) : null;
     }
 
     /**
@@ -1,16 +1,20 @@
 package data;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 public class Event extends Task {
-    protected String startDate;
-    protected String endDate;
-    private final String startTime;
-    private final String endTime;
+    private final long start;
+    private final long end;
+    private final String[] unparsedFields;
 
 
     /**
      * Constructor for new tasks given its name.
      * Tasks are initialized as incomplete.
      * Events are also considered as tasks.
+     * The dates and times are parsed once here. If any of them is not a valid date or time, all four are
+     * kept as they are given instead.
      *
      * @param name The name of the task to be created.
      * @param start The starting time/date of the task.
@@ -18,10 +22,35 @@ public class Event extends Task {
      */
     public Event(String name, String start, String end, String startTime, String endTime) {
         super(name);
-        this.startDate = start;
-        this.endDate = end;
-        this.startTime = startTime;
-        this.endTime = endTime;
+        long parsedStart = TaskDateTime.parse(start, startTime);
+        long parsedEnd = TaskDateTime.parse(end, endTime);
+        if (parsedStart == TaskDateTime.NONE || parsedEnd == TaskDateTime.NONE) {
+            this.start = TaskDateTime.NONE;
+            this.end = TaskDateTime.NONE;
+            this.unparsedFields = new String[] {TaskFieldPool.intern(start), TaskFieldPool.intern(end),
+                TaskFieldPool.intern(startTime), TaskFieldPool.intern(endTime)};
+        } else {
+            this.start = parsedStart;
+            this.end = parsedEnd;
+            this.unparsedFields = null;
+        }
+    }
+
+    /**
+     * Constructor for new tasks given its name and its dates and times.
+     * Tasks are initialized as incomplete.
+     *
+     * @param name The name of the task to be created.
+     * @param startDate The starting date of the task.
+     * @param endDate The ending date of the task.
+     * @param startTime The starting time of the task.
+     * @param endTime The ending time of the task.
+     */
+    public Event(String name, LocalDate startDate, LocalDate endDate, LocalTime startTime, LocalTime endTime) {
+        super(name);
+        this.start = TaskDateTime.of(startDate, startTime);
+        this.end = TaskDateTime.of(endDate, endTime);
+        this.unparsedFields = null;
     }
 
     /**
@@ -32,7 +61,7 @@ public class Event extends Task {
      */
     @Override
     public String getStartDate() {
-        return startDate;
+        return unparsedFields == null ? TaskDateTime.formatDate(start) : unparsedFields[0];
     }
 
     /**
@@ -43,7 +72,7 @@ public class Event extends Task {
      */
     @Override
     public String getStartTime() {
-        return startTime;
+        return unparsedFields == null ? TaskDateTime.formatTime(start) : unparsedFields[2];
     }
 
     /**
@@ -54,7 +83,7 @@ public class Event extends Task {
      */
     @Override
     public String getEndTime() {
-        return endTime;
+        return unparsedFields == null ? TaskDateTime.formatTime(end) : unparsedFields[3];
     }
 
     /**
@@ -65,7 +94,51 @@ public class Event extends Task {
      */
     @Override
     public String getEndDate() {
-        return endDate;
+        return unparsedFields == null ? TaskDateTime.formatDate(end) : unparsedFields[1];
+    }
+
+    /**
+     * Getter for the start date of Event task as a LocalDate.
+     * Overrides super dummy function.
+     *
+     * @return The start date, or null if the dates and times are not valid.
+     */
+    @Override
+    public LocalDate getStartLocalDate() {
+        return unparsedFields == null ? TaskDateTime.toDate(start) : null;
+    }
+
+    /**
+     * Getter for the end date of Event task as a LocalDate.
+     * Overrides super dummy function.
+     *
+     * @return The end date, or null if the dates and times are not valid.
+     */
+    @Override
+    public LocalDate getEndLocalDate() {
+        return unparsedFields == null ? TaskDateTime.toDate(end) : null;
+    }
+
+    /**
+     * Getter for the start time of Event task as a LocalTime.
+     * Overrides super dummy function.
+     *
+     * @return The start time, or null if the dates and times are not valid.
+     */
+    @Override
+    public LocalTime getStartLocalTime() {
+        return unparsedFields == null ? TaskDateTime.toTime(start) : null;
+    }
+
+    /**
+     * Getter for the end time of Event task as a LocalTime.
+     * Overrides super dummy function.
+     *
+     * @return The end time, or null if the dates and times are not valid.
+     */
+    @Override
+    public LocalTime getEndLocalTime() {
+        return unparsedFields == null ? TaskDateTime.toTime(end) : null;
     }
 
     /**
@@ -0,0 +1,361 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The EventIndex class keeps every event in an interval tree, so that the events overlapping a period, the free
+ * gaps in a period and the next event after a given time are found without going through the task list of every
+ * date. Overlaps and gaps visit O(log n) nodes for each of the k events found, and the next event O(log n) nodes.
+ * The tree is an AVL tree ordered by start, and each node also holds the latest end in its subtree, so that
+ * subtrees ending before a period are skipped. It is changed in place as tasks are added, updated and deleted.
+ * Starts and ends are packed as by TaskDateTime, and periods are half-open, so that an event ending at 1200
+ * does not overlap one starting at 1200. Events whose dates and times are kept as text are not indexed.
+ * Each event is also listed under every date it spans, so that the events on a date are found in O(1) without
+ * searching the tree. Events spanning more than MAX_LISTED_DAYS dates are kept in a separate list instead, which
+ * is checked for every date, so that an event ending years later does not fill the index with dates.
+ * An EventIndex is not thread safe, and is only used by TaskManager under its lock.
+ */
+public class EventIndex {
+
+    public static final int MAX_LISTED_DAYS = 366;
+    private final Map<Task, Node> nodes = new IdentityHashMap<>();
+    private final Map<LocalDate, List<Task>> eventsByDate = new HashMap<>();
+    private final List<Node> longEvents = new ArrayList<>();
+    private Node root = null;
+    private long nextSequence = 0;
+
+    /**
+     * Node of the tree, holding one event.
+     * Events with the same start are ordered by when they were added.
+     */
+    private static class Node {
+        private final Task event;
+        private final long start;
+        private final long end;
+        private final long sequence;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private long maxEnd;
+
+        private Node(Task event, long start, long end, long sequence) {
+            this.event = event;
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.maxEnd = end;
+        }
+    }
+
+    /**
+     * A free period between events, from its start up to but not including its end.
+     */
+    public static class Gap {
+        private final long start;
+        private final long end;
+
+        private Gap(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Returns the start of the gap.
+         *
+         * @return Minutes since 01/01/1970 0000.
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * Returns the end of the gap.
+         *
+         * @return Minutes since 01/01/1970 0000.
+         */
+        public long getEnd() {
+            return end;
+        }
+    }
+
+    /**
+     * Adds an event to the index.
+     * Tasks that are not events, events whose dates and times are kept as text and events already in the index
+     * are left out.
+     *
+     * @param task The task to be added.
+     */
+    public void add(Task task) {
+        if (!task.getTaskType().equals("E") || task.getStartLocalDate() == null || nodes.containsKey(task)) {
+            return;
+        }
+        long start = TaskDateTime.of(task.getStartLocalDate(), task.getStartLocalTime());
+        long end = TaskDateTime.of(task.getEndLocalDate(), task.getEndLocalTime());
+        Node node = new Node(task, start, end, nextSequence++);
+        nodes.put(task, node);
+        root = insert(root, node);
+        if (getLastDate(node).toEpochDay() - getFirstDate(node).toEpochDay() >= MAX_LISTED_DAYS) {
+            longEvents.add(node);
+            return;
+        }
+        for (LocalDate date = getFirstDate(node); !date.isAfter(getLastDate(node)); date = date.plusDays(1)) {
+            eventsByDate.computeIfAbsent(date, k -> new ArrayList<>()).add(task);
+        }
+    }
+
+    /**
+     * Removes an event from the index. Tasks that are not in the index are ignored.
+     *
+     * @param task The task to be removed.
+     */
+    public void remove(Task task) {
+        Node node = nodes.remove(task);
+        if (node == null) {
+            return;
+        }
+        root = delete(root, node.start, node.sequence);
+        if (longEvents.remove(node)) {
+            return;
+        }
+        for (LocalDate date = getFirstDate(node); !date.isAfter(getLastDate(node)); date = date.plusDays(1)) {
+            List<Task> dateEvents = eventsByDate.get(date);
+            dateEvents.removeIf(event -> event == task);
+            if (dateEvents.isEmpty()) {
+                eventsByDate.remove(date);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events in the index.
+     *
+     * @return Number of events.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Finds the events taking up any part of a date, including those that start on an earlier date or end on a
+     * later one. The date is looked up in O(1), and only the events spanning more than MAX_LISTED_DAYS dates are
+     * checked one by one.
+     *
+     * @param date The date.
+     * @return Events on the date in the order they were added, followed by the events spanning more dates.
+     */
+    public List<Task> findOnDate(LocalDate date) {
+        List<Task> events = new ArrayList<>(eventsByDate.getOrDefault(date, List.of()));
+        for (Node node : longEvents) {
+            if (!date.isBefore(getFirstDate(node)) && !date.isAfter(getLastDate(node))) {
+                events.add(node.event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Finds the events that overlap a period.
+     *
+     * @param start Start of the period.
+     * @param end End of the period, which is not included.
+     * @return Events that start before the end of the period and end after its start, in order of start.
+     */
+    public List<Task> findOverlapping(long start, long end) {
+        List<Task> events = new ArrayList<>();
+        for (Node node : findOverlappingNodes(start, end)) {
+            events.add(node.event);
+        }
+        return events;
+    }
+
+    /**
+     * Finds the free gaps in a period, which are the parts of it not covered by any event.
+     *
+     * @param start Start of the period.
+     * @param end End of the period, which is not included.
+     * @return Gaps in the period, in order.
+     */
+    public List<Gap> findGaps(long start, long end) {
+        List<Gap> gaps = new ArrayList<>();
+        long freeFrom = start;
+        for (Node node : findOverlappingNodes(start, end)) {
+            if (node.start > freeFrom) {
+                gaps.add(new Gap(freeFrom, node.start));
+            }
+            freeFrom = Math.max(freeFrom, node.end);
+        }
+        if (freeFrom < end) {
+            gaps.add(new Gap(freeFrom, end));
+        }
+        return gaps;
+    }
+
+    /**
+     * Finds the first event starting at or after a given time.
+     *
+     * @param time The time.
+     * @return The first event starting at or after the time, or null if there is none.
+     */
+    public Task findNextAfter(long time) {
+        Node next = null;
+        Node node = root;
+        while (node != null) {
+            if (node.start >= time) {
+                next = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return next == null ? null : next.event;
+    }
+
+    private List<Node> findOverlappingNodes(long start, long end) {
+        List<Node> overlappingNodes = new ArrayList<>();
+        collectOverlapping(root, start, end, overlappingNodes);
+        return overlappingNodes;
+    }
+
+    /**
+     * Collects the nodes of a subtree that overlap a period, in order of start.
+     * Subtrees that end before the period, and nodes that start after it, are skipped.
+     *
+     * @param node Root of the subtree.
+     * @param start Start of the period.
+     * @param end End of the period, which is not included.
+     * @param overlappingNodes List the overlapping nodes are added to.
+     */
+    private static void collectOverlapping(Node node, long start, long end, List<Node> overlappingNodes) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, overlappingNodes);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start) {
+            overlappingNodes.add(node);
+        }
+        collectOverlapping(node.right, start, end, overlappingNodes);
+    }
+
+    private static LocalDate getFirstDate(Node node) {
+        return TaskDateTime.toDate(node.start);
+    }
+
+    /**
+     * Returns the last date an event takes up. An event ending at 0000 does not take up the date it ends on,
+     * unless it also starts then.
+     *
+     * @param node Node of the event.
+     * @return The last date of the event, which is never before its first date.
+     */
+    private static LocalDate getLastDate(Node node) {
+        return TaskDateTime.toDate(Math.max(node.start, node.end - 1));
+    }
+
+    private static int compare(long start, long sequence, Node node) {
+        int startComparison = Long.compare(start, node.start);
+        return startComparison != 0 ? startComparison : Long.compare(sequence, node.sequence);
+    }
+
+    private static Node insert(Node node, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (compare(newNode.start, newNode.sequence, node) < 0) {
+            node.left = insert(node.left, newNode);
+        } else {
+            node.right = insert(node.right, newNode);
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, long start, long sequence) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, sequence, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, start, sequence);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, sequence);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = delete(node.right, successor.start, successor.sequence);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    /**
+     * Updates the height and latest end of a node, rotating it if its subtrees differ in height by more than one.
+     *
+     * @param node The node, whose subtrees are already balanced.
+     * @return Root of the balanced subtree.
+     */
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,271 @@
+package data;
+
+import data.exceptions.TaskManagerException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * The RecurrenceRule class describes the dates a recurring task occurs on: every day, every week, every month, or
+ * on given days of the week, from a start date until a date or for a number of occurrences.
+ * A rule never lists all of its dates. The dates in a range are worked out when they are asked for, in time
+ * proportional to the length of the range, so that a rule without an end takes up no more space than any other.
+ * Monthly rules that start on a day some months do not have, such as the 31st, occur on the last day of those
+ * months instead. RecurrenceRules are immutable.
+ */
+public class RecurrenceRule {
+
+    /** How often a rule occurs. */
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY, WEEKDAYS
+    }
+
+    /** Limit of a rule that does not end. */
+    public static final String NO_LIMIT = "forever";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final Frequency frequency;
+    private final EnumSet<DayOfWeek> weekdays;
+    private final LocalDate startDate;
+    private final int count;
+    private final LocalDate untilDate;
+    private final LocalDate lastDate;
+
+    /**
+     * Constructs a RecurrenceRule.
+     *
+     * @param frequency How often the rule occurs.
+     * @param weekdays The days of the week a WEEKDAYS rule occurs on, which are ignored for other frequencies.
+     * @param startDate The first date of the rule, which is also its first occurrence for frequencies other than
+     *     WEEKDAYS.
+     * @param count The number of occurrences, or 0 if the number is not limited.
+     * @param untilDate The last date the rule may occur on, or null if it is not limited.
+     */
+    public RecurrenceRule(Frequency frequency, Set<DayOfWeek> weekdays, LocalDate startDate, int count,
+            LocalDate untilDate) {
+        assert frequency != Frequency.WEEKDAYS || !weekdays.isEmpty() : "Weekday rule without weekdays!";
+        this.frequency = frequency;
+        this.weekdays = frequency == Frequency.WEEKDAYS ? EnumSet.copyOf(weekdays) : EnumSet.noneOf(DayOfWeek.class);
+        this.startDate = startDate;
+        this.count = count;
+        this.untilDate = untilDate;
+        LocalDate lastCountedDate = count > 0 ? getOccurrence(count - 1) : LocalDate.MAX;
+        this.lastDate = untilDate != null && untilDate.isBefore(lastCountedDate) ? untilDate : lastCountedDate;
+    }
+
+    /**
+     * Parses a rule from the words describing how often it occurs and when it ends, as entered by the user.
+     *
+     * @param frequencyString "daily", "weekly", "monthly", or the days of the week separated by spaces, such as
+     *     "mon wed fri".
+     * @param limitString The number of occurrences, the last date in dd/MM/yyyy format, or NO_LIMIT.
+     * @param startDate The first date of the rule.
+     * @return The rule.
+     * @throws TaskManagerException If either string is not in a valid format, or the last date is before the
+     *     start date.
+     */
+    public static RecurrenceRule parse(String frequencyString, String limitString, LocalDate startDate)
+            throws TaskManagerException {
+        Frequency frequency;
+        Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+        switch (frequencyString.trim().toLowerCase(Locale.ROOT)) {
+        case "daily":
+            frequency = Frequency.DAILY;
+            break;
+        case "weekly":
+            frequency = Frequency.WEEKLY;
+            break;
+        case "monthly":
+            frequency = Frequency.MONTHLY;
+            break;
+        default:
+            frequency = Frequency.WEEKDAYS;
+            for (String weekday : frequencyString.trim().split("\\s+")) {
+                weekdays.add(parseWeekday(weekday));
+            }
+        }
+
+        String limit = limitString.trim().toLowerCase(Locale.ROOT);
+        if (limit.equals(NO_LIMIT)) {
+            return new RecurrenceRule(frequency, weekdays, startDate, 0, null);
+        }
+        try {
+            if (limit.contains("/")) {
+                LocalDate untilDate = LocalDate.parse(limit, DATE_FORMATTER);
+                if (untilDate.isBefore(startDate)) {
+                    throw new TaskManagerException("The repeat end date cannot be before the first date.");
+                }
+                return new RecurrenceRule(frequency, weekdays, startDate, 0, untilDate);
+            }
+            int count = Integer.parseInt(limit);
+            if (count < 1) {
+                throw new TaskManagerException("The number of repeats must be at least 1.");
+            }
+            return new RecurrenceRule(frequency, weekdays, startDate, count, null);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new TaskManagerException("Invalid repeat limit. Please provide a number of repeats, " +
+                    "an end date in dd/MM/yyyy format, or " + NO_LIMIT + ".");
+        }
+    }
+
+    /**
+     * Returns the dates the rule occurs on from the start date to the end date, both inclusive.
+     *
+     * @param fromDate The first date of the range.
+     * @param toDate The last date of the range.
+     * @return The dates in order.
+     */
+    public List<LocalDate> getDatesBetween(LocalDate fromDate, LocalDate toDate) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate from = fromDate.isBefore(startDate) ? startDate : fromDate;
+        LocalDate to = toDate.isAfter(lastDate) ? lastDate : toDate;
+        if (from.isAfter(to)) {
+            return dates;
+        }
+        switch (frequency) {
+        case DAILY:
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                dates.add(date);
+            }
+            break;
+        case WEEKLY:
+            long firstWeek = (ChronoUnit.DAYS.between(startDate, from) + 6) / 7;
+            for (LocalDate date = startDate.plusWeeks(firstWeek); !date.isAfter(to); date = date.plusWeeks(1)) {
+                dates.add(date);
+            }
+            break;
+        case MONTHLY:
+            long month = ChronoUnit.MONTHS.between(startDate.withDayOfMonth(1), from.withDayOfMonth(1));
+            for (LocalDate date = startDate.plusMonths(month); !date.isAfter(to);
+                    date = startDate.plusMonths(++month)) {
+                if (!date.isBefore(from)) {
+                    dates.add(date);
+                }
+            }
+            break;
+        case WEEKDAYS:
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (weekdays.contains(date.getDayOfWeek())) {
+                    dates.add(date);
+                }
+            }
+            break;
+        default:
+            throw new IllegalStateException("Unknown frequency: " + frequency);
+        }
+        return dates;
+    }
+
+    /**
+     * Checks whether the rule occurs on a date.
+     *
+     * @param date The date.
+     * @return True if the rule occurs on the date, false otherwise.
+     */
+    public boolean occursOn(LocalDate date) {
+        return !getDatesBetween(date, date).isEmpty();
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Returns the limit of the rule, in the form accepted by parse.
+     *
+     * @return The number of occurrences, the last date in dd/MM/yyyy format, or NO_LIMIT.
+     */
+    public String getLimitString() {
+        if (count > 0) {
+            return String.valueOf(count);
+        }
+        return untilDate == null ? NO_LIMIT : untilDate.format(DATE_FORMATTER);
+    }
+
+    /**
+     * Returns the last date the rule can occur on, which is LocalDate.MAX if the rule does not end.
+     *
+     * @return The last date.
+     */
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    /**
+     * Returns the words describing how often the rule occurs, in the form accepted by parse.
+     *
+     * @return "daily", "weekly", "monthly", or the days of the week separated by spaces.
+     */
+    public String getFrequencyString() {
+        if (frequency != Frequency.WEEKDAYS) {
+            return frequency.name().toLowerCase(Locale.ROOT);
+        }
+        StringJoiner days = new StringJoiner(" ");
+        for (DayOfWeek weekday : weekdays) {
+            days.add(weekday.name().substring(0, 3).toLowerCase(Locale.ROOT));
+        }
+        return days.toString();
+    }
+
+    /**
+     * Returns a description of the rule for the user.
+     *
+     * @return The description, such as "weekly from 2026-10-20, 52 times".
+     */
+    public String getDescription() {
+        String description = getFrequencyString() + " from " + startDate;
+        if (count > 0) {
+            return description + ", " + count + (count == 1 ? " time" : " times");
+        }
+        return untilDate == null ? description : description + " until " + untilDate;
+    }
+
+    /**
+     * Returns the date of an occurrence counted from the start date. Only used for rules with a count, to find
+     * their last date.
+     *
+     * @param index The zero-based number of the occurrence.
+     * @return The date of the occurrence.
+     */
+    private LocalDate getOccurrence(int index) {
+        switch (frequency) {
+        case DAILY:
+            return startDate.plusDays(index);
+        case WEEKLY:
+            return startDate.plusWeeks(index);
+        case MONTHLY:
+            return startDate.plusMonths(index);
+        case WEEKDAYS:
+            // Each week from the start date holds the same days of the week, in the same order
+            List<LocalDate> firstWeek = new ArrayList<>();
+            for (LocalDate date = startDate; date.isBefore(startDate.plusWeeks(1)); date = date.plusDays(1)) {
+                if (weekdays.contains(date.getDayOfWeek())) {
+                    firstWeek.add(date);
+                }
+            }
+            return firstWeek.get(index % firstWeek.size()).plusWeeks(index / firstWeek.size());
+        default:
+            throw new IllegalStateException("Unknown frequency: " + frequency);
+        }
+    }
+
+    private static DayOfWeek parseWeekday(String weekday) throws TaskManagerException {
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            String name = dayOfWeek.name().toLowerCase(Locale.ROOT);
+            if (weekday.length() >= 3 && name.startsWith(weekday.toLowerCase(Locale.ROOT))) {
+                return dayOfWeek;
+            }
+        }
+        throw new TaskManagerException("Invalid repeat rule. Please provide daily, weekly, monthly, " +
+                "or days of the week such as mon wed fri.");
+    }
+}
@@ -0,0 +1,187 @@
+package data;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The RecurringTask class is a task that occurs on every date of a RecurrenceRule, kept as the rule and a template
+ * task for its first date instead of a task for every date.
+ * The task of an occurrence is made from the template when its date is asked for, with its dates moved by the
+ * number of days from the first date. Occurrences that were marked, given another priority level or deleted are
+ * kept as changes, so that a recurring task takes up space for its rule and the occurrences that were changed,
+ * and none for the others.
+ */
+public class RecurringTask {
+
+    private final RecurrenceRule rule;
+    private final Task template;
+    private final NavigableMap<LocalDate, OccurrenceChange> changes = new TreeMap<>();
+
+    /**
+     * Changes made to a single occurrence.
+     */
+    public static class OccurrenceChange {
+        private final boolean isDeleted;
+        private final boolean isCompleted;
+        private final TaskPriorityLevel priorityLevel;
+
+        /**
+         * Constructs an OccurrenceChange.
+         *
+         * @param isDeleted Whether the occurrence was deleted.
+         * @param isCompleted Whether the occurrence is marked as completed.
+         * @param priorityLevel The priority level of the occurrence.
+         */
+        public OccurrenceChange(boolean isDeleted, boolean isCompleted, TaskPriorityLevel priorityLevel) {
+            this.isDeleted = isDeleted;
+            this.isCompleted = isCompleted;
+            this.priorityLevel = priorityLevel;
+        }
+
+        public boolean isDeleted() {
+            return isDeleted;
+        }
+
+        public boolean isCompleted() {
+            return isCompleted;
+        }
+
+        public TaskPriorityLevel getPriorityLevel() {
+            return priorityLevel;
+        }
+    }
+
+    /**
+     * Constructs a RecurringTask.
+     *
+     * @param rule The rule giving the dates of the occurrences.
+     * @param template The task of the first date of the rule, whose marked status is ignored.
+     */
+    public RecurringTask(RecurrenceRule rule, Task template) {
+        this.rule = rule;
+        this.template = template;
+    }
+
+    /**
+     * Checks whether a task can be the template of a recurring task, which needs the dates of an event or deadline
+     * to be real dates, so that they can be moved to the date of each occurrence.
+     *
+     * @param template The task.
+     * @return True if the task is a todo, or its start, end or by dates are all valid dates, false otherwise.
+     */
+    public static boolean isValidTemplate(Task template) {
+        switch (template.getTaskType()) {
+        case "E":
+            return template.getStartLocalDate() != null && template.getEndLocalDate() != null;
+        case "D":
+            return template.getByLocalDate() != null;
+        default:
+            return true;
+        }
+    }
+
+    /**
+     * Returns a copy of the recurring task with its own changes, sharing the rule and template, which are never
+     * changed.
+     *
+     * @return The copy.
+     */
+    public RecurringTask copy() {
+        RecurringTask copy = new RecurringTask(rule, template);
+        copy.changes.putAll(changes);
+        return copy;
+    }
+
+    public RecurrenceRule getRule() {
+        return rule;
+    }
+
+    public Task getTemplate() {
+        return template;
+    }
+
+    /**
+     * Returns the occurrences that were changed, by date.
+     *
+     * @return Read-only sorted map of the dates of the changed occurrences to their changes.
+     */
+    public Map<LocalDate, OccurrenceChange> getChanges() {
+        return Collections.unmodifiableNavigableMap(changes);
+    }
+
+    /**
+     * Sets the changes made to an occurrence, replacing any made before.
+     *
+     * @param date The date of the occurrence.
+     * @param change The changes.
+     */
+    public void setChange(LocalDate date, OccurrenceChange change) {
+        changes.put(date, change);
+    }
+
+    /**
+     * Returns the dates of the occurrences that were not deleted, from the start date to the end date, both
+     * inclusive.
+     *
+     * @param fromDate The first date of the range.
+     * @param toDate The last date of the range.
+     * @return The dates in order.
+     */
+    public List<LocalDate> getOccurrenceDatesBetween(LocalDate fromDate, LocalDate toDate) {
+        List<LocalDate> dates = rule.getDatesBetween(fromDate, toDate);
+        if (!changes.subMap(fromDate, true, toDate, true).isEmpty()) {
+            dates.removeIf(date -> changes.containsKey(date) && changes.get(date).isDeleted());
+        }
+        return dates;
+    }
+
+    /**
+     * Makes the task of the occurrence on a date, with any changes made to it.
+     *
+     * @param date The date of the occurrence, which the rule occurs on.
+     * @return A new task for the occurrence.
+     */
+    public Task createOccurrence(LocalDate date) {
+        long days = ChronoUnit.DAYS.between(rule.getStartDate(), date);
+        Task occurrence;
+        switch (template.getTaskType()) {
+        case "E":
+            occurrence = new Event(template.getName(), template.getStartLocalDate().plusDays(days),
+                    template.getEndLocalDate().plusDays(days), template.getStartLocalTime(),
+                    template.getEndLocalTime());
+            break;
+        case "D":
+            occurrence = new Deadline(template.getName(), template.getByLocalDate().plusDays(days),
+                    template.getByLocalTime());
+            break;
+        default:
+            occurrence = new Todo(template.getName());
+        }
+        OccurrenceChange change = changes.get(date);
+        occurrence.setCompleteness(change != null && change.isCompleted());
+        occurrence.setPriorityLevel(change == null ? template.getPriorityLevel() : change.getPriorityLevel());
+        return occurrence;
+    }
+
+    /**
+     * Returns a description of the recurring task for the user.
+     *
+     * @return The description, such as "[T] standup, weekly from 2026-10-20, 52 times".
+     */
+    public String getDescription() {
+        List<String> parts = new ArrayList<>();
+        parts.add("[" + template.getTaskType() + "] " + template.getName());
+        parts.add(rule.getDescription());
+        long deletedCount = changes.values().stream().filter(OccurrenceChange::isDeleted).count();
+        if (deletedCount > 0) {
+            parts.add(deletedCount + (deletedCount == 1 ? " date" : " dates") + " deleted");
+        }
+        return String.join(", ", parts);
+    }
+}
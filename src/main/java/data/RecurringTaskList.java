@@ -0,0 +1,157 @@
+package data;
+
+import storage.RecurrenceStorage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The RecurringTaskList class keeps the recurring tasks of a TaskManager in the order they were added, makes the
+ * tasks of their occurrences for a range of dates, and saves them to a RecurrenceStorage once one is set.
+ * Occurrences are numbered on each date after the tasks saved under it, in the order of the recurring tasks.
+ * A RecurringTaskList is not thread safe, and is only used by TaskManager under its lock.
+ */
+public class RecurringTaskList {
+
+    private final List<RecurringTask> recurringTasks = new ArrayList<>();
+    private RecurrenceStorage storage = null;
+
+    /**
+     * Checks whether there are any recurring tasks.
+     *
+     * @return True if there are no recurring tasks, false otherwise.
+     */
+    public boolean isEmpty() {
+        return recurringTasks.isEmpty();
+    }
+
+    /**
+     * Returns the number of recurring tasks.
+     *
+     * @return The number of recurring tasks.
+     */
+    public int size() {
+        return recurringTasks.size();
+    }
+
+    /**
+     * Retrieves the recurring tasks, in the order they were added.
+     *
+     * @return A copy of the list of recurring tasks.
+     */
+    public List<RecurringTask> getAll() {
+        return new ArrayList<>(recurringTasks);
+    }
+
+    /**
+     * Adds a recurring task after the existing ones.
+     *
+     * @param recurringTask The recurring task.
+     */
+    public void add(RecurringTask recurringTask) {
+        recurringTasks.add(recurringTask);
+    }
+
+    /**
+     * Removes a recurring task.
+     *
+     * @param index The zero-based index of the recurring task.
+     * @return The recurring task removed.
+     */
+    public RecurringTask remove(int index) {
+        return recurringTasks.remove(index);
+    }
+
+    /**
+     * Replaces every recurring task, as when they are loaded or a batch is rolled back.
+     *
+     * @param newRecurringTasks The recurring tasks, in the order they were added.
+     */
+    public void replaceAll(List<RecurringTask> newRecurringTasks) {
+        recurringTasks.clear();
+        recurringTasks.addAll(newRecurringTasks);
+    }
+
+    /**
+     * Sets where the recurring tasks are saved.
+     *
+     * @param storage The RecurrenceStorage the recurring tasks are saved to.
+     */
+    public void setStorage(RecurrenceStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Writes every recurring task to the recurrence save file, if one has been set.
+     */
+    public void save() {
+        if (storage != null) {
+            storage.save(recurringTasks);
+        }
+    }
+
+    /**
+     * Makes the tasks of the occurrences of the recurring tasks in a range.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     * @return Sorted map of the dates in the range that have occurrences, to new tasks for them.
+     */
+    public NavigableMap<LocalDate, List<Task>> createOccurrences(LocalDate startDate, LocalDate endDate) {
+        NavigableMap<LocalDate, List<Task>> occurrences = new TreeMap<>();
+        for (RecurringTask recurringTask : recurringTasks) {
+            for (LocalDate date : recurringTask.getOccurrenceDatesBetween(startDate, endDate)) {
+                occurrences.computeIfAbsent(date, k -> new ArrayList<>()).add(recurringTask.createOccurrence(date));
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Adds the occurrences of the recurring tasks in a range after the tasks of each date, in the order the
+     * recurring tasks were added.
+     *
+     * @param rangeTasks Sorted map of the dates in the range to read-only copies of their tasks, which is changed.
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     */
+    public void addOccurrences(NavigableMap<LocalDate, List<Task>> rangeTasks, LocalDate startDate,
+            LocalDate endDate) {
+        for (Map.Entry<LocalDate, List<Task>> entry : createOccurrences(startDate, endDate).entrySet()) {
+            List<Task> dayTasks = new ArrayList<>(rangeTasks.getOrDefault(entry.getKey(), List.of()));
+            dayTasks.addAll(entry.getValue());
+            rangeTasks.put(entry.getKey(), Collections.unmodifiableList(dayTasks));
+        }
+    }
+
+    /**
+     * Finds the recurring task of an occurrence from its number on a date, where occurrences are numbered after the
+     * tasks saved under the date.
+     *
+     * @param date The date.
+     * @param taskIndex The one-based number of the task on the date.
+     * @param savedTaskCount The number of tasks saved under the date.
+     * @return The recurring task, or null if the number is not that of an occurrence.
+     */
+    public RecurringTask find(LocalDate date, int taskIndex, int savedTaskCount) {
+        int occurrenceIndex = taskIndex - savedTaskCount - 1;
+        if (occurrenceIndex < 0) {
+            return null;
+        }
+        for (RecurringTask recurringTask : recurringTasks) {
+            if (recurringTask.getOccurrenceDatesBetween(date, date).isEmpty()) {
+                continue;
+            }
+            if (occurrenceIndex == 0) {
+                return recurringTask;
+            }
+            occurrenceIndex--;
+        }
+        return null;
+    }
+}
@@ -1,9 +1,14 @@
 package data;
 
-public class Task {
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class Task implements Cloneable {
     protected String name;
     protected TaskPriorityLevel priorityLevel;
     protected boolean isCompleted;
+    protected long id = TaskIdMap.NO_ID;
+    private TaskFilterIndex filterIndex = null;
 
     /**
      * Constructor for new tasks given its name.
@@ -36,6 +41,40 @@ public class Task {
         this.name = name;
     }
 
+    /**
+     * Returns the ID of the task, which stays the same while the task is moved or updated.
+     *
+     * @return The ID of the task, or TaskIdMap.NO_ID if it has not been added to a TaskManager yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the task. IDs are given out by TaskManager when a task is added, and passed on to the task
+     * replacing it when it is updated.
+     *
+     * @param id The ID to set the task's ID to.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns a copy of the task with the same ID, which is not held by any filter index.
+     *
+     * @return The copy of the task.
+     */
+    public Task copy() {
+        try {
+            Task copy = (Task) super.clone();
+            copy.filterIndex = null;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     /**
      * Checks if a task is complete and returns true if complete, false if incomplete.
      *
@@ -53,6 +92,9 @@ public class Task {
 
     public void setCompleteness(boolean completed) {
         isCompleted = completed;
+        if (filterIndex != null) {
+            filterIndex.update(this);
+        }
     }
 
     /**
@@ -72,6 +114,37 @@ public class Task {
      */
     public void setPriorityLevel(TaskPriorityLevel priorityLevelOfTask) {
         this.priorityLevel = priorityLevelOfTask;
+        if (filterIndex != null) {
+            filterIndex.update(this);
+        }
+    }
+
+    /**
+     * Returns the priority level of the task.
+     *
+     * @return The TaskPriorityLevel of the task.
+     */
+    public TaskPriorityLevel getPriorityLevel() {
+        return priorityLevel;
+    }
+
+    /**
+     * Sets the filter index that is told whenever the marked status or priority level of the task changes.
+     *
+     * @param filterIndex The TaskFilterIndex holding the task, or null once it has been removed from it.
+     */
+    void setFilterIndex(TaskFilterIndex filterIndex) {
+        this.filterIndex = filterIndex;
+    }
+
+    /**
+     * Checks if the task is held by a filter index.
+     *
+     * @param filterIndex The TaskFilterIndex.
+     * @return True if the task is held by the filter index, false otherwise.
+     */
+    boolean isInFilterIndex(TaskFilterIndex filterIndex) {
+        return this.filterIndex == filterIndex;
     }
 
     /**
@@ -154,6 +227,66 @@ public class Task {
         return "";
     }
 
+    /**
+     * Getter for start date as a LocalDate for an Event task.
+     * It is a dummy function meant for the Event subclass to override.
+     *
+     * @return Null.
+     */
+    public LocalDate getStartLocalDate() {
+        return null;
+    }
+
+    /**
+     * Getter for end date as a LocalDate for an Event task.
+     * It is a dummy function meant for the Event subclass to override.
+     *
+     * @return Null.
+     */
+    public LocalDate getEndLocalDate() {
+        return null;
+    }
+
+    /**
+     * Getter for start time as a LocalTime for an Event task.
+     * It is a dummy function meant for the Event subclass to override.
+     *
+     * @return Null.
+     */
+    public LocalTime getStartLocalTime() {
+        return null;
+    }
+
+    /**
+     * Getter for end time as a LocalTime for an Event task.
+     * It is a dummy function meant for the Event subclass to override.
+     *
+     * @return Null.
+     */
+    public LocalTime getEndLocalTime() {
+        return null;
+    }
+
+    /**
+     * Getter for by date as a LocalDate for a Deadline task.
+     * It is a dummy function meant for the Deadline subclass to override.
+     *
+     * @return Null.
+     */
+    public LocalDate getByLocalDate() {
+        return null;
+    }
+
+    /**
+     * Getter for by time as a LocalTime for a Deadline task.
+     * It is a dummy function meant for the Deadline subclass to override.
+     *
+     * @return Null.
+     */
+    public LocalTime getByLocalTime() {
+        return null;
+    }
+
     /**
      * Method that creates the save format for a task.
      * It is a dummy function meant for the subclass to override.
@@ -164,6 +297,16 @@ public class Task {
         return "";
     }
 
+    /**
+     * Returns the save format of the task followed by its ID, as it is written to the save files and the journal,
+     * so that the task keeps its ID from one session to the next.
+     *
+     * @return The save format of the task, followed by its ID if it has one.
+     */
+    public String getSaveFormatWithId() {
+        return id == TaskIdMap.NO_ID ? getSaveFormat() : getSaveFormat() + "|" + id;
+    }
+
     /**
      * Method that creates the display format for a task.
      * 
@@ -0,0 +1,129 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The TaskBatch class holds what is needed to save or undo the changes made to the tasks of a TaskManager between
+ * the begin and commit commands.
+ * The task list of each date is kept just before the date is first changed in the batch, so that rolling back takes
+ * time proportional to the dates changed and not to every task. Task lists and their tasks are never changed once
+ * published, so the list itself is kept instead of a copy.
+ * The recurring tasks are copied before the first change to any of them.
+ * The edits made in the batch are held back until it is committed, when they are saved together as a single edit,
+ * which is undone as a whole.
+ * A batch in which a change failed is rolled back and replaced by an empty batch marked as failed, which stays open
+ * until it is committed or rolled back so that the rest of its changes can be rejected.
+ * A TaskBatch is not thread safe, and is only used under the write lock of its TaskManager.
+ */
+class TaskBatch {
+
+    private final Map<LocalDate, List<Task>> originalDays = new HashMap<>();
+    private List<RecurringTask> originalRecurringTasks = null;
+    private final List<String> journalRecords = new ArrayList<>();
+    private final List<List<String>> inverseRecordsOfEdits = new ArrayList<>();
+    private boolean isFailed = false;
+
+    /**
+     * Keeps the task list of a date, unless it was already kept in this batch.
+     *
+     * @param date The date about to be changed.
+     * @param dayTasks The read-only task list of the date, or null if the date has no tasks.
+     */
+    void rememberDay(LocalDate date, List<Task> dayTasks) {
+        if (originalDays.containsKey(date)) {
+            return;
+        }
+        originalDays.put(date, dayTasks == null ? List.of() : dayTasks);
+    }
+
+    /**
+     * Copies the recurring tasks, unless they were already copied in this batch.
+     *
+     * @param recurringTasks The recurring tasks about to be changed.
+     */
+    void rememberRecurringTasks(List<RecurringTask> recurringTasks) {
+        if (originalRecurringTasks != null) {
+            return;
+        }
+        originalRecurringTasks = new ArrayList<>();
+        for (RecurringTask recurringTask : recurringTasks) {
+            originalRecurringTasks.add(recurringTask.copy());
+        }
+    }
+
+    /**
+     * Holds back an edit until the batch is committed.
+     *
+     * @param edit The edit.
+     */
+    void addEdit(UndoHistory.Edit edit) {
+        journalRecords.addAll(edit.getRecords());
+        inverseRecordsOfEdits.add(edit.getInverseRecords());
+    }
+
+    /**
+     * Combines the edits made in the batch into one, which is reversed by reversing the edits from the last to
+     * the first.
+     *
+     * @return The combined edit, or null if no edits were made.
+     */
+    UndoHistory.Edit getEdit() {
+        if (journalRecords.isEmpty()) {
+            return null;
+        }
+        List<String> inverseRecords = new ArrayList<>();
+        for (int i = inverseRecordsOfEdits.size() - 1; i >= 0; i--) {
+            inverseRecords.addAll(inverseRecordsOfEdits.get(i));
+        }
+        return new UndoHistory.Edit("batch", journalRecords, inverseRecords);
+    }
+
+    /**
+     * Returns the task list of each date changed in the batch, as it was before the batch.
+     *
+     * @return Read-only map of the changed dates to copies of their original task lists, which are empty for dates
+     *     that had no tasks.
+     */
+    Map<LocalDate, List<Task>> getOriginalDays() {
+        return Collections.unmodifiableMap(originalDays);
+    }
+
+    /**
+     * Returns the recurring tasks as they were before the batch.
+     *
+     * @return Copies of the recurring tasks, or null if they were not changed in the batch.
+     */
+    List<RecurringTask> getOriginalRecurringTasks() {
+        return originalRecurringTasks;
+    }
+
+    /**
+     * Marks the batch as failed, so that changes are rejected until it is committed or rolled back.
+     */
+    void markFailed() {
+        isFailed = true;
+    }
+
+    /**
+     * Checks whether a change in the batch failed.
+     *
+     * @return True if the batch was marked as failed, false otherwise.
+     */
+    boolean isFailed() {
+        return isFailed;
+    }
+
+    /**
+     * Checks whether the batch has changed anything.
+     *
+     * @return True if any task or recurring task was changed, false otherwise.
+     */
+    boolean hasChanges() {
+        return !journalRecords.isEmpty() || originalRecurringTasks != null;
+    }
+}
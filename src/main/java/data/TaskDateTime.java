@@ -0,0 +1,118 @@
+package data;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The TaskDateTime class packs the date and time of a deadline, or of the start or end of an event, into a single
+ * long holding the minutes since 01/01/1970 0000, so that tasks hold their dates and times without any objects,
+ * and compare them without parsing text.
+ * Dates and times are parsed once when a task is constructed, and only written out as dd/MM/yyyy and HHmm
+ * when the task is displayed or saved, using the shared strings of TaskFieldPool.
+ */
+public class TaskDateTime {
+
+    /** Value held in place of a date and time that is not valid, such as 31/02/2024. */
+    public static final long NONE = Long.MIN_VALUE;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Packs a date and time.
+     *
+     * @param date The date.
+     * @param time The time, of which only the hours and minutes are kept.
+     * @return Minutes since 01/01/1970 0000.
+     */
+    public static long of(LocalDate date, LocalTime time) {
+        return date.toEpochDay() * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Parses a date in the format dd/MM/yyyy and a time in the format HHmm, without a DateTimeFormatter.
+     *
+     * @param date The date, which may be null.
+     * @param time The time, which may be null.
+     * @return Minutes since 01/01/1970 0000, or NONE if either the date or the time is not valid.
+     */
+    public static long parse(String date, String time) {
+        if (date == null || time == null || date.length() != 10 || time.length() != 4
+                || date.charAt(2) != '/' || date.charAt(5) != '/') {
+            return NONE;
+        }
+        int day = parseDigits(date, 0, 2);
+        int month = parseDigits(date, 3, 5);
+        int year = parseDigits(date, 6, 10);
+        int hour = parseDigits(time, 0, 2);
+        int minute = parseDigits(time, 2, 4);
+        if (day < 0 || month < 0 || year < 0 || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return NONE;
+        }
+        try {
+            return LocalDate.of(year, month, day).toEpochDay() * MINUTES_PER_DAY + hour * 60 + minute;
+        } catch (DateTimeException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Returns the date of a packed date and time.
+     *
+     * @param dateTime Minutes since 01/01/1970 0000.
+     * @return The date.
+     */
+    public static LocalDate toDate(long dateTime) {
+        return LocalDate.ofEpochDay(Math.floorDiv(dateTime, MINUTES_PER_DAY));
+    }
+
+    /**
+     * Returns the time of a packed date and time.
+     *
+     * @param dateTime Minutes since 01/01/1970 0000.
+     * @return The time.
+     */
+    public static LocalTime toTime(long dateTime) {
+        int minuteOfDay = (int) Math.floorMod(dateTime, (long) MINUTES_PER_DAY);
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    /**
+     * Returns the shared date string of a packed date and time, in the format dd/MM/yyyy.
+     *
+     * @param dateTime Minutes since 01/01/1970 0000.
+     * @return The shared date string.
+     */
+    public static String formatDate(long dateTime) {
+        return TaskFieldPool.getDate(Math.floorDiv(dateTime, MINUTES_PER_DAY));
+    }
+
+    /**
+     * Returns the shared time string of a packed date and time, in the format HHmm.
+     *
+     * @param dateTime Minutes since 01/01/1970 0000.
+     * @return The shared time string.
+     */
+    public static String formatTime(long dateTime) {
+        return TaskFieldPool.getTime((int) Math.floorMod(dateTime, (long) MINUTES_PER_DAY));
+    }
+
+    /**
+     * Parses the digits of part of a string.
+     *
+     * @param text The string.
+     * @param start Index of the first digit.
+     * @param end Index after the last digit.
+     * @return Value of the digits, or -1 if any of the characters is not a digit.
+     */
+    private static int parseDigits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char digit = text.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            value = value * 10 + digit - '0';
+        }
+        return value;
+    }
+}
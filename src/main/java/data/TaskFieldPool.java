@@ -0,0 +1,105 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The TaskFieldPool class holds one shared copy of each date and time string used by tasks, such as "01/04/2024"
+ * or "0900", so that the many deadlines and events on the same dates and at the same times do not each keep
+ * their own copy.
+ * Deadline and Event hold their dates and times as numbers, and take the strings from the pool whenever they are
+ * displayed or saved. Dates and times that are not valid are kept as text, and pooled when the task is
+ * constructed. Strings are never removed from the pool.
+ * The pool may be used from several threads at once, as save files are loaded in parallel.
+ */
+public class TaskFieldPool {
+
+    public static final int MAX_POOL_SIZE = 100_000;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final String[] TIMES = new String[MINUTES_PER_DAY];
+    private static final Map<String, String> pool = new ConcurrentHashMap<>();
+    private static final Map<Long, String> datesByEpochDay = new ConcurrentHashMap<>();
+
+    static {
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            int hour = minute / 60;
+            int minuteOfHour = minute % 60;
+            TIMES[minute] = new String(new char[] {toDigit(hour / 10), toDigit(hour % 10),
+                toDigit(minuteOfHour / 10), toDigit(minuteOfHour % 10)});
+            pool.put(TIMES[minute], TIMES[minute]);
+        }
+    }
+
+    /**
+     * Returns the shared copy of a date or time string.
+     * Once the pool is full, strings not already in it are returned as they are.
+     *
+     * @param value The date or time string, which may be null.
+     * @return The shared copy of the string, or the string itself if it is not pooled.
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooledValue = pool.get(value);
+        if (pooledValue != null) {
+            return pooledValue;
+        }
+        if (pool.size() >= MAX_POOL_SIZE) {
+            return value;
+        }
+        pooledValue = pool.putIfAbsent(value, value);
+        return pooledValue == null ? value : pooledValue;
+    }
+
+    /**
+     * Returns the shared time string of a minute of the day, in the format HHmm.
+     *
+     * @param minuteOfDay Minute of the day, from 0 to 1439.
+     * @return The shared time string.
+     */
+    public static String getTime(int minuteOfDay) {
+        return TIMES[minuteOfDay];
+    }
+
+    /**
+     * Returns the shared date string of a date, in the format dd/MM/yyyy, without creating a new string
+     * once the date has been seen.
+     *
+     * @param date The date.
+     * @return The shared date string.
+     */
+    public static String getDate(LocalDate date) {
+        return getDate(date.toEpochDay());
+    }
+
+    /**
+     * Returns the shared date string of the date with the given epoch day, in the format dd/MM/yyyy,
+     * without creating a new string or date once the date has been seen.
+     *
+     * @param epochDay Days since 01/01/1970.
+     * @return The shared date string.
+     */
+    public static String getDate(long epochDay) {
+        String dateString = datesByEpochDay.get(epochDay);
+        if (dateString != null) {
+            return dateString;
+        }
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        int year = date.getYear();
+        dateString = intern(new String(new char[] {
+            toDigit(date.getDayOfMonth() / 10), toDigit(date.getDayOfMonth() % 10), '/',
+            toDigit(date.getMonthValue() / 10), toDigit(date.getMonthValue() % 10), '/',
+            toDigit(year / 1000 % 10), toDigit(year / 100 % 10), toDigit(year / 10 % 10), toDigit(year % 10)
+        }));
+        if (datesByEpochDay.size() < MAX_POOL_SIZE) {
+            datesByEpochDay.put(epochDay, dateString);
+        }
+        return dateString;
+    }
+
+    private static char toDigit(int value) {
+        return (char) ('0' + value);
+    }
+}
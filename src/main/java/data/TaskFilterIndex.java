@@ -0,0 +1,139 @@
+package data;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The TaskFilterIndex class keeps a bitmap of task IDs for each priority level, for completed tasks and for each
+ * task type, so that tasks matching a combination of them are found with bitwise ANDs and ORs instead of going
+ * through the task list of every date.
+ * Tasks are added and removed by TaskManager along with their IDs, and tell the index themselves when their marked
+ * status or priority level is changed, so that it is always up to date. As task IDs are given out in order from 1,
+ * the bitmaps stay dense.
+ * A TaskFilterIndex is not thread safe, and is only used by TaskManager under its lock.
+ */
+public class TaskFilterIndex {
+
+    private final BitSet allTasks = new BitSet();
+    private final BitSet completedTasks = new BitSet();
+    private final Map<TaskPriorityLevel, BitSet> tasksByPriority = new EnumMap<>(TaskPriorityLevel.class);
+    private final Map<TaskType, BitSet> tasksByType = new EnumMap<>(TaskType.class);
+
+    /**
+     * Constructs an empty TaskFilterIndex.
+     */
+    public TaskFilterIndex() {
+        for (TaskPriorityLevel priorityLevel : TaskPriorityLevel.values()) {
+            tasksByPriority.put(priorityLevel, new BitSet());
+        }
+        for (TaskType taskType : TaskType.values()) {
+            tasksByType.put(taskType, new BitSet());
+        }
+    }
+
+    /**
+     * Adds a task to the index, which then updates the index whenever its marked status or priority level changes.
+     *
+     * @param task The task, which has been given an ID.
+     */
+    public void add(Task task) {
+        int bit = toBit(task.getId());
+        allTasks.set(bit);
+        tasksByType.get(getType(task)).set(bit);
+        task.setFilterIndex(this);
+        update(task);
+    }
+
+    /**
+     * Removes a task from the index. Tasks that are not in the index are ignored.
+     *
+     * @param task The task.
+     */
+    public void remove(Task task) {
+        if (!task.isInFilterIndex(this)) {
+            return;
+        }
+        int bit = toBit(task.getId());
+        allTasks.clear(bit);
+        completedTasks.clear(bit);
+        tasksByPriority.values().forEach(tasks -> tasks.clear(bit));
+        tasksByType.get(getType(task)).clear(bit);
+        task.setFilterIndex(null);
+    }
+
+    /**
+     * Updates the marked status and priority level of a task in the index.
+     * Called by the task whenever either of them is changed.
+     *
+     * @param task The task.
+     */
+    void update(Task task) {
+        int bit = toBit(task.getId());
+        completedTasks.set(bit, task.isCompleted());
+        for (Map.Entry<TaskPriorityLevel, BitSet> entry : tasksByPriority.entrySet()) {
+            entry.getValue().set(bit, entry.getKey() == task.getPriorityLevel());
+        }
+    }
+
+    /**
+     * Returns the IDs of every task in the index.
+     *
+     * @return A new bitmap of the IDs.
+     */
+    public BitSet getAll() {
+        return (BitSet) allTasks.clone();
+    }
+
+    /**
+     * Returns the IDs of the tasks with a priority level.
+     *
+     * @param priorityLevel The priority level.
+     * @return A new bitmap of the IDs.
+     */
+    public BitSet getWithPriority(TaskPriorityLevel priorityLevel) {
+        return (BitSet) tasksByPriority.get(priorityLevel).clone();
+    }
+
+    /**
+     * Returns the IDs of the tasks that are completed, or of those that are not.
+     *
+     * @param isCompleted Whether the completed tasks are returned, instead of the tasks that are not completed.
+     * @return A new bitmap of the IDs.
+     */
+    public BitSet getWithCompleteness(boolean isCompleted) {
+        BitSet tasks = (BitSet) completedTasks.clone();
+        if (!isCompleted) {
+            tasks.xor(allTasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the IDs of the tasks of a type.
+     *
+     * @param taskType The task type.
+     * @return A new bitmap of the IDs.
+     */
+    public BitSet getOfType(TaskType taskType) {
+        return (BitSet) tasksByType.get(taskType).clone();
+    }
+
+    private static TaskType getType(Task task) {
+        TaskType taskType = TaskManager.parseTaskType(task.getTaskType());
+        return taskType == null ? TaskType.INVALID : taskType;
+    }
+
+    /**
+     * Returns the bit of a task ID.
+     *
+     * @param id The task ID.
+     * @return The bit of the ID.
+     * @throws ArithmeticException If the ID is too large for a bitmap, which only happens after more than
+     *     Integer.MAX_VALUE tasks have been added in a session.
+     */
+    private static int toBit(long id) {
+        assert id != TaskIdMap.NO_ID : "Task ID missing!";
+        return Math.toIntExact(id);
+    }
+}
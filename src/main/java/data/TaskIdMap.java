@@ -0,0 +1,161 @@
+package data;
+
+import java.time.LocalDate;
+
+/**
+ * The TaskIdMap class maps the ID of each task to the task and the date it is held under, so that a task is found
+ * from its ID in O(1) however its date or position in the task list of its date has changed.
+ * IDs are kept in a long array with open addressing and linear probing, so that no Long is created for an ID,
+ * and the dates are kept alongside as epoch days. The arrays are doubled whenever they become half full.
+ * A TaskIdMap is not thread safe, and is only used by TaskManager under its lock.
+ */
+public class TaskIdMap {
+
+    /** ID of a task that has not been given one yet. IDs given to tasks start from 1. */
+    public static final long NO_ID = 0L;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private Task[] tasks = new Task[INITIAL_CAPACITY];
+    private long[] epochDays = new long[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Maps an ID to a task and its date, replacing any task already mapped to the ID.
+     *
+     * @param id The ID, which is not NO_ID.
+     * @param task The task.
+     * @param date The date the task is held under.
+     */
+    public void put(long id, Task task, LocalDate date) {
+        assert id != NO_ID : "Task ID missing!";
+        if ((size + 1) * 2 > ids.length) {
+            resize(ids.length * 2);
+        }
+        int slot = findSlot(id);
+        if (ids[slot] == NO_ID) {
+            ids[slot] = id;
+            size++;
+        }
+        tasks[slot] = task;
+        epochDays[slot] = date.toEpochDay();
+    }
+
+    /**
+     * Returns the task mapped to an ID.
+     *
+     * @param id The ID.
+     * @return The task, or null if no task is mapped to the ID.
+     */
+    public Task get(long id) {
+        int slot = findSlot(id);
+        return ids[slot] == NO_ID ? null : tasks[slot];
+    }
+
+    /**
+     * Returns the date of the task mapped to an ID.
+     *
+     * @param id The ID.
+     * @return The date the task is held under, or null if no task is mapped to the ID.
+     */
+    public LocalDate getDate(long id) {
+        int slot = findSlot(id);
+        return ids[slot] == NO_ID ? null : LocalDate.ofEpochDay(epochDays[slot]);
+    }
+
+    /**
+     * Removes the mapping of an ID if it is mapped to the given task, and not to a task that has taken its place.
+     *
+     * @param id The ID.
+     * @param task The task.
+     * @return True if the mapping was removed, false otherwise.
+     */
+    public boolean remove(long id, Task task) {
+        if (id == NO_ID) {
+            return false;
+        }
+        int slot = findSlot(id);
+        if (ids[slot] == NO_ID || tasks[slot] != task) {
+            return false;
+        }
+        deleteSlot(slot);
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the number of IDs in the map.
+     *
+     * @return Number of IDs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot holding an ID, or the empty slot where it would be put.
+     *
+     * @param id The ID.
+     * @return Index of the slot.
+     */
+    private int findSlot(long id) {
+        int mask = ids.length - 1;
+        int slot = hash(id) & mask;
+        while (ids[slot] != NO_ID && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties a slot, moving back any later IDs of the same run that could no longer be found past the gap.
+     *
+     * @param slot Index of the slot.
+     */
+    private void deleteSlot(int slot) {
+        int mask = ids.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (ids[next] != NO_ID) {
+            int home = hash(ids[next]) & mask;
+            boolean isReachableFromGap = ((next - home) & mask) >= ((next - gap) & mask);
+            if (isReachableFromGap) {
+                ids[gap] = ids[next];
+                tasks[gap] = tasks[next];
+                epochDays[gap] = epochDays[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        ids[gap] = NO_ID;
+        tasks[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        Task[] oldTasks = tasks;
+        long[] oldEpochDays = epochDays;
+        ids = new long[capacity];
+        tasks = new Task[capacity];
+        epochDays = new long[capacity];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != NO_ID) {
+                int slot = findSlot(oldIds[i]);
+                ids[slot] = oldIds[i];
+                tasks[slot] = oldTasks[i];
+                epochDays[slot] = oldEpochDays[i];
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of an ID, so that IDs given out in order do not fill neighbouring slots.
+     *
+     * @param id The ID.
+     * @return Hash of the ID.
+     */
+    private static int hash(long id) {
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
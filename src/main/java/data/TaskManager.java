@@ -1,25 +1,43 @@
 package data;
 
-import storage.Storage;
+import storage.BackgroundSaver;
+import storage.Journal;
+import storage.MonthLoader;
+import storage.RecurrenceStorage;
+import storage.SaveFileWatcher;
+import storage.ShardedStorage;
+import storage.ShardedStorageBackend;
+import storage.StorageBackend;
 import time.MonthView;
 import time.WeekView;
 
-import java.time.Duration;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.StampedLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import data.exceptions.MarkTaskException;
 import data.exceptions.SetPriorityException;
+import data.exceptions.StorageFileException;
 import data.exceptions.TaskManagerException;
 
 import static data.TaskType.DEADLINE;
@@ -33,7 +51,6 @@ import static data.exceptions.TaskManagerException.checkIfDateInFormat;
 import static data.exceptions.TaskManagerException.checkIfDateTimeInFormat;
 import static data.exceptions.TaskManagerException.checkIfTaskExistsInCurrentDate;
 import static data.exceptions.TaskManagerException.checkIfTimeInFormat;
-import static storage.Storage.saveTasksToFile;
 
 /**
  * The TaskManager class manages tasks by providing functionalities to add, delete, and update tasks.
@@ -41,11 +58,47 @@ import static storage.Storage.saveTasksToFile;
  * mark tasks as completed or not completed, set priority levels for tasks, and retrieve tasks for a specific date.
  * It also provides methods to add tasks from a file and print free time slots for a specific date.
  * The class uses a Logger to log information and warnings related to task management.
+ * Its tasks are guarded by a StampedLock, so that other threads, such as a renderer or a background saver, can
+ * read them while commands are run.
  */
 public class TaskManager {
     private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final double COMPLETION_HALF_LIFE_DAYS = 30;
+    private static final double MAX_COMPLETION_HALF_LIVES = 16;
 
-    private static final Map<LocalDate, List<Task>> tasks = new HashMap<>();
+    private final NavigableMap<LocalDate, List<Task>> tasks = new ConcurrentSkipListMap<>();
+
+    private final StampedLock lock = new StampedLock();
+
+    private final EventIndex eventIndex = new EventIndex();
+
+    private final TaskIdMap taskIds = new TaskIdMap();
+
+    private final TaskFilterIndex filterIndex = new TaskFilterIndex();
+
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+
+    private final CompletionTrie descriptionTrie = new CompletionTrie();
+
+    private final long completionReferenceDay = LocalDate.now().toEpochDay();
+
+    private final RecurringTaskList recurringTasks = new RecurringTaskList();
+
+    private long nextTaskId = 1;
+
+    private StorageBackend storageBackend = new ShardedStorageBackend(ShardedStorage.SHARD_DIRECTORY);
+
+    private BackgroundSaver saver = new BackgroundSaver(storageBackend.getJournalPath(), storageBackend);
+
+    private final Set<YearMonth> changedMonths = new HashSet<>();
+
+    private MonthLoader monthLoader = null;
+
+    private SaveFileWatcher saveFileWatcher = null;
+
+    private TaskBatch batch = null;
+
+    private final UndoHistory history = new UndoHistory(UndoHistory.DEFAULT_MAX_DEPTH);
 
     /**
      * Adds a task for a specific date.
@@ -55,14 +108,74 @@ public class TaskManager {
      * @param taskType The TaskType of the task to be added.
      * @param dates A String array that contains the relevant dates for the task to be added.
      */
-    public static void addTask(LocalDate date, String taskDescription, TaskType taskType,
+    public void addTask(LocalDate date, String taskDescription, TaskType taskType,
             String[] dates, String[] times)
             throws TaskManagerException {
-        Task taskToAdd;
+        addTask(date, createTask(taskDescription, taskType, dates, times));
+    }
+
+    /**
+     * Adds an existing task to the end of the task list of a specific date.
+     *
+     * @param date The date for the task.
+     * @param task The task to be added.
+     */
+    public void addTask(LocalDate date, Task task) {
+        loadDateOf(date);
+        long stamp = lock.writeLock();
+        try {
+            rememberDayForBatch(date);
+            List<Task> dayTasks = copyDayTasks(date);
+            dayTasks.add(task);
+            publishDayTasks(date, dayTasks);
+            indexTask(date, task);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Inserts an existing task into the task list of a specific date, such as a deleted task being put back.
+     *
+     * @param date The date for the task.
+     * @param taskIndex The zero-based index the task is inserted at.
+     * @param task The task to be inserted.
+     * @throws IndexOutOfBoundsException If the task index is out of bounds.
+     */
+    public void insertTask(LocalDate date, int taskIndex, Task task) {
+        loadDateOf(date);
+        long stamp = lock.writeLock();
+        try {
+            List<Task> dayTasks = copyDayTasks(date);
+            if (taskIndex < 0 || taskIndex > dayTasks.size()) {
+                throw new IndexOutOfBoundsException("Task index is out of bounds.");
+            }
+            rememberDayForBatch(date);
+            dayTasks.add(taskIndex, task);
+            publishDayTasks(date, dayTasks);
+            indexTask(date, task);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Creates a task of the given type without adding it to any date.
+     *
+     * @param taskDescription The description of the task.
+     * @param taskType The TaskType of the task to be created.
+     * @param dates A String array that contains the relevant dates for the task to be created.
+     * @param times A String array that contains the relevant times for the task to be created.
+     * @return The created task.
+     * @throws TaskManagerException If the task type or times given are invalid.
+     */
+    public static Task createTask(String taskDescription, TaskType taskType, String[] dates, String[] times)
+            throws TaskManagerException {
+        Task createdTask;
 
         switch (taskType) {
         case TODO:
-            taskToAdd = new Todo(taskDescription);
+            createdTask = new Todo(taskDescription);
             break;
 
         case EVENT:
@@ -74,21 +187,21 @@ public class TaskManager {
             String endTime = times[1];
             checkIfTimeInFormat(endTime);
 
-            taskToAdd = new Event(taskDescription, startDate, endDate, startTime, endTime);
+            createdTask = new Event(taskDescription, startDate, endDate, startTime, endTime);
             break;
 
         case DEADLINE:
             String deadlineDate = dates[0];
             String deadlineTime = times[0];
             checkIfTimeInFormat(deadlineTime);
-            taskToAdd = new Deadline(taskDescription, deadlineDate, deadlineTime);
+            createdTask = new Deadline(taskDescription, deadlineDate, deadlineTime);
             break;
 
         default:
             throw new TaskManagerException("Invalid task type given. T for Todo, E for event, D for deadline.");
         }
 
-        tasks.computeIfAbsent(date, k -> new ArrayList<>()).add(taskToAdd);
+        return createdTask;
     }
 
     /**
@@ -98,21 +211,34 @@ public class TaskManager {
      * @param date The date of the task.
      * @param taskIndex The index of the task to delete.
      * @param isMuted Whether system outputs are muted.
+     * @return True if the task was deleted, false if it does not exist.
      */
-    public void deleteTask(LocalDate date, int taskIndex, boolean isMuted) {
-        List<Task> dayTasks = tasks.get(date);
-        if (dayTasks != null && taskIndex >= 0 && taskIndex < dayTasks.size()) {
-            dayTasks.remove(taskIndex);
-            if (dayTasks.isEmpty()) {
-                tasks.remove(date);
+    public boolean deleteTask(LocalDate date, int taskIndex, boolean isMuted) {
+        loadDateOf(date);
+        boolean isDeleted = false;
+        long stamp = lock.writeLock();
+        try {
+            List<Task> dayTasks = copyDayTasks(date);
+            if (taskIndex >= 0 && taskIndex < dayTasks.size()) {
+                rememberDayForBatch(date);
+                Task deletedTask = dayTasks.remove(taskIndex);
+                publishDayTasks(date, dayTasks);
+                unindexTask(deletedTask);
+                isDeleted = true;
             }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (isDeleted) {
             if (!isMuted) {
                 System.out.println("Task deleted.");
             }
+            return true;
         } else {
             if (!isMuted) {
                 System.out.println("The task you are trying to delete does not exist.");
             }
+            return false;
         }
     }
 
@@ -123,13 +249,21 @@ public class TaskManager {
      * @param date              The date of the task.
      * @param taskIndex         The index of the task to update.
      * @param newTaskDescription The updated description of the task.
+     * @return The updated Task object.
      * @throws IndexOutOfBoundsException If the task index is out of bounds.
      */
-    public static void updateTask(LocalDate date, int taskIndex, String newTaskDescription, Scanner scanner,
+    public Task updateTask(LocalDate date, int taskIndex, String newTaskDescription, Scanner scanner,
             boolean inMonthView, WeekView weekView)
             throws IndexOutOfBoundsException, TaskManagerException {
         try {
             List<Task> dayTasks = getDayTasks(date);
+            // Kept before the update, as a task moved to another date takes its ID away from this date
+            long stamp = lock.writeLock();
+            try {
+                rememberDayForBatch(date);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
             boolean dayHasTasks = dayTasks != null;
             boolean taskIndexExists = taskIndex >= 0 && taskIndex < Objects.requireNonNull(dayTasks).size();
             assert dayHasTasks;
@@ -144,18 +278,18 @@ public class TaskManager {
                 task = new Todo(newTaskDescription);
                 logger.log(Level.INFO, "Updating task description from " +
                         oldDescription + " to: " + newTaskDescription);
-                dayTasks.set(taskIndex, task);
+                replaceTask(date, taskIndex, task);
                 break;
             case "E":
-                task = updateEventTask(scanner, dayTasks, taskIndex, newTaskDescription, oldDescription);
+                task = updateEventTask(scanner, date, taskIndex, newTaskDescription, oldDescription);
                 break;
             case "D":
-                task = updateDeadlineTask(scanner, dayTasks, taskIndex, newTaskDescription, oldDescription);
+                task = updateDeadlineTask(scanner, date, taskIndex, newTaskDescription, oldDescription);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid task type");
             }
-
+            return task;
         } catch (IndexOutOfBoundsException e) {
             throw new IndexOutOfBoundsException("Task index is out of bounds.");
         }
@@ -165,15 +299,15 @@ public class TaskManager {
      * Updates the details of an Event task.
      *
      * @param scanner Scanner object to read user input for updating task details.
-     * @param dayTasks List of tasks for the day.
+     * @param date The date of the task.
      * @param taskIndex Index of the task to be updated.
      * @param newTaskDescription New description for the task.
      * @param oldDescription Old description of the task.
      * @return Updated Task object.
      */
-    public static Task updateEventTask(Scanner scanner, List<Task> dayTasks,
+    public Task updateEventTask(Scanner scanner, LocalDate date,
             int taskIndex, String newTaskDescription, String oldDescription) throws TaskManagerException {
-        Event oldEvent = (Event) dayTasks.get(taskIndex);
+        Event oldEvent = (Event) getDayTasks(date).get(taskIndex);
 
 
         System.out.println("Do you want to update the start and end dates and times? (yes/no)");
@@ -190,10 +324,10 @@ public class TaskManager {
 
             Task task = new Event(newTaskDescription, newDatesAndTimes[0], newDatesAndTimes[1], newDatesAndTimes[2],
                     newDatesAndTimes[3]);
+            task.setId(oldEvent.getId());
 
-            tasks.computeIfAbsent(LocalDate.parse(newDatesAndTimes[0], DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                    k -> new ArrayList<>()).add(task);
-            dayTasks.remove(taskIndex);
+            moveTask(date, taskIndex, LocalDate.parse(newDatesAndTimes[0], DateTimeFormatter.ofPattern("dd/MM/yyyy")),
+                    task);
 
             updateEventLogging(newTaskDescription, oldDescription, oldEvent, newDatesAndTimes);
             return task;
@@ -203,7 +337,7 @@ public class TaskManager {
 
             logger.log(Level.INFO, "Updating task description from " +
                     oldDescription + " to: " + newTaskDescription);
-            dayTasks.set(taskIndex, task);
+            replaceTask(date, taskIndex, task);
             return task;
         }
     }
@@ -212,25 +346,25 @@ public class TaskManager {
      * Updates the details of a Deadline task.
      *
      * @param scanner Scanner object to read user input for updating task details.
-     * @param dayTasks List of tasks for the day.
+     * @param date The date of the task.
      * @param taskIndex Index of the task to be updated.
      * @param newTaskDescription New description for the task.
      * @param oldDescription Old description of the task.
      * @return Updated Task object.
      */
-    public static Task updateDeadlineTask(Scanner scanner, List<Task> dayTasks,
+    public Task updateDeadlineTask(Scanner scanner, LocalDate date,
             int taskIndex, String newTaskDescription, String oldDescription) {
-        Deadline oldDeadline = (Deadline) dayTasks.get(taskIndex);
+        Deadline oldDeadline = (Deadline) getDayTasks(date).get(taskIndex);
         System.out.println("Do you want to update the deadline date and time? (yes/no)");
         String deadlineResponse = scanner.nextLine().trim().toLowerCase();
         if (deadlineResponse.equals("yes")) {
             System.out.println("Enter the new deadline date and time, separated by a space:");
             String[] newDatesAndTimes = scanner.nextLine().trim().split(" ");
             Task task = new Deadline(newTaskDescription, newDatesAndTimes[0], newDatesAndTimes[1]);
+            task.setId(oldDeadline.getId());
 
-            tasks.computeIfAbsent(LocalDate.parse(newDatesAndTimes[0], DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                    k -> new ArrayList<>()).add(task);
-            dayTasks.remove(taskIndex);
+            moveTask(date, taskIndex, LocalDate.parse(newDatesAndTimes[0], DateTimeFormatter.ofPattern("dd/MM/yyyy")),
+                    task);
 
             logger.log(Level.INFO, "Updating task description from " +
                     oldDescription + " to: " + newTaskDescription);
@@ -245,7 +379,7 @@ public class TaskManager {
             logger.log(Level.INFO, "Updating task description from " +
                     oldDescription + " to: " + newTaskDescription);
 
-            dayTasks.set(taskIndex, task);
+            replaceTask(date, taskIndex, task);
             return task;
         }
     }
@@ -272,14 +406,144 @@ public class TaskManager {
                 + newDatesAndTimes[3]);
     }
 
+    /**
+     * Replaces the task at an index of a date with another task.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The zero-based index of the task to be replaced.
+     * @param task The task to put in its place.
+     * @throws IndexOutOfBoundsException If the task index is out of bounds.
+     */
+    public void replaceTask(LocalDate date, int taskIndex, Task task) {
+        loadDateOf(date);
+        long stamp = lock.writeLock();
+        try {
+            putTask(date, taskIndex, task);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Publishes a new version of the task list of a date with the task at an index replaced by another task, which
+     * takes over the ID of the replaced task and its place in every index. The write lock must be held by the
+     * caller.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The zero-based index of the task to be replaced.
+     * @param task The task to put in its place.
+     * @throws IndexOutOfBoundsException If the task index is out of bounds.
+     */
+    private void putTask(LocalDate date, int taskIndex, Task task) {
+        List<Task> dayTasks = copyDayTasks(date);
+        Task oldTask = dayTasks.get(taskIndex);
+        rememberDayForBatch(date);
+        dayTasks.set(taskIndex, task);
+        publishDayTasks(date, dayTasks);
+        unindexTask(oldTask);
+        if (task.getId() == TaskIdMap.NO_ID) {
+            task.setId(oldTask.getId());
+        }
+        indexTask(date, task);
+    }
+
+    /**
+     * Replaces the task at an index of a date with a copy of it that has a new marked status, leaving the task
+     * itself unchanged for any reader still holding it. The write lock must be held by the caller.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The zero-based index of the task.
+     * @param isCompleted Whether the task is completed.
+     * @throws IndexOutOfBoundsException If the task index is out of bounds.
+     */
+    private void putCompletenessOfTask(LocalDate date, int taskIndex, boolean isCompleted) {
+        Task task = tasks.getOrDefault(date, List.of()).get(taskIndex).copy();
+        task.setCompleteness(isCompleted);
+        putTask(date, taskIndex, task);
+    }
+
+    /**
+     * Replaces the task at an index of a date with a copy of it that has a new priority level, leaving the task
+     * itself unchanged for any reader still holding it. The write lock must be held by the caller.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The zero-based index of the task.
+     * @param priorityLevel The priority level.
+     * @throws IndexOutOfBoundsException If the task index is out of bounds.
+     */
+    private void putPriorityLevelOfTask(LocalDate date, int taskIndex, TaskPriorityLevel priorityLevel) {
+        Task task = tasks.getOrDefault(date, List.of()).get(taskIndex).copy();
+        task.setPriorityLevel(priorityLevel);
+        putTask(date, taskIndex, task);
+    }
+
+    /**
+     * Replaces the task at an index of a date with another task added to the end of the task list of a new date.
+     * Both task lists are published under the same write lock, so that no reader sees the task on both dates, or on
+     * neither.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The index of the task to be replaced.
+     * @param newDate The date the other task is added to, which may be the same date.
+     * @param task The task to put in its place.
+     */
+    private void moveTask(LocalDate date, int taskIndex, LocalDate newDate, Task task) {
+        loadDateOf(newDate);
+        long stamp = lock.writeLock();
+        try {
+            rememberDayForBatch(newDate);
+            List<Task> dayTasks = copyDayTasks(date);
+            Task removedTask = dayTasks.remove(taskIndex);
+            List<Task> newDayTasks = newDate.equals(date) ? dayTasks : copyDayTasks(newDate);
+            newDayTasks.add(task);
+            publishDayTasks(date, dayTasks);
+            publishDayTasks(newDate, newDayTasks);
+            indexTask(newDate, task);
+            unindexTask(removedTask);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies the current version of the task list of a date, to be changed and then published in its place.
+     * The write lock must be held by the caller.
+     *
+     * @param date The date.
+     * @return A new list of the tasks of the date, empty if it has none.
+     */
+    private List<Task> copyDayTasks(LocalDate date) {
+        return new ArrayList<>(tasks.getOrDefault(date, List.of()));
+    }
+
+    /**
+     * Publishes a new version of the task list of a date in a single step, replacing the previous version, which is
+     * left unchanged for any reader still holding it. The list is not to be changed after it is published.
+     * The write lock must be held by the caller.
+     *
+     * @param date The date.
+     * @param dayTasks The new task list of the date, which removes the date if empty.
+     */
+    private void publishDayTasks(LocalDate date, List<Task> dayTasks) {
+        if (dayTasks.isEmpty()) {
+            tasks.remove(date);
+        } else {
+            tasks.put(date, Collections.unmodifiableList(dayTasks));
+        }
+    }
+
     /**
      * Method to get the tasks for a specified date.
      *
      * @param date The date to be checked.
-     * @return An ArrayList of Tasks containing the tasks on the specified date.
+     * The returned list is a read-only snapshot of the tasks of the date, which does not change when tasks are
+     * added to or removed from the date later.
+     *
+     * @return A read-only list of the tasks on the specified date, or null if it has none.
      */
 
-    public static List<Task> getDayTasks(LocalDate date) {
+    public List<Task> getDayTasks(LocalDate date) {
+        loadDateOf(date);
         return tasks.get(date);
     }
 
@@ -290,14 +554,15 @@ public class TaskManager {
      * @param taskIndex The index of the task to mark.
      */
     public void markTaskAsCompleted(LocalDate date, int taskIndex) {
-        List<Task> dayTasks = tasks.get(date);
-
+        long stamp = lock.writeLock();
         try {
-            dayTasks.get(taskIndex).setCompleteness(true);
-            System.out.println("Task marked as done.");
+            putCompletenessOfTask(date, taskIndex, true);
         } catch (IndexOutOfBoundsException e) {
             throw new IndexOutOfBoundsException("Task index is out of bounds.");
+        } finally {
+            lock.unlockWrite(stamp);
         }
+        System.out.println("Task marked as done.");
     }
 
     /**
@@ -307,13 +572,50 @@ public class TaskManager {
      * @param taskIndex The index of the task to mark.
      */
     public void markTaskAsNotCompleted(LocalDate date, int taskIndex) {
-        List<Task> dayTasks = tasks.get(date);
-
+        long stamp = lock.writeLock();
         try {
-            dayTasks.get(taskIndex).setCompleteness(false);
-            System.out.println("Unmarked task.");
+            putCompletenessOfTask(date, taskIndex, false);
         } catch (IndexOutOfBoundsException e) {
             throw new IndexOutOfBoundsException("Task index is out of bounds.");
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        System.out.println("Unmarked task.");
+    }
+
+    /**
+     * Sets whether a task is completed, without printing anything.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The zero-based index of the task.
+     * @param isCompleted Whether the task is completed.
+     * @throws IndexOutOfBoundsException If the task index is out of bounds.
+     */
+    public void setTaskCompleteness(LocalDate date, int taskIndex, boolean isCompleted) {
+        loadDateOf(date);
+        long stamp = lock.writeLock();
+        try {
+            putCompletenessOfTask(date, taskIndex, isCompleted);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets the priority level of a task, without printing anything.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The zero-based index of the task.
+     * @param priorityLevel The priority level.
+     * @throws IndexOutOfBoundsException If the task index is out of bounds.
+     */
+    public void setTaskPriorityLevel(LocalDate date, int taskIndex, TaskPriorityLevel priorityLevel) {
+        loadDateOf(date);
+        long stamp = lock.writeLock();
+        try {
+            putPriorityLevelOfTask(date, taskIndex, priorityLevel);
+        } finally {
+            lock.unlockWrite(stamp);
         }
     }
 
@@ -321,10 +623,91 @@ public class TaskManager {
      * Retrieves tasks for a specific date.
      *
      * @param date The date to retrieve tasks for.
-     * @return A list of tasks for the given date.
+     * @return A read-only snapshot of the tasks for the given date, which does not change when tasks are added to or
+     *     removed from the date later.
      */
     public List<Task> getTasksForDate(LocalDate date) {
-        return tasks.getOrDefault(date, new ArrayList<>());
+        loadDateOf(date);
+        return tasks.getOrDefault(date, List.of());
+    }
+
+    /**
+     * Retrieves the tasks of every date from the start date to the end date, both inclusive, in date order.
+     * Saved tasks in the range are loaded first. The range is found in O(log n), and the task lists of its dates,
+     * which are never changed once published, are gathered under an optimistic read without copying them, so that
+     * the range can be rendered on any thread without blocking changes to the tasks.
+     * The returned map is a read-only snapshot, which does not reflect later changes to dates in the range.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     * @return Sorted map of the dates in the range that have tasks, to their tasks.
+     */
+    public NavigableMap<LocalDate, List<Task>> getTasksInRange(LocalDate startDate, LocalDate endDate) {
+        loadDatesBetween(startDate, endDate);
+        long stamp = lock.tryOptimisticRead();
+        NavigableMap<LocalDate, List<Task>> rangeTasks = copyRange(startDate, endDate);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                rangeTasks = copyRange(startDate, endDate);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (!recurringTasks.isEmpty()) {
+            stamp = lock.readLock();
+            try {
+                recurringTasks.addOccurrences(rangeTasks, startDate, endDate);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return Collections.unmodifiableNavigableMap(rangeTasks);
+    }
+
+    /**
+     * Gathers the current versions of the task lists of every date in a range.
+     * When called under an optimistic read, the result is only to be used if the read is still valid afterwards.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     * @return Sorted map of the dates in the range that have tasks, to their read-only task lists.
+     */
+    private NavigableMap<LocalDate, List<Task>> copyRange(LocalDate startDate, LocalDate endDate) {
+        NavigableMap<LocalDate, List<Task>> rangeTasks = new TreeMap<>();
+        for (Map.Entry<LocalDate, List<Task>> entry : tasks.subMap(startDate, true, endDate, true).entrySet()) {
+            rangeTasks.put(entry.getKey(), entry.getValue());
+        }
+        return rangeTasks;
+    }
+
+    /**
+     * Retrieves the events that take up each date from the start date to the end date, both inclusive, but are
+     * held under another date, such as the later dates of a multi-day event. Each date is looked up in the event
+     * index in O(1), and the events themselves are not copied into the task lists of the dates they span, so
+     * task numbers, saving and deleting still only use the date each event is held under.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     * @return Read-only sorted map of the dates in the range that such events take up, to those events.
+     */
+    public NavigableMap<LocalDate, List<Task>> getSpanningEventsInRange(LocalDate startDate, LocalDate endDate) {
+        loadDatesBetween(startDate, endDate);
+        NavigableMap<LocalDate, List<Task>> spanningEvents = new TreeMap<>();
+        long stamp = lock.readLock();
+        try {
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                List<Task> dayTasks = tasks.getOrDefault(date, List.of());
+                List<Task> dateEvents = eventIndex.findOnDate(date);
+                dateEvents.removeIf(event -> dayTasks.stream().anyMatch(task -> task == event));
+                if (!dateEvents.isEmpty()) {
+                    spanningEvents.put(date, Collections.unmodifiableList(dateEvents));
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return Collections.unmodifiableNavigableMap(spanningEvents);
     }
 
     /**
@@ -343,6 +726,7 @@ public class TaskManager {
     public void addManager(Scanner scanner, WeekView weekView, MonthView monthView, boolean inMonthView, String action,
             String day, String taskTypeString, String taskDescription)
             throws TaskManagerException,DateTimeParseException {
+        checkIfBatchFailed();
 
         // Convert the day to a LocalDate
         LocalDate date;
@@ -354,55 +738,57 @@ public class TaskManager {
 
         // Parse the task type
         TaskType taskType = parseTaskType(taskTypeString.toUpperCase());
-        String typeName = taskType.equals(TODO) ? "Todo" : taskType.equals(DEADLINE) ? "Deadline" : "Event";
 
         //Add task based on type
-        addTaskBasedOnType(scanner, taskDescription, taskType, date);
+        addTask(date, readTaskBasedOnType(scanner, taskDescription, taskType));
+        String typeName = taskType.equals(TODO) ? "Todo" : taskType.equals(DEADLINE) ? "Deadline" : "Event";
 
-        // Save tasks to file
-        saveTasksToFile(tasks, Storage.FILE_PATH); // Update tasks.txt file
-        System.out.println(typeName + " added.");
+        // Record the added task in the journal
+        List<Task> dayTasks = tasks.get(date);
+        Task addedTask = dayTasks.get(dayTasks.size() - 1);
+        recordEdit(new UndoHistory.Edit("add", List.of(Journal.getAddRecord(date, addedTask)),
+                List.of(Journal.getDeleteRecord(date, dayTasks.size() - 1))));
+        System.out.println(typeName + " added with ID " + addedTask.getId() + ".");
     }
 
     /**
-     * Adds a task based on its type.
+     * Creates a task based on its type, prompting for the dates and times it needs.
      *
      * @param scanner Scanner object to read user input for task details.
      * @param taskDescription Description of the task.
      * @param taskType Type of the task (TODO, EVENT, DEADLINE).
-     * @param date Date for the task.
+     * @return The created task, which has not been added to any date.
      * @throws TaskManagerException If an invalid task type is provided.
      */
-    private static void addTaskBasedOnType(Scanner scanner, String taskDescription,
-            TaskType taskType, LocalDate date) throws TaskManagerException {
+    private static Task readTaskBasedOnType(Scanner scanner, String taskDescription, TaskType taskType)
+            throws TaskManagerException {
         if (taskType == null) {
             throw new TaskManagerException("Invalid task type. Please provide valid task type: " +
                     "T for Todo, E for event, D for deadline.");
         } else if (taskType == DEADLINE) {
-            parseAndAddDeadline(scanner, taskDescription, taskType, date);
+            return parseDeadline(scanner, taskDescription, taskType);
         } else if (taskType == EVENT) {
-            parseAndAddEvent(scanner, taskDescription, taskType, date);
+            return parseEvent(scanner, taskDescription, taskType);
         } else {
             // dummy String array to pass into function call
             String[] dummyDates = {null};
             // dummy String array to pass into function call
             String[] dummyTimes = {null};
-            // Call function to add tasks
-            addTask(date, taskDescription, taskType, dummyDates, dummyTimes);
+            return createTask(taskDescription, taskType, dummyDates, dummyTimes);
         }
     }
 
     /**
-     * Parses and adds an Event task.
+     * Parses an Event task.
      *
      * @param scanner Scanner object to read user input for task details.
      * @param taskDescription Description of the task.
      * @param taskType Type of the task (EVENT).
-     * @param date Date for the task.
+     * @return The Event task.
      * @throws TaskManagerException If an invalid task type is provided or if there is an error in date/time format.
      */
-    private static void parseAndAddEvent(Scanner scanner, String taskDescription,
-            TaskType taskType, LocalDate date) throws TaskManagerException {
+    private static Task parseEvent(Scanner scanner, String taskDescription, TaskType taskType)
+            throws TaskManagerException {
         System.out.println("Enter the start date of this task, along with the start time separated by a space:");
         String inputStartDateAndTime = scanner.nextLine().trim();
         checkIfDateTimeInFormat(inputStartDateAndTime);
@@ -420,20 +806,20 @@ public class TaskManager {
         String [] startAndEndDates = new String[]{startDate, endDate};
         String [] startAndEndTimes = new String[]{startTime, endTime};
 
-        addTask(date, taskDescription, taskType, startAndEndDates, startAndEndTimes);
+        return createTask(taskDescription, taskType, startAndEndDates, startAndEndTimes);
     }
 
     /**
-     * Parses and adds a Deadline task.
+     * Parses a Deadline task.
      *
      * @param scanner Scanner object to read user input for task details.
      * @param taskDescription Description of the task.
      * @param taskType Type of the task (DEADLINE).
-     * @param date Date for the task.
+     * @return The Deadline task.
      * @throws TaskManagerException If an invalid task type is provided or if there is an error in date/time format.
      */
-    private static void parseAndAddDeadline(Scanner scanner, String taskDescription,
-            TaskType taskType, LocalDate date) throws TaskManagerException {
+    private static Task parseDeadline(Scanner scanner, String taskDescription, TaskType taskType)
+            throws TaskManagerException {
         System.out.println("Enter the deadline date and time of this task, separated by a space:");
         String inputDeadlineDateAndTime = scanner.nextLine().trim();
         checkIfDateTimeInFormat(inputDeadlineDateAndTime);
@@ -441,7 +827,7 @@ public class TaskManager {
         String[] deadlineDate = new String[]{deadlineDateAndTime[0]};
         String[] deadlineTime = new String[]{deadlineDateAndTime[1]};
 
-        addTask(date, taskDescription, taskType, deadlineDate, deadlineTime);
+        return createTask(taskDescription, taskType, deadlineDate, deadlineTime);
     }
 
 
@@ -459,8 +845,7 @@ public class TaskManager {
         int dayInt = Integer.parseInt(day);
         date = findDateFromDayNumber(weekView, monthView, inMonthView, dayInt);
 
-        List<Task> eventsForDate = getEventsForDate(date);
-        List<String> freeTimes = getFreeTimeSlots(eventsForDate, date);
+        List<String> freeTimes = getFreeTimeSlots(date);
 
         printFreeTimeSlots(freeTimes, date);
     }
@@ -478,134 +863,480 @@ public class TaskManager {
      */
     public void markManager(WeekView weekView, MonthView monthView, boolean inMonthView, String day, int taskIndex)
             throws TaskManagerException, DateTimeParseException, MarkTaskException {
+        checkIfBatchFailed();
         LocalDate date;
         int dayInt = Integer.parseInt(day);
         date = findDateFromDayNumber(weekView, monthView, inMonthView, dayInt);
 
-        List<Task> dayTasks = tasks.get(date);
+        markAndRecord(date, taskIndex);
+    }
+
+    /**
+     * Marks the task with the given ID as completed or not completed based its current marked status,
+     * wherever its date is.
+     *
+     * @param taskId The ID of the task to be marked.
+     * @throws TaskManagerException If there is no task with the ID.
+     */
+    public void markManager(long taskId) throws TaskManagerException {
+        checkIfBatchFailed();
+        LocalDate date = findDateOfTask(taskId);
+        markAndRecord(date, findTaskNumber(date, taskId));
+    }
+
+    /**
+     * Marks a task as completed or not completed based its current marked status, and records it in the journal.
+     *
+     * @param date The date of the task to be marked.
+     * @param taskIndex The one-based index of the task to be marked.
+     * @throws MarkTaskException If the date has no task at the index.
+     */
+    private void markAndRecord(LocalDate date, int taskIndex) throws MarkTaskException {
+        List<Task> dayTasks = getDayTasks(date);
+        RecurringTask recurringTask = findRecurringTask(date, taskIndex);
+        if (recurringTask != null) {
+            Task occurrence = recurringTask.createOccurrence(date);
+            changeOccurrence(recurringTask, date, new RecurringTask.OccurrenceChange(false,
+                    !occurrence.isCompleted(), occurrence.getPriorityLevel()));
+            System.out.println(occurrence.isCompleted() ? "Unmarked task." : "Task marked as done.");
+            return;
+        }
         checkIfTaskIndexIsValidForMarkingTask(dayTasks, taskIndex);
 
+        boolean isCompleted = !dayTasks.get(taskIndex - 1).isCompleted();
         handleMarkingOfTask(taskIndex, date);
-        saveTasksToFile(tasks, Storage.FILE_PATH);
+        recordEdit(new UndoHistory.Edit("mark", List.of(Journal.getMarkRecord(date, taskIndex - 1, isCompleted)),
+                List.of(Journal.getMarkRecord(date, taskIndex - 1, !isCompleted))));
     }
 
     /**
-     * Finds the date based on the day number.
+     * Prints the ID of a task, which can be used in place of its day and index in later commands.
      *
      * @param weekView WeekView object for finding the date.
      * @param monthView MonthView object for finding the date.
      * @param inMonthView A boolean indicating whether the view is in month view or not.
-     * @param dayInt The day number to find the date for.
-     * @return The date corresponding to the day number.
-     * @throws TaskManagerException If the date is not in the current month or week being viewed.
+     * @param day The day of the task.
+     * @param taskIndex The one-based index of the task.
+     * @throws TaskManagerException If the date is not being viewed or has no task at the index.
      */
-    private static LocalDate findDateFromDayNumber(WeekView weekView, MonthView monthView,
-            boolean inMonthView, int dayInt) throws TaskManagerException {
-      
-        if (dayInt < 1 || dayInt > 31) {
-            throw new TaskManagerException("Invalid day number. Day must be between 1 and 31.");
+    public void idManager(WeekView weekView, MonthView monthView, boolean inMonthView, String day, int taskIndex)
+            throws TaskManagerException {
+        LocalDate date = findDateFromDayNumber(weekView, monthView, inMonthView, Integer.parseInt(day));
+        List<Task> dayTasks = getTasksForDate(date);
+        if (findRecurringTask(date, taskIndex) != null) {
+            throw new TaskManagerException("Task " + taskIndex + " of " + date + " is an occurrence of a " +
+                    "recurring task, which has no ID.");
         }
+        checkIfTaskExistsInCurrentDate(dayTasks, taskIndex);
+        System.out.println("Task " + taskIndex + " of " + date + " has ID " + dayTasks.get(taskIndex - 1).getId()
+                + ".");
+    }
 
-        if (inMonthView) {
-            LocalDate startOfMonth = monthView.getStartOfMonth();
-            int daysInMonth = startOfMonth.lengthOfMonth();
-            if (dayInt > daysInMonth) {
-                throw new TaskManagerException("Invalid day for month view. Please enter a day between 1 and "
-                        + daysInMonth + ".");
-            }
-            return startOfMonth.withDayOfMonth(dayInt);
-        } else {
-            LocalDate startOfWeek = weekView.getStartOfWeek();
-            LocalDate endOfWeek = startOfWeek.plusDays(6);
-            LocalDate startOfMonth = startOfWeek.withDayOfMonth(1);
-            LocalDate possibleDate = startOfMonth.plusDays(dayInt - 1);
-
-            boolean isBeforeStartOfWeek = possibleDate.isBefore(startOfWeek);
-            boolean isNotInSameMonth = possibleDate.getMonth() != startOfWeek.getMonth();
-            boolean dayIntRefersToNextMonth = isBeforeStartOfWeek || isNotInSameMonth;
-
-            if (dayIntRefersToNextMonth) {
-                LocalDate startOfNextMonth = startOfMonth.plusMonths(1).withDayOfMonth(dayInt);
-                if (startOfNextMonth.isAfter(endOfWeek)) {
-                    throw new TaskManagerException("Invalid day for week view." +
-                            " Please enter a day that falls within the current week.");
-                }
-                return startOfNextMonth;
-            } else {
-                if (possibleDate.isBefore(startOfWeek) || possibleDate.isAfter(endOfWeek)) {
-                    throw new TaskManagerException("Invalid day for week view." +
-                            " Please enter a day that falls within the current week.");
-                }
-                return possibleDate;
-            }
+    /**
+     * Retrieves the task with the given ID.
+     *
+     * @param taskId The ID of the task.
+     * @return The task, or null if there is no task with the ID.
+     */
+    public Task getTaskById(long taskId) {
+        long stamp = lock.readLock();
+        try {
+            return taskIds.get(taskId);
+        } finally {
+            lock.unlockRead(stamp);
         }
     }
 
     /**
-     * Handles the marking of a task based on the task index and date.
+     * Moves the ID given to the next new task up to the one recorded with the saved tasks, so that the IDs of tasks
+     * deleted in an earlier session are not given out again. Must be called before the journal is replayed.
      *
-     * @param taskIndex The index of the task to be marked.
-     * @param date The date of the task to be marked.
+     * @param savedNextTaskId The next task ID recorded by the backend, or -1 if none has been recorded.
      */
-    private void handleMarkingOfTask(int taskIndex, LocalDate date) {
-        logger.log(Level.INFO, "Marking task at index " + taskIndex + " for date " + date);
-        assert tasks.get(date) != null;
-        boolean taskIsCompleted = tasks.get(date).get(taskIndex - 1).isCompleted();
-        if (taskIsCompleted) {
-            markTaskAsNotCompleted(date, taskIndex - 1);
-        } else {
-            markTaskAsCompleted(date, taskIndex - 1);
+    public void setNextTaskId(long savedNextTaskId) {
+        long stamp = lock.writeLock();
+        try {
+            nextTaskId = Math.max(nextTaskId, savedNextTaskId);
+        } finally {
+            lock.unlockWrite(stamp);
         }
     }
 
     /**
-     * Performs the setting of priority levels based on the user's input.
+     * Prints every task matching a filter, along with its date and ID.
+     * Every saved task is loaded first, so that tasks of months not viewed yet are also found.
      *
-     * @param weekView WeekView object for finding the date.
-     * @param monthView MonthView object for finding the date.
-     * @param inMonthView A boolean indicating whether the view is in month view or not.
-     * @param day The day of the task to be marked.
-     * @param taskIndex The index of the task to be marked.
-     * @param priorityLevelString The priority level to set the task to.
-     * @throws TaskManagerException If there is an error in managing tasks.
-     * @throws DateTimeParseException If there is an error parsing the date.
+     * @param criteria The filter criteria: H, M or L for priority level, X or O for marked status, and T, D or E
+     *     for task type. Tasks match if they match any of the criteria given for each of these.
+     * @throws TaskManagerException If any of the criteria is not valid.
      */
-    public void priorityManager(WeekView weekView, MonthView monthView, boolean inMonthView, String day,
-            int taskIndex, String priorityLevelString)
-            throws TaskManagerException, DateTimeParseException, SetPriorityException {
-        LocalDate date;
-        int dayInt = Integer.parseInt(day);
-
-        date = findDateFromDayNumber(weekView, monthView, inMonthView, dayInt);
-
-        List<Task> dayTasks = tasks.get(date);
-        checkIfTaskIndexIsValidForPriority(dayTasks, taskIndex);
-        checkIfPriorityIsValid(priorityLevelString);
+    public void filterManager(String[] criteria) throws TaskManagerException {
+        printTasksWithDates(filterTasks(criteria), "Tasks matching the filter:", "No tasks match the filter.");
+    }
 
-        setPriorityLevelOfTask(taskIndex, date, priorityLevelString);
-        saveTasksToFile(tasks, Storage.FILE_PATH);
+    /**
+     * Prints every task whose description has, for each word of the query, a word starting with it, along with
+     * its date and ID.
+     *
+     * @param query The words to search for.
+     */
+    public void findManager(String query) {
+        printTasksWithDates(findTasks(query), "Tasks found:", "No tasks found.");
     }
 
     /**
-     * Sets the priority level of a task.
+     * Finds the tasks whose descriptions have, for each word of the query, a word starting with it, through the
+     * search index. Every saved task is loaded first, so that tasks of months not viewed yet are also found.
      *
-     * @param taskIndex The index of the task to set the priority level for.
-     * @param date The date of the task to set the priority level for.
-     * @param priorityLevelString The priority level to set the task to.
+     * @param query The words to search for.
+     * @return Sorted map of the dates of the tasks found, to the tasks found in order of ID.
      */
-    private void setPriorityLevelOfTask(int taskIndex, LocalDate date, String priorityLevelString) {
-        logger.log(Level.INFO, "Setting priority level of task at index " + taskIndex + " for date " + date);
+    public NavigableMap<LocalDate, List<Task>> findTasks(String query) {
+        loadAllTasks();
+        NavigableMap<LocalDate, List<Task>> foundTasks = new TreeMap<>();
+        long stamp = lock.readLock();
+        try {
+            for (long id : searchIndex.find(query, taskIds)) {
+                foundTasks.computeIfAbsent(taskIds.getDate(id), k -> new ArrayList<>()).add(taskIds.get(id));
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return foundTasks;
+    }
+
+    /**
+     * Returns the task descriptions starting with a prefix, ranked by how many tasks have them and how close the
+     * dates of those tasks are to today. Every saved task is loaded first, so that the descriptions of months not
+     * viewed yet are also offered.
+     *
+     * @param prefix The start of the description, in any case.
+     * @param limit The largest number of descriptions returned.
+     * @return The descriptions in lower case, best first.
+     */
+    public List<String> completeDescription(String prefix, int limit) {
+        loadAllTasks();
+        long stamp = lock.readLock();
+        try {
+            return descriptionTrie.complete(prefix.toLowerCase(Locale.ROOT), limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Prints tasks along with their dates and IDs, one task to a line.
+     *
+     * @param datedTasks Sorted map of dates to their tasks.
+     * @param heading The line printed before the tasks.
+     * @param emptyMessage The line printed instead if there are no tasks.
+     */
+    private static void printTasksWithDates(NavigableMap<LocalDate, List<Task>> datedTasks, String heading,
+            String emptyMessage) {
+        if (datedTasks.isEmpty()) {
+            System.out.println(emptyMessage);
+            return;
+        }
+        System.out.println(heading);
+        for (Map.Entry<LocalDate, List<Task>> entry : datedTasks.entrySet()) {
+            for (Task task : entry.getValue()) {
+                System.out.println(entry.getKey() + " #" + task.getId() + " " + task.getDisplayFormat()
+                        + task.getName());
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks matching a filter from the bitmaps of the filter index.
+     * The bitmaps of the criteria given for each of priority level, marked status and task type are ORed,
+     * and the results for each of these are then ANDed.
+     * Every saved task is loaded first, so that tasks of months not viewed yet are also found.
+     *
+     * @param criteria The filter criteria: H, M or L for priority level, X or O for marked status, and T, D or E
+     *     for task type.
+     * @return Sorted map of the dates of the matching tasks, to the matching tasks in order of ID.
+     * @throws TaskManagerException If any of the criteria is not valid.
+     */
+    public NavigableMap<LocalDate, List<Task>> filterTasks(String[] criteria) throws TaskManagerException {
+        loadAllTasks();
+        NavigableMap<LocalDate, List<Task>> matchingTasks = new TreeMap<>();
+        long stamp = lock.readLock();
+        try {
+            BitSet priorityMatches = null;
+            BitSet completenessMatches = null;
+            BitSet typeMatches = null;
+            for (String criterion : criteria) {
+                switch (criterion.trim().toUpperCase()) {
+                case "H":
+                    priorityMatches = or(priorityMatches, filterIndex.getWithPriority(TaskPriorityLevel.HIGH));
+                    break;
+                case "M":
+                    priorityMatches = or(priorityMatches, filterIndex.getWithPriority(TaskPriorityLevel.MEDIUM));
+                    break;
+                case "L":
+                    priorityMatches = or(priorityMatches, filterIndex.getWithPriority(TaskPriorityLevel.LOW));
+                    break;
+                case "X":
+                    completenessMatches = or(completenessMatches, filterIndex.getWithCompleteness(true));
+                    break;
+                case "O":
+                    completenessMatches = or(completenessMatches, filterIndex.getWithCompleteness(false));
+                    break;
+                case "T":
+                    typeMatches = or(typeMatches, filterIndex.getOfType(TODO));
+                    break;
+                case "D":
+                    typeMatches = or(typeMatches, filterIndex.getOfType(DEADLINE));
+                    break;
+                case "E":
+                    typeMatches = or(typeMatches, filterIndex.getOfType(EVENT));
+                    break;
+                default:
+                    throw new TaskManagerException("Invalid filter. Please use H, M or L for priority level, "
+                            + "X or O for marked status, and T, D or E for task type.");
+                }
+            }
+            BitSet matches = filterIndex.getAll();
+            for (BitSet criterionMatches : new BitSet[]{priorityMatches, completenessMatches, typeMatches}) {
+                if (criterionMatches != null) {
+                    matches.and(criterionMatches);
+                }
+            }
+            for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                matchingTasks.computeIfAbsent(taskIds.getDate(id), k -> new ArrayList<>()).add(taskIds.get(id));
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return matchingTasks;
+    }
+
+    private static BitSet or(BitSet matches, BitSet criterionMatches) {
+        if (matches == null) {
+            return criterionMatches;
+        }
+        matches.or(criterionMatches);
+        return matches;
+    }
+
+    /**
+     * Loads every saved task that has not been loaded yet.
+     */
+    private void loadAllTasks() {
+        long stamp = lock.writeLock();
+        try {
+            if (monthLoader != null) {
+                loadMonths(monthLoader.getUnloadedMonths());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Finds the date a task is held under from its ID in O(1).
+     *
+     * @param taskId The ID of the task.
+     * @return The date of the task.
+     * @throws TaskManagerException If there is no task with the ID.
+     */
+    private LocalDate findDateOfTask(long taskId) throws TaskManagerException {
+        long stamp = lock.readLock();
+        try {
+            LocalDate date = taskIds.getDate(taskId);
+            if (date == null) {
+                throw new TaskManagerException("There is no task with ID " + taskId + ".");
+            }
+            return date;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds the one-based index of a task in the task list of its date, from its ID.
+     *
+     * @param date The date of the task.
+     * @param taskId The ID of the task.
+     * @return The one-based index of the task.
+     * @throws TaskManagerException If there is no task with the ID on the date.
+     */
+    private int findTaskNumber(LocalDate date, long taskId) throws TaskManagerException {
+        long stamp = lock.readLock();
+        try {
+            Task task = taskIds.get(taskId);
+            List<Task> dayTasks = tasks.getOrDefault(date, List.of());
+            for (int i = 0; i < dayTasks.size(); i++) {
+                if (dayTasks.get(i) == task) {
+                    return i + 1;
+                }
+            }
+            throw new TaskManagerException("There is no task with ID " + taskId + ".");
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds the date based on the day number.
+     *
+     * @param weekView WeekView object for finding the date.
+     * @param monthView MonthView object for finding the date.
+     * @param inMonthView A boolean indicating whether the view is in month view or not.
+     * @param dayInt The day number to find the date for.
+     * @return The date corresponding to the day number.
+     * @throws TaskManagerException If the date is not in the current month or week being viewed.
+     */
+    private static LocalDate findDateFromDayNumber(WeekView weekView, MonthView monthView,
+            boolean inMonthView, int dayInt) throws TaskManagerException {
+      
+        if (dayInt < 1 || dayInt > 31) {
+            throw new TaskManagerException("Invalid day number. Day must be between 1 and 31.");
+        }
+
+        if (inMonthView) {
+            LocalDate startOfMonth = monthView.getStartOfMonth();
+            int daysInMonth = startOfMonth.lengthOfMonth();
+            if (dayInt > daysInMonth) {
+                throw new TaskManagerException("Invalid day for month view. Please enter a day between 1 and "
+                        + daysInMonth + ".");
+            }
+            return startOfMonth.withDayOfMonth(dayInt);
+        } else {
+            LocalDate startOfWeek = weekView.getStartOfWeek();
+            LocalDate endOfWeek = startOfWeek.plusDays(6);
+            LocalDate startOfMonth = startOfWeek.withDayOfMonth(1);
+            LocalDate possibleDate = startOfMonth.plusDays(dayInt - 1);
+
+            boolean isBeforeStartOfWeek = possibleDate.isBefore(startOfWeek);
+            boolean isNotInSameMonth = possibleDate.getMonth() != startOfWeek.getMonth();
+            boolean dayIntRefersToNextMonth = isBeforeStartOfWeek || isNotInSameMonth;
+
+            if (dayIntRefersToNextMonth) {
+                LocalDate startOfNextMonth = startOfMonth.plusMonths(1).withDayOfMonth(dayInt);
+                if (startOfNextMonth.isAfter(endOfWeek)) {
+                    throw new TaskManagerException("Invalid day for week view." +
+                            " Please enter a day that falls within the current week.");
+                }
+                return startOfNextMonth;
+            } else {
+                if (possibleDate.isBefore(startOfWeek) || possibleDate.isAfter(endOfWeek)) {
+                    throw new TaskManagerException("Invalid day for week view." +
+                            " Please enter a day that falls within the current week.");
+                }
+                return possibleDate;
+            }
+        }
+    }
+
+    /**
+     * Handles the marking of a task based on the task index and date.
+     *
+     * @param taskIndex The index of the task to be marked.
+     * @param date The date of the task to be marked.
+     */
+    private void handleMarkingOfTask(int taskIndex, LocalDate date) {
+        logger.log(Level.INFO, "Marking task at index " + taskIndex + " for date " + date);
         assert tasks.get(date) != null;
-        List<Task> dayTasks = tasks.get(date);
-        Task task = dayTasks.get(taskIndex - 1);
-        TaskPriorityLevel priorityLevelToSet =
-                priorityLevelString.equals("H") ? TaskPriorityLevel.HIGH :
+        boolean taskIsCompleted = tasks.get(date).get(taskIndex - 1).isCompleted();
+        if (taskIsCompleted) {
+            markTaskAsNotCompleted(date, taskIndex - 1);
+        } else {
+            markTaskAsCompleted(date, taskIndex - 1);
+        }
+    }
+
+    /**
+     * Performs the setting of priority levels based on the user's input.
+     *
+     * @param weekView WeekView object for finding the date.
+     * @param monthView MonthView object for finding the date.
+     * @param inMonthView A boolean indicating whether the view is in month view or not.
+     * @param day The day of the task to be marked.
+     * @param taskIndex The index of the task to be marked.
+     * @param priorityLevelString The priority level to set the task to.
+     * @throws TaskManagerException If there is an error in managing tasks.
+     * @throws DateTimeParseException If there is an error parsing the date.
+     */
+    public void priorityManager(WeekView weekView, MonthView monthView, boolean inMonthView, String day,
+            int taskIndex, String priorityLevelString)
+            throws TaskManagerException, DateTimeParseException, SetPriorityException {
+        checkIfBatchFailed();
+        LocalDate date;
+        int dayInt = Integer.parseInt(day);
+
+        date = findDateFromDayNumber(weekView, monthView, inMonthView, dayInt);
+
+        setPriorityAndRecord(date, taskIndex, priorityLevelString);
+    }
+
+    /**
+     * Sets the priority level of the task with the given ID, wherever its date is.
+     *
+     * @param taskId The ID of the task.
+     * @param priorityLevelString The priority level to set the task to.
+     * @throws TaskManagerException If there is no task with the ID, or the priority level is not valid.
+     */
+    public void priorityManager(long taskId, String priorityLevelString) throws TaskManagerException {
+        checkIfBatchFailed();
+        LocalDate date = findDateOfTask(taskId);
+        setPriorityAndRecord(date, findTaskNumber(date, taskId), priorityLevelString);
+    }
+
+    /**
+     * Sets the priority level of a task, and records it in the journal.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The one-based index of the task.
+     * @param priorityLevelString The priority level to set the task to.
+     * @throws SetPriorityException If the date has no task at the index, or the priority level is not valid.
+     */
+    private void setPriorityAndRecord(LocalDate date, int taskIndex, String priorityLevelString)
+            throws SetPriorityException {
+        List<Task> dayTasks = getDayTasks(date);
+        RecurringTask recurringTask = findRecurringTask(date, taskIndex);
+        if (recurringTask != null) {
+            checkIfPriorityIsValid(priorityLevelString);
+            changeOccurrence(recurringTask, date, new RecurringTask.OccurrenceChange(false,
+                    recurringTask.createOccurrence(date).isCompleted(), parsePriorityLevel(priorityLevelString)));
+            return;
+        }
+        checkIfTaskIndexIsValidForPriority(dayTasks, taskIndex);
+        checkIfPriorityIsValid(priorityLevelString);
+
+        TaskPriorityLevel oldPriorityLevel = dayTasks.get(taskIndex - 1).getPriorityLevel();
+        setPriorityLevelOfTask(taskIndex, date, priorityLevelString);
+        recordEdit(new UndoHistory.Edit("priority",
+                List.of(Journal.getPriorityRecord(date, taskIndex - 1, parsePriorityLevel(priorityLevelString))),
+                List.of(Journal.getPriorityRecord(date, taskIndex - 1, oldPriorityLevel))));
+    }
+
+    /**
+     * Sets the priority level of a task.
+     *
+     * @param taskIndex The index of the task to set the priority level for.
+     * @param date The date of the task to set the priority level for.
+     * @param priorityLevelString The priority level to set the task to.
+     */
+    private void setPriorityLevelOfTask(int taskIndex, LocalDate date, String priorityLevelString) {
+        logger.log(Level.INFO, "Setting priority level of task at index " + taskIndex + " for date " + date);
+        assert tasks.get(date) != null;
+        TaskPriorityLevel priorityLevelToSet = parsePriorityLevel(priorityLevelString);
+        long stamp = lock.writeLock();
+        try {
+            putPriorityLevelOfTask(date, taskIndex - 1, priorityLevelToSet);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    private static TaskPriorityLevel parsePriorityLevel(String priorityLevelString) {
+        return priorityLevelString.equals("H") ? TaskPriorityLevel.HIGH :
                 priorityLevelString.equals("M") ? TaskPriorityLevel.MEDIUM :
                 TaskPriorityLevel.LOW;
-        task.setPriorityLevel(priorityLevelToSet);
     }
 
-
     /**
      * Method that parses the TaskType to be specified based on the user's input.
      *
@@ -652,78 +1383,88 @@ public class TaskManager {
     public void updateManager(Scanner scanner, WeekView weekView, MonthView monthView, boolean inMonthView,
             TaskManager taskManager,int day, int taskIndex, String newDescription)
             throws TaskManagerException, DateTimeParseException {
+        checkIfBatchFailed();
 
         // Convert the day to a LocalDate
         LocalDate date;
 
         date = findDateFromDayNumber(weekView, monthView, inMonthView, day);
 
-        checkIfTaskExistsInCurrentDate(taskManager.getTasksForDate(date), taskIndex);
+        updateAndRecord(scanner, inMonthView, weekView, date, taskIndex, newDescription);
+    }
+
+    /**
+     * Prompts user for updated task details and updates the task with the given ID, wherever its date is.
+     * The task keeps its ID, even if it is moved to another date.
+     *
+     * @param scanner Scanner object to read user input for task details.
+     * @param weekView WeekView object being used.
+     * @param inMonthView A boolean indicating whether the view is in month view or not.
+     * @param taskId The ID of the task to be updated.
+     * @param newDescription The String with the new task description.
+     * @throws TaskManagerException If there is no task with the ID, or the new details are not valid.
+     */
+    public void updateManager(Scanner scanner, WeekView weekView, boolean inMonthView, long taskId,
+            String newDescription) throws TaskManagerException {
+        checkIfBatchFailed();
+        LocalDate date = findDateOfTask(taskId);
+        updateAndRecord(scanner, inMonthView, weekView, date, findTaskNumber(date, taskId), newDescription);
+    }
+
+    /**
+     * Prompts user for updated task details, updates the task and records it in the journal.
+     *
+     * @param scanner Scanner object to read user input for task details.
+     * @param inMonthView A boolean indicating whether the view is in month view or not.
+     * @param weekView WeekView object being used.
+     * @param date The date of the task to be updated.
+     * @param taskIndex The one-based index of the task to be updated.
+     * @param newDescription The String with the new task description.
+     * @throws TaskManagerException If the date has no task at the index, or the new details are not valid.
+     */
+    private void updateAndRecord(Scanner scanner, boolean inMonthView, WeekView weekView, LocalDate date,
+            int taskIndex, String newDescription) throws TaskManagerException {
+        if (findRecurringTask(date, taskIndex) != null) {
+            throw new TaskManagerException("Occurrences of recurring tasks cannot be updated. Delete the " +
+                    "recurring task with unrepeat and add it again instead.");
+        }
+        checkIfTaskExistsInCurrentDate(getTasksForDate(date), taskIndex);
 
-        checkIfDateHasTasks(taskManager.getTasksForDate(date));
+        checkIfDateHasTasks(getTasksForDate(date));
 
-        String currentTaskType = taskManager.getTasksForDate(date).get(taskIndex - 1).getTaskType();
+        Task oldTask = getTasksForDate(date).get(taskIndex - 1);
+        String currentTaskType = oldTask.getTaskType();
         String typeName = currentTaskType.equals("T") ? "Todo" : currentTaskType.equals("D") ? "Deadline" : "Event";
 
-        updateTask(date, taskIndex - 1, newDescription, scanner, inMonthView, weekView);
-        saveTasksToFile(tasks,Storage.FILE_PATH); //Update tasks.txt file
+        Task updatedTask = updateTask(date, taskIndex - 1, newDescription, scanner, inMonthView, weekView);
+        recordUpdate(date, taskIndex - 1, updatedTask, oldTask);
         System.out.println(typeName + " updated.");
-
     }
 
 
     //@@author kyhjonathan
     /**
      * Adds tasks from a file to the TaskManager.
+     * The tasks of each date are appended after any tasks already on that date, keeping their
+     * marked statuses and priority levels.
      *
      * @param tasksFromFile A map containing tasks read from a file.
-     * @throws TaskManagerException If there is an error adding tasks.
-     */
-    public void addTasksFromFile(Map<LocalDate, List<Task>> tasksFromFile) throws TaskManagerException {
-        for (Map.Entry<LocalDate, List<Task>> entry : tasksFromFile.entrySet()) {
-            LocalDate date = entry.getKey();
-            List<Task> tasksList = entry.getValue();
-
-            for (Task task : tasksList) {
-                String taskDescription = task.getName();
-                TaskType taskType = parseTaskType(task.getTaskType());
-                String[] dates = new String[]{null, null};
-                String[] times = new String[]{null, null};
-
-                switch (taskType) {
-                case TODO:
-                    dates[0] = taskDescription;
-                    break;
-
-                case EVENT:
-                    String startDate = task.getStartDate();
-                    String endDate = task.getEndDate();
-
-                    String startTime = task.getStartTime();
-                    String endTime = task.getEndTime();
-
-                    dates[0] = startDate;
-                    dates[1] = endDate;
-
-                    times[0] = startTime;
-                    times[1] = endTime;
-                    break;
-
-                case DEADLINE:
-                    String deadlineDate = task.getByDate();
-                    String deadlineTime = task.getByTime();
-
-                    dates[0] = deadlineDate;
-                    times[0] = deadlineTime;
-                    break;
-
-                default:
-                    logger.log(Level.INFO, "Task to add was invalid. Task in question: " + taskDescription);
-                }
-
-                addTask(date, taskDescription, taskType, dates, times);
+     */
+    public void addTasksFromFile(Map<LocalDate, List<Task>> tasksFromFile) {
+        long stamp = lock.writeLock();
+        try {
+            for (Map.Entry<LocalDate, List<Task>> entry : tasksFromFile.entrySet()) {
+                LocalDate date = entry.getKey();
+                List<Task> tasksList = entry.getValue();
+                List<Task> dayTasks = copyDayTasks(date);
+                dayTasks.addAll(tasksList);
+                publishDayTasks(date, dayTasks);
+                tasksList.forEach(task -> indexTask(date, task));
             }
+        } finally {
+            lock.unlockWrite(stamp);
         }
+        logger.log(Level.INFO, "Tasks added from file for " + tasksFromFile.size() + " dates");
     }
 
     /**
@@ -738,9 +1479,10 @@ public class TaskManager {
      * @throws TaskManagerException If not in correct week/month view
      * @throws DateTimeParseException If there is an error parsing the date.
      */
-    public static void deleteManager(WeekView weekView,MonthView monthView, boolean inMonthView,
+    public void deleteManager(WeekView weekView,MonthView monthView, boolean inMonthView,
             TaskManager taskManager,String day, int taskIndex)
             throws TaskManagerException, DateTimeParseException {
+        checkIfBatchFailed();
 
         // Convert the day to a LocalDate
         LocalDate date;
@@ -748,107 +1490,1198 @@ public class TaskManager {
         int dayInt = Integer.parseInt(day);
         date = findDateFromDayNumber(weekView, monthView, inMonthView, dayInt);
 
+        deleteAndRecord(date, taskIndex);
+    }
+
+    /**
+     * Deletes the task with the given ID, wherever its date is.
+     *
+     * @param taskId The ID of the task to be deleted.
+     * @throws TaskManagerException If there is no task with the ID.
+     */
+    public void deleteManager(long taskId) throws TaskManagerException {
+        checkIfBatchFailed();
+        LocalDate date = findDateOfTask(taskId);
+        deleteAndRecord(date, findTaskNumber(date, taskId));
+    }
+
+    /**
+     * Deletes a task and records it in the journal.
+     *
+     * @param date The date of the task to be deleted.
+     * @param taskIndex The one-based index of the task to be deleted.
+     */
+    private void deleteAndRecord(LocalDate date, int taskIndex) throws TaskManagerException {
+        loadDateOf(date);
+        RecurringTask recurringTask = findRecurringTask(date, taskIndex);
+        if (recurringTask != null) {
+            changeOccurrence(recurringTask, date, new RecurringTask.OccurrenceChange(true, false,
+                    TaskPriorityLevel.LOW));
+            System.out.println("Task deleted.");
+            return;
+        }
+
         // Delete the task based on the parsed inputs
-        taskManager.deleteTask(date, taskIndex - 1, false);
+        List<Task> dayTasks = getTasksForDate(date);
+        Task deletedTask = taskIndex >= 1 && taskIndex <= dayTasks.size() ? dayTasks.get(taskIndex - 1) : null;
+        boolean isDeleted = deleteTask(date, taskIndex - 1, true);
         // Subtract 1 to convert to zero-based index
-        //System.out.println("Task deleted.");
+        if (!isDeleted) {
+            throw new TaskManagerException("The task you are trying to delete does not exist.");
+        }
+        System.out.println("Task deleted.");
 
-        // Save tasks to file
-        saveTasksToFile(tasks, Storage.FILE_PATH); // Update tasks.txt file
+        // Record the deleted task in the journal, along with the record that puts it back
+        recordEdit(new UndoHistory.Edit("delete", List.of(Journal.getDeleteRecord(date, taskIndex - 1)),
+                List.of(Journal.getInsertRecord(date, taskIndex - 1, deletedTask))));
     }
 
     /**
-     * Function to delete all tasks on a specified date.
-     * Currently only used to complement JUnit testing.
+     * Records an updated task in the journal.
+     * Tasks updated in place are recorded as a single update, while tasks moved to their new date are
+     * recorded as a deletion from the old date and an addition to the new date, which is undone by deleting the
+     * updated task from the end of its new date and putting the old task back.
      *
-     * @param taskManager The taskManager class in use.
-     * @param specifiedDate The date on which all tasks are to be deleted.
+     * @param date The date the task was updated from.
+     * @param taskIndex The zero-based index the task was updated from.
+     * @param updatedTask The updated task.
+     * @param oldTask The task before it was updated.
      */
+    private void recordUpdate(LocalDate date, int taskIndex, Task updatedTask, Task oldTask) {
+        List<Task> dayTasks = tasks.getOrDefault(date, new ArrayList<>());
+        boolean isUpdatedInPlace = taskIndex < dayTasks.size() && dayTasks.get(taskIndex) == updatedTask;
+        if (isUpdatedInPlace) {
+            recordEdit(new UndoHistory.Edit("update", List.of(Journal.getUpdateRecord(date, taskIndex, updatedTask)),
+                    List.of(Journal.getUpdateRecord(date, taskIndex, oldTask))));
+            return;
+        }
 
-    public static void deleteAllTasksOnDate (TaskManager taskManager, LocalDate specifiedDate) {
-        List<Task> dayTasks = tasks.get(specifiedDate);
-        if (dayTasks != null) {
-            int numOfTasks = dayTasks.size();
-            for (int i = numOfTasks; i >= 0; i--) {
-                taskManager.deleteTask(specifiedDate, i - 1, true);
-            }
+        LocalDate newLocalDate = updatedTask.getTaskType().equals("E") ? updatedTask.getStartLocalDate()
+                : updatedTask.getByLocalDate();
+        if (newLocalDate == null) {
+            String newDate = updatedTask.getTaskType().equals("E") ? updatedTask.getStartDate()
+                    : updatedTask.getByDate();
+            newLocalDate = LocalDate.parse(newDate, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
         }
+        int newTaskIndex = tasks.get(newLocalDate).size() - 1;
+        recordEdit(new UndoHistory.Edit("update", List.of(Journal.getDeleteRecord(date, taskIndex),
+                Journal.getAddRecord(newLocalDate, updatedTask)),
+                List.of(Journal.getDeleteRecord(newLocalDate, newTaskIndex),
+                Journal.getInsertRecord(date, taskIndex, oldTask))));
     }
 
     /**
-     * Retrieves all Event tasks for a specific date.
+     * Records an edit, holding it back in the open batch if there is one, and saving it otherwise.
      *
-     * @param date The date to retrieve Event tasks for.
-     * @return A list of Event tasks for the given date.
-     */
-    public static List<Task> getEventsForDate(LocalDate date) {
-        List<Task> events = new ArrayList<>();
-        List<Task> taskList = tasks.get(date);
-        if (taskList != null) {
-            for (Task task : taskList) {
-                if (task.getTaskType().equals("E")) {
-                    events.add(task);
-                }
+     * @param edit The edit.
+     */
+    private void recordEdit(UndoHistory.Edit edit) {
+        long stamp = lock.writeLock();
+        try {
+            if (batch != null) {
+                batch.addEdit(edit);
+                return;
             }
+            saveEdit(edit);
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        return events;
     }
 
     /**
-     * Retrieves all free time slots for a specific date.
+     * Adds an edit to the undo history, and queues its records to be appended to the journal by the background
+     * saver, along with a compaction of the journal into the save files of the changed months when it has grown
+     * too long. The write lock must be held by the caller.
      *
-     * @param events A list of Event tasks for the date.
-     * @param currentDate The date to show free times for.
-     * @return A list of free time slots for the given date.
+     * @param edit The edit.
      */
-    public List<String> getFreeTimeSlots(List<Task> events, LocalDate currentDate) {
-        List<String> freeTimeSlots = new ArrayList<>();
-        LocalTime startOfDay = LocalTime.of(0, 0);
-        LocalTime endOfDay = LocalTime.of(23, 59);
-
-        // Sort events by start time and date
-        events.sort((e1, e2) -> {
-            if (e1.getStartDate().equals(e2.getStartDate())) {
-                return LocalTime.parse(e1.getStartTime(), DateTimeFormatter.ofPattern("HHmm"))
-                        .compareTo(LocalTime.parse(e2.getStartTime(), DateTimeFormatter.ofPattern("HHmm")));
-            } else {
-                return e1.getStartDate().compareTo(e2.getStartDate());
-            }
-        });
-
-        // Initialize the last end time to the start of the day for the first day
-        // Initialize the last end time to the start of the day for the first day
-        LocalTime lastEndTime = startOfDay;
-
-        for (Task event : events) {
-            // Parse the start and end dates and times of the event as LocalDate and LocalTime
-            LocalDate eventStartDate = LocalDate.parse(event.getStartDate(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-            LocalDate eventEndDate = LocalDate.parse(event.getEndDate(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-            LocalTime eventStartTime = LocalTime.parse(event.getStartTime(), DateTimeFormatter.ofPattern("HHmm"));
-            LocalTime eventEndTime = LocalTime.parse(event.getEndTime(), DateTimeFormatter.ofPattern("HHmm"));
-
-            // Only process events that start on the current date
-            if (eventStartDate.isEqual(currentDate)) {
-                // If the event ends on a different day, adjust the end time to the end of the current day
-                if (!eventEndDate.isEqual(currentDate)) {
-                    eventEndTime = endOfDay;
+    private void saveEdit(UndoHistory.Edit edit) {
+        addChangedMonths(edit.getRecords());
+        history.add(edit);
+        saver.submitRecords(Journal.getEditRecords(edit));
+        submitCompactionIfDue();
+    }
+
+    private void addChangedMonths(List<String> journalRecords) {
+        for (String journalRecord : journalRecords) {
+            changedMonths.add(YearMonth.from(Journal.getRecordDate(journalRecord)));
+        }
+    }
+
+    /**
+     * Queues a compaction of the journal into the save files of the changed months, if the journal has grown too
+     * long. Only the tasks of the changed months are copied for the compaction, and the journal is replaced by the
+     * records of the undo history. The write lock must be held by the caller.
+     */
+    private void submitCompactionIfDue() {
+        if (saver.isCompactionDue() && loadMonths(changedMonths)) {
+            saver.submitCompaction(copyMonths(changedMonths), new HashSet<>(changedMonths),
+                    Journal.getHistoryRecords(history), nextTaskId);
+            changedMonths.clear();
+        }
+    }
+
+    /**
+     * Copies every task of every date in the given months, so that the saver thread writes them while they go on
+     * being marked or given a priority. The write lock must be held by the caller.
+     *
+     * @param months The months to be copied.
+     * @return Hashmap of the copied tasks in the months.
+     */
+    private Map<LocalDate, List<Task>> copyMonths(Set<YearMonth> months) {
+        Map<LocalDate, List<Task>> tasksCopy = new HashMap<>();
+        for (YearMonth month : months) {
+            for (Map.Entry<LocalDate, List<Task>> entry
+                    : tasks.subMap(month.atDay(1), true, month.atEndOfMonth(), true).entrySet()) {
+                List<Task> dayTasksCopy = new ArrayList<>();
+                for (Task task : entry.getValue()) {
+                    dayTasksCopy.add(task.copy());
+                }
+                tasksCopy.put(entry.getKey(), dayTasksCopy);
+            }
+        }
+        return tasksCopy;
+    }
+
+    /**
+     * Sets the backend that the journal is compacted into, after saving any changes queued for the previous one and
+     * stopping its saver thread. Must be called before the journal is replayed.
+     *
+     * @param backend The StorageBackend holding the saved tasks.
+     */
+    public void setStorageBackend(StorageBackend backend) {
+        long stamp = lock.writeLock();
+        try {
+            saver.close();
+            storageBackend = backend;
+            saver = new BackgroundSaver(backend.getJournalPath(), backend);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets the loader that saved tasks are loaded from the first time their date is used.
+     * Without a loader, every task is expected to have been added with addTasksFromFile.
+     *
+     * @param loader The MonthLoader for the saved tasks.
+     */
+    public void setMonthLoader(MonthLoader loader) {
+        long stamp = lock.writeLock();
+        try {
+            monthLoader = loader;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets the watcher that notes month save files changed by another program, to be reloaded before each command.
+     *
+     * @param watcher The SaveFileWatcher of the month save directory.
+     */
+    public void setSaveFileWatcher(SaveFileWatcher watcher) {
+        long stamp = lock.writeLock();
+        try {
+            saveFileWatcher = watcher;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Applies the changes made by another program to the month save files since this was last called.
+     * Within each changed month, only the dates whose saved tasks differ from the tasks in memory are replaced.
+     * A month with changes of its own that are not in its save file yet is left as it is in memory,
+     * and is written over when the journal is next compacted.
+     * No months are reloaded while a batch is open, so that rolling it back cannot undo changes made by the other
+     * program; they are picked up once the batch is committed or rolled back.
+     * Reloading any date clears the undo history, as the edits in it may no longer be reversed by their records.
+     */
+    public void reloadChangedMonths() {
+        int changedDays;
+        long stamp = lock.writeLock();
+        try {
+            changedDays = reloadMonths();
+            if (changedDays > 0) {
+                history.clear();
+                saver.submitRecord(Journal.CLEAR_HISTORY_RECORD);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (changedDays > 0) {
+            System.out.println("Reloaded the tasks of " + changedDays + " dates changed by another program.");
+        }
+    }
+
+    /**
+     * Reloads each month noted by the save file watcher that has no unsaved changes of its own.
+     * The write lock must be held by the caller.
+     *
+     * @return Number of loaded dates whose tasks were replaced.
+     */
+    private int reloadMonths() {
+        if (saveFileWatcher == null || monthLoader == null || batch != null) {
+            return 0;
+        }
+        int changedDays = 0;
+        for (YearMonth month : saveFileWatcher.takeChangedMonths()) {
+            if (changedMonths.contains(month)) {
+                logger.log(Level.WARNING, "Kept unsaved changes of " + month + " over its changed save file");
+                continue;
+            }
+            Set<LocalDate> loadedDates = new HashSet<>();
+            for (LocalDate date = month.atDay(1); !date.isAfter(month.atEndOfMonth()); date = date.plusDays(1)) {
+                if (monthLoader.isLoaded(date)) {
+                    loadedDates.add(date);
+                }
+            }
+            try {
+                Map<LocalDate, List<Task>> monthTasks = monthLoader.reloadMonth(month);
+                if (monthTasks != null) {
+                    changedDays += applyChangedDays(month, monthTasks, loadedDates);
+                }
+            } catch (IOException e) {
+                System.out.println("I/O exception occurred during file handling");
+                logger.log(Level.WARNING, "Unable to reload tasks of " + month);
+            } catch (StorageFileException e) {
+                System.out.println(e.getMessage());
+                logger.log(Level.WARNING, "Unable to reload tasks of " + month);
+            }
+        }
+        return changedDays;
+    }
+
+    /**
+     * Replaces the tasks of each date in a reloaded month that differ from its saved tasks.
+     * Dates that had not been loaded are simply added. The write lock must be held by the caller.
+     *
+     * @param month The reloaded month.
+     * @param monthTasks Hashmap of the tasks now saved in the month.
+     * @param loadedDates Dates of the month that had been loaded before it was reloaded.
+     * @return Number of loaded dates whose tasks were replaced.
+     */
+    private int applyChangedDays(YearMonth month, Map<LocalDate, List<Task>> monthTasks,
+            Set<LocalDate> loadedDates) {
+        int changedDays = 0;
+        for (LocalDate date = month.atDay(1); !date.isAfter(month.atEndOfMonth()); date = date.plusDays(1)) {
+            List<Task> savedTasks = monthTasks.get(date);
+            List<Task> dayTasks = tasks.get(date);
+            if (!loadedDates.contains(date)) {
+                if (savedTasks != null) {
+                    replaceDayTasks(date, savedTasks);
                 }
+                continue;
+            }
+            if (getSaveFormats(savedTasks).equals(getSaveFormats(dayTasks))) {
+                continue;
+            }
+            changedDays++;
+            replaceDayTasks(date, savedTasks);
+        }
+        return changedDays;
+    }
+
+    /**
+     * Replaces the task list of a date, along with its events in the event index.
+     * The write lock must be held by the caller.
+     *
+     * @param date The date.
+     * @param dayTasks The new task list of the date, which is not to be changed after, or null to remove every
+     *     task of the date.
+     */
+    private void replaceDayTasks(LocalDate date, List<Task> dayTasks) {
+        List<Task> oldDayTasks = tasks.get(date);
+        publishDayTasks(date, dayTasks == null ? List.of() : dayTasks);
+        if (oldDayTasks != null) {
+            oldDayTasks.forEach(this::unindexTask);
+        }
+        if (dayTasks != null) {
+            dayTasks.forEach(task -> indexTask(date, task));
+        }
+    }
+
+    /**
+     * Adds a task held under a date to the event index, the map of task IDs, the filter index, the search index and
+     * the description trie, giving it the next ID if it does not have one yet. A task loaded or replayed with an ID
+     * keeps it, and the next ID is moved past it. If the task takes over the ID of a
+     * task it is moved from, the description of that task is removed from the trie here, while its date is still
+     * known. The write lock must be held by the caller.
+     *
+     * @param date The date the task is held under.
+     * @param task The task.
+     */
+    private void indexTask(LocalDate date, Task task) {
+        eventIndex.add(task);
+        if (task.getId() == TaskIdMap.NO_ID) {
+            task.setId(nextTaskId++);
+        } else if (task.getId() >= nextTaskId) {
+            nextTaskId = task.getId() + 1;
+        }
+        Task oldTask = taskIds.get(task.getId());
+        if (oldTask != null && oldTask != task) {
+            descriptionTrie.remove(getCompletionKey(oldTask), getCompletionWeight(taskIds.getDate(task.getId())));
+        }
+        taskIds.put(task.getId(), task, date);
+        filterIndex.add(task);
+        searchIndex.add(task);
+        descriptionTrie.add(getCompletionKey(task), getCompletionWeight(date));
+    }
+
+    /**
+     * Removes a task from the event index, and its ID from the map of task IDs, the filter index, the search index
+     * and the description trie. If another task has taken the ID over, only the words of the task are removed from
+     * the search index, and the words of the other task are added back. The write lock must be held by the caller.
+     *
+     * @param task The task.
+     */
+    private void unindexTask(Task task) {
+        eventIndex.remove(task);
+        searchIndex.remove(task);
+        LocalDate date = taskIds.getDate(task.getId());
+        if (taskIds.remove(task.getId(), task)) {
+            filterIndex.remove(task);
+            descriptionTrie.remove(getCompletionKey(task), getCompletionWeight(date));
+        } else {
+            task.setFilterIndex(null);
+            Task currentTask = taskIds.get(task.getId());
+            if (currentTask != null) {
+                searchIndex.add(currentTask);
+            }
+        }
+    }
+
+    private static String getCompletionKey(Task task) {
+        return task.getName().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the weight a task held under a date adds to its description in the description trie, which halves for
+     * every month between the date and today, up to a limit so that the weights stay within range of each other.
+     *
+     * @param date The date the task is held under.
+     * @return The weight.
+     */
+    private double getCompletionWeight(LocalDate date) {
+        double halfLives = Math.abs(date.toEpochDay() - completionReferenceDay) / COMPLETION_HALF_LIFE_DAYS;
+        return Math.pow(2, -Math.min(halfLives, MAX_COMPLETION_HALF_LIVES));
+    }
+
+    /**
+     * Returns the save format of each task in a task list.
+     *
+     * @param dayTasks The task list, which may be null.
+     * @return Save formats of the tasks, empty if there are none.
+     */
+    private static List<String> getSaveFormats(List<Task> dayTasks) {
+        List<String> saveFormats = new ArrayList<>();
+        if (dayTasks != null) {
+            for (Task task : dayTasks) {
+                saveFormats.add(task.getSaveFormat());
+            }
+        }
+        return saveFormats;
+    }
+
+    /**
+     * Loads the saved tasks of a date if they have not been loaded yet.
+     * If the date cannot be read, it is left unloaded so that it is tried again when next used.
+     *
+     * @param date The date to be loaded.
+     */
+    private void loadDateOf(LocalDate date) {
+        loadDatesBetween(date, date);
+    }
+
+    /**
+     * Loads the saved tasks of every date in a range that has not been loaded yet, such as the dates of a view,
+     * with one read from the storage backend for each month in the range.
+     * Dates already loaded are checked under the read lock, which is only turned into the write lock
+     * when there are dates to be loaded.
+     *
+     * @param startDate The first date to be loaded.
+     * @param endDate The last date to be loaded.
+     */
+    private void loadDatesBetween(LocalDate startDate, LocalDate endDate) {
+        long stamp = lock.readLock();
+        try {
+            if (monthLoader == null || isRangeLoaded(startDate, endDate)) {
+                return;
+            }
+            long writeStamp = lock.tryConvertToWriteLock(stamp);
+            if (writeStamp == 0L) {
+                lock.unlockRead(stamp);
+                stamp = lock.writeLock();
+            } else {
+                stamp = writeStamp;
+            }
+            mergeLoadedTasks(monthLoader.loadRange(startDate, endDate));
+        } catch (IOException e) {
+            System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "Unable to load tasks from " + startDate + " to " + endDate);
+        } catch (StorageFileException e) {
+            System.out.println(e.getMessage());
+            logger.log(Level.WARNING, "Unable to load tasks from " + startDate + " to " + endDate);
+        } finally {
+            lock.unlock(stamp);
+        }
+    }
+
+    /**
+     * Checks if the saved tasks of every date in a range have been loaded, along with the saved events held under
+     * other dates that take up a date in the range.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     * @return True if no date needs to be loaded for the range, false otherwise.
+     */
+    private boolean isRangeLoaded(LocalDate startDate, LocalDate endDate) {
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (!monthLoader.isLoaded(date)) {
+                return false;
+            }
+        }
+        return monthLoader.isEventSpanLoaded(startDate, endDate);
+    }
+
+    /**
+     * Loads every saved task of the given months, so that their save files can be rewritten without losing tasks.
+     * Compactions are put off while a changed month cannot be loaded, leaving its changes in the journal.
+     * The write lock must be held by the caller.
+     *
+     * @param months The months to be loaded.
+     * @return True if every month has been loaded, false otherwise.
+     */
+    private boolean loadMonths(Set<YearMonth> months) {
+        if (monthLoader == null) {
+            return true;
+        }
+        for (YearMonth month : months) {
+            try {
+                mergeLoadedTasks(monthLoader.loadMonth(month));
+            } catch (IOException | StorageFileException e) {
+                logger.log(Level.WARNING, "Compaction put off as " + month + " could not be loaded");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds loaded tasks to the hashmap of tasks.
+     * Tasks already added to a date in memory are kept after the loaded tasks of the same date.
+     * The write lock must be held by the caller.
+     *
+     * @param loadedTasks Hashmap of the loaded tasks.
+     */
+    private void mergeLoadedTasks(Map<LocalDate, List<Task>> loadedTasks) {
+        for (Map.Entry<LocalDate, List<Task>> entry : loadedTasks.entrySet()) {
+            List<Task> dayTasks = new ArrayList<>(entry.getValue());
+            dayTasks.forEach(task -> indexTask(entry.getKey(), task));
+            dayTasks.addAll(tasks.getOrDefault(entry.getKey(), List.of()));
+            publishDayTasks(entry.getKey(), dayTasks);
+        }
+    }
+
+    /**
+     * Blocks until every change queued with the background saver has been written.
+     */
+    public void flushChanges() {
+        BackgroundSaver currentSaver;
+        long stamp = lock.readLock();
+        try {
+            currentSaver = saver;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        currentSaver.flush();
+    }
+
+    /**
+     * Rewrites the save files of the given months and clears the journal.
+     *
+     * @param months The months to be rewritten.
+     */
+    public void compactJournal(Set<YearMonth> months) {
+        long stamp = lock.writeLock();
+        try {
+            if (loadMonths(months)) {
+                Journal.compact(tasks, months, storageBackend, storageBackend.getJournalPath(),
+                        Journal.getHistoryRecords(history), nextTaskId);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Begins a batch, so that the changes made until it is committed are saved together, or undone together if it
+     * is rolled back.
+     *
+     * @throws TaskManagerException If a batch has already begun.
+     */
+    public void beginManager() throws TaskManagerException {
+        long stamp = lock.writeLock();
+        try {
+            if (batch != null) {
+                throw new TaskManagerException("A batch has already begun. Enter commit or rollback to end it.");
+            }
+            batch = new TaskBatch();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        System.out.println("Batch begun. Changes will be saved when you enter commit.");
+    }
+
+    /**
+     * Commits the open batch, queueing the journal records of its changes to be appended in a single write as one
+     * edit, which is undone as a whole, and saving the recurring tasks if they were changed.
+     * A batch that failed is closed without saving anything, since its changes were already rolled back.
+     *
+     * @throws TaskManagerException If no batch has begun.
+     */
+    public void commitManager() throws TaskManagerException {
+        boolean hasChanges;
+        boolean isFailed;
+        long stamp = lock.writeLock();
+        try {
+            checkIfInBatch();
+            hasChanges = batch.hasChanges();
+            isFailed = batch.isFailed();
+            TaskBatch committedBatch = batch;
+            batch = null;
+            UndoHistory.Edit edit = committedBatch.getEdit();
+            if (edit != null) {
+                saveEdit(edit);
+            }
+            if (committedBatch.getOriginalRecurringTasks() != null) {
+                saveRecurringTasks();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (isFailed) {
+            System.out.println("Batch failed and was rolled back, so none of its changes were saved.");
+            return;
+        }
+        System.out.println(hasChanges ? "Batch committed." : "Batch committed with no changes.");
+    }
+
+    /**
+     * Rolls back the open batch, undoing every change made in it without saving any of them.
+     *
+     * @throws TaskManagerException If no batch has begun.
+     */
+    public void rollbackManager() throws TaskManagerException {
+        long stamp = lock.writeLock();
+        try {
+            checkIfInBatch();
+            restoreBatch();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        System.out.println("Batch rolled back. None of its changes were saved.");
+    }
+
+    /**
+     * Rolls back the open batch after one of its changes failed, and keeps it open in a failed state, in which every
+     * further change is rejected until it is committed or rolled back. The remaining commands of a batch are then
+     * not saved one by one as if no batch had begun.
+     *
+     * @throws TaskManagerException If no batch has begun.
+     */
+    public void failBatchManager() throws TaskManagerException {
+        long stamp = lock.writeLock();
+        try {
+            checkIfInBatch();
+            if (batch.isFailed()) {
+                return;
+            }
+            restoreBatch();
+            batch = new TaskBatch();
+            batch.markFailed();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        System.out.println("Batch rolled back. Further changes are rejected until you enter commit or rollback.");
+    }
+
+    /**
+     * Checks whether a batch has begun and not yet been committed or rolled back.
+     *
+     * @return True if a batch is open, false otherwise.
+     */
+    public boolean isInBatch() {
+        long stamp = lock.readLock();
+        try {
+            return batch != null;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void checkIfInBatch() throws TaskManagerException {
+        if (batch == null) {
+            throw new TaskManagerException("No batch has begun. Enter begin to start one.");
+        }
+    }
+
+    /**
+     * Rejects a change while the open batch is in a failed state.
+     *
+     * @throws TaskManagerException If the open batch has failed.
+     */
+    private void checkIfBatchFailed() throws TaskManagerException {
+        long stamp = lock.readLock();
+        try {
+            if (batch != null && batch.isFailed()) {
+                throw new TaskManagerException("The batch failed and was rolled back, so no changes are made until "
+                        + "you enter commit or rollback.");
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Puts back the task lists of the dates changed in the open batch, and the recurring tasks, then closes the
+     * batch.
+     * Every changed date is taken out of the indexes before any is put back, since a task moved by an update in the
+     * batch has taken over the ID of the task on another date. The write lock must be held by the caller.
+     */
+    private void restoreBatch() {
+        Map<LocalDate, List<Task>> originalDays = batch.getOriginalDays();
+        for (LocalDate date : originalDays.keySet()) {
+            replaceDayTasks(date, null);
+        }
+        for (Map.Entry<LocalDate, List<Task>> entry : originalDays.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                replaceDayTasks(entry.getKey(), entry.getValue());
+            }
+        }
+        if (batch.getOriginalRecurringTasks() != null) {
+            recurringTasks.replaceAll(batch.getOriginalRecurringTasks());
+        }
+        batch = null;
+    }
+
+    /**
+     * Keeps the task list of a date in the open batch before the date is first changed in it, if a batch is
+     * open. The write lock must be held by the caller.
+     *
+     * @param date The date about to be changed.
+     */
+    private void rememberDayForBatch(LocalDate date) {
+        if (batch != null) {
+            batch.rememberDay(date, tasks.get(date));
+        }
+    }
+
+    /**
+     * Copies the recurring tasks into the open batch before they are first changed in it, if a batch is open.
+     * The write lock must be held by the caller.
+     */
+    private void rememberRecurringTasksForBatch() {
+        if (batch != null) {
+            batch.rememberRecurringTasks(recurringTasks.getAll());
+        }
+    }
+
+    /**
+     * Undoes the most recent edit that can be undone, and saves the undo in the journal.
+     *
+     * @throws TaskManagerException If a batch is open, there is nothing to undo, or the edit could not be undone
+     *     in full.
+     */
+    public void undoManager() throws TaskManagerException {
+        UndoHistory.Edit edit = moveEdit(true, true);
+        System.out.println("Undid the last " + edit.getName() + ".");
+    }
+
+    /**
+     * Redoes the most recently undone edit, and saves the redo in the journal.
+     *
+     * @throws TaskManagerException If a batch is open, there is nothing to redo, or the edit could not be redone
+     *     in full.
+     */
+    public void redoManager() throws TaskManagerException {
+        UndoHistory.Edit edit = moveEdit(false, true);
+        System.out.println("Redid the last " + edit.getName() + ".");
+    }
+
+    /**
+     * Undoes the most recent edit that can be undone, without saving the undo. Used when replaying the journal.
+     *
+     * @return The undone edit.
+     * @throws TaskManagerException If there is nothing to undo, or the edit could not be undone in full.
+     */
+    public UndoHistory.Edit undoEdit() throws TaskManagerException {
+        return moveEdit(true, false);
+    }
+
+    /**
+     * Redoes the most recently undone edit, without saving the redo. Used when replaying the journal.
+     *
+     * @return The redone edit.
+     * @throws TaskManagerException If there is nothing to redo, or the edit could not be redone in full.
+     */
+    public UndoHistory.Edit redoEdit() throws TaskManagerException {
+        return moveEdit(false, false);
+    }
+
+    /**
+     * Moves the most recent edit between the edits that can be undone and those that can be redone, without
+     * applying it. Used when replaying an undo or redo from a journal whose changes were already saved.
+     *
+     * @param isUndo Whether the edit was undone, rather than redone.
+     * @throws TaskManagerException If there is no edit to move.
+     */
+    public void moveEditInHistory(boolean isUndo) throws TaskManagerException {
+        long stamp = lock.writeLock();
+        try {
+            UndoHistory.Edit edit = isUndo ? history.popUndo() : history.popRedo();
+            if (edit == null) {
+                throw new TaskManagerException("There is nothing to " + (isUndo ? "undo" : "redo") + ".");
+            }
+            if (isUndo) {
+                history.pushRedo(edit);
+            } else {
+                history.pushUndo(edit);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Applies the records of an edit replayed from the journal, and adds it to the undo history. If a record cannot
+     * be applied, the dates changed by the records before it are put back as they were, so that the edit is
+     * replayed in full or not at all.
+     *
+     * @param edit The edit.
+     * @return True if every record of the edit was applied, false if none were kept.
+     */
+    public boolean replayEdit(UndoHistory.Edit edit) {
+        long stamp = lock.writeLock();
+        try {
+            if (batch != null) {
+                return false;
+            }
+            batch = new TaskBatch();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        boolean isApplied = applyRecords(edit.getRecords()) == edit.getRecords().size();
+        stamp = lock.writeLock();
+        try {
+            if (isApplied) {
+                batch = null;
+                history.add(edit);
+            } else {
+                restoreBatch();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return isApplied;
+    }
 
-                // Add free time slot before the event
-                if (Duration.between(lastEndTime, eventStartTime).toMinutes() > 0) {
-                    freeTimeSlots.add(lastEndTime + " - " + eventStartTime);
+    /**
+     * Adds an edit replayed from the journal to the undo history, dropping every edit that could be redone.
+     *
+     * @param edit The edit.
+     */
+    public void addEditToHistory(UndoHistory.Edit edit) {
+        long stamp = lock.writeLock();
+        try {
+            history.add(edit);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Puts an edit written out by a compaction of the journal back into the undo history, without applying it.
+     *
+     * @param edit The edit.
+     * @param canBeRedone Whether the edit was undone and can be redone, rather than able to be undone.
+     */
+    public void restoreEditToHistory(UndoHistory.Edit edit, boolean canBeRedone) {
+        long stamp = lock.writeLock();
+        try {
+            if (canBeRedone) {
+                history.pushRedo(edit);
+            } else {
+                history.pushUndo(edit);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Drops every edit from the undo history.
+     */
+    public void clearUndoHistory() {
+        long stamp = lock.writeLock();
+        try {
+            history.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets the largest number of edits that can be undone, dropping the oldest edits beyond it.
+     *
+     * @param maxDepth The largest number of edits, which is at least 1.
+     */
+    public void setUndoDepth(int maxDepth) {
+        long stamp = lock.writeLock();
+        try {
+            history.setMaxDepth(maxDepth);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Undoes or redoes an edit by applying its inverse records or its records, then moves it to the other side of
+     * the undo history.
+     * If a record cannot be applied, as a task it changes was changed outside the history, the records applied so
+     * far are kept and the history is cleared, since the edits left in it may no longer apply.
+     *
+     * @param isUndo Whether the most recent edit is undone, rather than the most recently undone edit redone.
+     * @param isRecorded Whether the undo or redo is saved in the journal.
+     * @return The edit.
+     * @throws TaskManagerException If a batch is open, there is no edit to move, or it was not applied in full.
+     */
+    private UndoHistory.Edit moveEdit(boolean isUndo, boolean isRecorded) throws TaskManagerException {
+        String action = isUndo ? "undo" : "redo";
+        UndoHistory.Edit edit;
+        long stamp = lock.writeLock();
+        try {
+            if (batch != null) {
+                throw new TaskManagerException("Commit or roll back the open batch before you " + action + ".");
+            }
+            edit = isUndo ? history.popUndo() : history.popRedo();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (edit == null) {
+            throw new TaskManagerException("There is nothing to " + action + ".");
+        }
+
+        List<String> records = isUndo ? edit.getInverseRecords() : edit.getRecords();
+        int appliedCount = applyRecords(records);
+        boolean isApplied = appliedCount == records.size();
+
+        stamp = lock.writeLock();
+        try {
+            if (isApplied && isUndo) {
+                history.pushRedo(edit);
+            } else if (isApplied) {
+                history.pushUndo(edit);
+            } else {
+                history.clear();
+            }
+            if (isRecorded) {
+                List<String> appliedRecords = records.subList(0, appliedCount);
+                addChangedMonths(appliedRecords);
+                if (isApplied) {
+                    saver.submitRecord(isUndo ? Journal.UNDO_RECORD : Journal.REDO_RECORD);
+                } else {
+                    List<String> journalRecords = new ArrayList<>(appliedRecords);
+                    journalRecords.add(Journal.CLEAR_HISTORY_RECORD);
+                    saver.submitRecords(journalRecords);
                 }
+                submitCompactionIfDue();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (!isApplied) {
+            throw new TaskManagerException("The last " + edit.getName() + " could not be "
+                    + (isUndo ? "undone" : "redone")
+                    + " in full, as the tasks it changed have been changed since. The undo history was cleared.");
+        }
+        return edit;
+    }
 
-                // Update the last end time
-                lastEndTime = eventEndTime;
+    /**
+     * Applies journal records in order, stopping at the first that cannot be applied.
+     *
+     * @param journalRecords The journal records.
+     * @return Number of records applied.
+     */
+    private int applyRecords(List<String> journalRecords) {
+        int appliedCount = 0;
+        for (String journalRecord : journalRecords) {
+            try {
+                Journal.applyRecord(journalRecord, this);
+            } catch (StorageFileException | RuntimeException e) {
+                logger.log(Level.WARNING, "Unable to apply journal record: " + journalRecord);
+                break;
             }
+            appliedCount++;
         }
+        return appliedCount;
+    }
 
-        // Add remaining time of the day to free slots only if lastEndTime is not endOfDay
-        if (!lastEndTime.equals(endOfDay) && Duration.between(lastEndTime, endOfDay).toMinutes() > 0) {
-            freeTimeSlots.add(lastEndTime + " - " + endOfDay.toString());
+    /**
+     * Function to delete all tasks on a specified date.
+     * Currently only used to complement JUnit testing.
+     *
+     * @param specifiedDate The date on which all tasks are to be deleted.
+     */
+
+    public void deleteAllTasksOnDate(LocalDate specifiedDate) {
+        List<Task> dayTasks = getDayTasks(specifiedDate);
+        if (dayTasks != null) {
+            int numOfTasks = dayTasks.size();
+            for (int i = numOfTasks; i >= 0; i--) {
+                deleteTask(specifiedDate, i - 1, true);
+            }
+        }
+    }
+
+    /**
+     * Adds a recurring task from the user's input, prompting for the dates and times of its first occurrence as
+     * for a task of its type.
+     *
+     * @param scanner Scanner object to read user input for task details.
+     * @param weekView WeekView object for finding the date.
+     * @param monthView MonthView object for finding the date.
+     * @param inMonthView A boolean indicating whether the view is in month view or not.
+     * @param day The day of the first occurrence.
+     * @param frequencyString How often the task recurs.
+     * @param limitString The number of occurrences, the last date, or RecurrenceRule.NO_LIMIT.
+     * @param taskTypeString The type of the task.
+     * @param taskDescription The description of the task.
+     * @throws TaskManagerException If the date is not being viewed, or the rule or task details are not valid.
+     */
+    public void repeatManager(Scanner scanner, WeekView weekView, MonthView monthView, boolean inMonthView,
+            String day, String frequencyString, String limitString, String taskTypeString, String taskDescription)
+            throws TaskManagerException {
+        checkIfBatchFailed();
+        LocalDate date = findDateFromDayNumber(weekView, monthView, inMonthView, Integer.parseInt(day));
+        RecurrenceRule rule = RecurrenceRule.parse(frequencyString, limitString, date);
+        Task template = readTaskBasedOnType(scanner, taskDescription, parseTaskType(taskTypeString.toUpperCase()));
+        if (!RecurringTask.isValidTemplate(template)) {
+            throw new TaskManagerException("The dates of a recurring task must be valid dates.");
+        }
+        RecurringTask recurringTask = new RecurringTask(rule, template);
+        addRecurringTask(recurringTask);
+        System.out.println("Recurring task added: " + recurringTask.getDescription());
+    }
+
+    /**
+     * Prints every recurring task, numbered for the unrepeat command.
+     */
+    public void repeatsManager() {
+        List<RecurringTask> currentRecurringTasks = getRecurringTasks();
+        if (currentRecurringTasks.isEmpty()) {
+            System.out.println("No recurring tasks.");
+            return;
+        }
+        System.out.println("Recurring tasks:");
+        for (int i = 0; i < currentRecurringTasks.size(); i++) {
+            System.out.println((i + 1) + ". " + currentRecurringTasks.get(i).getDescription());
+        }
+    }
+
+    /**
+     * Deletes a recurring task along with all of its occurrences.
+     *
+     * @param recurringTaskNumber The one-based number of the recurring task, as printed by repeatsManager.
+     * @throws TaskManagerException If there is no recurring task with the number.
+     */
+    public void unrepeatManager(int recurringTaskNumber) throws TaskManagerException {
+        checkIfBatchFailed();
+        RecurringTask recurringTask;
+        long stamp = lock.writeLock();
+        try {
+            if (recurringTaskNumber < 1 || recurringTaskNumber > recurringTasks.size()) {
+                throw new TaskManagerException("There is no recurring task " + recurringTaskNumber + ".");
+            }
+            rememberRecurringTasksForBatch();
+            recurringTask = recurringTasks.remove(recurringTaskNumber - 1);
+            saveRecurringTasks();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        System.out.println("Recurring task deleted: " + recurringTask.getDescription());
+    }
+
+    /**
+     * Adds a recurring task after the existing ones, and saves the recurring tasks.
+     *
+     * @param recurringTask The recurring task.
+     */
+    public void addRecurringTask(RecurringTask recurringTask) {
+        long stamp = lock.writeLock();
+        try {
+            rememberRecurringTasksForBatch();
+            recurringTasks.add(recurringTask);
+            saveRecurringTasks();
+        } finally {
+            lock.unlockWrite(stamp);
         }
+    }
 
+    /**
+     * Retrieves the recurring tasks, in the order they were added.
+     *
+     * @return A copy of the list of recurring tasks.
+     */
+    public List<RecurringTask> getRecurringTasks() {
+        long stamp = lock.readLock();
+        try {
+            return recurringTasks.getAll();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Sets where the recurring tasks are saved, and loads the recurring tasks saved there.
+     *
+     * @param storage The RecurrenceStorage holding the saved recurring tasks.
+     * @throws IOException If an I/O exception occurs while reading the saved recurring tasks.
+     */
+    public void setRecurrenceStorage(RecurrenceStorage storage) throws IOException {
+        List<RecurringTask> savedRecurringTasks = storage.load();
+        long stamp = lock.writeLock();
+        try {
+            recurringTasks.setStorage(storage);
+            recurringTasks.replaceAll(savedRecurringTasks);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Finds the recurring task of an occurrence from its number on a date, where occurrences are numbered after the
+     * tasks saved under the date.
+     *
+     * @param date The date, whose saved tasks have been loaded.
+     * @param taskIndex The one-based number of the task on the date.
+     * @return The recurring task, or null if the number is not that of an occurrence.
+     */
+    private RecurringTask findRecurringTask(LocalDate date, int taskIndex) {
+        long stamp = lock.readLock();
+        try {
+            return recurringTasks.find(date, taskIndex, tasks.getOrDefault(date, List.of()).size());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Changes a single occurrence of a recurring task, and saves the recurring tasks.
+     *
+     * @param recurringTask The recurring task.
+     * @param date The date of the occurrence.
+     * @param change The changes made to the occurrence.
+     */
+    private void changeOccurrence(RecurringTask recurringTask, LocalDate date,
+            RecurringTask.OccurrenceChange change) {
+        long stamp = lock.writeLock();
+        try {
+            rememberRecurringTasksForBatch();
+            recurringTask.setChange(date, change);
+            saveRecurringTasks();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Writes every recurring task to the recurrence save file, if one has been set and no batch is open, and clears
+     * the undo history. Changes to recurring tasks cannot be undone, so undoing the edits before them would leave
+     * them in place while undoing changes made before them. The write lock must be held by the caller.
+     */
+    private void saveRecurringTasks() {
+        if (batch == null) {
+            recurringTasks.save();
+            history.clear();
+            saver.submitRecord(Journal.CLEAR_HISTORY_RECORD);
+        }
+    }
+
+    /**
+     * Retrieves all Event tasks that take place on a specific date, found through the event index, including
+     * those that start on an earlier date or end on a later one.
+     * Only the events of dates that have been loaded are found, which always includes the given date and the
+     * dates being viewed.
+     *
+     * @param date The date to retrieve Event tasks for.
+     * @return A list of Event tasks overlapping the given date, in order of start.
+     */
+    public List<Task> getEventsForDate(LocalDate date) {
+        loadDateOf(date);
+        long stamp = lock.readLock();
+        try {
+            return eventIndex.findOverlapping(TaskDateTime.of(date, LocalTime.MIDNIGHT),
+                    TaskDateTime.of(date.plusDays(1), LocalTime.MIDNIGHT));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Retrieves all free time slots for a specific date, from the gaps between the events in the event index and
+     * the events recurring on the date.
+     *
+     * @param date The date to show free times for.
+     * @return A list of free time slots for the given date.
+     */
+    public List<String> getFreeTimeSlots(LocalDate date) {
+        loadDateOf(date);
+        long stamp = lock.readLock();
+        try {
+            List<Task> occurrences = recurringTasks.createOccurrences(date, date).getOrDefault(date, List.of());
+            if (occurrences.stream().noneMatch(task -> task.getTaskType().equals("E"))) {
+                return getFreeTimeSlots(eventIndex, date);
+            }
+            List<Task> events = eventIndex.findOverlapping(TaskDateTime.of(date, LocalTime.MIDNIGHT),
+                    TaskDateTime.of(date.plusDays(1), LocalTime.MIDNIGHT));
+            events.addAll(occurrences);
+            return getFreeTimeSlots(events, date);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Retrieves all free time slots for a specific date.
+     *
+     * @param events A list of Event tasks for the date.
+     * @param currentDate The date to show free times for.
+     * @return A list of free time slots for the given date.
+     */
+    public List<String> getFreeTimeSlots(List<Task> events, LocalDate currentDate) {
+        EventIndex dayIndex = new EventIndex();
+        events.forEach(dayIndex::add);
+        return getFreeTimeSlots(dayIndex, currentDate);
+    }
+
+    /**
+     * Finds the free time slots of a date from the gaps between indexed events, up to the last minute of the date.
+     * Events that start before or end after the date take up the part of it that they overlap.
+     *
+     * @param index The EventIndex of the events.
+     * @param date The date to show free times for.
+     * @return A list of free time slots for the given date.
+     */
+    private static List<String> getFreeTimeSlots(EventIndex index, LocalDate date) {
+        List<String> freeTimeSlots = new ArrayList<>();
+        long startOfDay = TaskDateTime.of(date, LocalTime.MIDNIGHT);
+        long endOfDay = TaskDateTime.of(date, LocalTime.of(23, 59));
+        for (EventIndex.Gap gap : index.findGaps(startOfDay, endOfDay)) {
+            freeTimeSlots.add(TaskDateTime.toTime(gap.getStart()) + " - " + TaskDateTime.toTime(gap.getEnd()));
+        }
         return freeTimeSlots;
     }
 
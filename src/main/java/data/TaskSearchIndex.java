@@ -0,0 +1,199 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The TaskSearchIndex class is an inverted index of the words in task descriptions, so that tasks are found by
+ * the words in their descriptions without going through the task list of every date.
+ * Each word maps to a posting list of the IDs of the tasks whose descriptions contain it. The words are kept in
+ * a sorted map, so that the words starting with a prefix are found with a single range lookup.
+ * A query matches the tasks that have, for every one of its words, a word in their description starting with it.
+ * Only the posting lists of the query word with the fewest tasks are read, and each of those tasks is then checked
+ * for the other query words, so that a query costs about as much as its least common word.
+ * Words are the runs of letters and digits in a description, compared in lower case. Descriptions are only changed
+ * by replacing the task, which removes the old task from the index and adds the new one.
+ * A TaskSearchIndex is not thread safe, and is only used by TaskManager under its lock.
+ */
+public class TaskSearchIndex {
+
+    private final NavigableMap<String, PostingList> postingLists = new TreeMap<>();
+
+    /**
+     * Sorted list of the IDs of the tasks containing a word.
+     * IDs are mostly added in increasing order, so they are usually appended.
+     */
+    private static class PostingList {
+        private int[] ids = new int[2];
+        private int size = 0;
+
+        private void add(int id) {
+            int index = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0 && index < size) {
+                return;
+            }
+            int insertionPoint = index < 0 ? -index - 1 : index;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertionPoint, ids, insertionPoint + 1, size - insertionPoint);
+            ids[insertionPoint] = id;
+            size++;
+        }
+
+        private void remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Adds the words of the description of a task to the index.
+     *
+     * @param task The task, which has been given an ID.
+     */
+    public void add(Task task) {
+        int id = toId(task);
+        for (String word : getWords(task.getName())) {
+            postingLists.computeIfAbsent(word, k -> new PostingList()).add(id);
+        }
+    }
+
+    /**
+     * Removes the words of the description of a task from the index.
+     *
+     * @param task The task.
+     */
+    public void remove(Task task) {
+        int id = toId(task);
+        for (String word : getWords(task.getName())) {
+            PostingList postingList = postingLists.get(word);
+            if (postingList == null) {
+                continue;
+            }
+            postingList.remove(id);
+            if (postingList.size == 0) {
+                postingLists.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Finds the IDs of the tasks matching a query.
+     *
+     * @param query The query, whose words each match the words of a description starting with them.
+     * @param taskIds The map of task IDs, used to check the tasks found for the other words of the query.
+     * @return The IDs of the matching tasks in increasing order, empty if the query has no words.
+     */
+    public List<Long> find(String query, TaskIdMap taskIds) {
+        List<String> queryWords = getWords(query);
+        List<Long> matchingIds = new ArrayList<>();
+        if (queryWords.isEmpty()) {
+            return matchingIds;
+        }
+        String rarestWord = queryWords.get(0);
+        int rarestWordCount = Integer.MAX_VALUE;
+        for (String queryWord : queryWords) {
+            int count = countTasksWithPrefix(queryWord);
+            if (count < rarestWordCount) {
+                rarestWord = queryWord;
+                rarestWordCount = count;
+            }
+        }
+        for (int id : getIdsWithPrefix(rarestWord)) {
+            List<String> words = getWords(taskIds.get(id).getName());
+            if (queryWords.stream().allMatch(queryWord -> hasWordWithPrefix(words, queryWord))) {
+                matchingIds.add((long) id);
+            }
+        }
+        return matchingIds;
+    }
+
+    /**
+     * Returns the number of words in the index.
+     *
+     * @return Number of words.
+     */
+    public int size() {
+        return postingLists.size();
+    }
+
+    /**
+     * Splits text into its words, which are the runs of letters and digits in it, in lower case.
+     *
+     * @param text The text.
+     * @return The words of the text, each listed once.
+     */
+    public static List<String> getWords(String text) {
+        List<String> words = new ArrayList<>();
+        int wordStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordCharacter && wordStart < 0) {
+                wordStart = i;
+            } else if (!isWordCharacter && wordStart >= 0) {
+                String word = text.substring(wordStart, i).toLowerCase(Locale.ROOT);
+                if (!words.contains(word)) {
+                    words.add(word);
+                }
+                wordStart = -1;
+            }
+        }
+        return words;
+    }
+
+    private Collection<PostingList> getPostingListsWithPrefix(String prefix) {
+        return postingLists.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    private int countTasksWithPrefix(String prefix) {
+        int count = 0;
+        for (PostingList postingList : getPostingListsWithPrefix(prefix)) {
+            count += postingList.size;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the IDs of the tasks with a word starting with a prefix, merging the posting lists of those words.
+     *
+     * @param prefix The prefix.
+     * @return The IDs in increasing order, each listed once.
+     */
+    private int[] getIdsWithPrefix(String prefix) {
+        Collection<PostingList> prefixPostingLists = getPostingListsWithPrefix(prefix);
+        if (prefixPostingLists.size() == 1) {
+            PostingList postingList = prefixPostingLists.iterator().next();
+            return Arrays.copyOf(postingList.ids, postingList.size);
+        }
+        int[] ids = new int[countTasksWithPrefix(prefix)];
+        int size = 0;
+        for (PostingList postingList : prefixPostingLists) {
+            System.arraycopy(postingList.ids, 0, ids, size, postingList.size);
+            size += postingList.size;
+        }
+        return Arrays.stream(ids).sorted().distinct().toArray();
+    }
+
+    private static boolean hasWordWithPrefix(List<String> words, String prefix) {
+        for (String word : words) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int toId(Task task) {
+        assert task.getId() != TaskIdMap.NO_ID : "Task ID missing!";
+        return Math.toIntExact(task.getId());
+    }
+}
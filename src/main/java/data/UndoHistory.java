@@ -0,0 +1,159 @@
+package data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The UndoHistory class keeps the edits that can be undone and redone, most recent last.
+ * Each edit is kept as the journal records of its changes and the journal records that reverse them, such as a
+ * deletion for an addition, or the task that was deleted for a deletion, instead of a copy of the tasks. An edit
+ * therefore takes up space for the tasks it changed, and the history for the edits it holds, which are limited to
+ * a maximum depth by dropping the oldest.
+ * Making a new edit drops every edit that could be redone.
+ */
+public class UndoHistory {
+
+    public static final int DEFAULT_MAX_DEPTH = 100;
+
+    private final Deque<Edit> undoEdits = new ArrayDeque<>();
+    private final Deque<Edit> redoEdits = new ArrayDeque<>();
+    private int maxDepth;
+
+    /**
+     * An edit made by a single command or batch of commands.
+     */
+    public static class Edit {
+        private final String name;
+        private final List<String> records;
+        private final List<String> inverseRecords;
+
+        /**
+         * Constructs an Edit.
+         *
+         * @param name The name of the command that made the edit, such as "delete".
+         * @param records The journal records of the changes, in the order they were made.
+         * @param inverseRecords The journal records that reverse the changes, in the order they are to be applied.
+         */
+        public Edit(String name, List<String> records, List<String> inverseRecords) {
+            this.name = name;
+            this.records = List.copyOf(records);
+            this.inverseRecords = List.copyOf(inverseRecords);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getRecords() {
+            return records;
+        }
+
+        public List<String> getInverseRecords() {
+            return inverseRecords;
+        }
+    }
+
+    /**
+     * Constructs an empty UndoHistory.
+     *
+     * @param maxDepth The largest number of edits that can be undone, which is at least 1.
+     */
+    public UndoHistory(int maxDepth) {
+        setMaxDepth(maxDepth);
+    }
+
+    /**
+     * Sets the largest number of edits that can be undone, dropping the oldest edits beyond it.
+     *
+     * @param maxDepth The largest number of edits, which is at least 1.
+     */
+    public void setMaxDepth(int maxDepth) {
+        assert maxDepth > 0 : "Undo depth must be positive!";
+        this.maxDepth = maxDepth;
+        trim(undoEdits);
+        trim(redoEdits);
+    }
+
+    /**
+     * Adds a new edit, which drops every edit that could be redone.
+     *
+     * @param edit The edit.
+     */
+    public void add(Edit edit) {
+        redoEdits.clear();
+        pushUndo(edit);
+    }
+
+    /**
+     * Adds an edit to the edits that can be undone, keeping the edits that can be redone.
+     *
+     * @param edit The edit.
+     */
+    public void pushUndo(Edit edit) {
+        undoEdits.addLast(edit);
+        trim(undoEdits);
+    }
+
+    /**
+     * Adds an edit to the edits that can be redone.
+     *
+     * @param edit The edit.
+     */
+    public void pushRedo(Edit edit) {
+        redoEdits.addLast(edit);
+        trim(redoEdits);
+    }
+
+    /**
+     * Removes the most recent edit that can be undone.
+     *
+     * @return The edit, or null if there is none.
+     */
+    public Edit popUndo() {
+        return undoEdits.pollLast();
+    }
+
+    /**
+     * Removes the most recently undone edit that can be redone.
+     *
+     * @return The edit, or null if there is none.
+     */
+    public Edit popRedo() {
+        return redoEdits.pollLast();
+    }
+
+    /**
+     * Drops every edit.
+     */
+    public void clear() {
+        undoEdits.clear();
+        redoEdits.clear();
+    }
+
+    /**
+     * Returns the edits that can be undone.
+     *
+     * @return Read-only list of the edits, oldest first.
+     */
+    public List<Edit> getUndoEdits() {
+        return Collections.unmodifiableList(new ArrayList<>(undoEdits));
+    }
+
+    /**
+     * Returns the edits that can be redone.
+     *
+     * @return Read-only list of the edits, the one to be redone last first.
+     */
+    public List<Edit> getRedoEdits() {
+        return Collections.unmodifiableList(new ArrayList<>(redoEdits));
+    }
+
+    private void trim(Deque<Edit> edits) {
+        while (edits.size() > maxDepth) {
+            edits.removeFirst();
+        }
+    }
+}
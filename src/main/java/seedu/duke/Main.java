@@ -1,30 +1,52 @@
 package seedu.duke;
 
 import commandparser.CommandHandler;
-import data.Task;
 import data.TaskManager;
+import data.exceptions.StorageFileException;
 import data.exceptions.TaskManagerException;
 import log.FileLogger;
+import storage.BinaryStorage;
+import storage.JdbcStorageBackend;
+import storage.Journal;
+import storage.MonthLoader;
+import storage.RecurrenceStorage;
+import storage.SaveDirectoryLock;
+import storage.SaveFileWatcher;
+import storage.ShardedStorage;
+import storage.ShardedStorageBackend;
 import storage.Storage;
+import storage.StorageBackend;
 import time.DateUtils;
 import time.MonthView;
 import time.WeekView;
 import ui.AvatarUi;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Map;
 import java.util.Scanner;
-
-import static storage.Storage.createNewFile;
+import java.util.Set;
 
 public class Main {
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static SaveDirectoryLock saveDirectoryLock;
 
     public static void main(String[] args) throws IOException, TaskManagerException{
         FileLogger.setupLogger();
+        //Checks the save files for damage without starting the calendar
+        if (args.length > 0 && args[0].equals("--verify")) {
+            int damagedBlocks = ShardedStorage.verifyShards(ShardedStorage.SHARD_DIRECTORY);
+            System.out.println(damagedBlocks == 0 ? "All save files are intact." : "Damaged save files found.");
+            return;
+        }
+        //Keeps a second instance from using the save directory, as its journal records would be lost
+        saveDirectoryLock = SaveDirectoryLock.tryAcquire(SaveDirectoryLock.LOCK_PATH);
+        if (saveDirectoryLock == null) {
+            System.out.println("Another CLI-nton is already running with this save folder. Close it first.");
+            return;
+        }
         Scanner scanner = new Scanner(System.in);
         LocalDate today = LocalDate.now();
         LocalDate startOfWeek = DateUtils.getStartOfWeek(today);
@@ -33,13 +55,54 @@ public class Main {
         LocalDate startOfMonth = today.withDayOfMonth(1);
         MonthView monthView = new MonthView(startOfMonth, dateFormatter);
 
-        //Creates directory and tasks.txt file if it does not exist
-        createNewFile(Storage.FILE_PATH);
-        //Reads tasks from txt file
-        Map<LocalDate, List<Task>> tasksFromFile =
-                Storage.loadTasksFromFile(Storage.FILE_PATH);
-        //Loads tasks from txt file
-        taskManager.addTasksFromFile(tasksFromFile);
+        StorageBackend storageBackend = new ShardedStorageBackend(ShardedStorage.SHARD_DIRECTORY);
+        //Converts the text save file of earlier versions, leaving it in place if it cannot be read
+        try {
+            BinaryStorage.migrateFromTextFile(Storage.FILE_PATH, BinaryStorage.FILE_PATH);
+        } catch (IOException e) {
+            System.out.println(Storage.FILE_PATH.getFileName() + " could not be read, so it was not converted. "
+                    + "Check the file and start CLI-nton again.");
+            return;
+        }
+        try {
+            //Converts the save files from earlier versions to month save files
+            ShardedStorage.migrateFromSingleFile(BinaryStorage.FILE_PATH, ShardedStorage.SHARD_DIRECTORY);
+            //Creates save directory if it does not exist
+            Files.createDirectories(ShardedStorage.SHARD_DIRECTORY);
+            //Keeps the tasks in a database instead, starting from a copy of the month save files
+            if (args.length > 0 && args[0].equals("--database")) {
+                StorageBackend databaseBackend = new JdbcStorageBackend(JdbcStorageBackend.DATABASE_URL);
+                if (databaseBackend.listMonths().isEmpty()) {
+                    //Saves the changes still in the journal of the month save files, so that they are copied too
+                    loadTasks(new TaskManager(), storageBackend, false);
+                }
+                databaseBackend.copyFrom(storageBackend);
+                storageBackend = databaseBackend;
+            }
+            //Loads the recurring tasks, which are kept as one rule each in their own save file
+            taskManager.setRecurrenceStorage(new RecurrenceStorage(RecurrenceStorage.FILE_PATH));
+        } catch (StorageFileException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+        //Limits how many changes can be undone, before the undo history is rebuilt from the journal
+        try {
+            for (int i = 0; i + 1 < args.length; i++) {
+                if (args[i].equals("--undo-depth")) {
+                    taskManager.setUndoDepth(parseUndoDepth(args[i + 1]));
+                }
+            }
+        } catch (TaskManagerException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+        loadTasks(taskManager, storageBackend, true);
+        //Picks up month save files changed by another program, such as a file sync tool
+        if (storageBackend instanceof ShardedStorageBackend) {
+            SaveFileWatcher saveFileWatcher = new SaveFileWatcher(ShardedStorage.SHARD_DIRECTORY);
+            saveFileWatcher.start();
+            taskManager.setSaveFileWatcher(saveFileWatcher);
+        }
 
         AvatarUi.printWelcomeMessage();
 
@@ -49,4 +112,44 @@ public class Main {
             commandHandler.handleCommand();
         }
     }
+
+    /**
+     * Sets the backend that the tasks of a TaskManager are loaded from and saved to, and replays the journal of
+     * the backend on them.
+     *
+     * @param taskManager The TaskManager instance.
+     * @param storageBackend The StorageBackend holding the saved tasks.
+     * @param isPrefetching Whether the months next to each loaded month are read in the background.
+     * @throws IOException If an I/O exception occurs while reading the saved tasks.
+     */
+    private static void loadTasks(TaskManager taskManager, StorageBackend storageBackend, boolean isPrefetching)
+            throws IOException {
+        taskManager.setStorageBackend(storageBackend);
+        //Loads the tasks of each date the first time it is viewed, starting with the current week
+        taskManager.setMonthLoader(new MonthLoader(storageBackend, isPrefetching));
+        //Keeps the IDs of tasks deleted in earlier sessions from being given out again
+        long savedNextTaskId = storageBackend.loadNextTaskId();
+        taskManager.setNextTaskId(savedNextTaskId);
+        //Replays changes recorded since the save files were last written, then folds them into the changed months,
+        //which also starts a new journal if the replayed one turned out to be saved already
+        Set<YearMonth> changedMonths = Journal.replayJournal(storageBackend.getJournalPath(), taskManager,
+                storageBackend.loadJournalGeneration());
+        //Rewrites every month once if the tasks were saved before they had IDs, so that they keep the IDs given now
+        if (savedNextTaskId < 0) {
+            changedMonths.addAll(storageBackend.listMonths());
+        }
+        taskManager.compactJournal(changedMonths);
+    }
+
+    private static int parseUndoDepth(String depthString) throws TaskManagerException {
+        try {
+            int depth = Integer.parseInt(depthString);
+            if (depth > 0) {
+                return depth;
+            }
+        } catch (NumberFormatException e) {
+            // Falls through to the error below
+        }
+        throw new TaskManagerException("The undo depth must be a whole number of at least 1.");
+    }
 }
@@ -0,0 +1,236 @@
+package storage;
+
+import data.Task;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The BackgroundSaver class writes changes to tasks on a background thread, so commands no longer wait on the disk.
+ * TaskManager hands it the journal record of each change, which is queued and returned from immediately.
+ * The saver thread waits briefly after the first queued record so that a burst of changes is written to the journal
+ * in a single append, and compacts the journal into the save files of the changed months when asked to.
+ * Any queued changes are flushed before the application exits, both on the quit command and on JVM shutdown.
+ */
+public class BackgroundSaver {
+
+    public static final int COMPACTION_THRESHOLD = 500;
+    public static final long COALESCING_DELAY_MILLIS = 50;
+    public static final long FLUSH_TIMEOUT_SECONDS = 10;
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final Path journalPath;
+    private final StorageBackend storageBackend;
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    private Thread saverThread;
+    private Thread shutdownHook;
+    private int recordsSinceCompaction = 0;
+
+    /**
+     * Constructs a BackgroundSaver that writes to the given journal and storage backend.
+     *
+     * @param journalPath File Path of clintonJournal.txt file.
+     * @param storageBackend Backend the journal is compacted into.
+     */
+    public BackgroundSaver(Path journalPath, StorageBackend storageBackend) {
+        this.journalPath = journalPath;
+        this.storageBackend = storageBackend;
+    }
+
+    /**
+     * Queues a journal record to be appended by the saver thread.
+     *
+     * @param record Journal record of the change.
+     */
+    public void submitRecord(String record) {
+        submitRecords(List.of(record));
+    }
+
+    /**
+     * Queues journal records to be appended by the saver thread together, in a single write.
+     *
+     * @param records Journal records of the changes, in the order they were made.
+     */
+    public void submitRecords(List<String> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        startIfNeeded();
+        recordsSinceCompaction += records.size();
+        pendingWrites.add(new PendingWrite(records, null, null));
+    }
+
+    /**
+     * Checks if enough records have been queued since the last compaction for the journal to be compacted.
+     *
+     * @return True if the journal should be compacted, false otherwise.
+     */
+    public boolean isCompactionDue() {
+        return recordsSinceCompaction >= COMPACTION_THRESHOLD;
+    }
+
+    /**
+     * Queues a compaction of the journal into the save files of the months changed since the last compaction.
+     * The given copy of the tasks, down to the Task objects themselves, must not be shared with anything that
+     * may still change them, as it is read by the saver thread without any lock.
+     *
+     * @param tasksCopy Copy of the tasks in the changed months, taken after the last queued record.
+     * @param changedMonths Months changed since the last compaction.
+     * @param historyRecords Records of the undo history, taken after the last queued record, which replace the
+     *     journal.
+     * @param nextTaskId ID to be given to the next new task, taken after the last queued record.
+     */
+    public void submitCompaction(Map<LocalDate, List<Task>> tasksCopy, Set<YearMonth> changedMonths,
+            List<String> historyRecords, long nextTaskId) {
+        startIfNeeded();
+        recordsSinceCompaction = 0;
+        pendingWrites.add(new PendingWrite(null, new Compaction(tasksCopy, changedMonths, historyRecords,
+                nextTaskId), null));
+    }
+
+    /**
+     * Blocks until every change queued so far has been written.
+     */
+    public void flush() {
+        if (saverThread == null) {
+            return;
+        }
+        CountDownLatch flushed = new CountDownLatch(1);
+        pendingWrites.add(new PendingWrite(null, null, flushed));
+        try {
+            if (!flushed.await(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.log(Level.WARNING, "Timed out waiting for changes to be saved");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes every change queued so far, then stops the saver thread and removes its shutdown hook, as when the
+     * saver is replaced by one for another backend. A change queued afterwards starts the saver thread again.
+     */
+    public void close() {
+        flush();
+        synchronized (this) {
+            if (saverThread == null) {
+                return;
+            }
+            saverThread.interrupt();
+            saverThread = null;
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                logger.log(Level.INFO, "Shutdown already in progress, shutdown hook left in place");
+            }
+            shutdownHook = null;
+        }
+    }
+
+    /**
+     * Starts the saver thread, and the shutdown hook that flushes it, on the first change.
+     */
+    private synchronized void startIfNeeded() {
+        if (saverThread != null) {
+            return;
+        }
+        saverThread = new Thread(this::writePendingChanges, "clinton-saver");
+        saverThread.setDaemon(true);
+        saverThread.start();
+        shutdownHook = new Thread(this::flush, "clinton-saver-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Loop run by the saver thread, writing queued changes in batches.
+     */
+    private void writePendingChanges() {
+        try {
+            while (true) {
+                PendingWrite firstWrite = pendingWrites.take();
+                if (firstWrite.flushed == null) {
+                    Thread.sleep(COALESCING_DELAY_MILLIS);
+                }
+                List<PendingWrite> batch = new ArrayList<>();
+                batch.add(firstWrite);
+                pendingWrites.drainTo(batch);
+                writeBatch(batch);
+            }
+        } catch (InterruptedException e) {
+            logger.log(Level.INFO, "Background saver stopped");
+        }
+    }
+
+    /**
+     * Writes a batch of queued changes in the order they were queued.
+     * Consecutive records are appended together, and flushes are only released once everything
+     * queued before them has been written.
+     *
+     * @param batch Queued changes to be written.
+     */
+    private void writeBatch(List<PendingWrite> batch) {
+        List<String> records = new ArrayList<>();
+        for (PendingWrite pendingWrite : batch) {
+            if (pendingWrite.records != null) {
+                records.addAll(pendingWrite.records);
+                continue;
+            }
+            Journal.appendRecords(records, journalPath);
+            records.clear();
+            if (pendingWrite.compaction != null) {
+                Journal.compact(pendingWrite.compaction.tasksCopy, pendingWrite.compaction.changedMonths,
+                        storageBackend, journalPath, pendingWrite.compaction.historyRecords,
+                        pendingWrite.compaction.nextTaskId);
+            }
+            if (pendingWrite.flushed != null) {
+                pendingWrite.flushed.countDown();
+            }
+        }
+        Journal.appendRecords(records, journalPath);
+        logger.log(Level.INFO, batch.size() + " queued changes saved");
+    }
+
+    /**
+     * A change waiting to be written: journal records, a compaction or a flush.
+     */
+    private static class PendingWrite {
+        private final List<String> records;
+        private final Compaction compaction;
+        private final CountDownLatch flushed;
+
+        private PendingWrite(List<String> records, Compaction compaction, CountDownLatch flushed) {
+            this.records = records;
+            this.compaction = compaction;
+            this.flushed = flushed;
+        }
+    }
+
+    /**
+     * The copied tasks, changed months, undo history records and next task ID of a queued compaction.
+     */
+    private static class Compaction {
+        private final Map<LocalDate, List<Task>> tasksCopy;
+        private final Set<YearMonth> changedMonths;
+        private final List<String> historyRecords;
+        private final long nextTaskId;
+
+        private Compaction(Map<LocalDate, List<Task>> tasksCopy, Set<YearMonth> changedMonths,
+                List<String> historyRecords, long nextTaskId) {
+            this.tasksCopy = tasksCopy;
+            this.changedMonths = changedMonths;
+            this.historyRecords = historyRecords;
+            this.nextTaskId = nextTaskId;
+        }
+    }
+}
@@ -0,0 +1,527 @@
+package storage;
+
+import data.Deadline;
+import data.Event;
+import data.Task;
+import data.TaskIdMap;
+import data.TaskPriorityLevel;
+import data.Todo;
+import data.exceptions.StorageFileException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * The BinaryStorage class saves and loads tasks in a compact binary format.
+ * The file starts with a header holding a magic number and the format version, followed by one block per date:
+ * the date as an epoch day, the length of the block, the number of tasks on that date, the tasks themselves,
+ * and a CRC32C checksum of the block. A block that fails its checksum is skipped and reported, and the blocks
+ * after it are still loaded. Files of the first format version have no lengths or checksums and are still read.
+ * Each task is stored as a bitfield of its type, marked status and priority level, its ID, its description as
+ * length-prefixed UTF-8, and its dates as epoch days and times as minutes of the day. Tasks in files of the
+ * earlier format versions have no IDs, and are given one when they are added to a TaskManager.
+ * It also provides the one-shot migration of clintonData.txt into the binary format.
+ */
+public class BinaryStorage {
+
+    public static final Path FILE_PATH = Path.of("./save/clintonData.bin");
+    public static final int MAGIC_NUMBER = 0x434C4E54;
+    public static final short FORMAT_VERSION = 3;
+    public static final short UNIDENTIFIED_FORMAT_VERSION = 2;
+    public static final short UNCHECKED_FORMAT_VERSION = 1;
+    private static final int BLOCK_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int TYPE_MASK = 0b11;
+    private static final int TODO_TYPE = 0;
+    private static final int DEADLINE_TYPE = 1;
+    private static final int EVENT_TYPE = 2;
+    private static final int COMPLETED_FLAG = 1 << 2;
+    private static final int PRIORITY_SHIFT = 3;
+    private static final int TEXT_FIELDS_FLAG = 1 << 5;
+    private static final int ID_FLAG = 1 << 6;
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    /**
+     * Writes the tasks in hashmap to the binary save file.
+     *
+     * @param tasks Hashmap of tasks.
+     * @param path File Path of clintonData.bin file.
+     * @return True if every task was written, false if an I/O exception occurred.
+     */
+    public static boolean saveTasksToFile(Map<LocalDate, List<Task>> tasks, Path path) {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeShort(FORMAT_VERSION);
+            ByteArrayOutputStream blockBytes = new ByteArrayOutputStream();
+            DataOutputStream block = new DataOutputStream(blockBytes);
+            for (Map.Entry<LocalDate, List<Task>> entry : tasks.entrySet()) {
+                List<Task> taskList = entry.getValue();
+                if (taskList.isEmpty()) {
+                    continue;
+                }
+                blockBytes.reset();
+                block.writeInt((int) entry.getKey().toEpochDay());
+                block.writeInt(0);
+                writeVarInt(block, taskList.size());
+                for (Task task : taskList) {
+                    writeTask(block, task);
+                }
+                ByteBuffer blockBuffer = ByteBuffer.wrap(blockBytes.toByteArray());
+                blockBuffer.putInt(Integer.BYTES, blockBuffer.capacity() - BLOCK_HEADER_SIZE);
+                CRC32C checksum = new CRC32C();
+                checksum.update(blockBuffer.array());
+                output.write(blockBuffer.array());
+                output.writeInt((int) checksum.getValue());
+            }
+        } catch (IOException e) {
+            System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "I/O exception occurred");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes a single task in the binary format.
+     *
+     * @param output Stream the task is written to.
+     * @param task Task to be written.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    private static void writeTask(DataOutputStream output, Task task) throws IOException {
+        int taskType = task.getTaskType().equals("E") ? EVENT_TYPE
+                : task.getTaskType().equals("D") ? DEADLINE_TYPE : TODO_TYPE;
+        boolean hasTextFields = !hasBinaryFields(task, taskType);
+
+        int flags = taskType;
+        flags |= task.isCompleted() ? COMPLETED_FLAG : 0;
+        flags |= getPriorityBits(task) << PRIORITY_SHIFT;
+        flags |= hasTextFields ? TEXT_FIELDS_FLAG : 0;
+        flags |= task.getId() != TaskIdMap.NO_ID ? ID_FLAG : 0;
+        output.writeByte(flags);
+        if (task.getId() != TaskIdMap.NO_ID) {
+            writeVarLong(output, task.getId());
+        }
+        writeString(output, task.getName());
+
+        if (taskType == DEADLINE_TYPE && hasTextFields) {
+            writeString(output, String.valueOf(task.getByDate()));
+            writeString(output, String.valueOf(task.getByTime()));
+        } else if (taskType == DEADLINE_TYPE) {
+            writeDate(output, task.getByLocalDate());
+            writeTime(output, task.getByLocalTime());
+        } else if (taskType == EVENT_TYPE && hasTextFields) {
+            writeString(output, String.valueOf(task.getStartDate()));
+            writeString(output, String.valueOf(task.getEndDate()));
+            writeString(output, String.valueOf(task.getStartTime()));
+            writeString(output, String.valueOf(task.getEndTime()));
+        } else if (taskType == EVENT_TYPE) {
+            writeDate(output, task.getStartLocalDate());
+            writeDate(output, task.getEndLocalDate());
+            writeTime(output, task.getStartLocalTime());
+            writeTime(output, task.getEndLocalTime());
+        }
+    }
+
+    /**
+     * Checks if the dates and times of a task can be stored as epoch days and minutes of the day.
+     * Dates that only match the dd/MM/yyyy pattern but are not real dates are kept as text by the task,
+     * and are stored as text instead.
+     *
+     * @param task Task to be checked.
+     * @param taskType Binary type of the task.
+     * @return True if the dates and times can be stored in binary form, false otherwise.
+     */
+    private static boolean hasBinaryFields(Task task, int taskType) {
+        if (taskType == DEADLINE_TYPE) {
+            return task.getByLocalDate() != null;
+        } else if (taskType == EVENT_TYPE) {
+            return task.getStartLocalDate() != null;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the two bits that represent the priority level of a task.
+     *
+     * @param task Task to get the priority level of.
+     * @return 2 for high, 1 for medium and 0 for low priority.
+     */
+    private static int getPriorityBits(Task task) {
+        String priorityLevel = task.getPriorityLevelIcon();
+        return priorityLevel.equals("H") ? 2 : priorityLevel.equals("M") ? 1 : 0;
+    }
+
+    private static void writeString(DataOutputStream output, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Writes a non-negative int using 7 bits per byte, so that small values such as
+     * description lengths and task counts take a single byte.
+     *
+     * @param output Stream the value is written to.
+     * @param value Non-negative value to be written.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * Writes a positive long using 7 bits per byte, as for writeVarInt.
+     *
+     * @param output Stream the value is written to.
+     * @param value Positive value to be written.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    private static void writeDate(DataOutputStream output, LocalDate date) throws IOException {
+        output.writeInt((int) date.toEpochDay());
+    }
+
+    private static void writeTime(DataOutputStream output, LocalTime time) throws IOException {
+        output.writeShort(time.getHour() * 60 + time.getMinute());
+    }
+
+    /**
+     * Loads tasks from the binary save file to hashmap.
+     * Blocks that fail their checksum are skipped and reported, and a file cut short keeps the tasks
+     * read before the point it was cut.
+     *
+     * @param path File Path of clintonData.bin file.
+     * @return Hashmap of tasks read from the file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the file header is missing or has an unsupported version.
+     */
+    public static Map<LocalDate, List<Task>> loadTasksFromFile(Path path) throws IOException, StorageFileException {
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            return tasks;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        short version = checkHeader(buffer);
+        int damagedBlocks = 0;
+        try {
+            while (buffer.hasRemaining()) {
+                if (version == UNCHECKED_FORMAT_VERSION) {
+                    LocalDate date = LocalDate.ofEpochDay(buffer.getInt());
+                    List<Task> dayTasks = readDayTasks(buffer);
+                    tasks.computeIfAbsent(date, k -> new ArrayList<>()).addAll(dayTasks);
+                    continue;
+                }
+                try {
+                    ByteBuffer block = nextCheckedBlock(buffer);
+                    LocalDate date = LocalDate.ofEpochDay(block.getInt(0));
+                    List<Task> dayTasks = readDayTasks(block);
+                    tasks.computeIfAbsent(date, k -> new ArrayList<>()).addAll(dayTasks);
+                } catch (StorageFileException | DateTimeException e) {
+                    damagedBlocks++;
+                    logger.log(Level.WARNING, "Skipped damaged block in " + path.getFileName() + ": " + e.getMessage());
+                }
+            }
+        } catch (BufferUnderflowException | DateTimeException e) {
+            damagedBlocks++;
+            logger.log(Level.WARNING, "Binary save file cut short or damaged");
+        }
+        if (damagedBlocks > 0) {
+            System.out.println(damagedBlocks + " damaged dates could not be loaded from " + path.getFileName());
+        }
+        logger.log(Level.INFO, "tasks returned");
+        return tasks;
+    }
+
+    /**
+     * Checks every block of the binary save file against its checksum, without decoding any tasks.
+     * Files of the first format version have no checksums, so only their structure can be checked,
+     * which requires decoding them.
+     *
+     * @param path File Path of the binary save file.
+     * @return Number of damaged blocks, counting a file cut short as one damaged block.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the file header is missing or has an unsupported version.
+     */
+    public static int verifyFile(Path path) throws IOException, StorageFileException {
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        short version = checkHeader(buffer);
+        int damagedBlocks = 0;
+        try {
+            while (buffer.hasRemaining()) {
+                if (version == UNCHECKED_FORMAT_VERSION) {
+                    LocalDate.ofEpochDay(buffer.getInt());
+                    readDayTasks(buffer);
+                    continue;
+                }
+                try {
+                    nextCheckedBlock(buffer);
+                } catch (StorageFileException e) {
+                    damagedBlocks++;
+                }
+            }
+        } catch (BufferUnderflowException | DateTimeException e) {
+            damagedBlocks++;
+        }
+        return damagedBlocks;
+    }
+
+    /**
+     * Moves past the next date block of a checksummed file, checking the block against its checksum.
+     *
+     * @param buffer Buffer positioned at the start of the block, moved to the start of the next block.
+     * @return Buffer holding only the block, with the epoch day at index 0, positioned at the task count.
+     * @throws StorageFileException If the block does not match its checksum.
+     * @throws BufferUnderflowException If the buffer ends before the block does.
+     */
+    static ByteBuffer nextCheckedBlock(ByteBuffer buffer) throws StorageFileException {
+        int blockStart = buffer.position();
+        buffer.getInt();
+        int blockLength = buffer.getInt();
+        if (blockLength < 0 || blockLength > buffer.remaining() - Integer.BYTES) {
+            throw new BufferUnderflowException();
+        }
+        int blockEnd = blockStart + BLOCK_HEADER_SIZE + blockLength;
+        ByteBuffer block = buffer.duplicate();
+        block.position(blockStart).limit(blockEnd);
+        CRC32C checksum = new CRC32C();
+        checksum.update(block);
+        buffer.position(blockEnd);
+        if (buffer.getInt() != (int) checksum.getValue()) {
+            throw new StorageFileException("Checksum mismatch in block at byte " + blockStart);
+        }
+
+        block.position(blockStart).limit(blockEnd);
+        ByteBuffer checkedBlock = block.slice();
+        checkedBlock.position(BLOCK_HEADER_SIZE);
+        return checkedBlock;
+    }
+
+    /**
+     * Reads the tasks of one date, from the task count that follows the epoch day of the date.
+     *
+     * @param buffer Buffer positioned at the task count of the date.
+     * @return Tasks of the date, in the order they were saved.
+     * @throws BufferUnderflowException If the buffer ends before the last task of the date, or a count or length in
+     *     it is damaged.
+     */
+    static List<Task> readDayTasks(ByteBuffer buffer) {
+        int taskCount = readLength(buffer);
+        List<Task> dayTasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            dayTasks.add(readTask(buffer));
+        }
+        return dayTasks;
+    }
+
+    /**
+     * Checks the magic number and format version at the start of the binary save file.
+     *
+     * @param buffer Buffer positioned at the start of the file.
+     * @return Format version of the file.
+     * @throws StorageFileException If the header is missing or has an unsupported version.
+     */
+    static short checkHeader(ByteBuffer buffer) throws StorageFileException {
+        if (buffer.remaining() < Integer.BYTES + Short.BYTES || buffer.getInt() != MAGIC_NUMBER) {
+            throw new StorageFileException("Save file is not in the binary save format.");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION && version != UNIDENTIFIED_FORMAT_VERSION
+                && version != UNCHECKED_FORMAT_VERSION) {
+            throw new StorageFileException("Unsupported binary save format version: " + version);
+        }
+        return version;
+    }
+
+    /**
+     * Reads a single task in the binary format.
+     *
+     * @param buffer Buffer positioned at the start of the task.
+     * @return Task that was read.
+     */
+    private static Task readTask(ByteBuffer buffer) {
+        int flags = buffer.get() & 0xFF;
+        boolean hasTextFields = (flags & TEXT_FIELDS_FLAG) != 0;
+        long id = (flags & ID_FLAG) != 0 ? readVarLong(buffer) : TaskIdMap.NO_ID;
+        String name = readString(buffer);
+
+        Task task;
+        switch (flags & TYPE_MASK) {
+        case DEADLINE_TYPE:
+            if (hasTextFields) {
+                task = new Deadline(name, readString(buffer), readString(buffer));
+            } else {
+                task = new Deadline(name, readDate(buffer), readTime(buffer));
+            }
+            break;
+        case EVENT_TYPE:
+            if (hasTextFields) {
+                String startDate = readString(buffer);
+                String endDate = readString(buffer);
+                String startTime = readString(buffer);
+                task = new Event(name, startDate, endDate, startTime, readString(buffer));
+            } else {
+                LocalDate startDate = readDate(buffer);
+                LocalDate endDate = readDate(buffer);
+                LocalTime startTime = readTime(buffer);
+                task = new Event(name, startDate, endDate, startTime, readTime(buffer));
+            }
+            break;
+        default:
+            task = new Todo(name);
+            break;
+        }
+
+        task.setCompleteness((flags & COMPLETED_FLAG) != 0);
+        int priorityBits = (flags >> PRIORITY_SHIFT) & 0b11;
+        task.setPriorityLevel(priorityBits == 2 ? TaskPriorityLevel.HIGH
+                : priorityBits == 1 ? TaskPriorityLevel.MEDIUM : TaskPriorityLevel.LOW);
+        task.setId(id);
+        return task;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readLength(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a count or length, checking it against the bytes left in the buffer before anything is allocated for
+     * it, as every task and every byte of a string it counts takes at least one byte.
+     *
+     * @param buffer Buffer positioned at the count or length.
+     * @return The count or length.
+     * @throws BufferUnderflowException If it is damaged, or counts more than the bytes left in the buffer.
+     */
+    private static int readLength(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+
+    /**
+     * Reads an int saved in seven bit groups, lowest first.
+     *
+     * @param buffer Buffer positioned at the int.
+     * @return The int.
+     * @throws BufferUnderflowException If the buffer ends before the int does, or the int runs past five bytes.
+     */
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        int currentByte;
+        do {
+            if (shift > 28) {
+                throw new BufferUnderflowException();
+            }
+            currentByte = buffer.get() & 0xFF;
+            value |= (currentByte & 0x7F) << shift;
+            shift += 7;
+        } while ((currentByte & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Reads a long saved in seven bit groups, lowest first.
+     *
+     * @param buffer Buffer positioned at the long.
+     * @return The long.
+     * @throws BufferUnderflowException If the buffer ends before the long does, or the long runs past ten bytes.
+     */
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        long currentByte;
+        do {
+            if (shift > 63) {
+                throw new BufferUnderflowException();
+            }
+            currentByte = buffer.get() & 0xFF;
+            value |= (currentByte & 0x7F) << shift;
+            shift += 7;
+        } while ((currentByte & 0x80) != 0);
+        return value;
+    }
+
+    private static LocalDate readDate(ByteBuffer buffer) {
+        return LocalDate.ofEpochDay(buffer.getInt());
+    }
+
+    /**
+     * Reads a time saved as the minute of the day.
+     *
+     * @param buffer Buffer positioned at the time.
+     * @return Time that was read.
+     * @throws DateTimeException If the saved minute is not a minute of the day.
+     */
+    private static LocalTime readTime(ByteBuffer buffer) {
+        return LocalTime.ofSecondOfDay(buffer.getShort() * 60L);
+    }
+
+    /**
+     * Converts clintonData.txt into the binary save format, if it has not been converted yet.
+     * The text file is kept as a backup next to the binary file once it has been converted. Malformed lines are
+     * skipped and reported, and stay in the backup. If the text file cannot be read, nothing is converted and the
+     * text file is left in place.
+     *
+     * @param textPath File Path of clintonData.txt file.
+     * @param binaryPath File Path of clintonData.bin file.
+     * @return True if the text file was converted, false if there was nothing to convert.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    public static boolean migrateFromTextFile(Path textPath, Path binaryPath) throws IOException {
+        if (Files.exists(binaryPath) || !Files.exists(textPath)) {
+            return false;
+        }
+        ParallelLoader.LoadedFile loadedFile = ParallelLoader.loadFile(textPath, ParallelLoader.MIN_CHUNK_SIZE);
+        Map<LocalDate, List<Task>> tasks = loadedFile.getTasks();
+        if (loadedFile.getSkippedLineCount() > 0) {
+            System.out.println(loadedFile.getSkippedLineCount() + " damaged lines of " + textPath.getFileName()
+                    + " could not be converted. They are kept in " + textPath.getFileName() + ".bak");
+        }
+        Path temporaryPath = binaryPath.resolveSibling(binaryPath.getFileName() + ".tmp");
+        if (!saveTasksToFile(tasks, temporaryPath)) {
+            throw new IOException("Unable to write " + temporaryPath);
+        }
+        Files.move(temporaryPath, binaryPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(textPath, textPath.resolveSibling(textPath.getFileName() + ".bak"),
+                StandardCopyOption.REPLACE_EXISTING);
+        logger.log(Level.INFO, "clintonData.txt migrated to binary save format");
+        return true;
+    }
+}
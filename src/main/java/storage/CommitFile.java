@@ -0,0 +1,137 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The CommitFile class replaces several save files as one change, and keeps the journal generation that the saved
+ * tasks include alongside them, along with the ID to be given to the next new task. Both are kept on the first line,
+ * which only holds the generation in commit files written before tasks had IDs.
+ * The new save files are first written to temporary files, then the commit file is atomically rewritten to list
+ * every file to be moved into place or deleted, which is the point the change is made. Only then are the files
+ * moved, and once every file is in place the list is cleared again. A change cut short after the commit file was
+ * written is finished by recover before the save files are next read, and one cut short before it is never seen.
+ */
+public class CommitFile {
+
+    private static final String SEPARATOR = "|";
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    /**
+     * Returns the journal generation recorded in a commit file.
+     *
+     * @param commitPath File Path of the commit file.
+     * @return The journal generation, or -1 if no generation has been recorded.
+     * @throws IOException If the commit file cannot be read or is not in the commit file format.
+     */
+    public static long readGeneration(Path commitPath) throws IOException {
+        return readHeaderField(commitPath, 0);
+    }
+
+    /**
+     * Returns the next task ID recorded in a commit file.
+     *
+     * @param commitPath File Path of the commit file.
+     * @return The next task ID, or -1 if none has been recorded.
+     * @throws IOException If the commit file cannot be read or is not in the commit file format.
+     */
+    public static long readNextTaskId(Path commitPath) throws IOException {
+        return readHeaderField(commitPath, 1);
+    }
+
+    private static long readHeaderField(Path commitPath, int fieldIndex) throws IOException {
+        if (!Files.exists(commitPath)) {
+            return -1;
+        }
+        List<String> lines = Files.readAllLines(commitPath);
+        if (lines.isEmpty()) {
+            return -1;
+        }
+        String[] fields = lines.get(0).split("\\|");
+        try {
+            return fieldIndex < fields.length ? Long.parseLong(fields[fieldIndex]) : -1;
+        } catch (NumberFormatException e) {
+            throw new IOException("Error in commit file format: " + commitPath, e);
+        }
+    }
+
+    /**
+     * Moves every temporary file into place as a single change, and records the journal generation the new save
+     * files include and the next task ID.
+     *
+     * @param commitPath File Path of the commit file, in the same directory as the save files.
+     * @param generation Journal generation the new save files include, or -1 to keep the recorded one.
+     * @param nextTaskId ID to be given to the next new task, or -1 to keep the recorded one.
+     * @param temporaryPaths File Path of the temporary file of each save file, or null for a save file to be
+     *     deleted.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    public static void commit(Path commitPath, long generation, long nextTaskId, Map<Path, Path> temporaryPaths)
+            throws IOException {
+        long newGeneration = generation < 0 ? readGeneration(commitPath) : generation;
+        long newNextTaskId = nextTaskId < 0 ? readNextTaskId(commitPath) : nextTaskId;
+        List<String> lines = new ArrayList<>();
+        lines.add(newGeneration + SEPARATOR + newNextTaskId);
+        for (Map.Entry<Path, Path> entry : temporaryPaths.entrySet()) {
+            lines.add(entry.getKey().getFileName() + SEPARATOR
+                    + (entry.getValue() == null ? "" : entry.getValue().getFileName()));
+        }
+        writeAtomically(commitPath, lines);
+        finish(commitPath, lines);
+    }
+
+    /**
+     * Finishes a change that was cut short after its commit file was written, if there is one.
+     *
+     * @param commitPath File Path of the commit file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    public static void recover(Path commitPath) throws IOException {
+        if (!Files.exists(commitPath)) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(commitPath);
+        if (lines.size() > 1) {
+            logger.log(Level.WARNING, "Finishing " + (lines.size() - 1) + " save file changes cut short");
+            finish(commitPath, lines);
+        }
+    }
+
+    /**
+     * Moves every file listed in a commit file into place, then clears the list, keeping the first line. Files that
+     * were already moved are skipped, so that a change can be finished more than once.
+     *
+     * @param commitPath File Path of the commit file.
+     * @param lines Lines of the commit file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    private static void finish(Path commitPath, List<String> lines) throws IOException {
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fileNames = line.split("\\|", 2);
+            Path savePath = commitPath.resolveSibling(fileNames[0]);
+            if (fileNames.length < 2 || fileNames[1].isEmpty()) {
+                Files.deleteIfExists(savePath);
+                continue;
+            }
+            Path temporaryPath = commitPath.resolveSibling(fileNames[1]);
+            if (Files.exists(temporaryPath)) {
+                Files.move(temporaryPath, savePath, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        writeAtomically(commitPath, List.of(lines.get(0)));
+    }
+
+    private static void writeAtomically(Path path, List<String> lines) throws IOException {
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporaryPath, lines);
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
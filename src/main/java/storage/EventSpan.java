@@ -0,0 +1,79 @@
+package storage;
+
+import data.Task;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The EventSpan class holds the first and last dates taken up by the saved events of a date that also take up other
+ * dates, such as a multi-day event saved under its first date.
+ * MonthLoader loads the date along with any date its events take up, so that such an event is shown on every date
+ * it takes up even when only some of those dates are being viewed.
+ */
+public class EventSpan {
+
+    private final LocalDate date;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+
+    /**
+     * Constructs an EventSpan.
+     *
+     * @param date The date the events are saved under.
+     * @param firstDate The first date taken up by any of the events, which may be after the date.
+     * @param lastDate The last date taken up by any of the events, which may be before the date.
+     */
+    public EventSpan(LocalDate date, LocalDate firstDate, LocalDate lastDate) {
+        this.date = date;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+    }
+
+    /**
+     * Finds the dates taken up by the events of a date, if any of them take up another date.
+     *
+     * @param date The date the tasks are saved under.
+     * @param dayTasks The tasks of the date.
+     * @return The dates taken up by the events of the date, or null if every event only takes up the date itself.
+     */
+    public static EventSpan of(LocalDate date, List<Task> dayTasks) {
+        LocalDate firstDate = date;
+        LocalDate lastDate = date;
+        for (Task task : dayTasks) {
+            if (!task.getTaskType().equals("E") || task.getStartLocalDate() == null) {
+                continue;
+            }
+            if (task.getStartLocalDate().isBefore(firstDate)) {
+                firstDate = task.getStartLocalDate();
+            }
+            if (task.getEndLocalDate().isAfter(lastDate)) {
+                lastDate = task.getEndLocalDate();
+            }
+        }
+        return firstDate.equals(date) && lastDate.equals(date) ? null : new EventSpan(date, firstDate, lastDate);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    /**
+     * Checks whether the events take up any date in a range.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     * @return True if the events take up a date in the range, false otherwise.
+     */
+    public boolean overlaps(LocalDate startDate, LocalDate endDate) {
+        return !firstDate.isAfter(endDate) && !lastDate.isBefore(startDate);
+    }
+}
@@ -0,0 +1,266 @@
+package storage;
+
+import data.Task;
+import data.exceptions.StorageFileException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The JdbcStorageBackend class keeps the saved tasks in an embedded H2 database file, such as
+ * ./save/clintonData.mv.db, reached through JDBC without a database server.
+ * Each task is one row keyed by its date and its position in the task list of the date, so reads of a date range
+ * are answered from the primary key index and only the rows in the range are read into memory.
+ * Tasks are stored in the same line format as clintonData.txt, IDs included, and the journal generation they
+ * include is kept in a table of its own along with the next task ID, written in the same transaction as the tasks.
+ * The database has a journal of its own, apart from the one of the month save files.
+ */
+public class JdbcStorageBackend implements StorageBackend {
+
+    public static final String DATABASE_URL = "jdbc:h2:./save/clintonData";
+    public static final Path JOURNAL_PATH = Path.of("./save/clintonDatabaseJournal.txt");
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS tasks ("
+            + "task_date DATE NOT NULL, task_position INT NOT NULL, save_format VARCHAR NOT NULL, "
+            + "PRIMARY KEY (task_date, task_position))";
+    private static final String CREATE_GENERATION_TABLE = "CREATE TABLE IF NOT EXISTS journal_generation ("
+            + "generation BIGINT NOT NULL, next_task_id BIGINT)";
+    private static final String ADD_NEXT_TASK_ID_COLUMN = "ALTER TABLE journal_generation "
+            + "ADD COLUMN IF NOT EXISTS next_task_id BIGINT";
+    private static final String SELECT_GENERATION = "SELECT MAX(generation) FROM journal_generation";
+    private static final String SELECT_NEXT_TASK_ID = "SELECT MAX(next_task_id) FROM journal_generation";
+    private static final String DELETE_GENERATION = "DELETE FROM journal_generation";
+    private static final String INSERT_GENERATION = "INSERT INTO journal_generation (generation, next_task_id) "
+            + "VALUES (?, ?)";
+    private static final String SELECT_MONTHS = "SELECT DISTINCT EXTRACT(YEAR FROM task_date), "
+            + "EXTRACT(MONTH FROM task_date) FROM tasks";
+    private static final String SELECT_RANGE = "SELECT task_date, save_format FROM tasks "
+            + "WHERE task_date BETWEEN ? AND ? ORDER BY task_date, task_position";
+    private static final String SELECT_EVENTS_IN_RANGE = "SELECT task_date, save_format FROM tasks "
+            + "WHERE task_date BETWEEN ? AND ? AND save_format LIKE 'E|%' ORDER BY task_date, task_position";
+    private static final String DELETE_RANGE = "DELETE FROM tasks WHERE task_date BETWEEN ? AND ?";
+    private static final String INSERT_TASK = "INSERT INTO tasks (task_date, task_position, save_format) "
+            + "VALUES (?, ?, ?)";
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final String databaseUrl;
+    private Connection connection;
+
+    /**
+     * Constructs a JdbcStorageBackend for the database at the given JDBC URL.
+     * The database is only opened when it is first used.
+     *
+     * @param databaseUrl JDBC URL of the database.
+     */
+    public JdbcStorageBackend(String databaseUrl) {
+        this.databaseUrl = databaseUrl;
+    }
+
+    /**
+     * Returns the connection to the database, opening it and creating the tables on first use.
+     *
+     * @return Connection to the database.
+     * @throws SQLException If the database cannot be opened.
+     */
+    private Connection getConnection() throws SQLException {
+        if (connection == null) {
+            connection = DriverManager.getConnection(databaseUrl);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TABLE);
+                statement.execute(CREATE_GENERATION_TABLE);
+                //Databases made before tasks had IDs have no column for the next task ID
+                statement.execute(ADD_NEXT_TASK_ID_COLUMN);
+            }
+            logger.log(Level.INFO, "Opened task database " + databaseUrl);
+        }
+        return connection;
+    }
+
+    @Override
+    public Path getJournalPath() {
+        return JOURNAL_PATH;
+    }
+
+    @Override
+    public synchronized List<YearMonth> listMonths() throws IOException {
+        List<YearMonth> months = new ArrayList<>();
+        try (Statement statement = getConnection().createStatement();
+                ResultSet rows = statement.executeQuery(SELECT_MONTHS)) {
+            while (rows.next()) {
+                months.add(YearMonth.of(rows.getInt(1), rows.getInt(2)));
+            }
+        } catch (SQLException e) {
+            throw new IOException("Unable to read months from task database", e);
+        }
+        return months;
+    }
+
+    @Override
+    public synchronized Map<LocalDate, List<Task>> loadTasksInRange(LocalDate startDate, LocalDate endDate)
+            throws IOException, StorageFileException {
+        return selectTasks(SELECT_RANGE, startDate, endDate);
+    }
+
+    @Override
+    public synchronized List<EventSpan> loadEventSpans(YearMonth month) throws IOException, StorageFileException {
+        List<EventSpan> spans = new ArrayList<>();
+        Map<LocalDate, List<Task>> monthEvents = selectTasks(SELECT_EVENTS_IN_RANGE, month.atDay(1),
+                month.atEndOfMonth());
+        for (Map.Entry<LocalDate, List<Task>> entry : new TreeMap<>(monthEvents).entrySet()) {
+            EventSpan span = EventSpan.of(entry.getKey(), entry.getValue());
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * Reads the tasks in a date range selected by a query.
+     *
+     * @param query Query selecting the date and save format of tasks, with the first and last date as parameters.
+     * @param startDate First date to be read.
+     * @param endDate Last date to be read.
+     * @return Hashmap of the selected tasks, without dates that have none.
+     * @throws IOException If the database cannot be read.
+     * @throws StorageFileException If a selected task is not in the expected format.
+     */
+    private Map<LocalDate, List<Task>> selectTasks(String query, LocalDate startDate, LocalDate endDate)
+            throws IOException, StorageFileException {
+        Map<LocalDate, List<Task>> rangeTasks = new HashMap<>();
+        try (PreparedStatement statement = getConnection().prepareStatement(query)) {
+            statement.setObject(1, startDate);
+            statement.setObject(2, endDate);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    LocalDate date = rows.getObject(1, LocalDate.class);
+                    Task task = Storage.parseTaskFromLine(date + "|" + rows.getString(2));
+                    rangeTasks.computeIfAbsent(date, k -> new ArrayList<>()).add(task);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Unable to read tasks from task database", e);
+        }
+        return rangeTasks;
+    }
+
+    @Override
+    public synchronized boolean saveMonths(Map<LocalDate, List<Task>> tasks, Set<YearMonth> months,
+            long journalGeneration, long nextTaskId) {
+        try {
+            Connection database = getConnection();
+            database.setAutoCommit(false);
+            try (PreparedStatement delete = database.prepareStatement(DELETE_RANGE);
+                    PreparedStatement insert = database.prepareStatement(INSERT_TASK)) {
+                for (YearMonth month : months) {
+                    delete.setObject(1, month.atDay(1));
+                    delete.setObject(2, month.atEndOfMonth());
+                    delete.addBatch();
+                }
+                delete.executeBatch();
+                for (Map.Entry<LocalDate, List<Task>> entry : tasks.entrySet()) {
+                    if (!months.contains(YearMonth.from(entry.getKey()))) {
+                        continue;
+                    }
+                    List<Task> dayTasks = entry.getValue();
+                    for (int taskPosition = 0; taskPosition < dayTasks.size(); taskPosition++) {
+                        insert.setObject(1, entry.getKey());
+                        insert.setInt(2, taskPosition);
+                        insert.setString(3, dayTasks.get(taskPosition).getSaveFormatWithId());
+                        insert.addBatch();
+                    }
+                }
+                insert.executeBatch();
+                if (journalGeneration >= 0 || nextTaskId >= 0) {
+                    saveJournalGeneration(database, journalGeneration, nextTaskId);
+                }
+                database.commit();
+            } catch (SQLException e) {
+                database.rollback();
+                throw e;
+            } finally {
+                database.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "Unable to write to task database: " + e.getMessage());
+            return false;
+        }
+        logger.log(Level.INFO, months.size() + " months written to task database");
+        return true;
+    }
+
+    /**
+     * Replaces the recorded journal generation and next task ID, keeping the recorded value of either one given
+     * as -1.
+     *
+     * @param database Connection to the database, in the transaction of the saved tasks.
+     * @param journalGeneration Journal generation the saved tasks include, or -1 to keep the recorded one.
+     * @param nextTaskId ID to be given to the next new task, or -1 to keep the recorded one.
+     * @throws SQLException If the database cannot be read or written.
+     */
+    private void saveJournalGeneration(Connection database, long journalGeneration, long nextTaskId)
+            throws SQLException {
+        long newGeneration = journalGeneration < 0 ? selectLong(database, SELECT_GENERATION) : journalGeneration;
+        long newNextTaskId = nextTaskId < 0 ? selectLong(database, SELECT_NEXT_TASK_ID) : nextTaskId;
+        try (Statement delete = database.createStatement();
+                PreparedStatement insert = database.prepareStatement(INSERT_GENERATION)) {
+            delete.execute(DELETE_GENERATION);
+            insert.setLong(1, newGeneration);
+            insert.setLong(2, newNextTaskId);
+            insert.execute();
+        }
+    }
+
+    @Override
+    public synchronized long loadJournalGeneration() throws IOException {
+        try {
+            return selectLong(getConnection(), SELECT_GENERATION);
+        } catch (SQLException e) {
+            throw new IOException("Unable to read journal generation from task database", e);
+        }
+    }
+
+    @Override
+    public synchronized long loadNextTaskId() throws IOException {
+        try {
+            return selectLong(getConnection(), SELECT_NEXT_TASK_ID);
+        } catch (SQLException e) {
+            throw new IOException("Unable to read next task ID from task database", e);
+        }
+    }
+
+    /**
+     * Runs a query selecting a single number.
+     *
+     * @param database Connection to the database.
+     * @param query Query selecting a single number.
+     * @return The number, or -1 if the query selects nothing.
+     * @throws SQLException If the database cannot be read.
+     */
+    private static long selectLong(Connection database, String query) throws SQLException {
+        try (Statement statement = database.createStatement();
+                ResultSet rows = statement.executeQuery(query)) {
+            if (!rows.next()) {
+                return -1;
+            }
+            long value = rows.getLong(1);
+            return rows.wasNull() ? -1 : value;
+        }
+    }
+}
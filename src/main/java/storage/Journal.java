@@ -0,0 +1,498 @@
+package storage;
+
+import data.Task;
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.UndoHistory;
+import data.exceptions.StorageFileException;
+import data.exceptions.TaskManagerException;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static data.exceptions.StorageFileException.checkStorageTextDateFormat;
+
+/**
+ * The Journal class keeps an append-only log of the changes made to tasks since the save file was last written.
+ * Each add, delete, mark, priority and update is recorded as one short line in clintonJournal.txt, so a change
+ * costs a single append instead of a rewrite of every saved task.
+ * On start up the journal is replayed on top of the saved tasks, and it is compacted from time to time
+ * by rewriting the save files of the changed months and clearing the journal.
+ * The records of each edit, made by a single command or a committed batch, are appended as a block, headed by a
+ * line holding the name of the edit and the number of records in it, and followed by the records that reverse it.
+ * Replaying a block adds the edit to the undo history of the TaskManager, and undos and redos are recorded as a
+ * single line each, so that the history is rebuilt along with the tasks. A block cut short when the application was
+ * closed mid-write is skipped as a whole on replay, as is a block with a record that can no longer be applied, so that
+ * an edit is either replayed in full or not at all.
+ * Compacting the journal writes the edits in the undo history back to it, so that they can still be undone after
+ * the changes themselves have been saved.
+ * The journal starts with its generation, which the backend records along with the saved tasks when the journal is
+ * compacted into them, before the journal is replaced by one of the next generation. A journal left behind by a
+ * compaction cut short between the two is then known to be saved already, so only the undo history is rebuilt from
+ * it, as replaying its records again would add tasks twice or delete the wrong ones.
+ */
+public class Journal {
+
+    public static final Path JOURNAL_PATH = Path.of("./save/clintonJournal.txt");
+    public static final String ADD_RECORD = "A";
+    public static final String DELETE_RECORD = "D";
+    public static final String MARK_RECORD = "M";
+    public static final String PRIORITY_RECORD = "P";
+    public static final String UPDATE_RECORD = "U";
+    public static final String INSERT_RECORD = "I";
+    public static final String EDIT_RECORD = "E";
+    public static final String HISTORY_RECORD = "H";
+    public static final String UNDO_RECORD = "Z";
+    public static final String REDO_RECORD = "Y";
+    public static final String CLEAR_HISTORY_RECORD = "C";
+    public static final String GENERATION_RECORD = "G";
+    private static final String UNDO_STACK = "U";
+    private static final String REDO_STACK = "R";
+    private static final String SEPARATOR = "|";
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    /**
+     * Creates the record for a task added to the end of the task list of a date.
+     *
+     * @param date Date the task was added to.
+     * @param task Task that was added.
+     * @return The journal record of the addition.
+     */
+    public static String getAddRecord(LocalDate date, Task task) {
+        return ADD_RECORD + SEPARATOR + date + SEPARATOR + task.getSaveFormatWithId();
+    }
+
+    /**
+     * Creates the record for a task deleted from the task list of a date.
+     *
+     * @param date Date the task was deleted from.
+     * @param taskIndex Zero-based index of the deleted task.
+     * @return The journal record of the deletion.
+     */
+    public static String getDeleteRecord(LocalDate date, int taskIndex) {
+        return DELETE_RECORD + SEPARATOR + taskIndex + SEPARATOR + date;
+    }
+
+    /**
+     * Creates the record for a task whose marked status was changed.
+     *
+     * @param date Date of the task.
+     * @param taskIndex Zero-based index of the task.
+     * @param isCompleted Marked status the task was set to.
+     * @return The journal record of the change in marked status.
+     */
+    public static String getMarkRecord(LocalDate date, int taskIndex, boolean isCompleted) {
+        return MARK_RECORD + SEPARATOR + taskIndex + SEPARATOR + date + SEPARATOR + (isCompleted ? "X" : "O");
+    }
+
+    /**
+     * Creates the record for a task whose priority level was changed.
+     *
+     * @param date Date of the task.
+     * @param taskIndex Zero-based index of the task.
+     * @param task Task with its new priority level already set.
+     * @return The journal record of the change in priority level.
+     */
+    public static String getPriorityRecord(LocalDate date, int taskIndex, Task task) {
+        return PRIORITY_RECORD + SEPARATOR + taskIndex + SEPARATOR + date + SEPARATOR + task.getPriorityLevelIcon();
+    }
+
+    /**
+     * Creates the record for a task whose priority level was changed.
+     *
+     * @param date Date of the task.
+     * @param taskIndex Zero-based index of the task.
+     * @param priorityLevel Priority level the task was set to.
+     * @return The journal record of the change in priority level.
+     */
+    public static String getPriorityRecord(LocalDate date, int taskIndex, TaskPriorityLevel priorityLevel) {
+        return PRIORITY_RECORD + SEPARATOR + taskIndex + SEPARATOR + date + SEPARATOR
+                + priorityLevel.name().charAt(0);
+    }
+
+    /**
+     * Creates the record for a task that was replaced in place by its updated version.
+     *
+     * @param date Date of the task.
+     * @param taskIndex Zero-based index of the task.
+     * @param task The updated task.
+     * @return The journal record of the update.
+     */
+    public static String getUpdateRecord(LocalDate date, int taskIndex, Task task) {
+        return UPDATE_RECORD + SEPARATOR + taskIndex + SEPARATOR + date + SEPARATOR + task.getSaveFormatWithId();
+    }
+
+    /**
+     * Creates the record for a task inserted into the task list of a date, such as a deleted task put back.
+     *
+     * @param date Date the task was inserted into.
+     * @param taskIndex Zero-based index the task was inserted at.
+     * @param task Task that was inserted.
+     * @return The journal record of the insertion.
+     */
+    public static String getInsertRecord(LocalDate date, int taskIndex, Task task) {
+        return INSERT_RECORD + SEPARATOR + taskIndex + SEPARATOR + date + SEPARATOR + task.getSaveFormatWithId();
+    }
+
+    /**
+     * Creates the block of records for an edit, which is replayed in full or not at all.
+     *
+     * @param edit The edit.
+     * @return The records of the edit followed by its inverse records, headed by the edit record.
+     */
+    public static List<String> getEditRecords(UndoHistory.Edit edit) {
+        return getEditBlock(EDIT_RECORD, edit);
+    }
+
+    /**
+     * Creates the blocks of records for the edits in an undo history, which are added back to the history on
+     * replay without being applied again.
+     *
+     * @param history The undo history.
+     * @return The blocks of the edits that can be undone, oldest first, then those that can be redone.
+     */
+    public static List<String> getHistoryRecords(UndoHistory history) {
+        List<String> historyRecords = new ArrayList<>();
+        for (UndoHistory.Edit edit : history.getUndoEdits()) {
+            historyRecords.addAll(getEditBlock(HISTORY_RECORD + SEPARATOR + UNDO_STACK, edit));
+        }
+        for (UndoHistory.Edit edit : history.getRedoEdits()) {
+            historyRecords.addAll(getEditBlock(HISTORY_RECORD + SEPARATOR + REDO_STACK, edit));
+        }
+        return historyRecords;
+    }
+
+    private static List<String> getEditBlock(String header, UndoHistory.Edit edit) {
+        List<String> block = new ArrayList<>();
+        block.add(header + SEPARATOR + edit.getName() + SEPARATOR + edit.getRecords().size() + SEPARATOR
+                + edit.getInverseRecords().size());
+        block.addAll(edit.getRecords());
+        block.addAll(edit.getInverseRecords());
+        return block;
+    }
+
+    /**
+     * Returns the date changed by a record of a change to a task.
+     *
+     * @param record Journal record of the change.
+     * @return The date.
+     */
+    public static LocalDate getRecordDate(String record) {
+        String[] recordParts = record.split("\\|", 4);
+        return LocalDate.parse(recordParts[0].equals(ADD_RECORD) ? recordParts[1] : recordParts[2]);
+    }
+
+    /**
+     * Appends records to the end of the journal in a single write.
+     *
+     * @param records Journal records to be appended, in the order they were made.
+     * @param path File Path of clintonJournal.txt file.
+     */
+    public static void appendRecords(List<String> records, Path path) {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder recordsToWrite = new StringBuilder();
+        for (String record : records) {
+            recordsToWrite.append(record).append(System.lineSeparator());
+        }
+        try (FileWriter writer = new FileWriter(path.toFile(), true)) {
+            writer.write(recordsToWrite.toString());
+        } catch (IOException e) {
+            System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "Unable to append " + records.size() + " records to journal");
+        }
+    }
+
+    /**
+     * Compacts the journal by rewriting the saved tasks of the months changed since the last compaction
+     * and replacing the journal with the records of the undo history.
+     * The backend records the generation of the journal and the next task ID along with the changed months, and the
+     * journal is then replaced by one of the next generation. If the compaction is cut short before the months are
+     * saved, the journal is replayed on the next start up, and if it is cut short after, the journal is known to be
+     * saved.
+     *
+     * @param tasks Hashmap holding at least every task in the changed months.
+     * @param changedMonths Months changed since the last compaction.
+     * @param storageBackend Backend the changed months are written to.
+     * @param journalPath File Path of clintonJournal.txt file.
+     * @param historyRecords Records of the undo history, as made by getHistoryRecords.
+     * @param nextTaskId ID to be given to the next new task, or -1 to keep the recorded one.
+     */
+    public static void compact(Map<LocalDate, List<Task>> tasks, Set<YearMonth> changedMonths,
+            StorageBackend storageBackend, Path journalPath, List<String> historyRecords, long nextTaskId) {
+        try {
+            long generation = readGeneration(journalPath);
+            if (generation < 0) {
+                //Gives a journal without a generation one first, so that it is known to be saved if cut short
+                generation = storageBackend.loadJournalGeneration() + 1;
+                writeJournal(journalPath, generation,
+                        Files.exists(journalPath) ? Files.readAllLines(journalPath) : new ArrayList<>());
+            }
+            if (!storageBackend.saveMonths(tasks, changedMonths, generation, nextTaskId)) {
+                logger.log(Level.WARNING, "Journal compaction abandoned");
+                return;
+            }
+            writeJournal(journalPath, generation + 1, historyRecords);
+            logger.log(Level.INFO, "journal compacted");
+        } catch (IOException e) {
+            System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "Journal compaction failed");
+        }
+    }
+
+    /**
+     * Replaces the journal with the given records, headed by its generation.
+     *
+     * @param journalPath File Path of clintonJournal.txt file.
+     * @param generation Generation of the new journal.
+     * @param records Records of the new journal.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    private static void writeJournal(Path journalPath, long generation, List<String> records) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(GENERATION_RECORD + SEPARATOR + generation);
+        lines.addAll(records);
+        Path temporaryPath = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        Files.write(temporaryPath, lines);
+        Files.move(temporaryPath, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the generation the journal starts with.
+     *
+     * @param journalPath File Path of clintonJournal.txt file.
+     * @return The generation of the journal, or -1 if it does not exist or was written without one.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    public static long readGeneration(Path journalPath) throws IOException {
+        if (!Files.exists(journalPath)) {
+            return -1;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(journalPath.toFile()))) {
+            String[] fields = String.valueOf(reader.readLine()).split("\\|");
+            if (fields.length == 2 && fields[0].equals(GENERATION_RECORD)) {
+                return Long.parseLong(fields[1]);
+            }
+        } catch (NumberFormatException e) {
+            logger.log(Level.WARNING, "Journal generation is not a number");
+        }
+        return -1;
+    }
+
+    /**
+     * Replays the records in the journal on the tasks loaded from the save file, as if none of its changes were
+     * saved yet.
+     *
+     * @param path File Path of clintonJournal.txt file.
+     * @param taskManager The TaskManager instance the records are replayed on.
+     * @return Months changed by the replayed records.
+     */
+    public static Set<YearMonth> replayJournal(Path path, TaskManager taskManager) {
+        return replayJournal(path, taskManager, -1);
+    }
+
+    /**
+     * Replays the records in the journal on the tasks loaded from the save file.
+     * Records that are malformed or no longer refer to an existing task, such as a line cut short
+     * when the application was closed mid-write, are skipped with a warning, as are edits cut short.
+     * The undo history of the TaskManager is rebuilt from the edits, undos and redos in the journal.
+     * If the generation of the journal was already saved, its changes are not applied again, and only the undo
+     * history is rebuilt from it. The journal must then be compacted before anything else is appended to it.
+     *
+     * @param path File Path of clintonJournal.txt file.
+     * @param taskManager The TaskManager instance the records are replayed on.
+     * @param savedGeneration Generation of the last journal saved by the backend, or -1 if none.
+     * @return Months changed by the replayed records.
+     */
+    public static Set<YearMonth> replayJournal(Path path, TaskManager taskManager, long savedGeneration) {
+        Set<YearMonth> changedMonths = new HashSet<>();
+        int replayedRecords = 0;
+        if (!Files.exists(path)) {
+            return changedMonths;
+        }
+        boolean isSaved = false;
+        try (BufferedReader reader = new BufferedReader(new FileReader(path.toFile()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\\|");
+                try {
+                    switch (fields[0]) {
+                    case GENERATION_RECORD:
+                        isSaved = Long.parseLong(fields[1]) <= savedGeneration;
+                        if (isSaved) {
+                            logger.log(Level.WARNING, "Journal generation " + fields[1]
+                                    + " was already saved, only rebuilding the undo history");
+                        }
+                        break;
+                    case EDIT_RECORD:
+                        UndoHistory.Edit replayedEdit = readEdit(fields, 1, reader);
+                        if (!isSaved) {
+                            replayedRecords += replayEdit(replayedEdit, taskManager, changedMonths);
+                        } else if (replayedEdit != null) {
+                            taskManager.addEditToHistory(replayedEdit);
+                        }
+                        break;
+                    case HISTORY_RECORD:
+                        UndoHistory.Edit edit = readEdit(fields, 2, reader);
+                        if (edit != null) {
+                            taskManager.restoreEditToHistory(edit, fields[1].equals(REDO_STACK));
+                        }
+                        break;
+                    case UNDO_RECORD:
+                        if (isSaved) {
+                            taskManager.moveEditInHistory(true);
+                        } else {
+                            addRecordMonths(changedMonths, taskManager.undoEdit().getInverseRecords());
+                        }
+                        break;
+                    case REDO_RECORD:
+                        if (isSaved) {
+                            taskManager.moveEditInHistory(false);
+                        } else {
+                            addRecordMonths(changedMonths, taskManager.redoEdit().getRecords());
+                        }
+                        break;
+                    case CLEAR_HISTORY_RECORD:
+                        taskManager.clearUndoHistory();
+                        break;
+                    default:
+                        if (!isSaved) {
+                            changedMonths.add(YearMonth.from(applyRecord(line, taskManager)));
+                            replayedRecords++;
+                        }
+                    }
+                } catch (StorageFileException | TaskManagerException | RuntimeException e) {
+                    logger.log(Level.WARNING, "Skipped journal record: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "I/O exception occurred");
+        }
+        logger.log(Level.INFO, replayedRecords + " journal records replayed");
+        return changedMonths;
+    }
+
+    /**
+     * Reads the records of an edit following the line heading it.
+     *
+     * @param fields The fields of the line heading the edit.
+     * @param nameField The index of the field holding the name of the edit, which is followed by the number of its
+     *     records and the number of its inverse records.
+     * @param reader Reader positioned after the line heading the edit.
+     * @return The edit, or null if it was cut short.
+     * @throws IOException If an I/O exception occurs while reading the journal.
+     */
+    private static UndoHistory.Edit readEdit(String[] fields, int nameField, BufferedReader reader)
+            throws IOException {
+        int recordCount = Integer.parseInt(fields[nameField + 1]);
+        int inverseRecordCount = Integer.parseInt(fields[nameField + 2]);
+        List<String> records = new ArrayList<>();
+        String record;
+        while (records.size() < recordCount + inverseRecordCount && (record = reader.readLine()) != null) {
+            records.add(record);
+        }
+        if (records.size() < recordCount + inverseRecordCount) {
+            logger.log(Level.WARNING, "Skipped edit cut short after " + records.size() + " of "
+                    + (recordCount + inverseRecordCount) + " journal records");
+            return null;
+        }
+        return new UndoHistory.Edit(fields[nameField], records.subList(0, recordCount),
+                records.subList(recordCount, records.size()));
+    }
+
+    /**
+     * Applies the records of an edit, and adds it to the undo history, if every record can be applied.
+     * Otherwise none of its records are kept.
+     *
+     * @param edit The edit, or null if it was cut short.
+     * @param taskManager The TaskManager instance the edit is replayed on.
+     * @param changedMonths Months changed by the replayed records, which the months of the edit are added to.
+     * @return Number of records applied.
+     */
+    private static int replayEdit(UndoHistory.Edit edit, TaskManager taskManager, Set<YearMonth> changedMonths) {
+        if (edit == null) {
+            return 0;
+        }
+        if (!taskManager.replayEdit(edit)) {
+            logger.log(Level.WARNING, "Skipped " + edit.getName() + " edit that could not be replayed in full");
+            return 0;
+        }
+        addRecordMonths(changedMonths, edit.getRecords());
+        return edit.getRecords().size();
+    }
+
+    private static void addRecordMonths(Set<YearMonth> months, List<String> records) {
+        for (String record : records) {
+            months.add(YearMonth.from(getRecordDate(record)));
+        }
+    }
+
+    /**
+     * Applies a single journal record of a change to a task.
+     *
+     * @param record Journal record to be applied.
+     * @param taskManager The TaskManager instance the record is applied on.
+     * @return Date changed by the record.
+     * @throws StorageFileException If the record, or the task in it, is not in the journal format.
+     */
+    public static LocalDate applyRecord(String record, TaskManager taskManager) throws StorageFileException {
+        String[] recordParts = record.split("\\|", 2);
+        if (recordParts.length != 2) {
+            throw new StorageFileException("Error in journal format.");
+        }
+        String recordType = recordParts[0];
+        if (recordType.equals(ADD_RECORD)) {
+            String line = recordParts[1];
+            LocalDate date = Storage.parseDateFromLine(line);
+            taskManager.addTask(date, Storage.parseTaskFromLine(line));
+            return date;
+        }
+
+        String[] parts = recordParts[1].split("\\|", 3);
+        int taskIndex = Integer.parseInt(parts[0]);
+        checkStorageTextDateFormat(parts[1]);
+        LocalDate date = LocalDate.parse(parts[1]);
+
+        switch (recordType) {
+        case DELETE_RECORD:
+            if (!taskManager.deleteTask(date, taskIndex, true)) {
+                throw new StorageFileException("Error in journal format.");
+            }
+            break;
+        case MARK_RECORD:
+            taskManager.setTaskCompleteness(date, taskIndex, parts[2].equals("X"));
+            break;
+        case PRIORITY_RECORD:
+            taskManager.setTaskPriorityLevel(date, taskIndex, parts[2].equals("H") ? TaskPriorityLevel.HIGH :
+                    parts[2].equals("M") ? TaskPriorityLevel.MEDIUM : TaskPriorityLevel.LOW);
+            break;
+        case UPDATE_RECORD:
+            String line = parts[1] + SEPARATOR + parts[2];
+            taskManager.replaceTask(date, taskIndex, Storage.parseTaskFromLine(line));
+            break;
+        case INSERT_RECORD:
+            String insertedLine = parts[1] + SEPARATOR + parts[2];
+            taskManager.insertTask(date, taskIndex, Storage.parseTaskFromLine(insertedLine));
+            break;
+        default:
+            throw new StorageFileException("Error in journal format.");
+        }
+        return date;
+    }
+}
@@ -0,0 +1,276 @@
+package storage;
+
+import data.Deadline;
+import data.Event;
+import data.Task;
+import data.TaskFieldPool;
+import data.TaskIdMap;
+import data.TaskPriorityLevel;
+import data.Todo;
+import data.exceptions.StorageFileException;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * The LineScanner class reads tasks from text in the clintonData.txt line format in a single pass.
+ * Each field is checked and decoded in place, without regular expressions or splitting the line into an array,
+ * and only the strings a task keeps, such as its description and dates, are created. Times are taken from the
+ * shared strings of TaskFieldPool.
+ * Errors report the column of the line where the format was broken.
+ * The last field of the task type may be followed by the ID of the task. Lines saved before tasks had IDs have no
+ * such field, and their tasks are given an ID when they are added to a TaskManager.
+ *
+ * <p>A scanner is used by moving to a line with nextLine, then calling scanDate followed by scanTask.
+ */
+public class LineScanner {
+
+    private static final char SEPARATOR = '|';
+
+    private final CharSequence text;
+    private int nextLineStart = 0;
+    private int lineStart = 0;
+    private int lineEnd = 0;
+    private int position = 0;
+
+    /**
+     * Constructs a LineScanner over the given text.
+     *
+     * @param text Text holding one saved task per line.
+     */
+    public LineScanner(CharSequence text) {
+        this.text = text;
+    }
+
+    /**
+     * Moves to the next line of the text, leaving out its line separator.
+     *
+     * @return True if there is another line, false if the end of the text has been reached.
+     */
+    public boolean nextLine() {
+        if (nextLineStart >= text.length()) {
+            return false;
+        }
+        lineStart = nextLineStart;
+        lineEnd = lineStart;
+        while (lineEnd < text.length() && text.charAt(lineEnd) != '\n') {
+            lineEnd++;
+        }
+        nextLineStart = lineEnd + 1;
+        if (lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+        position = lineStart;
+        return true;
+    }
+
+    /**
+     * Returns the current line.
+     *
+     * @return The current line, without its line separator.
+     */
+    public String getLine() {
+        return text.subSequence(lineStart, lineEnd).toString();
+    }
+
+    /**
+     * Scans the date the task of the current line is saved under, in the format yyyy-MM-dd.
+     *
+     * @return Date of the task.
+     * @throws StorageFileException If the line does not start with a valid date followed by a separator.
+     */
+    public LocalDate scanDate() throws StorageFileException {
+        position = lineStart;
+        int year = scanDigits(4, "a four digit year");
+        expect('-');
+        int month = scanDigits(2, "a two digit month");
+        expect('-');
+        int day = scanDigits(2, "a two digit day");
+        try {
+            LocalDate date = LocalDate.of(year, month, day);
+            expect(SEPARATOR);
+            return date;
+        } catch (DateTimeException e) {
+            throw error(lineStart, "a valid date");
+        }
+    }
+
+    /**
+     * Scans the task of the current line, along with its marked status, priority level and ID.
+     * Must be called after scanDate. Fields after the ID are ignored, as is an ID field that is not a positive
+     * number.
+     *
+     * @return Task saved in the line.
+     * @throws StorageFileException If the task is not in the save format.
+     */
+    public Task scanTask() throws StorageFileException {
+        int taskTypePosition = position;
+        char taskType = scanSingleCharField("a task type of T, D or E");
+        boolean isCompleted = scanSingleCharField("a marked status") == 'X';
+        char priorityLevel = scanSingleCharField("a priority level");
+        String description = scanText("a task description");
+
+        Task task;
+        switch (taskType) {
+        case 'T':
+            task = new Todo(description);
+            break;
+        case 'D':
+            String byDate = scanText("a deadline date");
+            task = new Deadline(description, byDate, scanTime());
+            break;
+        case 'E':
+            String startDate = scanText("a start date");
+            String endDate = scanText("an end date");
+            String startTime = scanTime();
+            task = new Event(description, startDate, endDate, startTime, scanTime());
+            break;
+        default:
+            throw error(taskTypePosition, "a task type of T, D or E");
+        }
+
+        task.setCompleteness(isCompleted);
+        task.setPriorityLevel(priorityLevel == 'H' ? TaskPriorityLevel.HIGH :
+                priorityLevel == 'M' ? TaskPriorityLevel.MEDIUM : TaskPriorityLevel.LOW);
+        task.setId(scanId());
+        return task;
+    }
+
+    /**
+     * Scans the ID that may follow the last field of a task.
+     *
+     * @return The ID, or TaskIdMap.NO_ID if the line has no ID field or it is not a positive number.
+     */
+    private long scanId() {
+        if (position > lineEnd) {
+            return TaskIdMap.NO_ID;
+        }
+        int fieldStart = position;
+        skipField();
+        int fieldEnd = position > lineEnd ? lineEnd : position - 1;
+        long id = 0;
+        for (int i = fieldStart; i < fieldEnd; i++) {
+            char digit = text.charAt(i);
+            if (digit < '0' || digit > '9' || id > (Long.MAX_VALUE - 9) / 10) {
+                return TaskIdMap.NO_ID;
+            }
+            id = id * 10 + (digit - '0');
+        }
+        return id;
+    }
+
+    /**
+     * Scans a field of exactly one character, followed by a separator.
+     *
+     * @param fieldName Name of the field, for error messages.
+     * @return The character of the field.
+     * @throws StorageFileException If the field is missing, empty or longer than one character.
+     */
+    private char scanSingleCharField(String fieldName) throws StorageFileException {
+        if (position >= lineEnd || text.charAt(position) == SEPARATOR) {
+            throw error(position, fieldName);
+        }
+        char field = text.charAt(position);
+        position++;
+        expect(SEPARATOR);
+        return field;
+    }
+
+    /**
+     * Scans a text field up to the next separator or the end of the line.
+     *
+     * @param fieldName Name of the field, for error messages.
+     * @return The text of the field.
+     * @throws StorageFileException If the line ends before the field.
+     */
+    private String scanText(String fieldName) throws StorageFileException {
+        if (position > lineEnd) {
+            throw error(lineEnd, fieldName);
+        }
+        int fieldStart = position;
+        skipField();
+        int fieldEnd = position > lineEnd ? lineEnd : position - 1;
+        return text.subSequence(fieldStart, fieldEnd).toString();
+    }
+
+    /**
+     * Scans a time field in the format HHmm.
+     *
+     * @return The time, as saved.
+     * @throws StorageFileException If the field is not a valid time.
+     */
+    private String scanTime() throws StorageFileException {
+        if (position > lineEnd) {
+            throw error(lineEnd, "a time in the format HHmm");
+        }
+        int fieldStart = position;
+        int hour = scanDigits(2, "a time in the format HHmm");
+        int minute = scanDigits(2, "a time in the format HHmm");
+        if (hour > 23 || minute > 59) {
+            throw error(fieldStart, "a time in the format HHmm");
+        }
+        if (position < lineEnd) {
+            expect(SEPARATOR);
+        } else {
+            position = lineEnd + 1;
+        }
+        return TaskFieldPool.getTime(hour * 60 + minute);
+    }
+
+    /**
+     * Scans a fixed number of digits.
+     *
+     * @param digitCount Number of digits to scan.
+     * @param fieldName Name of the field, for error messages.
+     * @return Value of the digits.
+     * @throws StorageFileException If any of the characters is not a digit.
+     */
+    private int scanDigits(int digitCount, String fieldName) throws StorageFileException {
+        int value = 0;
+        for (int i = 0; i < digitCount; i++) {
+            char digit = position < lineEnd ? text.charAt(position) : 0;
+            if (digit < '0' || digit > '9') {
+                throw error(position, fieldName);
+            }
+            value = value * 10 + (digit - '0');
+            position++;
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the next character is the expected one and moves past it.
+     *
+     * @param expected The expected character.
+     * @throws StorageFileException If the next character is a different one.
+     */
+    private void expect(char expected) throws StorageFileException {
+        if (position >= lineEnd || text.charAt(position) != expected) {
+            throw error(position, "'" + expected + "'");
+        }
+        position++;
+    }
+
+    /**
+     * Moves past the current field and the separator after it, or to just past the end of the line
+     * if it is the last field.
+     */
+    private void skipField() {
+        while (position < lineEnd && text.charAt(position) != SEPARATOR) {
+            position++;
+        }
+        position++;
+    }
+
+    /**
+     * Creates the exception for a line that does not follow the save format.
+     *
+     * @param errorPosition Position in the text where the format was broken.
+     * @param expected Description of what was expected there.
+     * @return Exception with the column of the error.
+     */
+    private StorageFileException error(int errorPosition, String expected) {
+        return new StorageFileException("Error in file format at column " + (errorPosition - lineStart + 1)
+                + ": expected " + expected + ".");
+    }
+}
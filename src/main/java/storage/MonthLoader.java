@@ -0,0 +1,348 @@
+package storage;
+
+import data.Task;
+import data.exceptions.StorageFileException;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The MonthLoader class loads saved tasks from a StorageBackend on demand, so that start up only reads the dates
+ * being viewed instead of every saved task.
+ * TaskManager asks for the dates of a view, or a single date, the first time they are used, and only the dates
+ * asked for are read from the backend.
+ * A whole month is only loaded when it is needed as a whole, such as before its saved tasks are rewritten.
+ * Loading a date also loads the dates holding saved events that take it up, such as the first date of a multi-day
+ * event, which are found from the event spans of every month with saved tasks, read once when first needed.
+ * When prefetching is enabled, using a month also starts reading the months before and after it on a background
+ * thread, so that moving to the next or previous view does not wait on the disk.
+ * Apart from the background reads, a MonthLoader is only used from the thread running the commands.
+ */
+public class MonthLoader {
+
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final StorageBackend storageBackend;
+    private final boolean isPrefetching;
+    private final Set<YearMonth> unloadedMonths;
+    private final Map<YearMonth, Future<Map<LocalDate, List<Task>>>> prefetchedMonths = new HashMap<>();
+    private final Map<YearMonth, Set<LocalDate>> loadedDates = new HashMap<>();
+    private List<EventSpan> eventSpans;
+    private ExecutorService prefetcher;
+
+    /**
+     * Constructs a MonthLoader for the tasks saved in the given backend.
+     * Only the months that have saved tasks are read here.
+     *
+     * @param storageBackend Backend holding the saved tasks.
+     * @param isPrefetching Whether the months next to each loaded month are read in the background.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    public MonthLoader(StorageBackend storageBackend, boolean isPrefetching) throws IOException {
+        this.storageBackend = storageBackend;
+        this.isPrefetching = isPrefetching;
+        this.unloadedMonths = new HashSet<>(storageBackend.listMonths());
+    }
+
+    /**
+     * Checks if the tasks of a whole month have already been handed out, or if the month has no save file.
+     *
+     * @param month Month to be checked.
+     * @return True if the month does not need to be loaded, false otherwise.
+     */
+    public boolean isLoaded(YearMonth month) {
+        return !unloadedMonths.contains(month);
+    }
+
+    /**
+     * Returns the months with saved tasks that have not been loaded as a whole yet.
+     *
+     * @return Set of the months, which is not changed as they are loaded.
+     */
+    public Set<YearMonth> getUnloadedMonths() {
+        return new HashSet<>(unloadedMonths);
+    }
+
+    /**
+     * Checks if the tasks of a date have already been handed out, or if its month has no save file.
+     *
+     * @param date Date to be checked.
+     * @return True if the date does not need to be loaded, false otherwise.
+     */
+    public boolean isLoaded(LocalDate date) {
+        YearMonth month = YearMonth.from(date);
+        return isLoaded(month) || loadedDates.getOrDefault(month, Set.of()).contains(date);
+    }
+
+    /**
+     * Loads the tasks of a single date.
+     *
+     * @param date Date to be loaded.
+     * @return Hashmap of the newly loaded tasks, empty if the date is already loaded or has no saved tasks.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the saved tasks of the month are not in the expected format.
+     */
+    public Map<LocalDate, List<Task>> loadDate(LocalDate date) throws IOException, StorageFileException {
+        return loadRange(date, date);
+    }
+
+    /**
+     * Loads the tasks of every date from the start date to the end date, with one read from the backend
+     * for each month the range falls in.
+     * Months already being read in the background are loaded as a whole instead, and dates that were
+     * already loaded are left out.
+     *
+     * @param startDate First date to be loaded.
+     * @param endDate Last date to be loaded.
+     * @return Hashmap of the newly loaded tasks, without dates that are already loaded or have no saved tasks.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the saved tasks of a month are not in the expected format.
+     */
+    public Map<LocalDate, List<Task>> loadRange(LocalDate startDate, LocalDate endDate)
+            throws IOException, StorageFileException {
+        Map<LocalDate, List<Task>> rangeTasks = loadDates(startDate, endDate);
+        rangeTasks.putAll(loadDatesOfEventsOverlapping(startDate, endDate));
+        return rangeTasks;
+    }
+
+    /**
+     * Loads the tasks of every date in a range that has not been loaded yet, without the dates of events
+     * taking up the range.
+     *
+     * @param startDate First date to be loaded.
+     * @param endDate Last date to be loaded.
+     * @return Hashmap of the newly loaded tasks, without dates that are already loaded or have no saved tasks.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the saved tasks of a month are not in the expected format.
+     */
+    private Map<LocalDate, List<Task>> loadDates(LocalDate startDate, LocalDate endDate)
+            throws IOException, StorageFileException {
+        Map<LocalDate, List<Task>> rangeTasks = new HashMap<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate));
+                month = month.plusMonths(1)) {
+            if (isLoaded(month)) {
+                continue;
+            }
+            if (prefetchedMonths.containsKey(month)) {
+                rangeTasks.putAll(loadMonth(month));
+                continue;
+            }
+            LocalDate monthStart = startDate.isAfter(month.atDay(1)) ? startDate : month.atDay(1);
+            LocalDate monthEnd = endDate.isBefore(month.atEndOfMonth()) ? endDate : month.atEndOfMonth();
+            Map<LocalDate, List<Task>> monthTasks = storageBackend.loadTasksInRange(monthStart, monthEnd);
+            Set<LocalDate> monthLoadedDates = loadedDates.get(month);
+            if (monthLoadedDates == null) {
+                monthLoadedDates = new HashSet<>();
+                loadedDates.put(month, monthLoadedDates);
+                prefetchNeighbours(month);
+            }
+            monthTasks.keySet().removeAll(monthLoadedDates);
+            for (LocalDate date = monthStart; !date.isAfter(monthEnd); date = date.plusDays(1)) {
+                monthLoadedDates.add(date);
+            }
+            rangeTasks.putAll(monthTasks);
+        }
+        return rangeTasks;
+    }
+
+    /**
+     * Loads the tasks of a month, waiting for its background read if one was started.
+     * Dates of the month that were already loaded on their own are left out.
+     * A month is only handed out once, and is left unloaded if it cannot be read so that it can be tried again.
+     *
+     * @param month Month to be loaded.
+     * @return Hashmap of the newly loaded tasks, empty if the month is already loaded or has no save file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the saved tasks of the month are not in the expected format.
+     */
+    public Map<LocalDate, List<Task>> loadMonth(YearMonth month) throws IOException, StorageFileException {
+        if (isLoaded(month)) {
+            return new HashMap<>();
+        }
+        Map<LocalDate, List<Task>> monthTasks;
+        Future<Map<LocalDate, List<Task>>> prefetchedMonth = prefetchedMonths.remove(month);
+        if (prefetchedMonth == null) {
+            monthTasks = storageBackend.loadMonth(month);
+        } else {
+            monthTasks = getPrefetchedMonth(prefetchedMonth);
+        }
+        monthTasks.keySet().removeAll(loadedDates.getOrDefault(month, Set.of()));
+        unloadedMonths.remove(month);
+        loadedDates.remove(month);
+        logger.log(Level.INFO, "Loaded " + monthTasks.size() + " dates of " + month);
+
+        prefetchNeighbours(month);
+        monthTasks.putAll(loadDatesOfEventsOverlapping(month.atDay(1), month.atEndOfMonth()));
+        return monthTasks;
+    }
+
+    /**
+     * Checks if every date holding saved events that take up a date in a range has been loaded, so that the events
+     * are shown on every date they take up.
+     *
+     * @param startDate First date of the range.
+     * @param endDate Last date of the range.
+     * @return True if no such date needs to be loaded, false otherwise or if the event spans have not been read yet.
+     */
+    public boolean isEventSpanLoaded(LocalDate startDate, LocalDate endDate) {
+        return eventSpans != null && findUnloadedSpans(startDate, endDate).isEmpty();
+    }
+
+    /**
+     * Loads the dates holding saved events that take up a date in a range, and in turn the dates holding events
+     * that take up those dates, so that every loaded date has all of its events loaded.
+     *
+     * @param startDate First date of the range.
+     * @param endDate Last date of the range.
+     * @return Hashmap of the newly loaded tasks.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the saved tasks of a month are not in the expected format.
+     */
+    private Map<LocalDate, List<Task>> loadDatesOfEventsOverlapping(LocalDate startDate, LocalDate endDate)
+            throws IOException, StorageFileException {
+        readEventSpans();
+        Map<LocalDate, List<Task>> loadedTasks = new HashMap<>();
+        Deque<EventSpan> pendingSpans = new ArrayDeque<>(findUnloadedSpans(startDate, endDate));
+        while (!pendingSpans.isEmpty()) {
+            LocalDate date = pendingSpans.poll().getDate();
+            if (!isLoaded(date)) {
+                loadedTasks.putAll(loadDates(date, date));
+                pendingSpans.addAll(findUnloadedSpans(date, date));
+            }
+        }
+        return loadedTasks;
+    }
+
+    /**
+     * Reads the event spans of every month with saved tasks that is not loaded yet, the first time they are needed.
+     * A month whose spans cannot be read is left out, so that it only hides its own multi-day events.
+     */
+    private void readEventSpans() {
+        if (eventSpans != null) {
+            return;
+        }
+        List<EventSpan> spans = new ArrayList<>();
+        for (YearMonth month : unloadedMonths) {
+            try {
+                spans.addAll(storageBackend.loadEventSpans(month));
+            } catch (IOException | StorageFileException e) {
+                logger.log(Level.WARNING, "Unable to find multi-day events of " + month + ": " + e.getMessage());
+            }
+        }
+        eventSpans = spans;
+    }
+
+    private List<EventSpan> findUnloadedSpans(LocalDate startDate, LocalDate endDate) {
+        List<EventSpan> spans = new ArrayList<>();
+        for (EventSpan span : eventSpans) {
+            if (span.overlaps(startDate, endDate) && !isLoaded(span.getDate())) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * Forgets what was read of a month whose saved tasks were changed by another program, including any
+     * background read of it.
+     * If any date of the month had been loaded, the whole month is read again so that the loaded dates can be
+     * compared with it, and the month counts as loaded afterwards.
+     * Otherwise the month is simply read as it is then when it is first used.
+     *
+     * @param month Month whose saved tasks were changed.
+     * @return Hashmap of the tasks now saved in the month, or null if none of its dates had been loaded.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the saved tasks of the month are not in the expected format.
+     */
+    public Map<LocalDate, List<Task>> reloadMonth(YearMonth month) throws IOException, StorageFileException {
+        Future<Map<LocalDate, List<Task>>> prefetchedMonth = prefetchedMonths.remove(month);
+        if (prefetchedMonth != null) {
+            prefetchedMonth.cancel(false);
+        }
+        storageBackend.discardCachedMonth(month);
+        if (eventSpans != null) {
+            eventSpans.removeIf(span -> YearMonth.from(span.getDate()).equals(month));
+            eventSpans.addAll(storageBackend.loadEventSpans(month));
+        }
+        if (unloadedMonths.contains(month) && !loadedDates.containsKey(month)) {
+            return null;
+        }
+        Map<LocalDate, List<Task>> monthTasks = storageBackend.loadMonth(month);
+        unloadedMonths.remove(month);
+        loadedDates.remove(month);
+        logger.log(Level.INFO, "Reloaded " + monthTasks.size() + " dates of " + month);
+        return monthTasks;
+    }
+
+    /**
+     * Starts reading the months before and after a month in the background, if prefetching is enabled.
+     *
+     * @param month Month whose neighbours are to be read.
+     */
+    private void prefetchNeighbours(YearMonth month) {
+        if (isPrefetching) {
+            prefetch(month.minusMonths(1));
+            prefetch(month.plusMonths(1));
+        }
+    }
+
+    /**
+     * Starts reading a month on the background thread, if it is not loaded or being read already.
+     *
+     * @param month Month to be read.
+     */
+    public void prefetch(YearMonth month) {
+        if (isLoaded(month) || prefetchedMonths.containsKey(month)) {
+            return;
+        }
+        if (prefetcher == null) {
+            prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "clinton-prefetcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        prefetchedMonths.put(month, prefetcher.submit(() -> storageBackend.loadMonth(month)));
+    }
+
+    /**
+     * Waits for the background read of a month to finish.
+     *
+     * @param prefetchedMonth Pending background read of the month.
+     * @return Hashmap of the tasks in the month.
+     * @throws IOException If an I/O exception occurred during the read, or the wait was interrupted.
+     * @throws StorageFileException If the saved tasks of the month are not in the expected format.
+     */
+    private static Map<LocalDate, List<Task>> getPrefetchedMonth(Future<Map<LocalDate, List<Task>>> prefetchedMonth)
+            throws IOException, StorageFileException {
+        try {
+            return prefetchedMonth.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading month", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StorageFileException) {
+                throw (StorageFileException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package storage;
+
+import data.Task;
+import data.exceptions.StorageFileException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The ParallelLoader class loads clintonData.txt by splitting it into byte ranges that start and end on line
+ * boundaries, parsing the ranges on a fork/join pool and merging the tasks of each day at the end.
+ * Each range is parsed with its own LineScanner. Tasks are merged in file order, so each day keeps the order
+ * its tasks were saved in.
+ * A malformed line is skipped and counted, and the lines after it are still loaded, so that one damaged line does
+ * not lose the rest of the file.
+ */
+public class ParallelLoader {
+
+    /**
+     * Size in bytes below which a range is parsed directly rather than split further. About 1500 lines, so that a
+     * save file of a few thousand tasks is already split, while each range is still large enough to be worth a
+     * fork/join task of its own.
+     */
+    public static final int MIN_CHUNK_SIZE = 1 << 16;
+    private static final byte NEW_LINE = '\n';
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    /**
+     * Loads every task in the file into a map of dates to the tasks on that date, and reports any malformed lines
+     * that were skipped.
+     *
+     * @param path File Path of clintonData.txt file.
+     * @return Hashmap of tasks read from the file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    public static Map<LocalDate, List<Task>> loadTasks(Path path) throws IOException {
+        return loadTasks(path, MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * Loads every task in the file into a map of dates to the tasks on that date, splitting the file into ranges
+     * no larger than the given size where a line boundary allows, and reports any malformed lines that were skipped.
+     *
+     * @param path File Path of clintonData.txt file.
+     * @param minChunkSize Size in bytes below which a range is parsed directly.
+     * @return Hashmap of tasks read from the file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    public static Map<LocalDate, List<Task>> loadTasks(Path path, int minChunkSize) throws IOException {
+        LoadedFile loadedFile = loadFile(path, minChunkSize);
+        if (loadedFile.getSkippedLineCount() > 0) {
+            System.out.println(loadedFile.getSkippedLineCount() + " damaged lines could not be loaded from "
+                    + path.getFileName());
+        }
+        return loadedFile.getTasks();
+    }
+
+    /**
+     * Loads every task in the file, along with the number of malformed lines that were skipped, without reporting
+     * them, so that the caller can decide how to warn the user.
+     *
+     * @param path File Path of clintonData.txt file.
+     * @param minChunkSize Size in bytes below which a range is parsed directly.
+     * @return The tasks read from the file and the number of lines skipped.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    public static LoadedFile loadFile(Path path, int minChunkSize) throws IOException {
+        long startTime = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize == 0) {
+                return new LoadedFile(new HashMap<>(), 0);
+            }
+            LoadedChunk loadedChunk = ForkJoinPool.commonPool().invoke(
+                    new ChunkLoader(channel, 0, fileSize, minChunkSize));
+            if (loadedChunk.ioException != null) {
+                throw loadedChunk.ioException;
+            }
+            logThroughput(loadedChunk.lineCount, System.nanoTime() - startTime);
+            return new LoadedFile(loadedChunk.tasks, loadedChunk.skippedLineCount);
+        }
+    }
+
+    /**
+     * Logs the number of lines loaded and the lines loaded per second.
+     *
+     * @param lineCount Number of lines loaded.
+     * @param elapsedNanos Time taken to load the lines, in nanoseconds.
+     */
+    private static void logThroughput(long lineCount, long elapsedNanos) {
+        double elapsedSeconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        logger.log(Level.INFO, String.format("%d lines loaded in %.1f ms (%.0f lines/sec)",
+                lineCount, elapsedSeconds * 1000, lineCount / elapsedSeconds));
+    }
+
+    /**
+     * Finds the first position at or after the given position that starts a line.
+     *
+     * @param channel Channel of the file being loaded.
+     * @param position Position to start searching from.
+     * @param end Position the search stops at.
+     * @return Position of the start of the next line, or end if there is none.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    private static long findLineStart(FileChannel channel, long position, long end) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        long searchPosition = position - 1;
+        while (searchPosition < end) {
+            int windowSize = (int) Math.min(4096, end - searchPosition);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, searchPosition, windowSize);
+            for (int i = 0; i < windowSize; i++) {
+                if (window.get(i) == NEW_LINE) {
+                    return searchPosition + i + 1;
+                }
+            }
+            searchPosition += windowSize;
+        }
+        return end;
+    }
+
+    /**
+     * Tasks loaded from a file, along with the number of malformed lines skipped while loading them.
+     */
+    public static class LoadedFile {
+        private final Map<LocalDate, List<Task>> tasks;
+        private final long skippedLineCount;
+
+        private LoadedFile(Map<LocalDate, List<Task>> tasks, long skippedLineCount) {
+            this.tasks = tasks;
+            this.skippedLineCount = skippedLineCount;
+        }
+
+        public Map<LocalDate, List<Task>> getTasks() {
+            return tasks;
+        }
+
+        public long getSkippedLineCount() {
+            return skippedLineCount;
+        }
+    }
+
+    /**
+     * Tasks parsed from one byte range of the file.
+     */
+    private static class LoadedChunk {
+        private final Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        private long lineCount = 0;
+        private long skippedLineCount = 0;
+        private IOException ioException = null;
+
+        /**
+         * Appends the tasks of the chunk that follows this chunk in the file.
+         *
+         * @param nextChunk Chunk that directly follows this chunk.
+         * @return This chunk, with the tasks and skipped lines of the following chunk merged in.
+         */
+        private LoadedChunk append(LoadedChunk nextChunk) {
+            if (ioException != null) {
+                return this;
+            }
+            for (Map.Entry<LocalDate, List<Task>> entry : nextChunk.tasks.entrySet()) {
+                tasks.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+            }
+            lineCount += nextChunk.lineCount;
+            skippedLineCount += nextChunk.skippedLineCount;
+            ioException = nextChunk.ioException;
+            return this;
+        }
+    }
+
+    /**
+     * Fork/join task that parses the lines between two line boundaries of the file,
+     * splitting the range in half until it is small enough to parse directly.
+     */
+    // Never serialized, as it only lives for the length of a single load and holds an open FileChannel
+    @SuppressWarnings("serial")
+    private static class ChunkLoader extends RecursiveTask<LoadedChunk> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final int minChunkSize;
+
+        private ChunkLoader(FileChannel channel, long start, long end, int minChunkSize) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.minChunkSize = minChunkSize;
+        }
+
+        @Override
+        protected LoadedChunk compute() {
+            try {
+                if (end - start <= minChunkSize) {
+                    return parseChunk();
+                }
+                long middle = findLineStart(channel, start + (end - start) / 2, end);
+                if (middle <= start || middle >= end) {
+                    return parseChunk();
+                }
+                ChunkLoader firstHalf = new ChunkLoader(channel, start, middle, minChunkSize);
+                ChunkLoader secondHalf = new ChunkLoader(channel, middle, end, minChunkSize);
+                secondHalf.fork();
+                LoadedChunk firstChunk = firstHalf.compute();
+                return firstChunk.append(secondHalf.join());
+            } catch (IOException e) {
+                LoadedChunk failedChunk = new LoadedChunk();
+                failedChunk.ioException = e;
+                return failedChunk;
+            }
+        }
+
+        /**
+         * Parses every line in the byte range of this chunk, skipping and counting malformed lines.
+         *
+         * @return Tasks parsed from the chunk.
+         * @throws IOException If an I/O exception occurs during file handling.
+         */
+        private LoadedChunk parseChunk() throws IOException {
+            LoadedChunk loadedChunk = new LoadedChunk();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            String text = Charset.defaultCharset().decode(buffer).toString();
+
+            LineScanner scanner = new LineScanner(text);
+            while (scanner.nextLine()) {
+                try {
+                    LocalDate date = scanner.scanDate();
+                    Task task = scanner.scanTask();
+                    loadedChunk.tasks.computeIfAbsent(date, k -> new ArrayList<>()).add(task);
+                    loadedChunk.lineCount++;
+                } catch (StorageFileException e) {
+                    logger.log(Level.WARNING, "Skipped line in wrong tasks.txt format: " + e.getMessage() + " in "
+                            + scanner.getLine());
+                    loadedChunk.skippedLineCount++;
+                }
+            }
+            return loadedChunk;
+        }
+    }
+}
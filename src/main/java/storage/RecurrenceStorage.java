@@ -0,0 +1,192 @@
+package storage;
+
+import data.RecurrenceRule;
+import data.RecurringTask;
+import data.Task;
+import data.TaskPriorityLevel;
+import data.exceptions.StorageFileException;
+import data.exceptions.TaskManagerException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The RecurrenceStorage class keeps recurring tasks in their own save file, apart from the month save files, as a
+ * recurring task belongs to no single month.
+ * Each recurring task takes two lines. The first holds its rule and the occurrences that were changed, as
+ * "R|frequency|limit|changes", with the frequency and limit in the form they are entered by the user, and each
+ * change as "date/D" for a deleted occurrence, or "date/marked status/priority level". The second is its template,
+ * saved under its first date in the same format as a line of clintonData.txt.
+ * The whole file is written each time a recurring task is changed, which stays small as there is one entry per
+ * recurring task, not per occurrence.
+ */
+public class RecurrenceStorage {
+
+    public static final Path FILE_PATH = Path.of("./save/recurring.txt");
+    private static final String RULE_MARKER = "R";
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final Path path;
+
+    /**
+     * Constructs a RecurrenceStorage keeping the recurring tasks in a file.
+     *
+     * @param path The path of the save file.
+     */
+    public RecurrenceStorage(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Loads the saved recurring tasks. A recurring task whose lines are not in the save format is skipped and
+     * reported, so that the others are still loaded.
+     *
+     * @return The recurring tasks in the order they were saved, empty if there is no save file.
+     * @throws IOException If an I/O exception occurs while reading the save file.
+     */
+    public List<RecurringTask> load() throws IOException {
+        List<RecurringTask> recurringTasks = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return recurringTasks;
+        }
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        lines.removeIf(String::isBlank);
+        int damagedCount = 0;
+        int i = 0;
+        while (i < lines.size()) {
+            boolean hasTemplateLine = i + 1 < lines.size() && !isRuleLine(lines.get(i + 1));
+            if (!isRuleLine(lines.get(i)) || !hasTemplateLine) {
+                damagedCount++;
+                logger.log(Level.WARNING, "Skipped recurring task line: " + lines.get(i));
+                i++;
+                continue;
+            }
+            try {
+                recurringTasks.add(parseRecurringTask(lines.get(i), lines.get(i + 1)));
+            } catch (StorageFileException e) {
+                damagedCount++;
+                logger.log(Level.WARNING, "Skipped recurring task: " + lines.get(i) + " " + lines.get(i + 1));
+            }
+            i += 2;
+        }
+        if (damagedCount > 0) {
+            System.out.println(damagedCount + " damaged recurring tasks could not be loaded from "
+                    + path.getFileName());
+        }
+        logger.log(Level.INFO, recurringTasks.size() + " recurring tasks loaded");
+        return recurringTasks;
+    }
+
+    private static boolean isRuleLine(String line) {
+        return line.startsWith(RULE_MARKER + "|");
+    }
+
+    /**
+     * Replaces the saved recurring tasks. The file is only replaced once the new one is fully written.
+     *
+     * @param recurringTasks The recurring tasks.
+     * @return True if the recurring tasks were written, false if an I/O exception occurred.
+     */
+    public boolean save(List<RecurringTask> recurringTasks) {
+        List<String> lines = new ArrayList<>();
+        for (RecurringTask recurringTask : recurringTasks) {
+            lines.add(getRuleSaveFormat(recurringTask));
+            lines.add(recurringTask.getRule().getStartDate() + "|" + recurringTask.getTemplate().getSaveFormat());
+        }
+
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Storage.createNewFile(path);
+            Files.write(temporaryPath, lines, StandardCharsets.UTF_8);
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "Unable to write " + path.getFileName());
+            return false;
+        }
+        return true;
+    }
+
+    private static String getRuleSaveFormat(RecurringTask recurringTask) {
+        RecurrenceRule rule = recurringTask.getRule();
+        StringJoiner changes = new StringJoiner(",");
+        for (Map.Entry<LocalDate, RecurringTask.OccurrenceChange> entry : recurringTask.getChanges().entrySet()) {
+            RecurringTask.OccurrenceChange change = entry.getValue();
+            changes.add(change.isDeleted() ? entry.getKey() + "/D"
+                    : entry.getKey() + "/" + (change.isCompleted() ? "X" : "O") + "/"
+                    + change.getPriorityLevel().name().charAt(0));
+        }
+        return String.join("|", RULE_MARKER, rule.getFrequencyString(), rule.getLimitString(), changes.toString());
+    }
+
+    /**
+     * Parses a recurring task from its two lines in the save file.
+     *
+     * @param ruleLine The line holding the rule and the changed occurrences.
+     * @param templateLine The line holding the template.
+     * @return The recurring task.
+     * @throws StorageFileException If either line is not in the save format.
+     */
+    private static RecurringTask parseRecurringTask(String ruleLine, String templateLine)
+            throws StorageFileException {
+        String[] fields = ruleLine.split("\\|", -1);
+        if (fields.length != 4 || !fields[0].equals(RULE_MARKER)) {
+            throw new StorageFileException("Error in file format.");
+        }
+        LocalDate startDate = Storage.parseDateFromLine(templateLine);
+        Task template = Storage.parseTaskFromLine(templateLine);
+        if (!RecurringTask.isValidTemplate(template)) {
+            throw new StorageFileException("Error in file format.");
+        }
+
+        RecurringTask recurringTask;
+        try {
+            RecurrenceRule rule = RecurrenceRule.parse(fields[1], fields[2], startDate);
+            recurringTask = new RecurringTask(rule, template);
+            if (!fields[3].isEmpty()) {
+                for (String change : fields[3].split(",")) {
+                    String[] changeFields = change.split("/");
+                    recurringTask.setChange(LocalDate.parse(changeFields[0]), parseChange(changeFields));
+                }
+            }
+        } catch (TaskManagerException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new StorageFileException("Error in file format.");
+        }
+        return recurringTask;
+    }
+
+    private static RecurringTask.OccurrenceChange parseChange(String[] changeFields) throws StorageFileException {
+        if (changeFields.length == 2 && changeFields[1].equals("D")) {
+            return new RecurringTask.OccurrenceChange(true, false, TaskPriorityLevel.LOW);
+        }
+        if (changeFields.length != 3) {
+            throw new StorageFileException("Error in file format.");
+        }
+        TaskPriorityLevel priorityLevel;
+        switch (changeFields[2]) {
+        case "H":
+            priorityLevel = TaskPriorityLevel.HIGH;
+            break;
+        case "M":
+            priorityLevel = TaskPriorityLevel.MEDIUM;
+            break;
+        case "L":
+            priorityLevel = TaskPriorityLevel.LOW;
+            break;
+        default:
+            throw new StorageFileException("Error in file format.");
+        }
+        return new RecurringTask.OccurrenceChange(false, changeFields[1].equals("X"), priorityLevel);
+    }
+}
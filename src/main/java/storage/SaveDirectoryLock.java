@@ -0,0 +1,65 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The SaveDirectoryLock class keeps a second running instance of the application from using the same save directory.
+ * Every instance appends to, replays and compacts the same journal, so a second instance would have its records
+ * dropped whenever the first one compacts the journal. The lock is an exclusive lock on a file in the save directory,
+ * which the operating system releases when the instance exits, however it exits.
+ */
+public class SaveDirectoryLock {
+
+    public static final Path LOCK_PATH = Path.of("./save/clinton.lock");
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    private SaveDirectoryLock(FileChannel channel, FileLock lock) {
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /**
+     * Takes the lock of a save directory, unless another instance holds it.
+     *
+     * @param lockPath File Path of the lock file, which is created along with its directory if needed.
+     * @return The lock, or null if another instance holds it.
+     * @throws IOException If the lock file cannot be created or opened.
+     */
+    public static SaveDirectoryLock tryAcquire(Path lockPath) throws IOException {
+        Files.createDirectories(lockPath.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            logger.log(Level.WARNING, "Save directory is in use by another instance");
+            return null;
+        }
+        return new SaveDirectoryLock(channel, lock);
+    }
+
+    /**
+     * Releases the lock, so that another instance can use the save directory.
+     *
+     * @throws IOException If the lock file cannot be closed.
+     */
+    public void release() throws IOException {
+        lock.release();
+        channel.close();
+    }
+}
@@ -0,0 +1,101 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The SaveFileWatcher class watches the month save directory for month save files written by another program,
+ * such as a file sync tool, using a WatchService on a background thread. A second running instance is kept from
+ * using the same save directory by SaveDirectoryLock instead, as the instances would share a journal.
+ * The watcher only notes which months changed. The changes are applied by TaskManager on the thread running
+ * the commands, so that the tasks in memory are never changed while a command is using them.
+ * Months written by this application are noted as well, and are found to have no changed dates when compared.
+ */
+public class SaveFileWatcher {
+
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final Path shardDirectory;
+    private final Set<YearMonth> changedMonths = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a SaveFileWatcher for the month save files in the given directory.
+     *
+     * @param shardDirectory Directory holding the month save files.
+     */
+    public SaveFileWatcher(Path shardDirectory) {
+        this.shardDirectory = shardDirectory;
+    }
+
+    /**
+     * Starts watching the month save directory on a background thread.
+     *
+     * @throws IOException If the directory cannot be watched.
+     */
+    public void start() throws IOException {
+        WatchService watchService = shardDirectory.getFileSystem().newWatchService();
+        shardDirectory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        Thread watcherThread = new Thread(() -> watch(watchService), "clinton-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Loop run by the watcher thread, noting the month of every month save file that was changed.
+     * If events were lost, every month that has a save file is noted.
+     *
+     * @param watchService WatchService the month save directory is registered with.
+     */
+    private void watch(WatchService watchService) {
+        try (watchService) {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changedMonths.addAll(ShardedStorage.listShards(shardDirectory));
+                        continue;
+                    }
+                    YearMonth month = ShardedStorage.getShardMonth((Path) event.context());
+                    if (month != null) {
+                        changedMonths.add(month);
+                    }
+                }
+                if (!key.reset()) {
+                    logger.log(Level.WARNING, "Month save directory can no longer be watched");
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            logger.log(Level.INFO, "Save file watcher stopped");
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Save file watcher stopped: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the months whose save files changed since this was last called.
+     *
+     * @return Months whose save files changed.
+     */
+    public Set<YearMonth> takeChangedMonths() {
+        Set<YearMonth> months = new HashSet<>();
+        Iterator<YearMonth> iterator = changedMonths.iterator();
+        while (iterator.hasNext()) {
+            months.add(iterator.next());
+            iterator.remove();
+        }
+        return months;
+    }
+}
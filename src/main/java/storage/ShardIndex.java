@@ -0,0 +1,336 @@
+package storage;
+
+import data.Task;
+import data.exceptions.StorageFileException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The ShardIndex class keeps a sidecar index next to a month save file, such as 2024-04.bin.idx, that maps each
+ * date to the byte offset and length of its tasks in the save file.
+ * The tasks of a single date can then be read with one positional read instead of loading the whole month.
+ * Each entry also holds the first and last dates taken up by the events of its date, so that the dates holding
+ * multi-day events can be found without reading their tasks.
+ * The index records the size and last modified time of the save file it was built from, and is rebuilt from
+ * the save file whenever it is missing, unreadable or out of date.
+ */
+public class ShardIndex {
+
+    public static final int INDEX_MAGIC_NUMBER = 0x434C4958;
+    public static final short INDEX_VERSION = 3;
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final int HEADER_SIZE = Integer.BYTES + 2 * Short.BYTES + 2 * Long.BYTES + Integer.BYTES;
+    private static final int ENTRY_SIZE = 5 * Integer.BYTES;
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final Path shardPath;
+    private final short formatVersion;
+    private final int[] epochDays;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int[] firstEpochDays;
+    private final int[] lastEpochDays;
+
+    private ShardIndex(Path shardPath, short formatVersion, int[] epochDays, int[] offsets, int[] lengths,
+            int[] firstEpochDays, int[] lastEpochDays) {
+        this.shardPath = shardPath;
+        this.formatVersion = formatVersion;
+        this.epochDays = epochDays;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.firstEpochDays = firstEpochDays;
+        this.lastEpochDays = lastEpochDays;
+    }
+
+    /**
+     * Returns the File Path of the index of a month save file.
+     *
+     * @param shardPath File Path of the month save file.
+     * @return File Path of its index.
+     */
+    public static Path getIndexPath(Path shardPath) {
+        return shardPath.resolveSibling(shardPath.getFileName() + INDEX_EXTENSION);
+    }
+
+    /**
+     * Opens the index of a month save file, rebuilding it first if it is missing or out of date.
+     *
+     * @param shardPath File Path of the month save file.
+     * @return Index of the month save file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the month save file is not in the binary save format.
+     */
+    public static ShardIndex open(Path shardPath) throws IOException, StorageFileException {
+        long shardSize = Files.size(shardPath);
+        long shardModifiedTime = Files.getLastModifiedTime(shardPath).toMillis();
+        ShardIndex index = readIndex(shardPath, shardSize, shardModifiedTime);
+        if (index == null) {
+            index = build(shardPath);
+            index.write(shardSize, shardModifiedTime);
+            logger.log(Level.INFO, "Rebuilt index of " + shardPath.getFileName());
+        }
+        return index;
+    }
+
+    /**
+     * Reads the index of a month save file, if it exists and matches the save file.
+     *
+     * @param shardPath File Path of the month save file.
+     * @param shardSize Current size of the month save file.
+     * @param shardModifiedTime Current last modified time of the month save file, in milliseconds.
+     * @return The index, or null if it is missing, unreadable or out of date.
+     */
+    private static ShardIndex readIndex(Path shardPath, long shardSize, long shardModifiedTime) {
+        Path indexPath = getIndexPath(shardPath);
+        if (!Files.exists(indexPath)) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != INDEX_MAGIC_NUMBER
+                    || buffer.getShort() != INDEX_VERSION || buffer.getLong() != shardSize
+                    || buffer.getLong() != shardModifiedTime) {
+                return null;
+            }
+            short formatVersion = buffer.getShort();
+            int entryCount = buffer.getInt();
+            if (entryCount < 0 || buffer.remaining() != entryCount * ENTRY_SIZE) {
+                return null;
+            }
+            int[] epochDays = new int[entryCount];
+            int[] offsets = new int[entryCount];
+            int[] lengths = new int[entryCount];
+            int[] firstEpochDays = new int[entryCount];
+            int[] lastEpochDays = new int[entryCount];
+            for (int i = 0; i < entryCount; i++) {
+                epochDays[i] = buffer.getInt();
+                offsets[i] = buffer.getInt();
+                lengths[i] = buffer.getInt();
+                firstEpochDays[i] = buffer.getInt();
+                lastEpochDays[i] = buffer.getInt();
+            }
+            return new ShardIndex(shardPath, formatVersion, epochDays, offsets, lengths, firstEpochDays,
+                    lastEpochDays);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to read index of " + shardPath.getFileName());
+            return null;
+        }
+    }
+
+    /**
+     * Builds the index of a month save file by reading through the whole file, including the tasks of each date.
+     * Blocks that fail their checksum are left out, and a file cut short is indexed up to the last date
+     * that was saved in full.
+     *
+     * @param shardPath File Path of the month save file.
+     * @return Index of the month save file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the month save file is not in the binary save format.
+     */
+    private static ShardIndex build(Path shardPath) throws IOException, StorageFileException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(shardPath));
+        short formatVersion = BinaryStorage.checkHeader(buffer);
+        List<int[]> entries = new ArrayList<>();
+        int damagedBlocks = 0;
+        try {
+            while (buffer.hasRemaining()) {
+                int offset = buffer.position();
+                try {
+                    List<Task> dayTasks = readBlock(buffer, formatVersion);
+                    int epochDay = buffer.getInt(offset);
+                    EventSpan span = EventSpan.of(LocalDate.ofEpochDay(epochDay), dayTasks);
+                    entries.add(new int[] {epochDay, offset, buffer.position() - offset,
+                        span == null ? epochDay : (int) span.getFirstDate().toEpochDay(),
+                        span == null ? epochDay : (int) span.getLastDate().toEpochDay()});
+                } catch (StorageFileException e) {
+                    damagedBlocks++;
+                    logger.log(Level.WARNING, "Left damaged block out of index: " + e.getMessage());
+                }
+            }
+        } catch (BufferUnderflowException | DateTimeException e) {
+            damagedBlocks++;
+            logger.log(Level.WARNING, "Month save file cut short or damaged: " + shardPath.getFileName());
+        }
+        if (damagedBlocks > 0) {
+            System.out.println(damagedBlocks + " damaged dates could not be loaded from " + shardPath.getFileName());
+        }
+        entries.sort((first, second) -> Integer.compare(first[0], second[0]));
+
+        int[] epochDays = new int[entries.size()];
+        int[] offsets = new int[entries.size()];
+        int[] lengths = new int[entries.size()];
+        int[] firstEpochDays = new int[entries.size()];
+        int[] lastEpochDays = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            epochDays[i] = entries.get(i)[0];
+            offsets[i] = entries.get(i)[1];
+            lengths[i] = entries.get(i)[2];
+            firstEpochDays[i] = entries.get(i)[3];
+            lastEpochDays[i] = entries.get(i)[4];
+        }
+        return new ShardIndex(shardPath, formatVersion, epochDays, offsets, lengths, firstEpochDays,
+                lastEpochDays);
+    }
+
+    /**
+     * Reads the tasks of the next date block of a month save file, moving past it.
+     *
+     * @param buffer Buffer positioned at the start of the block.
+     * @param formatVersion Format version of the month save file.
+     * @return Tasks of the date of the block.
+     * @throws StorageFileException If the block does not match its checksum, or its tasks are damaged.
+     */
+    private static List<Task> readBlock(ByteBuffer buffer, short formatVersion) throws StorageFileException {
+        if (formatVersion == BinaryStorage.UNCHECKED_FORMAT_VERSION) {
+            buffer.getInt();
+            return BinaryStorage.readDayTasks(buffer);
+        }
+        int blockStart = buffer.position();
+        ByteBuffer block = BinaryStorage.nextCheckedBlock(buffer);
+        try {
+            return BinaryStorage.readDayTasks(block);
+        } catch (BufferUnderflowException | DateTimeException e) {
+            throw new StorageFileException("Damaged tasks in block at byte " + blockStart);
+        }
+    }
+
+    /**
+     * Writes this index to its sidecar file. Failing to write it only means it is rebuilt again next time.
+     *
+     * @param shardSize Size of the month save file the index was built from.
+     * @param shardModifiedTime Last modified time of the month save file the index was built from, in milliseconds.
+     */
+    private void write(long shardSize, long shardModifiedTime) {
+        Path indexPath = getIndexPath(shardPath);
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(indexPath)))) {
+            output.writeInt(INDEX_MAGIC_NUMBER);
+            output.writeShort(INDEX_VERSION);
+            output.writeLong(shardSize);
+            output.writeLong(shardModifiedTime);
+            output.writeShort(formatVersion);
+            output.writeInt(epochDays.length);
+            for (int i = 0; i < epochDays.length; i++) {
+                output.writeInt(epochDays[i]);
+                output.writeInt(offsets[i]);
+                output.writeInt(lengths[i]);
+                output.writeInt(firstEpochDays[i]);
+                output.writeInt(lastEpochDays[i]);
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to write index of " + shardPath.getFileName());
+        }
+    }
+
+    /**
+     * Returns the dates taken up by the events of each date in the month save file whose events also take up
+     * other dates.
+     *
+     * @return The dates taken up by the events of each such date, in order of date.
+     */
+    public List<EventSpan> getEventSpans() {
+        List<EventSpan> spans = new ArrayList<>();
+        for (int i = 0; i < epochDays.length; i++) {
+            if (firstEpochDays[i] != epochDays[i] || lastEpochDays[i] != epochDays[i]) {
+                spans.add(new EventSpan(LocalDate.ofEpochDay(epochDays[i]), LocalDate.ofEpochDay(firstEpochDays[i]),
+                        LocalDate.ofEpochDay(lastEpochDays[i])));
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * Reads the tasks of a single date with one positional read of the month save file.
+     *
+     * @param date Date to be read.
+     * @return Tasks of the date, empty if the date has no saved tasks.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the saved tasks of the date are damaged or do not match the index.
+     */
+    public List<Task> readDayTasks(LocalDate date) throws IOException, StorageFileException {
+        int entry = Arrays.binarySearch(epochDays, (int) date.toEpochDay());
+        if (entry < 0) {
+            return new ArrayList<>();
+        }
+        try (FileChannel channel = FileChannel.open(shardPath, StandardOpenOption.READ)) {
+            return readEntry(channel, entry);
+        }
+    }
+
+    /**
+     * Reads the tasks of every date in a range with one positional read per date that has saved tasks.
+     *
+     * @param startDate First date to be read.
+     * @param endDate Last date to be read.
+     * @return Hashmap of the tasks in the range, without dates that have no saved tasks.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the saved tasks of a date are damaged or do not match the index.
+     */
+    public Map<LocalDate, List<Task>> readTasksInRange(LocalDate startDate, LocalDate endDate)
+            throws IOException, StorageFileException {
+        Map<LocalDate, List<Task>> rangeTasks = new HashMap<>();
+        int entry = Arrays.binarySearch(epochDays, (int) startDate.toEpochDay());
+        if (entry < 0) {
+            entry = -entry - 1;
+        }
+        if (entry >= epochDays.length || epochDays[entry] > endDate.toEpochDay()) {
+            return rangeTasks;
+        }
+        try (FileChannel channel = FileChannel.open(shardPath, StandardOpenOption.READ)) {
+            for (; entry < epochDays.length && epochDays[entry] <= endDate.toEpochDay(); entry++) {
+                rangeTasks.put(LocalDate.ofEpochDay(epochDays[entry]), readEntry(channel, entry));
+            }
+        }
+        return rangeTasks;
+    }
+
+    /**
+     * Reads the tasks of one entry of the index from the month save file.
+     *
+     * @param channel Open channel of the month save file.
+     * @param entry Position of the date in the index.
+     * @return Tasks of the date.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the saved tasks of the date are damaged or do not match the index.
+     */
+    private List<Task> readEntry(FileChannel channel, int entry) throws IOException, StorageFileException {
+        ByteBuffer buffer = ByteBuffer.allocate(lengths[entry]);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offsets[entry] + buffer.position()) < 0) {
+                throw new EOFException("Month save file ended before the tasks of "
+                        + LocalDate.ofEpochDay(epochDays[entry]));
+            }
+        }
+        buffer.flip();
+        try {
+            if (buffer.getInt(0) != epochDays[entry]) {
+                throw new StorageFileException("Month save file index is out of date.");
+            }
+            if (formatVersion == BinaryStorage.UNCHECKED_FORMAT_VERSION) {
+                buffer.getInt();
+                return BinaryStorage.readDayTasks(buffer);
+            }
+            return BinaryStorage.readDayTasks(BinaryStorage.nextCheckedBlock(buffer));
+        } catch (BufferUnderflowException | DateTimeException e) {
+            throw new StorageFileException("Month save file index is out of date.");
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package storage;
+
+import data.Task;
+import data.exceptions.StorageFileException;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The ShardedStorage class splits the saved tasks into one binary save file per month, such as
+ * ./save/months/2024-04.bin, so that saving a change only rewrites the months that were changed.
+ * Each month file uses the BinaryStorage format and only holds the dates within that month.
+ */
+public class ShardedStorage {
+
+    public static final Path SHARD_DIRECTORY = Path.of("./save/months");
+    private static final String SHARD_EXTENSION = ".bin";
+    private static final String COMMIT_FILE_NAME = "commit.txt";
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    /**
+     * Returns the File Path of the save file of a month.
+     *
+     * @param shardDirectory Directory holding the month save files.
+     * @param month Month of the save file.
+     * @return File Path of the save file of the month.
+     */
+    public static Path getShardPath(Path shardDirectory, YearMonth month) {
+        return shardDirectory.resolve(month + SHARD_EXTENSION);
+    }
+
+    /**
+     * Returns the month of a month save file from its name.
+     *
+     * @param shardPath File Path of the file.
+     * @return Month of the save file, or null if the file is not a month save file.
+     */
+    public static YearMonth getShardMonth(Path shardPath) {
+        String fileName = shardPath.getFileName().toString();
+        if (!fileName.endsWith(SHARD_EXTENSION)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(fileName.substring(0, fileName.length() - SHARD_EXTENSION.length()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the File Path of the commit file that the month save files are replaced through.
+     *
+     * @param shardDirectory Directory holding the month save files.
+     * @return File Path of the commit file.
+     */
+    public static Path getCommitPath(Path shardDirectory) {
+        return shardDirectory.resolve(COMMIT_FILE_NAME);
+    }
+
+    /**
+     * Rewrites the save files of the given months, deleting the files of months that no longer have tasks,
+     * and keeps the journal generation and next task ID recorded with them.
+     *
+     * @param tasks Hashmap holding at least every task in the given months.
+     * @param months Months whose save files are to be rewritten.
+     * @param shardDirectory Directory holding the month save files.
+     * @return True if every month was written, false if an I/O exception occurred.
+     */
+    public static boolean saveShards(Map<LocalDate, List<Task>> tasks, Set<YearMonth> months, Path shardDirectory) {
+        return saveShards(tasks, months, shardDirectory, -1, -1);
+    }
+
+    /**
+     * Rewrites the save files of the given months, deleting the files of months that no longer have tasks.
+     * Every month is written to a temporary file, and the temporary files are then moved into place through the
+     * commit file as a single change, along with the journal generation the months include and the next task ID.
+     * The indexes of the rewritten months are deleted, to be rebuilt when they are next used.
+     *
+     * @param tasks Hashmap holding at least every task in the given months.
+     * @param months Months whose save files are to be rewritten.
+     * @param shardDirectory Directory holding the month save files.
+     * @param journalGeneration Journal generation the months include, or -1 to keep the recorded one.
+     * @param nextTaskId ID to be given to the next new task, or -1 to keep the recorded one.
+     * @return True if every month was written, false if an I/O exception occurred.
+     */
+    public static boolean saveShards(Map<LocalDate, List<Task>> tasks, Set<YearMonth> months, Path shardDirectory,
+            long journalGeneration, long nextTaskId) {
+        Map<YearMonth, Map<LocalDate, List<Task>>> tasksByMonth = groupByMonth(tasks, months);
+        Map<Path, Path> temporaryPaths = new LinkedHashMap<>();
+        try {
+            Files.createDirectories(shardDirectory);
+            CommitFile.recover(getCommitPath(shardDirectory));
+            for (YearMonth month : months) {
+                Path shardPath = getShardPath(shardDirectory, month);
+                Map<LocalDate, List<Task>> monthTasks = tasksByMonth.get(month);
+                if (monthTasks == null || monthTasks.isEmpty()) {
+                    temporaryPaths.put(shardPath, null);
+                    continue;
+                }
+                Path temporaryPath = shardPath.resolveSibling(shardPath.getFileName() + ".tmp");
+                if (!BinaryStorage.saveTasksToFile(monthTasks, temporaryPath)) {
+                    return false;
+                }
+                temporaryPaths.put(shardPath, temporaryPath);
+            }
+            for (Path shardPath : temporaryPaths.keySet()) {
+                Files.deleteIfExists(ShardIndex.getIndexPath(shardPath));
+            }
+            CommitFile.commit(getCommitPath(shardDirectory), journalGeneration, nextTaskId, temporaryPaths);
+        } catch (IOException e) {
+            System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "Unable to write month save files");
+            return false;
+        }
+        logger.log(Level.INFO, months.size() + " month save files written");
+        return true;
+    }
+
+    /**
+     * Groups the tasks of the given months by month, skipping dates without tasks.
+     *
+     * @param tasks Hashmap holding at least every task in the given months.
+     * @param months Months to be grouped.
+     * @return Tasks of each month.
+     */
+    private static Map<YearMonth, Map<LocalDate, List<Task>>> groupByMonth(Map<LocalDate, List<Task>> tasks,
+            Set<YearMonth> months) {
+        Map<YearMonth, Map<LocalDate, List<Task>>> tasksByMonth = new HashMap<>();
+        for (Map.Entry<LocalDate, List<Task>> entry : tasks.entrySet()) {
+            YearMonth month = YearMonth.from(entry.getKey());
+            if (months.contains(month) && !entry.getValue().isEmpty()) {
+                tasksByMonth.computeIfAbsent(month, k -> new HashMap<>()).put(entry.getKey(), entry.getValue());
+            }
+        }
+        return tasksByMonth;
+    }
+
+    /**
+     * Loads the tasks of a single month.
+     *
+     * @param shardDirectory Directory holding the month save files.
+     * @param month Month to be loaded.
+     * @return Hashmap of the tasks in the month, empty if the month has no save file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the save file of the month is not in the binary save format.
+     */
+    public static Map<LocalDate, List<Task>> loadShard(Path shardDirectory, YearMonth month)
+            throws IOException, StorageFileException {
+        return BinaryStorage.loadTasksFromFile(getShardPath(shardDirectory, month));
+    }
+
+    /**
+     * Lists the months that have a save file.
+     *
+     * @param shardDirectory Directory holding the month save files.
+     * @return Months that have a save file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    public static List<YearMonth> listShards(Path shardDirectory) throws IOException {
+        List<YearMonth> months = new ArrayList<>();
+        if (!Files.isDirectory(shardDirectory)) {
+            return months;
+        }
+        try (DirectoryStream<Path> shardPaths = Files.newDirectoryStream(shardDirectory, "*" + SHARD_EXTENSION)) {
+            for (Path shardPath : shardPaths) {
+                YearMonth month = getShardMonth(shardPath);
+                if (month == null) {
+                    logger.log(Level.WARNING, "Ignored unexpected file in month save directory: "
+                            + shardPath.getFileName());
+                } else {
+                    months.add(month);
+                }
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Loads the tasks of every month that has a save file.
+     *
+     * @param shardDirectory Directory holding the month save files.
+     * @return Hashmap of every saved task.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If a month save file is not in the binary save format.
+     */
+    public static Map<LocalDate, List<Task>> loadAllShards(Path shardDirectory)
+            throws IOException, StorageFileException {
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        for (YearMonth month : listShards(shardDirectory)) {
+            tasks.putAll(loadShard(shardDirectory, month));
+        }
+        return tasks;
+    }
+
+    /**
+     * Checks every month save file against its block checksums without loading any tasks,
+     * printing the result for each month.
+     *
+     * @param shardDirectory Directory holding the month save files.
+     * @return Total number of damaged blocks found.
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    public static int verifyShards(Path shardDirectory) throws IOException {
+        int totalDamagedBlocks = 0;
+        List<YearMonth> months = listShards(shardDirectory);
+        months.sort(null);
+        for (YearMonth month : months) {
+            try {
+                int damagedBlocks = BinaryStorage.verifyFile(getShardPath(shardDirectory, month));
+                totalDamagedBlocks += damagedBlocks;
+                System.out.println(month + ": " + (damagedBlocks == 0 ? "OK" : damagedBlocks + " damaged dates"));
+            } catch (StorageFileException e) {
+                totalDamagedBlocks++;
+                System.out.println(month + ": " + e.getMessage());
+            }
+        }
+        return totalDamagedBlocks;
+    }
+
+    /**
+     * Splits the single binary save file of earlier versions into month save files, if it has not been split yet.
+     * The single file is kept as a backup once it has been split.
+     *
+     * @param singleFilePath File Path of clintonData.bin file.
+     * @param shardDirectory Directory holding the month save files.
+     * @return True if the single file was split, false if there was nothing to split.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the single file is not in the binary save format.
+     */
+    public static boolean migrateFromSingleFile(Path singleFilePath, Path shardDirectory)
+            throws IOException, StorageFileException {
+        if (Files.isDirectory(shardDirectory) || !Files.exists(singleFilePath)) {
+            return false;
+        }
+        Map<LocalDate, List<Task>> tasks = BinaryStorage.loadTasksFromFile(singleFilePath);
+        Set<YearMonth> months = new HashSet<>();
+        for (LocalDate date : tasks.keySet()) {
+            months.add(YearMonth.from(date));
+        }
+        if (!saveShards(tasks, months, shardDirectory)) {
+            throw new IOException("Unable to split " + singleFilePath);
+        }
+        Files.move(singleFilePath, singleFilePath.resolveSibling(singleFilePath.getFileName() + ".bak"),
+                StandardCopyOption.REPLACE_EXISTING);
+        logger.log(Level.INFO, "clintonData.bin split into " + months.size() + " month save files");
+        return true;
+    }
+}
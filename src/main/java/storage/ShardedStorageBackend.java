@@ -0,0 +1,136 @@
+package storage;
+
+import data.Task;
+import data.exceptions.StorageFileException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ShardedStorageBackend class keeps the saved tasks in the binary month save files of ShardedStorage.
+ * Whole months are read straight from their save files, while smaller ranges are read through the index
+ * of each month, which is kept open once it has been used. The dates holding multi-day events are found from the
+ * index as well.
+ */
+public class ShardedStorageBackend implements StorageBackend {
+
+    private final Path shardDirectory;
+    private final Map<YearMonth, ShardIndex> indexes = new ConcurrentHashMap<>();
+    private volatile boolean isRecovered;
+
+    /**
+     * Constructs a ShardedStorageBackend for the month save files in the given directory.
+     *
+     * @param shardDirectory Directory holding the month save files.
+     */
+    public ShardedStorageBackend(Path shardDirectory) {
+        this.shardDirectory = shardDirectory;
+    }
+
+    /**
+     * Finishes a change to the month save files that was cut short, the first time the files are used.
+     *
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    private synchronized void recover() throws IOException {
+        if (!isRecovered) {
+            CommitFile.recover(ShardedStorage.getCommitPath(shardDirectory));
+            isRecovered = true;
+        }
+    }
+
+    @Override
+    public List<YearMonth> listMonths() throws IOException {
+        recover();
+        return ShardedStorage.listShards(shardDirectory);
+    }
+
+    @Override
+    public Map<LocalDate, List<Task>> loadTasksInRange(LocalDate startDate, LocalDate endDate)
+            throws IOException, StorageFileException {
+        recover();
+        Map<LocalDate, List<Task>> rangeTasks = new HashMap<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate));
+                month = month.plusMonths(1)) {
+            if (!Files.exists(ShardedStorage.getShardPath(shardDirectory, month))) {
+                continue;
+            }
+            LocalDate monthStart = startDate.isAfter(month.atDay(1)) ? startDate : month.atDay(1);
+            LocalDate monthEnd = endDate.isBefore(month.atEndOfMonth()) ? endDate : month.atEndOfMonth();
+            if (monthStart.equals(month.atDay(1)) && monthEnd.equals(month.atEndOfMonth())) {
+                rangeTasks.putAll(loadMonth(month));
+            } else {
+                rangeTasks.putAll(getIndex(month).readTasksInRange(monthStart, monthEnd));
+            }
+        }
+        return rangeTasks;
+    }
+
+    @Override
+    public Map<LocalDate, List<Task>> loadMonth(YearMonth month) throws IOException, StorageFileException {
+        recover();
+        if (!Files.exists(ShardedStorage.getShardPath(shardDirectory, month))) {
+            return new HashMap<>();
+        }
+        return ShardedStorage.loadShard(shardDirectory, month);
+    }
+
+    @Override
+    public List<EventSpan> loadEventSpans(YearMonth month) throws IOException, StorageFileException {
+        recover();
+        if (!Files.exists(ShardedStorage.getShardPath(shardDirectory, month))) {
+            return new ArrayList<>();
+        }
+        return getIndex(month).getEventSpans();
+    }
+
+    /**
+     * Returns the index of a month save file, opening it the first time it is used.
+     *
+     * @param month Month of the save file.
+     * @return Index of the month save file.
+     * @throws IOException If an I/O exception occurs during file handling.
+     * @throws StorageFileException If the month save file is not in the binary save format.
+     */
+    private ShardIndex getIndex(YearMonth month) throws IOException, StorageFileException {
+        ShardIndex index = indexes.get(month);
+        if (index == null) {
+            index = ShardIndex.open(ShardedStorage.getShardPath(shardDirectory, month));
+            indexes.put(month, index);
+        }
+        return index;
+    }
+
+    @Override
+    public void discardCachedMonth(YearMonth month) {
+        indexes.remove(month);
+    }
+
+    @Override
+    public boolean saveMonths(Map<LocalDate, List<Task>> tasks, Set<YearMonth> months, long journalGeneration,
+            long nextTaskId) {
+        indexes.keySet().removeAll(months);
+        return ShardedStorage.saveShards(tasks, months, shardDirectory, journalGeneration, nextTaskId);
+    }
+
+    @Override
+    public long loadJournalGeneration() throws IOException {
+        recover();
+        return CommitFile.readGeneration(ShardedStorage.getCommitPath(shardDirectory));
+    }
+
+    @Override
+    public long loadNextTaskId() throws IOException {
+        recover();
+        return CommitFile.readNextTaskId(ShardedStorage.getCommitPath(shardDirectory));
+    }
+}
@@ -1,13 +1,8 @@
 package storage;
 
 import data.exceptions.StorageFileException;
-import data.exceptions.TaskManagerException;
 import data.Task;
-import data.TaskPriorityLevel;
-import data.TaskType;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -19,19 +14,10 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static data.exceptions.StorageFileException.checkStorageTextDateFormat;
-
-import static data.TaskManager.addTask;
-import static data.TaskManager.getDayTasks;
-import static data.TaskManager.parseTaskType;
-import static data.TaskType.DEADLINE;
-import static data.TaskType.EVENT;
-
-
 /**
  * The Storage class handles all operations related to storing and retrieving tasks from a file.
- * It provides methods to create a new file, save tasks to a file, load tasks from a file, and check the file format.
- * It also provides methods to configure the statuses of tasks after they are loaded from the file.
+ * It provides methods to create a new file, save tasks to a file, load tasks from a file,
+ * and parse the lines of the file with a LineScanner.
  * The class uses a Logger to log information and warnings related to file handling and task management.
  */
 public class Storage {
@@ -52,7 +38,7 @@ public class Storage {
         }
         if (!Files.exists(path)) {
             Files.createFile(path);
-            logger.log(Level.INFO, "new clintonData.txt file created");
+            logger.log(Level.INFO, "new save file created: " + path.getFileName());
         }
     }
 
@@ -62,8 +48,9 @@ public class Storage {
      *
      * @param tasks Hashmap of tasks.
      * @param path File Path of clintonData.txt file.
+     * @return True if every task was written, false if an I/O exception occurred.
      */
-    public static void saveTasksToFile(Map<LocalDate, List<Task>> tasks, Path path) {
+    public static boolean saveTasksToFile(Map<LocalDate, List<Task>> tasks, Path path) {
         try (FileWriter writer = new FileWriter(path.toFile())) {
             for (Map.Entry<LocalDate, List<Task>> entry : tasks.entrySet()) {
                 assert entry != null;
@@ -72,7 +59,7 @@ public class Storage {
                 List<Task> taskList = entry.getValue();
                 assert taskList != null;
                 for (Task task : taskList) {
-                    String taskSaveFormat = task.getSaveFormat();
+                    String taskSaveFormat = task.getSaveFormatWithId();
                     writer.write(date + "|" + taskSaveFormat + System.lineSeparator());
                     String taskDescription = task.getName();
                     logger.log(Level.INFO, "task added: " + taskDescription);
@@ -80,109 +67,58 @@ public class Storage {
             }
         } catch (IOException e) {
             System.out.println("I/O exception occurred during file handling");
+            return false;
         }
+        return true;
     }
 
     /**
-     * Loads tasks from test.txt to hashmap.
+     * Loads tasks from clintonData.txt to hashmap.
+     * The file is parsed in parallel by the ParallelLoader.
      *
      * @param path File Path of clintonData.txt file.
-     * @return tasks hashmap of tasks read from test.txt.
+     * @return tasks hashmap of tasks read from clintonData.txt.
      */
     public static Map<LocalDate, List<Task>> loadTasksFromFile(Path path) {
         Map<LocalDate, List<Task>> tasks = new HashMap<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(path.toFile()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (!checkFileFormat(line)) {
-                    throw new StorageFileException("Error in file format.");
-                }
-                String[] parts = line.split("\\|");
-                checkStorageTextDateFormat(parts[0]);
-                LocalDate date = LocalDate.parse(parts[0]);
-                TaskType taskType = parseTaskType(parts[1]);
-                String markedStatus = parts[2];
-                String priorityLevel = parts[3];
-                String taskDescription = parts[4];
-                String[] dates = {null, null};
-                String[] times = {null, null};
-                if (taskType == DEADLINE) {
-                    dates[0] = parts[5];
-                    times[0] = parts[6];
-                } else if (taskType == EVENT) {
-                    dates[0] = parts[5];
-                    dates[1] = parts[6];
-                    times[0] = parts[7];
-                    times[1] = parts[8];
-                }
-                addTask(date, taskDescription, taskType, dates, times);
-                configureStatuses(date, markedStatus, priorityLevel);
-            }
+        try {
+            tasks = ParallelLoader.loadTasks(path);
         } catch (IOException e) {
             System.out.println("I/O exception occurred during file handling");
             logger.log(Level.WARNING, "I/O exception occurred");
-        } catch (StorageFileException e) {
-            logger.log(Level.WARNING, "Wrong tasks.txt format");
-        } catch (TaskManagerException e) {
-            logger.log(Level.WARNING, "Invalid task type for task.");
         }
         logger.log(Level.INFO, "tasks returned");
         return tasks;
     }
 
     /**
-     * Configures the statuses of the tasks after they are loaded from the file.
-     * 
-     * @param date Date of the task.
-     * @param markedStatus Marked status of the task.
-     * @param priorityLevel Priority level of the task.
-     */
-    private static void configureStatuses(LocalDate date, String markedStatus, String priorityLevel) {
-
-        List<Task> allTasks = getDayTasks(date);
-        Task recentlyAddedTask = allTasks.get(allTasks.size() - 1);
-
-        setMarkedStatus(markedStatus, recentlyAddedTask);
-        setPriorityLevelStatus(priorityLevel, recentlyAddedTask);
-    }
-
-    /**
-     * Sets the priority level status of the task.
-     * 
-     * @param priorityLevel Priority level of the task.
-     * @param recentlyAddedTask Task that was most recently added.
-     */
-    private static void setPriorityLevelStatus(String priorityLevel, Task recentlyAddedTask) {
-        if (priorityLevel.equals("H")) {
-            recentlyAddedTask.setPriorityLevel(TaskPriorityLevel.HIGH);
-        } else if (priorityLevel.equals("M")) {
-            recentlyAddedTask.setPriorityLevel(TaskPriorityLevel.MEDIUM);
-        } else {
-            recentlyAddedTask.setPriorityLevel(TaskPriorityLevel.LOW);
-        }
-    }
-
-    /**
-     * Sets the marked status of the task.
-     * 
-     * @param markedStatus Marked status of the task.
-     * @param recentlyAddedTask Task that was most recently added.
+     * Parses the date a task is saved under from a line of clintonData.txt.
+     *
+     * @param line Line to be parsed.
+     * @return Date of the task.
+     * @throws StorageFileException If the line or its date is not in the save format.
      */
-    private static void setMarkedStatus(String markedStatus, Task recentlyAddedTask) {
-        if (markedStatus.equals("X")) {
-            recentlyAddedTask.setCompleteness(true);
+    public static LocalDate parseDateFromLine(String line) throws StorageFileException {
+        LineScanner scanner = new LineScanner(line);
+        if (!scanner.nextLine()) {
+            throw new StorageFileException("Error in file format.");
         }
+        return scanner.scanDate();
     }
 
     /**
-     * Checks if the file format is correct.
+     * Parses a task, along with its marked status and priority level, from a line of clintonData.txt.
      *
-     * @param line Line to be checked.
-     * @return True if the file format is correct, false otherwise.
+     * @param line Line to be parsed.
+     * @return Task saved in the line.
+     * @throws StorageFileException If the line is not in the save format.
      */
-    public static boolean checkFileFormat(String line) {
-        String regex = "\\d{4}-\\d{2}-\\d{2}\\|.+";
-        return line.matches(regex);
+    public static Task parseTaskFromLine(String line) throws StorageFileException {
+        LineScanner scanner = new LineScanner(line);
+        if (!scanner.nextLine()) {
+            throw new StorageFileException("Error in file format.");
+        }
+        scanner.scanDate();
+        return scanner.scanTask();
     }
-
 }
@@ -0,0 +1,166 @@
+package storage;
+
+import data.Task;
+import data.exceptions.StorageFileException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The StorageBackend interface is implemented by each way of keeping the saved tasks on disk.
+ * Tasks are read by date range, so that a backend with an index only reads the dates being asked for,
+ * and are written a whole month at a time, as a month is the unit the journal is compacted into.
+ * Apart from reads of whole months, which may also be made from a background thread,
+ * a backend is only used from one thread at a time.
+ */
+public interface StorageBackend {
+
+    /**
+     * Lists the months that have saved tasks.
+     *
+     * @return Months that have saved tasks.
+     * @throws IOException If an I/O exception occurs while reading the saved tasks.
+     */
+    List<YearMonth> listMonths() throws IOException;
+
+    /**
+     * Loads the saved tasks of every date from the start date to the end date, both inclusive.
+     *
+     * @param startDate First date to be loaded.
+     * @param endDate Last date to be loaded.
+     * @return Hashmap of the tasks in the range, without dates that have no saved tasks.
+     * @throws IOException If an I/O exception occurs while reading the saved tasks.
+     * @throws StorageFileException If the saved tasks are not in the expected format.
+     */
+    Map<LocalDate, List<Task>> loadTasksInRange(LocalDate startDate, LocalDate endDate)
+            throws IOException, StorageFileException;
+
+    /**
+     * Loads the saved tasks of a month.
+     *
+     * @param month Month to be loaded.
+     * @return Hashmap of the tasks in the month, without dates that have no saved tasks.
+     * @throws IOException If an I/O exception occurs while reading the saved tasks.
+     * @throws StorageFileException If the saved tasks are not in the expected format.
+     */
+    default Map<LocalDate, List<Task>> loadMonth(YearMonth month) throws IOException, StorageFileException {
+        return loadTasksInRange(month.atDay(1), month.atEndOfMonth());
+    }
+
+    /**
+     * Finds the dates of a month whose saved events also take up other dates, such as a multi-day event, along with
+     * the dates the events take up, so that they can be loaded with any of those dates.
+     *
+     * @param month Month to be searched.
+     * @return The dates taken up by the events of each such date, in order of date.
+     * @throws IOException If an I/O exception occurs while reading the saved tasks.
+     * @throws StorageFileException If the saved tasks are not in the expected format.
+     */
+    default List<EventSpan> loadEventSpans(YearMonth month) throws IOException, StorageFileException {
+        List<EventSpan> spans = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<Task>> entry : new TreeMap<>(loadMonth(month)).entrySet()) {
+            EventSpan span = EventSpan.of(entry.getKey(), entry.getValue());
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * Drops anything kept in memory about the saved tasks of a month, such as an index, after they were
+     * changed by another program.
+     *
+     * @param month Month whose saved tasks were changed.
+     */
+    default void discardCachedMonth(YearMonth month) {
+    }
+
+    /**
+     * Replaces the saved tasks of the given months, removing those of months that no longer have tasks,
+     * and keeps the journal generation recorded with them.
+     *
+     * @param tasks Hashmap holding at least every task in the given months.
+     * @param months Months whose saved tasks are to be replaced.
+     * @return True if every month was written, false if an exception occurred.
+     */
+    default boolean saveMonths(Map<LocalDate, List<Task>> tasks, Set<YearMonth> months) {
+        return saveMonths(tasks, months, -1, -1);
+    }
+
+    /**
+     * Replaces the saved tasks of the given months, removing those of months that no longer have tasks,
+     * and records the journal generation whose changes the saved tasks now include, along with the ID to be given
+     * to the next new task.
+     * Either every month is replaced and the generation recorded or, if the write fails or is cut short,
+     * the saved tasks and the generation are left as they were.
+     *
+     * @param tasks Hashmap holding at least every task in the given months.
+     * @param months Months whose saved tasks are to be replaced.
+     * @param journalGeneration Journal generation the saved tasks include, or -1 to keep the recorded one.
+     * @param nextTaskId ID to be given to the next new task, or -1 to keep the recorded one.
+     * @return True if every month was written, false if an exception occurred.
+     */
+    boolean saveMonths(Map<LocalDate, List<Task>> tasks, Set<YearMonth> months, long journalGeneration,
+            long nextTaskId);
+
+    /**
+     * Returns the generation of the last journal whose changes were saved, so that a journal left behind by a
+     * compaction cut short is not replayed on top of its own changes.
+     *
+     * @return The journal generation, or -1 if none has been recorded.
+     * @throws IOException If an I/O exception occurs while reading the saved tasks.
+     */
+    long loadJournalGeneration() throws IOException;
+
+    /**
+     * Returns the ID to be given to the next new task, recorded along with the journal generation, so that the IDs
+     * of deleted tasks are not given out again.
+     *
+     * @return The next task ID, or -1 if none has been recorded, as for tasks saved before they had IDs.
+     * @throws IOException If an I/O exception occurs while reading the saved tasks.
+     */
+    long loadNextTaskId() throws IOException;
+
+    /**
+     * Returns the File Path of the journal of changes not yet saved by this backend. Each backend has a journal of
+     * its own, as a journal is compacted into the backend it belongs to and then cleared.
+     *
+     * @return File Path of the journal.
+     */
+    default Path getJournalPath() {
+        return Journal.JOURNAL_PATH;
+    }
+
+    /**
+     * Copies every saved task of another backend into this one, if this backend has no saved tasks yet.
+     *
+     * @param source Backend to be copied from.
+     * @return True if the tasks were copied, false if this backend already had saved tasks.
+     * @throws IOException If an I/O exception occurs while reading or writing the saved tasks.
+     * @throws StorageFileException If the saved tasks of the other backend are not in the expected format.
+     */
+    default boolean copyFrom(StorageBackend source) throws IOException, StorageFileException {
+        if (!listMonths().isEmpty()) {
+            return false;
+        }
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        Set<YearMonth> months = new HashSet<>(source.listMonths());
+        for (YearMonth month : months) {
+            tasks.putAll(source.loadMonth(month));
+        }
+        if (!saveMonths(tasks, months, -1, source.loadNextTaskId())) {
+            throw new IOException("Unable to copy " + months.size() + " months of saved tasks");
+        }
+        return !months.isEmpty();
+    }
+}
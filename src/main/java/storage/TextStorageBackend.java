@@ -0,0 +1,125 @@
+package storage;
+
+import data.Task;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The StorageBackend that keeps every saved task in a single text file in the clintonData.txt format.
+ * The text file has no index, so every read loads the whole file and every write rewrites it.
+ * It is kept for save files that are meant to be read or edited by hand, so the journal generation the saved
+ * tasks include and the next task ID are kept in a commit file next to it rather than in the text file itself.
+ */
+public class TextStorageBackend implements StorageBackend {
+
+    private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final Path path;
+    private final Path commitPath;
+    private boolean isRecovered;
+
+    /**
+     * Constructs a TextStorageBackend for the given text file.
+     *
+     * @param path File Path of the text file.
+     */
+    public TextStorageBackend(Path path) {
+        this.path = path;
+        this.commitPath = path.resolveSibling(path.getFileName() + ".commit");
+    }
+
+    /**
+     * Finishes a rewrite of the text file that was cut short, the first time the file is used.
+     *
+     * @throws IOException If an I/O exception occurs during file handling.
+     */
+    private synchronized void recover() throws IOException {
+        if (!isRecovered) {
+            CommitFile.recover(commitPath);
+            isRecovered = true;
+        }
+    }
+
+    @Override
+    public List<YearMonth> listMonths() {
+        Set<YearMonth> months = new HashSet<>();
+        for (LocalDate date : loadAllTasks().keySet()) {
+            months.add(YearMonth.from(date));
+        }
+        return new ArrayList<>(months);
+    }
+
+    @Override
+    public Map<LocalDate, List<Task>> loadTasksInRange(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, List<Task>> rangeTasks = loadAllTasks();
+        rangeTasks.keySet().removeIf(date -> date.isBefore(startDate) || date.isAfter(endDate));
+        return rangeTasks;
+    }
+
+    /**
+     * Loads every task in the text file.
+     *
+     * @return Hashmap of every saved task, empty if the text file does not exist yet.
+     */
+    private Map<LocalDate, List<Task>> loadAllTasks() {
+        try {
+            recover();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to finish rewrite of " + path.getFileName());
+        }
+        if (!Files.exists(path)) {
+            return new HashMap<>();
+        }
+        return Storage.loadTasksFromFile(path);
+    }
+
+    @Override
+    public boolean saveMonths(Map<LocalDate, List<Task>> tasks, Set<YearMonth> months, long journalGeneration,
+            long nextTaskId) {
+        Map<LocalDate, List<Task>> savedTasks = loadAllTasks();
+        savedTasks.keySet().removeIf(date -> months.contains(YearMonth.from(date)));
+        for (Map.Entry<LocalDate, List<Task>> entry : tasks.entrySet()) {
+            if (months.contains(YearMonth.from(entry.getKey())) && !entry.getValue().isEmpty()) {
+                savedTasks.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Storage.createNewFile(path);
+            if (!Storage.saveTasksToFile(savedTasks, temporaryPath)) {
+                return false;
+            }
+            CommitFile.commit(commitPath, journalGeneration, nextTaskId, Map.of(path, temporaryPath));
+        } catch (IOException e) {
+            System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "Unable to write " + path.getFileName());
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public long loadJournalGeneration() throws IOException {
+        recover();
+        return CommitFile.readGeneration(commitPath);
+    }
+
+    @Override
+    public long loadNextTaskId() throws IOException {
+        recover();
+        return CommitFile.readNextTaskId(commitPath);
+    }
+}
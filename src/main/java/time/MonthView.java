@@ -8,8 +8,12 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -48,15 +52,39 @@ public class MonthView extends View {
         LocalDate firstOfMonth = startOfView.withDayOfMonth(1);
         LocalDate currentDate = firstOfMonth.with(TemporalAdjusters.previousOrSame(java.time.DayOfWeek.SUNDAY));
 
+        LocalDate lastDate = firstOfMonth.plusMonths(1).minusDays(1)
+                .with(TemporalAdjusters.nextOrSame(java.time.DayOfWeek.SATURDAY));
+        NavigableMap<LocalDate, List<Task>> monthTasks = addSpanningEvents(
+                taskManager.getTasksInRange(currentDate, lastDate),
+                taskManager.getSpanningEventsInRange(currentDate, lastDate));
         printMonthHeader(yearMonth);
         uiRenderer.printWeekHeader(startOfView, dateFormatter, true);
 
         while (currentDate.isBefore(firstOfMonth.plusMonths(1))) {
-            printWeek(currentDate, taskManager);
+            printWeek(currentDate, monthTasks);
             currentDate = currentDate.plusWeeks(1);
         }
     }
 
+    /**
+     * Adds the events held under another date, such as the later dates of a multi-day event, after the tasks of
+     * each date they take up, so that the month view shows an icon for every date of a multi-day event.
+     *
+     * @param monthTasks the tasks of every date shown in the month view.
+     * @param spanningEvents the events held under another date, of every date they take up.
+     * @return sorted map of the dates that have tasks or events, to their tasks followed by their events.
+     */
+    private NavigableMap<LocalDate, List<Task>> addSpanningEvents(NavigableMap<LocalDate, List<Task>> monthTasks,
+            NavigableMap<LocalDate, List<Task>> spanningEvents) {
+        NavigableMap<LocalDate, List<Task>> shownTasks = new TreeMap<>(monthTasks);
+        for (Map.Entry<LocalDate, List<Task>> entry : spanningEvents.entrySet()) {
+            List<Task> dayTasks = new ArrayList<>(shownTasks.getOrDefault(entry.getKey(), List.of()));
+            dayTasks.addAll(entry.getValue());
+            shownTasks.put(entry.getKey(), dayTasks);
+        }
+        return shownTasks;
+    }
+
     /**
      * Prints the header for the month view.
      *
@@ -70,9 +98,9 @@ public class MonthView extends View {
      * Prints a week within the month view.
      *
      * @param currentDate the current date in the week.
-     * @param taskManager the TaskManager object containing tasks.
+     * @param monthTasks the tasks of every date shown in the month view.
      */
-    private void printWeek(LocalDate currentDate, TaskManager taskManager) {
+    private void printWeek(LocalDate currentDate, NavigableMap<LocalDate, List<Task>> monthTasks) {
         for (int i = 0; i < NUMBER_OF_DAYS_IN_WEEK; i++) {
             printDay(currentDate, startOfView);
             currentDate = currentDate.plusDays(1);
@@ -80,8 +108,11 @@ public class MonthView extends View {
         System.out.println(uiRenderer.VERTICAL_DIVIDER);
         uiRenderer.printSeparator();
 
-        int maxTasks = getMaxTasksForWeek(currentDate.minusDays(7), taskManager);
-        printTasksForWeek(currentDate.minusDays(7), maxTasks, taskManager);
+        LocalDate weekStart = currentDate.minusDays(7);
+        NavigableMap<LocalDate, List<Task>> weekTasks = monthTasks.subMap(weekStart, true,
+                weekStart.plusDays(NUMBER_OF_DAYS_IN_WEEK - 1), true);
+        int maxTasks = getMaxTasksForWeek(weekTasks);
+        printTasksForWeek(weekStart, maxTasks, weekTasks);
 
         if (maxTasks > 0) {
             uiRenderer.printSeparator();
@@ -115,15 +146,13 @@ public class MonthView extends View {
     /**
      * Returns the maximum number of tasks for a week.
      *
-     * @param weekStart   the start date of the week.
-     * @param taskManager the TaskManager object containing tasks.
+     * @param weekTasks the tasks of the dates in the week.
      * @return the maximum number of tasks for the week.
      */
-    private int getMaxTasksForWeek(LocalDate weekStart, TaskManager taskManager) {
+    private int getMaxTasksForWeek(NavigableMap<LocalDate, List<Task>> weekTasks) {
         int maxTasks = 0;
-        for (int i = 0; i < NUMBER_OF_DAYS_IN_WEEK; i++) {
-            LocalDate date = weekStart.plusDays(i);
-            maxTasks = Math.max(maxTasks, taskManager.getTasksForDate(date).size());
+        for (List<Task> dayTasks : weekTasks.values()) {
+            maxTasks = Math.max(maxTasks, dayTasks.size());
         }
         return maxTasks;
     }
@@ -133,13 +162,13 @@ public class MonthView extends View {
      *
      * @param weekStart   the start date of the week.
      * @param maxTasks    the maximum number of tasks for the week.
-     * @param taskManager the TaskManager object containing tasks.
+     * @param weekTasks   the tasks of the dates in the week.
      */
-    private void printTasksForWeek(LocalDate weekStart, int maxTasks, TaskManager taskManager) {
+    private void printTasksForWeek(LocalDate weekStart, int maxTasks, NavigableMap<LocalDate, List<Task>> weekTasks) {
         for (int taskIndex = 0; taskIndex < maxTasks; taskIndex++) {
             for (int dayIndex = 0; dayIndex < NUMBER_OF_DAYS_IN_WEEK; dayIndex++) {
                 LocalDate date = weekStart.plusDays(dayIndex);
-                List<Task> dayTasks = taskManager.getTasksForDate(date);
+                List<Task> dayTasks = weekTasks.getOrDefault(date, List.of());
                 printTaskForDay(dayTasks, taskIndex);
             }
             System.out.println(uiRenderer.VERTICAL_DIVIDER);
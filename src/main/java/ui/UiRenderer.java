@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,6 +28,7 @@ public class UiRenderer {
     public static final String DEADLINE_ICON_COLOR = "\u001B[33m";
     public static final String TODO_ICON_COLOR = "\u001B[34m";
     public static final String ESCAPE_COLOR = "\u001B[0m";
+    public static final String SPANNING_EVENT_MARKER = "~.";
     private static Map<LocalDate, List<List<String>>> allWrappedTaskLines = new HashMap<>();
     private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     private static final String[] WEEK_DAYS = {"Sunday", "Monday", "Tuesday",
@@ -193,14 +195,21 @@ public class UiRenderer {
 
     /**
      * Stores the wrapped lines for the tasks in the week.
+     * Events held under another date, such as the later dates of a multi-day event, are shown after the tasks
+     * of each date they take up, marked with SPANNING_EVENT_MARKER in place of a task number.
      *
      * @param startOfWeek The date of the start of the week.
      * @param taskManager The task manager to get the tasks from.
      */
     private static void storeWrappedLines(LocalDate startOfWeek, TaskManager taskManager) {
+        NavigableMap<LocalDate, List<Task>> weekTasks =
+                taskManager.getTasksInRange(startOfWeek, startOfWeek.plusDays(numberOfDaysInWeek - 1));
+        NavigableMap<LocalDate, List<Task>> spanningEvents =
+                taskManager.getSpanningEventsInRange(startOfWeek, startOfWeek.plusDays(numberOfDaysInWeek - 1));
+        allWrappedTaskLines.clear();
         for (int dayIndex = 0; dayIndex < numberOfDaysInWeek; dayIndex++) {
             LocalDate currentDate = startOfWeek.plusDays(dayIndex);
-            List<Task> dayTasks = taskManager.getTasksForDate(currentDate);
+            List<Task> dayTasks = weekTasks.getOrDefault(currentDate, List.of());
             List<List<String>> wrappedTasksForDay = new ArrayList<>();
 
             for (Task task : dayTasks) {
@@ -213,6 +222,11 @@ public class UiRenderer {
                 wrappedTasksForDay.add(wrappedLines);
             }
 
+            for (Task event : spanningEvents.getOrDefault(currentDate, List.of())) {
+                String displayString = SPANNING_EVENT_MARKER + event.getDisplayFormat() + event.getName();
+                wrappedTasksForDay.add(wrapText(displayString, SPACE_COUNT));
+            }
+
             allWrappedTaskLines.put(currentDate, wrappedTasksForDay);
         }
     }
@@ -262,19 +276,25 @@ public class UiRenderer {
     }
 
     /**
-     * Returns the maximum number of tasks in a day.
+     * Returns the maximum number of tasks in a day, counting the events held under another date that take up
+     * the day.
      *
      * @param startOfWeek The date of the start of the week.
      * @param taskManager The task manager to get the tasks from.
      * @return The maximum number of tasks of a day in a week.
      */
     public static int getMaxTasks(LocalDate startOfWeek, TaskManager taskManager) {
+        LocalDate endOfWeek = startOfWeek.plusDays(numberOfDaysInWeek - 1);
+        NavigableMap<LocalDate, List<Task>> weekTasks = taskManager.getTasksInRange(startOfWeek, endOfWeek);
+        NavigableMap<LocalDate, List<Task>> spanningEvents =
+                taskManager.getSpanningEventsInRange(startOfWeek, endOfWeek);
         int maxTasks = 0;
-        for (int i = 0; i < numberOfDaysInWeek; i++) {
-            LocalDate currentDate = startOfWeek.plusDays(i);
-            int tasksSize = taskManager.getTasksForDate(currentDate).size();
-            if (tasksSize > maxTasks) {
-                maxTasks = tasksSize;
+        for (int dayIndex = 0; dayIndex < numberOfDaysInWeek; dayIndex++) {
+            LocalDate currentDate = startOfWeek.plusDays(dayIndex);
+            int numberOfTasks = weekTasks.getOrDefault(currentDate, List.of()).size()
+                    + spanningEvents.getOrDefault(currentDate, List.of()).size();
+            if (numberOfTasks > maxTasks) {
+                maxTasks = numberOfTasks;
             }
         }
         return maxTasks;
@@ -307,6 +327,24 @@ public class UiRenderer {
         System.out.println("| - 'delete, <day>, <taskIndex>': Delete a task.                                |");
         System.out.println("| - 'mark, <day>, <taskIndex>': Mark a task as complete or not complete.        |");
         System.out.println("| - 'priority, <day>, <taskIndex>, <priority>': Set priority level for a task.  |");
+        System.out.println("| - 'id, <day>, <taskIndex>': Show the ID of a task.                            |");
+        System.out.println("| - '#<taskId>' can be used in place of '<day>, <taskIndex>' to update, delete, |");
+        System.out.println("|   mark or set the priority of a task by its ID.                               |");
+        System.out.println("| - 'filter, <criterion>, ...': List tasks by priority (H/M/L), marked status   |");
+        System.out.println("|   (X/O) and type (T/D/E), e.g. 'filter, h, o, d'.                             |");
+        System.out.println("| - 'find, <words>': List tasks whose descriptions have words starting with     |");
+        System.out.println("|   each of the given words, e.g. 'find, team meet'.                            |");
+        System.out.println("| - 'complete, <partOfCommand>': List completions of a command word, or of the  |");
+        System.out.println("|   description of an 'add' or 'update' command, e.g. 'complete, add, 20, t, t'.|");
+        System.out.println("| - 'repeat, <day>, <rule>, <limit>, <taskType>, <taskDescription>': Add a task |");
+        System.out.println("|   that recurs from the day. Rules: daily, weekly, monthly, or days such as    |");
+        System.out.println("|   'mon wed'. Limits: a number of times, an end date, or forever.              |");
+        System.out.println("| - 'repeats': List recurring tasks.                                            |");
+        System.out.println("| - 'unrepeat, <recurringTaskNumber>': Delete a recurring task.                 |");
+        System.out.println("| - 'begin': Start a batch. Changes are saved together on 'commit', or undone   |");
+        System.out.println("|   on 'rollback' or when a command in the batch fails.                         |");
+        System.out.println("| - 'undo': Undo the last change, or the last committed batch as a whole.       |");
+        System.out.println("| - 'redo': Redo the last undone change.                                        |");
         System.out.println("| - 'month': Switch to month view.                                              |");
         System.out.println("| - 'week': Switch to week view.                                                |");
         System.out.println("| - 'quit': Exit the calendar application.                                      |");
@@ -9,7 +9,9 @@ import java.time.format.DateTimeFormatter;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 class StringParserTest {
@@ -184,4 +186,28 @@ class StringParserTest {
         assertThrows(TaskManagerException.class, () ->
                 StringParser.validatePriorityCommand(invalidParts));
     }
+
+    @Test
+    void parseTaskId_hashFollowedByIdGiven_idReturned() throws TaskManagerException {
+        assertEquals(42L, StringParser.parseTaskId(" #42"));
+    }
+
+    @Test
+    void parseTaskId_idWithoutNumberGiven_exceptionThrown() {
+        assertThrows(TaskManagerException.class, () -> StringParser.parseTaskId("#abc"));
+    }
+
+    @Test
+    void validateDeleteCommand_taskIdGiven_noExceptionThrown() {
+        String[] validParts = {"delete", "#42"};
+        assertDoesNotThrow(() -> StringParser.validateDeleteCommand(validParts));
+    }
+
+    @Test
+    void isDescriptionLast_addAndUpdateDescriptionsGiven_trueOnlyForDescriptions() {
+        assertTrue(StringParser.isDescriptionLast(new String[]{"add", "20", "t", "team"}));
+        assertTrue(StringParser.isDescriptionLast(new String[]{"update", "#3", "team"}));
+        assertFalse(StringParser.isDescriptionLast(new String[]{"update", "20", "1"}));
+        assertFalse(StringParser.isDescriptionLast(new String[]{"find", "team"}));
+    }
 }
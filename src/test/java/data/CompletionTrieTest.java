@@ -0,0 +1,108 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompletionTrieTest {
+
+    @Test
+    void complete_stringsWithDifferentScores_highestScoresFirst() {
+        // Arrange
+        CompletionTrie trie = new CompletionTrie();
+        trie.add("team meeting", 1);
+        trie.add("team lunch", 1);
+        trie.add("team lunch", 1);
+        trie.add("tea", 0.5);
+        trie.add("read notes", 4);
+
+        // Act
+        List<String> completions = trie.complete("te", 10);
+        List<String> topCompletion = trie.complete("", 1);
+        List<String> noCompletions = trie.complete("team x", 10);
+
+        // Assert
+        assertEquals(List.of("team lunch", "team meeting", "tea"), completions);
+        assertEquals(List.of("read notes"), topCompletion);
+        assertEquals(List.of(), noCompletions);
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    void remove_splitAndMergedNodes_remainingStringsStillCompleted() {
+        // Arrange
+        CompletionTrie trie = new CompletionTrie();
+        trie.add("meet", 1);
+        trie.add("meeting", 2);
+        trie.add("meetup", 3);
+        trie.add("meeting", 2);
+
+        // Act
+        trie.remove("meetup", 3);
+        trie.remove("meet", 1);
+        trie.remove("meeting", 2);
+        trie.remove("missing", 1);
+
+        // Assert
+        assertEquals(List.of("meeting"), trie.complete("meet", 10));
+        assertEquals(List.of("meeting"), trie.complete("meeti", 10));
+        assertEquals(1, trie.size());
+
+        trie.remove("meeting", 2);
+        assertEquals(List.of(), trie.complete("", 10));
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void complete_randomAddsAndRemoves_sameAsSortingEveryString() {
+        // Arrange
+        Random random = new Random(21);
+        CompletionTrie trie = new CompletionTrie();
+        Map<String, Integer> scores = new HashMap<>();
+        List<String> added = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 2000; i++) {
+            if (!added.isEmpty() && random.nextInt(3) == 0) {
+                String string = added.remove(random.nextInt(added.size()));
+                trie.remove(string, 1);
+                scores.merge(string, -1, Integer::sum);
+                scores.remove(string, 0);
+            } else {
+                String string = randomString(random);
+                trie.add(string, 1);
+                scores.merge(string, 1, Integer::sum);
+                added.add(string);
+            }
+        }
+
+        // Assert
+        assertEquals(scores.size(), trie.size());
+        for (String prefix : List.of("", "a", "ab", "ba", "cab", "bbb")) {
+            List<String> expected = scores.keySet().stream()
+                    .filter(string -> string.startsWith(prefix))
+                    .sorted(Comparator.comparing((String string) -> -scores.get(string))
+                            .thenComparing(Comparator.naturalOrder()))
+                    .limit(5)
+                    .collect(Collectors.toList());
+            assertEquals(expected, trie.complete(prefix, 5));
+        }
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder string = new StringBuilder();
+        int length = 1 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            string.append((char) ('a' + random.nextInt(3)));
+        }
+        return string.toString();
+    }
+}
@@ -0,0 +1,155 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EventIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 4, 10);
+
+    private static long at(int hour, int minute) {
+        return TaskDateTime.of(DATE, LocalTime.of(hour, minute));
+    }
+
+    @Test
+    void findOverlapping_eventsAroundPeriod_onlyOverlappingEventsInStartOrder() {
+        // Arrange
+        EventIndex index = new EventIndex();
+        Event lunch = new Event("lunch", "10/04/2024", "10/04/2024", "1200", "1300");
+        Event meeting = new Event("meeting", "10/04/2024", "10/04/2024", "0900", "1000");
+        Event conference = new Event("conference", "09/04/2024", "11/04/2024", "0800", "1700");
+        Event dinner = new Event("dinner", "10/04/2024", "10/04/2024", "1900", "2100");
+        index.add(lunch);
+        index.add(meeting);
+        index.add(conference);
+        index.add(dinner);
+        index.add(new Todo("not an event"));
+
+        // Act
+        List<Task> events = index.findOverlapping(at(10, 0), at(13, 0));
+
+        // Assert
+        assertEquals(List.of(conference, lunch), events);
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void findOnDate_multiDayAndLongEvents_foundOnEveryDateTheyTakeUp() {
+        // Arrange
+        EventIndex index = new EventIndex();
+        Event conference = new Event("conference", "09/04/2024", "11/04/2024", "0800", "1700");
+        Event overnight = new Event("overnight", "10/04/2024", "11/04/2024", "2200", "0000");
+        Event sabbatical = new Event("sabbatical", "01/01/2024", "31/12/2025", "0000", "2359");
+        Event cancelled = new Event("cancelled", "10/04/2024", "12/04/2024", "0900", "1000");
+        index.add(conference);
+        index.add(overnight);
+        index.add(sabbatical);
+        index.add(cancelled);
+
+        // Act
+        index.remove(cancelled);
+
+        // Assert
+        assertEquals(List.of(conference, sabbatical), index.findOnDate(DATE.minusDays(1)));
+        assertEquals(List.of(conference, overnight, sabbatical), index.findOnDate(DATE));
+        assertEquals(List.of(conference, sabbatical), index.findOnDate(DATE.plusDays(1)));
+        assertEquals(List.of(sabbatical), index.findOnDate(DATE.plusDays(2)));
+        assertEquals(List.of(), index.findOnDate(LocalDate.of(2026, 1, 1)));
+    }
+
+    @Test
+    void findGaps_overlappingEvents_gapsBetweenMergedEvents() {
+        // Arrange
+        EventIndex index = new EventIndex();
+        index.add(new Event("long", "10/04/2024", "10/04/2024", "0900", "1200"));
+        index.add(new Event("inside", "10/04/2024", "10/04/2024", "1000", "1100"));
+        index.add(new Event("later", "10/04/2024", "10/04/2024", "1400", "1500"));
+
+        // Act
+        List<EventIndex.Gap> gaps = index.findGaps(at(8, 0), at(18, 0));
+
+        // Assert
+        assertEquals(3, gaps.size());
+        assertEquals(at(8, 0), gaps.get(0).getStart());
+        assertEquals(at(9, 0), gaps.get(0).getEnd());
+        assertEquals(at(12, 0), gaps.get(1).getStart());
+        assertEquals(at(14, 0), gaps.get(1).getEnd());
+        assertEquals(at(15, 0), gaps.get(2).getStart());
+        assertEquals(at(18, 0), gaps.get(2).getEnd());
+    }
+
+    @Test
+    void findNextAfter_removedEvent_nextRemainingEventFound() {
+        // Arrange
+        EventIndex index = new EventIndex();
+        Event first = new Event("first", "10/04/2024", "10/04/2024", "0900", "1000");
+        Event second = new Event("second", "10/04/2024", "10/04/2024", "1100", "1200");
+        Event third = new Event("third", "11/04/2024", "11/04/2024", "0900", "1000");
+        index.add(first);
+        index.add(second);
+        index.add(third);
+
+        // Act
+        index.remove(second);
+
+        // Assert
+        assertSame(third, index.findNextAfter(at(9, 30)));
+        assertSame(first, index.findNextAfter(at(9, 0)));
+        assertNull(index.findNextAfter(at(23, 0) + 24 * 60));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void findOverlapping_manyRandomAddsAndRemoves_matchesCheckingEveryEvent() {
+        // Arrange
+        EventIndex index = new EventIndex();
+        List<Event> events = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            long eventStart = TaskDateTime.of(DATE, LocalTime.MIDNIGHT) + random.nextInt(30 * 24 * 60);
+            long eventEnd = eventStart + random.nextInt(3 * 24 * 60);
+            Event event = new Event("event " + i, TaskDateTime.toDate(eventStart), TaskDateTime.toDate(eventEnd),
+                    TaskDateTime.toTime(eventStart), TaskDateTime.toTime(eventEnd));
+            events.add(event);
+            index.add(event);
+        }
+        for (int i = 0; i < 1000; i++) {
+            index.remove(events.remove(random.nextInt(events.size())));
+        }
+        long start = TaskDateTime.of(DATE.plusDays(10), LocalTime.of(6, 0));
+        long end = TaskDateTime.of(DATE.plusDays(12), LocalTime.of(18, 0));
+
+        // Act
+        List<Task> overlapping = index.findOverlapping(start, end);
+
+        // Assert
+        int expectedCount = 0;
+        for (Event event : events) {
+            long eventStart = TaskDateTime.of(event.getStartLocalDate(), event.getStartLocalTime());
+            long eventEnd = TaskDateTime.of(event.getEndLocalDate(), event.getEndLocalTime());
+            if (eventStart < end && eventEnd > start) {
+                expectedCount++;
+            }
+        }
+        assertEquals(expectedCount, overlapping.size());
+        assertEquals(events.size(), index.size());
+        for (int i = 1; i < overlapping.size(); i++) {
+            LocalDateTime previousStart = overlapping.get(i - 1).getStartLocalDate()
+                    .atTime(overlapping.get(i - 1).getStartLocalTime());
+            LocalDateTime currentStart = overlapping.get(i).getStartLocalDate()
+                    .atTime(overlapping.get(i).getStartLocalTime());
+            assertFalse(previousStart.isAfter(currentStart));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package data;
+
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecurrenceRuleTest {
+
+    @Test
+    void getDatesBetween_weekdaysWithCount_stopsAfterCount() throws TaskManagerException {
+        // Arrange
+        LocalDate wednesday = LocalDate.of(2031, 10, 8);
+        RecurrenceRule rule = RecurrenceRule.parse("mon wed fri", "4", wednesday);
+
+        // Act
+        List<LocalDate> dates = rule.getDatesBetween(LocalDate.of(2031, 10, 1), LocalDate.of(2031, 12, 31));
+
+        // Assert
+        assertEquals(List.of(wednesday, wednesday.plusDays(2), wednesday.plusDays(5), wednesday.plusDays(7)), dates);
+        assertEquals(wednesday.plusDays(7), rule.getLastDate());
+    }
+
+    @Test
+    void getDatesBetween_monthlyFromThirtyFirst_clampsToEndOfShorterMonths() throws TaskManagerException {
+        // Arrange
+        RecurrenceRule rule = RecurrenceRule.parse("monthly", "4", LocalDate.of(2031, 1, 31));
+
+        // Act
+        List<LocalDate> dates = rule.getDatesBetween(LocalDate.of(2031, 2, 1), LocalDate.of(2031, 12, 31));
+
+        // Assert
+        assertEquals(List.of(LocalDate.of(2031, 2, 28), LocalDate.of(2031, 3, 31), LocalDate.of(2031, 4, 30)),
+                dates);
+    }
+
+    @Test
+    void getDatesBetween_weeklyRangeStartingMidWeek_startsAtNextOccurrence() throws TaskManagerException {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2031, 10, 6);
+        RecurrenceRule rule = RecurrenceRule.parse("weekly", RecurrenceRule.NO_LIMIT, startDate);
+
+        // Act
+        List<LocalDate> dates = rule.getDatesBetween(startDate.plusDays(1), startDate.plusDays(21));
+
+        // Assert
+        assertEquals(List.of(startDate.plusWeeks(1), startDate.plusWeeks(2), startDate.plusWeeks(3)), dates);
+        assertTrue(rule.occursOn(startDate.plusWeeks(520)));
+        assertFalse(rule.occursOn(startDate.plusDays(1)));
+    }
+
+    @Test
+    void getDatesBetween_dailyUntilDate_stopsAtUntilDate() throws TaskManagerException {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2031, 10, 6);
+        RecurrenceRule rule = RecurrenceRule.parse("daily", "09/10/2031", startDate);
+
+        // Act
+        List<LocalDate> dates = rule.getDatesBetween(startDate.minusDays(3), startDate.plusDays(30));
+
+        // Assert
+        assertEquals(4, dates.size());
+        assertEquals(LocalDate.of(2031, 10, 9), dates.get(3));
+        assertEquals("09/10/2031", rule.getLimitString());
+    }
+
+    @Test
+    void parse_invalidFrequencyOrLimit_throwsTaskManagerException() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2031, 10, 6);
+
+        // Act & Assert
+        assertThrows(TaskManagerException.class, () -> RecurrenceRule.parse("fortnightly", "3", startDate));
+        assertThrows(TaskManagerException.class, () -> RecurrenceRule.parse("mo", "3", startDate));
+        assertThrows(TaskManagerException.class, () -> RecurrenceRule.parse("weekly", "0", startDate));
+        assertThrows(TaskManagerException.class, () -> RecurrenceRule.parse("weekly", "01/10/2031", startDate));
+        assertThrows(TaskManagerException.class, () -> RecurrenceRule.parse("weekly", "often", startDate));
+    }
+}
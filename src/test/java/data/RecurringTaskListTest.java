@@ -0,0 +1,52 @@
+package data;
+
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RecurringTaskListTest {
+
+    @Test
+    void find_numbersAfterSavedTasks_returnsRecurringTaskOccurringOnDate() throws TaskManagerException {
+        // Arrange
+        LocalDate monday = LocalDate.of(2031, 10, 6);
+        RecurringTask daily = new RecurringTask(RecurrenceRule.parse("daily", "10", monday), new Todo("stretch"));
+        RecurringTask weekly = new RecurringTask(RecurrenceRule.parse("weekly", "3", monday), new Todo("review"));
+        RecurringTaskList recurringTasks = new RecurringTaskList();
+        recurringTasks.add(daily);
+        recurringTasks.add(weekly);
+
+        // Act & Assert
+        assertNull(recurringTasks.find(monday.plusDays(1), 2, 2));
+        assertSame(daily, recurringTasks.find(monday.plusDays(1), 3, 2));
+        assertNull(recurringTasks.find(monday.plusDays(1), 4, 2));
+        assertSame(weekly, recurringTasks.find(monday.plusDays(7), 2, 0));
+    }
+
+    @Test
+    void addOccurrences_rangeWithSavedTasks_addsOccurrencesAfterSavedTasks() throws TaskManagerException {
+        // Arrange
+        LocalDate monday = LocalDate.of(2031, 10, 6);
+        RecurringTaskList recurringTasks = new RecurringTaskList();
+        recurringTasks.add(new RecurringTask(RecurrenceRule.parse("daily", "2", monday), new Todo("stretch")));
+        NavigableMap<LocalDate, List<Task>> rangeTasks = new TreeMap<>();
+        rangeTasks.put(monday, List.of(new Todo("saved")));
+
+        // Act
+        recurringTasks.addOccurrences(rangeTasks, monday, monday.plusDays(6));
+
+        // Assert
+        assertEquals(2, rangeTasks.size());
+        assertEquals("saved", rangeTasks.get(monday).get(0).getName());
+        assertEquals("stretch", rangeTasks.get(monday).get(1).getName());
+        assertEquals(1, rangeTasks.get(monday.plusDays(1)).size());
+    }
+}
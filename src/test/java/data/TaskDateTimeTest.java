@@ -0,0 +1,84 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskDateTimeTest {
+
+    @Test
+    void parse_validDateAndTime_packedValueReadBack() {
+        // Arrange
+        String date = "29/02/2024";
+        String time = "2359";
+
+        // Act
+        long dateTime = TaskDateTime.parse(date, time);
+
+        // Assert
+        assertEquals(LocalDate.of(2024, 2, 29), TaskDateTime.toDate(dateTime));
+        assertEquals(LocalTime.of(23, 59), TaskDateTime.toTime(dateTime));
+        assertEquals(TaskDateTime.of(LocalDate.of(2024, 2, 29), LocalTime.of(23, 59)), dateTime);
+        assertSame(TaskFieldPool.getDate(LocalDate.of(2024, 2, 29)), TaskDateTime.formatDate(dateTime));
+        assertSame(TaskFieldPool.getTime(23 * 60 + 59), TaskDateTime.formatTime(dateTime));
+    }
+
+    @Test
+    void parse_datesBeforeAndAfterEpoch_orderKept() {
+        // Arrange
+        long beforeEpoch = TaskDateTime.parse("31/12/1969", "2300");
+        long afterEpoch = TaskDateTime.parse("01/01/1970", "0100");
+
+        // Act
+        LocalDate dateBeforeEpoch = TaskDateTime.toDate(beforeEpoch);
+
+        // Assert
+        assertTrue(beforeEpoch < afterEpoch);
+        assertEquals(LocalDate.of(1969, 12, 31), dateBeforeEpoch);
+        assertEquals("2300", TaskDateTime.formatTime(beforeEpoch));
+    }
+
+    @Test
+    void parse_invalidDatesAndTimes_noneReturned() {
+        // Act and Assert
+        assertEquals(TaskDateTime.NONE, TaskDateTime.parse("31/02/2024", "1200"));
+        assertEquals(TaskDateTime.NONE, TaskDateTime.parse("01/04/2024", "2400"));
+        assertEquals(TaskDateTime.NONE, TaskDateTime.parse("1/4/2024", "1200"));
+        assertEquals(TaskDateTime.NONE, TaskDateTime.parse("01-04-2024", "1200"));
+        assertEquals(TaskDateTime.NONE, TaskDateTime.parse(null, "1200"));
+    }
+
+    @Test
+    void constructEvent_invalidDate_fieldsKeptAsText() {
+        // Arrange
+        Event event = new Event("party", "31/02/2024", "01/03/2024", "1800", "2000");
+
+        // Act
+        String saveFormat = event.getSaveFormat();
+
+        // Assert
+        assertEquals("E|O|L|party|31/02/2024|01/03/2024|1800|2000", saveFormat);
+        assertNull(event.getStartLocalDate());
+        assertNull(event.getEndLocalTime());
+    }
+
+    @Test
+    void constructDeadline_validDate_typedAndTextFieldsMatch() {
+        // Arrange
+        Deadline deadline = new Deadline("report", "05/04/2024", "0930");
+
+        // Act
+        LocalDate byDate = deadline.getByLocalDate();
+
+        // Assert
+        assertEquals(LocalDate.of(2024, 4, 5), byDate);
+        assertEquals(LocalTime.of(9, 30), deadline.getByLocalTime());
+        assertEquals("D|O|L|report|05/04/2024|0930", deadline.getSaveFormat());
+    }
+}
@@ -0,0 +1,42 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TaskFieldPoolTest {
+
+    @Test
+    void intern_equalDatesOfTwoDeadlines_sameStringKept() {
+        // Arrange
+        String firstDate = new String("19/04/2024");
+        String secondDate = new String("19/04/2024");
+
+        // Act
+        Deadline firstDeadline = new Deadline("first", firstDate, new String("1200"));
+        Deadline secondDeadline = new Deadline("second", secondDate, new String("1200"));
+
+        // Assert
+        assertSame(firstDeadline.getByDate(), secondDeadline.getByDate());
+        assertSame(firstDeadline.getByTime(), secondDeadline.getByTime());
+        assertSame(TaskFieldPool.getTime(12 * 60), firstDeadline.getByTime());
+    }
+
+    @Test
+    void getDate_dateOfExistingDeadline_pooledStringReturned() {
+        // Arrange
+        Deadline deadline = new Deadline("report", new String("01/03/2024"), "0900");
+
+        // Act
+        String date = TaskFieldPool.getDate(LocalDate.of(2024, 3, 1));
+
+        // Assert
+        assertEquals("01/03/2024", date);
+        assertSame(deadline.getByDate(), date);
+        assertNull(TaskFieldPool.intern(null));
+    }
+}
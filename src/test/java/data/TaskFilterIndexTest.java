@@ -0,0 +1,85 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TaskFilterIndexTest {
+
+    private static BitSet bitsOf(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+
+    private static Task withId(Task task, long id) {
+        task.setId(id);
+        return task;
+    }
+
+    @Test
+    void setCompletenessAndPriorityLevel_tasksInIndex_bitmapsUpdated() {
+        // Arrange
+        TaskFilterIndex filterIndex = new TaskFilterIndex();
+        Task todo = withId(new Todo("todo"), 1);
+        Task deadline = withId(new Deadline("deadline", "10/04/2024", "1800"), 2);
+        Task event = withId(new Event("event", "10/04/2024", "10/04/2024", "0900", "1000"), 3);
+        filterIndex.add(todo);
+        filterIndex.add(deadline);
+        filterIndex.add(event);
+
+        // Act
+        deadline.setPriorityLevel(TaskPriorityLevel.HIGH);
+        event.setPriorityLevel(TaskPriorityLevel.HIGH);
+        event.setCompleteness(true);
+
+        // Assert
+        assertEquals(bitsOf(2, 3), filterIndex.getWithPriority(TaskPriorityLevel.HIGH));
+        assertEquals(bitsOf(1), filterIndex.getWithPriority(TaskPriorityLevel.LOW));
+        assertEquals(bitsOf(3), filterIndex.getWithCompleteness(true));
+        assertEquals(bitsOf(1, 2), filterIndex.getWithCompleteness(false));
+        assertEquals(bitsOf(2), filterIndex.getOfType(TaskType.DEADLINE));
+    }
+
+    @Test
+    void remove_taskChangedAfterRemoval_bitmapsNotChanged() {
+        // Arrange
+        TaskFilterIndex filterIndex = new TaskFilterIndex();
+        Task todo = withId(new Todo("todo"), 1);
+        filterIndex.add(todo);
+
+        // Act
+        filterIndex.remove(todo);
+        todo.setCompleteness(true);
+        todo.setPriorityLevel(TaskPriorityLevel.MEDIUM);
+
+        // Assert
+        assertEquals(new BitSet(), filterIndex.getAll());
+        assertEquals(new BitSet(), filterIndex.getWithCompleteness(true));
+        assertEquals(new BitSet(), filterIndex.getWithPriority(TaskPriorityLevel.MEDIUM));
+        assertEquals(new BitSet(), filterIndex.getOfType(TaskType.TODO));
+    }
+
+    @Test
+    void copy_taskInIndex_copyChangedWithoutTouchingIndexOrOriginal() {
+        // Arrange
+        TaskFilterIndex filterIndex = new TaskFilterIndex();
+        Task deadline = withId(new Deadline("deadline", "10/04/2024", "1800"), 1);
+        filterIndex.add(deadline);
+
+        // Act
+        Task copy = deadline.copy();
+        copy.setCompleteness(true);
+
+        // Assert
+        assertEquals(deadline.getId(), copy.getId());
+        assertEquals("10/04/2024", copy.getByDate());
+        assertFalse(deadline.isCompleted());
+        assertEquals(bitsOf(1), filterIndex.getWithCompleteness(false));
+    }
+}
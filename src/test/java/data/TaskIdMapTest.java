@@ -0,0 +1,70 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TaskIdMapTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 4, 10);
+
+    @Test
+    void remove_idTakenOverByAnotherTask_keepsNewTask() {
+        // Arrange
+        TaskIdMap taskIds = new TaskIdMap();
+        Task oldTask = new Todo("old");
+        Task newTask = new Todo("new");
+        taskIds.put(7, oldTask, DATE);
+        taskIds.put(7, newTask, DATE.plusDays(2));
+
+        // Act
+        boolean isOldTaskRemoved = taskIds.remove(7, oldTask);
+
+        // Assert
+        assertFalse(isOldTaskRemoved);
+        assertSame(newTask, taskIds.get(7));
+        assertEquals(DATE.plusDays(2), taskIds.getDate(7));
+        assertEquals(1, taskIds.size());
+    }
+
+    @Test
+    void putAndRemove_manyRandomIds_sameAsHashMap() {
+        // Arrange
+        TaskIdMap taskIds = new TaskIdMap();
+        Map<Long, Task> expectedTasks = new HashMap<>();
+        Random random = new Random(18);
+
+        // Act
+        for (int i = 0; i < 20000; i++) {
+            long id = 1 + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                Task task = expectedTasks.remove(id);
+                assertEquals(task != null, taskIds.remove(id, task));
+            } else {
+                Task task = new Todo("task " + i);
+                expectedTasks.put(id, task);
+                taskIds.put(id, task, DATE.plusDays(id));
+            }
+        }
+
+        // Assert
+        assertEquals(expectedTasks.size(), taskIds.size());
+        for (long id = 1; id <= 3000; id++) {
+            Task task = expectedTasks.get(id);
+            assertSame(task, taskIds.get(id));
+            if (task == null) {
+                assertNull(taskIds.getDate(id));
+            } else {
+                assertEquals(DATE.plusDays(id), taskIds.getDate(id));
+            }
+        }
+    }
+}
@@ -4,38 +4,57 @@ import data.exceptions.TaskManagerException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import storage.MonthLoader;
+import storage.ShardedStorage;
+import storage.ShardedStorageBackend;
 import time.WeekView;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static data.TaskManager.addTask;
-import static data.TaskManager.deleteAllTasksOnDate;
-import static data.TaskManager.updateTask;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TaskManagerTest {
     private TaskManager taskManager;
 
+    @TempDir
+    Path tempDirectory;
+
     @BeforeEach
     void setUp() {
         taskManager = new TaskManager();
+        Path journalPath = tempDirectory.resolve("clintonJournal.txt");
+        taskManager.setStorageBackend(new ShardedStorageBackend(tempDirectory.resolve("save")) {
+            @Override
+            public Path getJournalPath() {
+                return journalPath;
+            }
+        });
     }
 
     @AfterEach
     void resetTaskManager() {
         LocalDate date = LocalDate.now();
-        deleteAllTasksOnDate(taskManager, date);
+        taskManager.deleteAllTasksOnDate(date);
     }
 
     @Test
@@ -50,7 +69,7 @@ class TaskManagerTest {
         String[] dummyTestDates = new String[]{null};
         String[] dummyTestTimes = new String[]{null};
 
-        addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
         Task addedTask = taskManager.getTasksForDate(date).get(0);
 
         // Assert
@@ -65,7 +84,7 @@ class TaskManagerTest {
         String[] dates = {null};
         String[] times = {null};
 
-        assertDoesNotThrow(() -> TaskManager.addTask(date, taskDescription, taskType, dates, times));
+        assertDoesNotThrow(() -> taskManager.addTask(date, taskDescription, taskType, dates, times));
     }
 
     @Test
@@ -76,7 +95,7 @@ class TaskManagerTest {
         String[] dates = {"15/03/2023", "16/03/2023"};
         String[] times = {"1000", "1200"};
 
-        assertDoesNotThrow(() -> TaskManager.addTask(date, taskDescription, taskType, dates, times));
+        assertDoesNotThrow(() -> taskManager.addTask(date, taskDescription, taskType, dates, times));
     }
 
     @Test
@@ -87,7 +106,7 @@ class TaskManagerTest {
         String[] dates = {"15/03/2023"};
         String[] times = {"1200"};
 
-        assertDoesNotThrow(() -> TaskManager.addTask(date, taskDescription, taskType, dates, times));
+        assertDoesNotThrow(() -> taskManager.addTask(date, taskDescription, taskType, dates, times));
     }
 
     @Test
@@ -99,7 +118,7 @@ class TaskManagerTest {
         String[] times = {null};
 
         assertThrows(TaskManagerException.class, () ->
-                TaskManager.addTask(date, taskDescription, taskType, dates, times));
+                taskManager.addTask(date, taskDescription, taskType, dates, times));
     }
 
     @Test
@@ -115,7 +134,7 @@ class TaskManagerTest {
 
         // Assert
         TaskManagerException thrown = assertThrows(TaskManagerException.class, () ->
-                addTask(date, taskDescription, testInvalidTaskType, dummyTestDates, dummyTestTimes));
+                taskManager.addTask(date, taskDescription, testInvalidTaskType, dummyTestDates, dummyTestTimes));
 
         assertEquals("Invalid task type given. T for Todo, E for event, D for deadline.", thrown.getMessage());
     }
@@ -135,10 +154,10 @@ class TaskManagerTest {
         boolean inMonthView = false;
         WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
 
-        addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
 
         // Act
-        updateTask(date, 0, updatedTaskDescription, scanner,inMonthView, weekView);
+        taskManager.updateTask(date, 0, updatedTaskDescription, scanner,inMonthView, weekView);
 
         // Assert
         assertEquals(updatedTaskDescription, taskManager.getTasksForDate(date).get(0).getName());
@@ -154,9 +173,9 @@ class TaskManagerTest {
         String[] times = {null};
         Scanner scanner = new Scanner(updatedTaskDescription);
 
-        addTask(date, initialTaskDescription, taskType, dates, times);
+        taskManager.addTask(date, initialTaskDescription, taskType, dates, times);
         assertDoesNotThrow(() ->
-                TaskManager.updateTask(date, 0, updatedTaskDescription, scanner,
+                taskManager.updateTask(date, 0, updatedTaskDescription, scanner,
                         false, new WeekView(date, DateTimeFormatter.ofPattern("dd/MM/yyyy"))));
     }
 
@@ -169,7 +188,7 @@ class TaskManagerTest {
         String[] dummyTestDates = new String[]{null};
         String[] dummyTestTimes = new String[]{null};
 
-        addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
 
         // Act
         List<Task> tasksForDate = taskManager.getTasksForDate(date);
@@ -189,8 +208,8 @@ class TaskManagerTest {
         String[] dates = {null};
         String[] times = {null};
 
-        addTask(date, taskDescription1, taskType, dates, times);
-        addTask(date, taskDescription2, taskType, dates, times);
+        taskManager.addTask(date, taskDescription1, taskType, dates, times);
+        taskManager.addTask(date, taskDescription2, taskType, dates, times);
 
         // Act
         List<Task> tasksForDate = taskManager.getTasksForDate(date);
@@ -201,6 +220,70 @@ class TaskManagerTest {
         assertEquals(taskDescription2, tasksForDate.get(1).getName());
     }
 
+    @Test
+    void getTasksInRange_tasksInsideAndOutsideRange_copyOfRangeReturnedInDateOrder() throws TaskManagerException {
+        // Arrange
+        LocalDate firstDate = LocalDate.of(2031, 1, 10);
+        LocalDate lastDate = LocalDate.of(2031, 1, 16);
+        LocalDate outsideDate = LocalDate.of(2031, 1, 17);
+        String[] dates = {null};
+        String[] times = {null};
+        taskManager.addTask(lastDate, "last", TaskType.TODO, dates, times);
+        taskManager.addTask(outsideDate, "outside", TaskType.TODO, dates, times);
+        taskManager.addTask(firstDate, "first", TaskType.TODO, dates, times);
+
+        // Act
+        Map<LocalDate, List<Task>> rangeTasks = taskManager.getTasksInRange(firstDate, lastDate);
+        taskManager.addTask(firstDate.plusDays(1), "added later", TaskType.TODO, dates, times);
+
+        // Assert
+        assertEquals(List.of(firstDate, lastDate), new ArrayList<>(rangeTasks.keySet()));
+        assertEquals("first", rangeTasks.get(firstDate).get(0).getName());
+        assertThrows(UnsupportedOperationException.class, () -> rangeTasks.remove(firstDate));
+        assertThrows(UnsupportedOperationException.class, () -> rangeTasks.get(lastDate).clear());
+
+        for (LocalDate date : List.of(firstDate, firstDate.plusDays(1), lastDate, outsideDate)) {
+            taskManager.deleteAllTasksOnDate(date);
+        }
+    }
+
+    @Test
+    void getTasksInRange_tasksAddedOnAnotherThread_everyCopyConsistent() throws InterruptedException {
+        // Arrange
+        LocalDate date = LocalDate.of(2031, 2, 10);
+        int numberOfTasks = 2000;
+        AtomicBoolean isAdding = new AtomicBoolean(true);
+        AtomicReference<Throwable> adderError = new AtomicReference<>();
+        Thread adder = new Thread(() -> {
+            try {
+                for (int i = 0; i < numberOfTasks; i++) {
+                    taskManager.addTask(date, new Todo("task " + i));
+                }
+            } catch (Throwable e) {
+                adderError.set(e);
+            } finally {
+                isAdding.set(false);
+            }
+        });
+
+        // Act
+        adder.start();
+        int lastSize = 0;
+        while (isAdding.get()) {
+            List<Task> dayTasks = taskManager.getTasksInRange(date, date).getOrDefault(date, List.of());
+            assertTrue(dayTasks.size() >= lastSize);
+            for (int i = 0; i < dayTasks.size(); i++) {
+                assertEquals("task " + i, dayTasks.get(i).getName());
+            }
+            lastSize = dayTasks.size();
+        }
+        adder.join();
+
+        // Assert
+        assertNull(adderError.get());
+        assertEquals(numberOfTasks, taskManager.getTasksInRange(date, date).get(date).size());
+    }
+
     @Test
     void getTasksForDate_noTasksOnDate_returnsEmptyList() {
         // Arrange
@@ -244,7 +327,7 @@ class TaskManagerTest {
         String[] dummyTestDates = new String[]{byDate};
         String[] dummyTestTimes = new String[]{byTime};
 
-        addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
         Task addedTask = taskManager.getTasksForDate(date).get(0);
         String addedTaskByDate = addedTask.getByDate();
         String addedTaskByTime = addedTask.getByTime();
@@ -270,7 +353,7 @@ class TaskManagerTest {
 
         // Assert
         assertThrows(NullPointerException.class, () ->
-                addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
+                taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
     }
 
     @Test
@@ -288,7 +371,7 @@ class TaskManagerTest {
 
         // Assert
         assertThrows(TaskManagerException.class, () ->
-                addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
+                taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
     }
 
     @Test
@@ -306,7 +389,7 @@ class TaskManagerTest {
 
         // Assert
         TaskManagerException thrown = assertThrows(TaskManagerException.class, () ->
-                addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
+                taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
         assertEquals("Invalid task type given. T for Todo, E for event, D for deadline.", thrown.getMessage());
     }
 
@@ -328,15 +411,160 @@ class TaskManagerTest {
         boolean inMonthView = false;
         WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
 
-        addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
 
         // Act
-        updateTask(date, 0, updatedTaskDescription, scanner,inMonthView, weekView);
+        taskManager.updateTask(date, 0, updatedTaskDescription, scanner,inMonthView, weekView);
 
         // Assert
         assertEquals(updatedTaskDescription, taskManager.getTasksForDate(date).get(0).getName());
     }
 
+    @Test
+    void updateDeadlineToNewDate_validInput_taskMovedWithSameId() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.now();
+        LocalDate newDate = date.plusDays(3);
+        String byDate = date.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        String newByDate = newDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        taskManager.addTask(date, "Initial Deadline", TaskType.DEADLINE, new String[]{byDate},
+                new String[]{"1800"});
+        long id = taskManager.getTasksForDate(date).get(0).getId();
+        Scanner scanner = new Scanner("yes\n" + newByDate + " 1800\n");
+        WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+
+        // Act
+        taskManager.updateTask(date, 0, "Moved Deadline", scanner, false, weekView);
+
+        // Assert
+        assertTrue(taskManager.getTasksForDate(date).isEmpty());
+        List<Task> newDayTasks = taskManager.getTasksForDate(newDate);
+        assertEquals(1, newDayTasks.size());
+        assertEquals("Moved Deadline", newDayTasks.get(0).getName());
+        assertEquals(id, newDayTasks.get(0).getId());
+    }
+
+    @Test
+    void getTaskById_tasksDeletedAndMovedToAnotherDate_idsStillFindTasks() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.of(2031, 7, 1);
+        LocalDate newDate = date.plusDays(3);
+        taskManager.addTask(date, "first", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "second", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "deadline", TaskType.DEADLINE, new String[]{"01/07/2031"}, new String[]{"1800"});
+        long firstId = taskManager.getTasksForDate(date).get(0).getId();
+        long secondId = taskManager.getTasksForDate(date).get(1).getId();
+        long deadlineId = taskManager.getTasksForDate(date).get(2).getId();
+        Scanner scanner = new Scanner("yes\n04/07/2031 0900\n");
+        WeekView weekView = new WeekView(date, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+
+        // Act
+        taskManager.deleteTask(date, 0, true);
+        Task movedDeadline = taskManager.updateTask(date, 1, "moved deadline", scanner, false, weekView);
+
+        // Assert
+        assertNull(taskManager.getTaskById(firstId));
+        assertEquals("second", taskManager.getTaskById(secondId).getName());
+        assertEquals(deadlineId, movedDeadline.getId());
+        assertEquals(movedDeadline, taskManager.getTaskById(deadlineId));
+        assertEquals(movedDeadline, taskManager.getTasksForDate(newDate).get(0));
+        assertTrue(firstId != secondId && secondId != deadlineId && firstId != deadlineId);
+
+        taskManager.deleteAllTasksOnDate(date);
+        taskManager.deleteAllTasksOnDate(newDate);
+        assertNull(taskManager.getTaskById(deadlineId));
+    }
+
+    @Test
+    void filterTasks_priorityStatusAndType_onlyMatchingTasksReturnedByDate() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.of(2031, 8, 1);
+        LocalDate laterDate = date.plusDays(10);
+        taskManager.addTask(laterDate, "urgent report", TaskType.DEADLINE,
+                new String[]{"11/08/2031"}, new String[]{"1800"});
+        taskManager.addTask(date, "urgent form", TaskType.DEADLINE, new String[]{"01/08/2031"}, new String[]{"1200"});
+        taskManager.addTask(date, "submitted form", TaskType.DEADLINE,
+                new String[]{"01/08/2031"}, new String[]{"0900"});
+        taskManager.addTask(date, "urgent chore", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "later form", TaskType.DEADLINE, new String[]{"01/08/2031"}, new String[]{"2000"});
+        for (int i = 0; i < 3; i++) {
+            taskManager.getTasksForDate(date).get(i).setPriorityLevel(TaskPriorityLevel.HIGH);
+        }
+        taskManager.getTasksForDate(laterDate).get(0).setPriorityLevel(TaskPriorityLevel.MEDIUM);
+        taskManager.getTasksForDate(date).get(1).setCompleteness(true);
+
+        // Act
+        NavigableMap<LocalDate, List<Task>> highIncompleteDeadlines =
+                taskManager.filterTasks(new String[]{"h", "o", "d"});
+        NavigableMap<LocalDate, List<Task>> highOrMediumDeadlines =
+                taskManager.filterTasks(new String[]{"H", "M", "D"});
+
+        // Assert
+        assertEquals(1, highIncompleteDeadlines.size());
+        assertEquals(List.of(taskManager.getTasksForDate(date).get(0)), highIncompleteDeadlines.get(date));
+        assertEquals(List.of(date, laterDate), new ArrayList<>(highOrMediumDeadlines.keySet()));
+        assertEquals(2, highOrMediumDeadlines.get(date).size());
+        assertThrows(TaskManagerException.class, () -> taskManager.filterTasks(new String[]{"q"}));
+
+        taskManager.deleteAllTasksOnDate(date);
+        taskManager.deleteAllTasksOnDate(laterDate);
+        assertTrue(taskManager.filterTasks(new String[]{"h"}).isEmpty());
+    }
+
+    @Test
+    void findTasks_afterReplaceAndDelete_matchingTasksReturnedByDate() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.of(2031, 9, 1);
+        LocalDate laterDate = date.plusDays(3);
+        taskManager.addTask(laterDate, "Project meeting", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Team meeting", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Team lunch", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Meet the team", TaskType.TODO, new String[]{null}, new String[]{null});
+
+        // Act
+        taskManager.replaceTask(date, 1, new Todo("Team dinner"));
+        taskManager.deleteManager(taskManager.getTasksForDate(date).get(2).getId());
+        NavigableMap<LocalDate, List<Task>> meetings = taskManager.findTasks("meet");
+        NavigableMap<LocalDate, List<Task>> teamDinners = taskManager.findTasks("team din");
+
+        // Assert
+        assertEquals(List.of(date, laterDate), new ArrayList<>(meetings.keySet()));
+        assertEquals("Team meeting", meetings.get(date).get(0).getName());
+        assertEquals(1, meetings.get(date).size());
+        assertEquals(List.of(taskManager.getTasksForDate(date).get(1)), teamDinners.get(date));
+        assertTrue(taskManager.findTasks("lunch").isEmpty());
+
+        taskManager.deleteAllTasksOnDate(date);
+        taskManager.deleteAllTasksOnDate(laterDate);
+        assertTrue(taskManager.findTasks("team").isEmpty());
+    }
+
+    @Test
+    void completeDescription_afterReplaceAndDelete_closerAndMoreFrequentDescriptionsFirst()
+            throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalDate laterDate = date.plusDays(90);
+        taskManager.addTask(laterDate, "Team lunch", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(laterDate, "Team lunch", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Team meeting", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Team sync", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Tax return", TaskType.TODO, new String[]{null}, new String[]{null});
+
+        // Act
+        taskManager.replaceTask(date, 1, new Todo("Team retro"));
+        taskManager.deleteManager(taskManager.getTasksForDate(date).get(2).getId());
+        List<String> completions = taskManager.completeDescription("TEA", 5);
+
+        // Assert
+        assertEquals(List.of("team meeting", "team retro", "team lunch"), completions);
+        assertEquals(List.of(), taskManager.completeDescription("tax", 5));
+
+        taskManager.deleteAllTasksOnDate(date);
+        taskManager.deleteAllTasksOnDate(laterDate);
+        assertEquals(List.of(), taskManager.completeDescription("", 5));
+    }
+
     @Test
     void updateDeadlineDescriptionAndByDateTime_validInput_updatesTask() throws TaskManagerException {
         // Arrange
@@ -360,10 +588,10 @@ class TaskManagerTest {
 
         WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
 
-        addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
 
         // Act
-        updateTask(date, 0, updatedTaskDescription, scanner, inMonthView, weekView);
+        taskManager.updateTask(date, 0, updatedTaskDescription, scanner, inMonthView, weekView);
 
         // Assert
         assertEquals(updatedTaskDescription, taskManager.getTasksForDate(LocalDate.parse(updatedByDate,
@@ -373,7 +601,7 @@ class TaskManagerTest {
         assertEquals(updatedByDate, taskManager.getTasksForDate(LocalDate.parse(updatedByDate,
                 DateTimeFormatter.ofPattern("dd/MM/yyyy"))).get(0).getByDate());
 
-        deleteAllTasksOnDate(taskManager, LocalDate.now().plusDays(2));
+        taskManager.deleteAllTasksOnDate(LocalDate.now().plusDays(2));
     }
 
     @Test
@@ -392,7 +620,7 @@ class TaskManagerTest {
         String[] dummyTestDates = new String[]{startDate, endDate};
         String[] dummyTestTimes = new String[]{startTime, endTime};
 
-        addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
         Task addedTask = taskManager.getTasksForDate(date).get(0);
         String addedTaskStartDate = addedTask.getStartDate();
         String addedTaskEndDate = addedTask.getEndDate();
@@ -406,7 +634,7 @@ class TaskManagerTest {
         assertEquals(testTask.getStartTime(), addedTaskStartTime);
         assertEquals(testTask.getEndTime(), addedTaskEndTime);
 
-        deleteAllTasksOnDate(taskManager, LocalDate.now().plusDays(2));
+        taskManager.deleteAllTasksOnDate(LocalDate.now().plusDays(2));
     }
 
     @Test
@@ -426,7 +654,7 @@ class TaskManagerTest {
 
         // Assert
         TaskManagerException thrown = assertThrows(TaskManagerException.class, () ->
-                addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
+                taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
         assertEquals("Invalid task type given. T for Todo, E for event, D for deadline.", thrown.getMessage());
     }
 
@@ -452,15 +680,15 @@ class TaskManagerTest {
 
         WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
 
-        addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
 
         // Act
-        updateTask(date, 0, updatedTaskDescription, scanner, inMonthView, weekView);
+        taskManager.updateTask(date, 0, updatedTaskDescription, scanner, inMonthView, weekView);
 
         // Assert
         assertEquals(updatedTaskDescription, taskManager.getTasksForDate(date).get(0).getName());
 
-        deleteAllTasksOnDate(taskManager, LocalDate.now().plusDays(2));
+        taskManager.deleteAllTasksOnDate(LocalDate.now().plusDays(2));
     }
 
     @Test
@@ -493,10 +721,10 @@ class TaskManagerTest {
 
         WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
 
-        addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
 
         // Act
-        updateTask(date, 0, updatedTaskDescription, scanner, inMonthView, weekView);
+        taskManager.updateTask(date, 0, updatedTaskDescription, scanner, inMonthView, weekView);
 
         // Assert
         assertEquals(updatedTaskDescription, taskManager.getTasksForDate(LocalDate.parse(updatedStartDate,
@@ -510,7 +738,7 @@ class TaskManagerTest {
         assertEquals(updatedEndTime, taskManager.getTasksForDate(LocalDate.parse(updatedStartDate,
                 DateTimeFormatter.ofPattern("dd/MM/yyyy"))).get(0).getEndTime());
 
-        deleteAllTasksOnDate(taskManager, LocalDate.now().plusDays(2));
+        taskManager.deleteAllTasksOnDate(LocalDate.now().plusDays(2));
     }
 
     @Test
@@ -530,7 +758,7 @@ class TaskManagerTest {
 
         // Assert
         assertThrows(NullPointerException.class, () ->
-                addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
+                taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
     }
 
     @Test
@@ -550,7 +778,7 @@ class TaskManagerTest {
 
         // Assert
         assertThrows(TaskManagerException.class, () ->
-                addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
+                taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
     }
 
     @Test
@@ -567,8 +795,8 @@ class TaskManagerTest {
         String[] testTimes = new String[]{startTime, endTime};
 
         // Act
-        addTask(date, taskDescription, testTaskType, testDates, testTimes);
-        List<Task> events = TaskManager.getEventsForDate(date);
+        taskManager.addTask(date, taskDescription, testTaskType, testDates, testTimes);
+        List<Task> events = taskManager.getEventsForDate(date);
         List<String> freeTimeSlots = taskManager.getFreeTimeSlots(events, date);
 
         // Assert
@@ -589,6 +817,55 @@ class TaskManagerTest {
         assertEquals(freeTimeSlots.get(0), "00:00 - 23:59");
     }
 
+    @Test
+    void getFreeTimeSlots_eventFromPreviousDayAndDeletedEvent_onlyRemainingEventsBlockTime()
+            throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.of(2031, 3, 11);
+        taskManager.addTask(date.minusDays(1), "overnight", TaskType.EVENT,
+                new String[]{"10/03/2031", "11/03/2031"}, new String[]{"2200", "0800"});
+        taskManager.addTask(date, "meeting", TaskType.EVENT,
+                new String[]{"11/03/2031", "11/03/2031"}, new String[]{"1000", "1100"});
+        taskManager.addTask(date, "cancelled", TaskType.EVENT,
+                new String[]{"11/03/2031", "11/03/2031"}, new String[]{"1400", "1600"});
+
+        // Act
+        taskManager.deleteTask(date, 1, true);
+        List<String> freeTimeSlots = taskManager.getFreeTimeSlots(date);
+
+        // Assert
+        assertEquals(List.of("08:00 - 10:00", "11:00 - 23:59"), freeTimeSlots);
+        assertEquals(2, taskManager.getEventsForDate(date).size());
+
+        taskManager.deleteAllTasksOnDate(date.minusDays(1));
+        taskManager.deleteAllTasksOnDate(date);
+    }
+
+    @Test
+    void getSpanningEventsInRange_multiDayEvent_listedOnLaterDatesOnly() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.of(2031, 5, 6);
+        taskManager.addTask(date, "conference", TaskType.EVENT,
+                new String[]{"06/05/2031", "08/05/2031"}, new String[]{"0900", "1700"});
+        taskManager.addTask(date.plusDays(1), "dinner", TaskType.EVENT,
+                new String[]{"07/05/2031", "07/05/2031"}, new String[]{"1900", "2100"});
+
+        // Act
+        NavigableMap<LocalDate, List<Task>> spanningEvents =
+                taskManager.getSpanningEventsInRange(date.minusDays(1), date.plusDays(3));
+
+        // Assert
+        Task conference = taskManager.getDayTasks(date).get(0);
+        assertEquals(List.of(date.plusDays(1), date.plusDays(2)), new ArrayList<>(spanningEvents.keySet()));
+        assertEquals(List.of(conference), spanningEvents.get(date.plusDays(1)));
+        assertEquals(List.of(conference), spanningEvents.get(date.plusDays(2)));
+        assertEquals(List.of(), taskManager.getFreeTimeSlots(date.plusDays(1)));
+        assertEquals(List.of("17:00 - 23:59"), taskManager.getFreeTimeSlots(date.plusDays(2)));
+
+        taskManager.deleteAllTasksOnDate(date);
+        taskManager.deleteAllTasksOnDate(date.plusDays(1));
+    }
+
     @Test
     void getEventsForDate_validDate_returnsEvents() throws TaskManagerException {
         // Arrange
@@ -603,8 +880,8 @@ class TaskManagerTest {
         String[] testTimes = new String[]{startTime, endTime};
 
         // Act
-        addTask(date, taskDescription, testTaskType, testDates, testTimes);
-        List<Task> eventsForDate = TaskManager.getEventsForDate(date);
+        taskManager.addTask(date, taskDescription, testTaskType, testDates, testTimes);
+        List<Task> eventsForDate = taskManager.getEventsForDate(date);
 
         // Assert
         assertEquals(1, eventsForDate.size());
@@ -626,18 +903,18 @@ class TaskManagerTest {
                 date.plusDays(1).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))};
         String[] times = {"1000", "1200"};
 
-        addTask(date, taskDescription1, taskType, dates, times);
-        addTask(date, taskDescription2, taskType, dates, times);
+        taskManager.addTask(date, taskDescription1, taskType, dates, times);
+        taskManager.addTask(date, taskDescription2, taskType, dates, times);
 
         // Act
-        List<Task> eventsForDate = TaskManager.getEventsForDate(date);
+        List<Task> eventsForDate = taskManager.getEventsForDate(date);
 
         // Assert
         assertEquals(2, eventsForDate.size());
         assertEquals(taskDescription1, eventsForDate.get(0).getName());
         assertEquals(taskDescription2, eventsForDate.get(1).getName());
 
-        deleteAllTasksOnDate(taskManager, LocalDate.now().plusDays(1));
+        taskManager.deleteAllTasksOnDate(LocalDate.now().plusDays(1));
     }
 
     @Test
@@ -646,7 +923,7 @@ class TaskManagerTest {
         LocalDate date = LocalDate.now();
 
         // Act
-        List<Task> eventsForDate = TaskManager.getEventsForDate(date);
+        List<Task> eventsForDate = taskManager.getEventsForDate(date);
 
         // Assert
         assertTrue(eventsForDate.isEmpty());
@@ -663,15 +940,15 @@ class TaskManagerTest {
                 differentDate.plusDays(1).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))};
         String[] times = {"1000", "1200"};
 
-        addTask(differentDate, taskDescription, taskType, dates, times);
+        taskManager.addTask(differentDate, taskDescription, taskType, dates, times);
 
         // Act
-        List<Task> eventsForDate = TaskManager.getEventsForDate(date);
+        List<Task> eventsForDate = taskManager.getEventsForDate(date);
 
         // Assert
         assertTrue(eventsForDate.isEmpty());
 
-        deleteAllTasksOnDate(taskManager, LocalDate.now().plusDays(1));
+        taskManager.deleteAllTasksOnDate(LocalDate.now().plusDays(1));
     }
 
     @Test
@@ -680,7 +957,7 @@ class TaskManagerTest {
         LocalDate date = LocalDate.now(); // No events added for this date
 
         // Act
-        List<Task> eventsForDate = TaskManager.getEventsForDate(date);
+        List<Task> eventsForDate = taskManager.getEventsForDate(date);
 
         // Assert
         assertTrue(eventsForDate.isEmpty());
@@ -690,7 +967,7 @@ class TaskManagerTest {
     void markTaskAsCompleted_validIndex_marksTask() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Complete project report", TaskType.TODO, 
+        taskManager.addTask(date, "Complete project report", TaskType.TODO, 
                 new String[]{null}, new String[]{null});
 
         // Act
@@ -705,7 +982,7 @@ class TaskManagerTest {
     void markTaskAsCompleted_invalidIndex_throwsException() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Write unit test", TaskType.TODO, 
+        taskManager.addTask(date, "Write unit test", TaskType.TODO, 
                 new String[]{null}, new String[]{null});
 
         // Act & Assert
@@ -724,7 +1001,7 @@ class TaskManagerTest {
     void markTaskAsNotCompleted_validIndex_marksTaskNotCompleted() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Complete project report", TaskType.TODO, 
+        taskManager.addTask(date, "Complete project report", TaskType.TODO, 
                 new String[]{null}, new String[]{null});
         taskManager.markTaskAsCompleted(date, 0); 
 
@@ -740,7 +1017,7 @@ class TaskManagerTest {
     void markTaskAsNotCompleted_invalidIndex_throwsException() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Write unit test", TaskType.TODO, 
+        taskManager.addTask(date, "Write unit test", TaskType.TODO, 
                 new String[]{null}, new String[]{null});
 
         // Act & Assert
@@ -759,8 +1036,8 @@ class TaskManagerTest {
     void markTaskAsCompleted_allTasks_marksAllTasks() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
-        addTask(date, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
 
         // Act
         taskManager.markTaskAsCompleted(date, 0);
@@ -777,8 +1054,8 @@ class TaskManagerTest {
     void markTaskAsNotCompleted_allTasks_marksAllTasksNotCompleted() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
-        addTask(date, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
         taskManager.markTaskAsCompleted(date, 0);
         taskManager.markTaskAsCompleted(date, 1);
 
@@ -797,7 +1074,7 @@ class TaskManagerTest {
     void markTaskAsCompleted_alreadyCompletedTask_noChange() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
         taskManager.markTaskAsCompleted(date, 0);
 
         // Act
@@ -812,7 +1089,7 @@ class TaskManagerTest {
     void markTaskAsNotCompleted_alreadyNotCompletedTask_noChange() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
 
         // Act
         taskManager.markTaskAsNotCompleted(date, 0);
@@ -826,15 +1103,218 @@ class TaskManagerTest {
     void getDayTasks_withMultipleTasks_returnsAllTasks() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
-        addTask(date, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
 
         // Act
-        List<Task> tasksForDay = TaskManager.getDayTasks(date);
+        List<Task> tasksForDay = taskManager.getDayTasks(date);
 
         // Assert
         assertEquals(2, tasksForDay.size(), "Should return all tasks for the day.");
     }
 
+    @Test
+    void getTasksInRange_recurringTaskWithChangedOccurrences_listsOccurrencesAfterSavedTasks()
+            throws TaskManagerException {
+        // Arrange
+        LocalDate monday = LocalDate.of(2031, 10, 6);
+        WeekView weekView = new WeekView(monday, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        taskManager.addTask(monday.plusDays(2), "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addRecurringTask(new RecurringTask(RecurrenceRule.parse("mon wed", "4", monday), new Todo("gym")));
+
+        // Act
+        taskManager.markManager(weekView, null, false, "8", 2);
+        taskManager.priorityManager(weekView, null, false, "8", 2, "H");
+        taskManager.deleteManager(weekView, null, false, taskManager, "6", 1);
+        NavigableMap<LocalDate, List<Task>> rangeTasks =
+                taskManager.getTasksInRange(monday, monday.plusWeeks(4));
+
+        // Assert
+        assertEquals(List.of(monday.plusDays(2), monday.plusDays(7), monday.plusDays(9)),
+                new ArrayList<>(rangeTasks.keySet()));
+        List<Task> wednesdayTasks = rangeTasks.get(monday.plusDays(2));
+        assertEquals("Task 1", wednesdayTasks.get(0).getName());
+        assertEquals("gym", wednesdayTasks.get(1).getName());
+        assertTrue(wednesdayTasks.get(1).isCompleted());
+        assertEquals(TaskPriorityLevel.HIGH, wednesdayTasks.get(1).getPriorityLevel());
+        assertFalse(rangeTasks.get(monday.plusDays(7)).get(0).isCompleted());
+        taskManager.deleteAllTasksOnDate(monday.plusDays(2));
+    }
+
+    @Test
+    void repeatManager_deadlineOnDateThatDoesNotExist_throwsTaskManagerException() {
+        // Arrange
+        LocalDate monday = LocalDate.of(2031, 10, 6);
+        WeekView weekView = new WeekView(monday, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        Scanner scanner = new Scanner("31/02/2031 0900\n");
+
+        // Act & Assert
+        assertThrows(TaskManagerException.class, () -> taskManager.repeatManager(scanner, weekView, null, false,
+                "8", "weekly", "2", "D", "paper"));
+        assertTrue(taskManager.getRecurringTasks().isEmpty());
+    }
+
+    @Test
+    void getSpanningEventsInRange_eventSavedUnderDateBeforeRange_eventLoadedAndTimeTaken() throws IOException {
+        // Arrange
+        LocalDate eventDate = LocalDate.of(2031, 10, 16);
+        Map<LocalDate, List<Task>> savedTasks = new HashMap<>();
+        savedTasks.put(eventDate, new ArrayList<>(List.of(new Event("conference", "16/10/2031", "20/10/2031",
+                "0900", "1700"))));
+        ShardedStorage.saveShards(savedTasks, Set.of(YearMonth.from(eventDate)), tempDirectory);
+        taskManager.setMonthLoader(new MonthLoader(new ShardedStorageBackend(tempDirectory), false));
+
+        // Act
+        NavigableMap<LocalDate, List<Task>> spanningEvents =
+                taskManager.getSpanningEventsInRange(eventDate.plusDays(2), eventDate.plusDays(8));
+        List<String> freeTimeSlots = taskManager.getFreeTimeSlots(eventDate.plusDays(3));
+
+        // Assert
+        assertEquals(List.of(eventDate.plusDays(2), eventDate.plusDays(3), eventDate.plusDays(4)),
+                new ArrayList<>(spanningEvents.keySet()));
+        assertEquals("conference", spanningEvents.get(eventDate.plusDays(3)).get(0).getName());
+        assertTrue(freeTimeSlots.isEmpty());
+    }
+
+    @Test
+    void rollbackManager_changesInBatch_restoresTasksAndIndexes() throws TaskManagerException {
+        // Arrange
+        LocalDate monday = LocalDate.of(2031, 10, 6);
+        WeekView weekView = new WeekView(monday, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        taskManager.addTask(monday, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(monday, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.beginManager();
+        taskManager.markManager(weekView, null, false, "6", 1);
+        taskManager.priorityManager(weekView, null, false, "6", 2, "H");
+        taskManager.deleteManager(weekView, null, false, taskManager, "6", 1);
+        taskManager.addTask(monday.plusDays(1), "Task 3", TaskType.TODO, new String[]{null}, new String[]{null});
+
+        // Act
+        taskManager.rollbackManager();
+
+        // Assert
+        List<Task> mondayTasks = taskManager.getTasksForDate(monday);
+        assertEquals(2, mondayTasks.size());
+        assertEquals("Task 1", mondayTasks.get(0).getName());
+        assertFalse(mondayTasks.get(0).isCompleted());
+        assertEquals(TaskPriorityLevel.LOW, mondayTasks.get(1).getPriorityLevel());
+        assertTrue(taskManager.getTasksForDate(monday.plusDays(1)).isEmpty());
+        assertTrue(taskManager.filterTasks(new String[]{"x"}).isEmpty());
+        assertTrue(taskManager.filterTasks(new String[]{"h"}).isEmpty());
+        assertEquals(2, taskManager.findTasks("task").get(monday).size());
+        assertFalse(taskManager.isInBatch());
+        taskManager.deleteAllTasksOnDate(monday);
+    }
+
+    @Test
+    void failBatchManager_changeAfterFailure_rejectedUntilCommit() throws TaskManagerException {
+        // Arrange
+        LocalDate monday = LocalDate.of(2031, 10, 13);
+        WeekView weekView = new WeekView(monday, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        taskManager.addTask(monday, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.beginManager();
+        taskManager.markManager(weekView, null, false, "13", 1);
 
+        // Act
+        taskManager.failBatchManager();
+
+        // Assert
+        assertFalse(taskManager.getTasksForDate(monday).get(0).isCompleted());
+        assertTrue(taskManager.isInBatch());
+        assertThrows(TaskManagerException.class, () -> taskManager.markManager(weekView, null, false, "13", 1));
+        assertFalse(taskManager.getTasksForDate(monday).get(0).isCompleted());
+        taskManager.commitManager();
+        assertFalse(taskManager.isInBatch());
+        taskManager.deleteAllTasksOnDate(monday);
+    }
+
+    @Test
+    void beginManager_batchAlreadyBegun_throwsTaskManagerException() throws TaskManagerException {
+        // Arrange
+        taskManager.beginManager();
+
+        // Act & Assert
+        assertThrows(TaskManagerException.class, () -> taskManager.beginManager());
+        taskManager.rollbackManager();
+        assertThrows(TaskManagerException.class, () -> taskManager.commitManager());
+    }
+
+    @Test
+    void undoManager_afterPriorityAndDelete_restoresTasksInOrder() throws TaskManagerException {
+        // Arrange
+        LocalDate monday = LocalDate.of(2031, 11, 3);
+        WeekView weekView = new WeekView(monday, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        taskManager.addTask(monday, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(monday, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.priorityManager(weekView, null, false, "3", 1, "H");
+        taskManager.deleteManager(weekView, null, false, taskManager, "3", 1);
+
+        // Act
+        taskManager.undoManager();
+        taskManager.undoManager();
+
+        // Assert
+        List<Task> mondayTasks = taskManager.getTasksForDate(monday);
+        assertEquals(2, mondayTasks.size());
+        assertEquals("Task 1", mondayTasks.get(0).getName());
+        assertEquals(TaskPriorityLevel.LOW, mondayTasks.get(0).getPriorityLevel());
+        assertEquals(2, taskManager.findTasks("task").get(monday).size());
+        taskManager.redoManager();
+        assertEquals(TaskPriorityLevel.HIGH, taskManager.getTasksForDate(monday).get(0).getPriorityLevel());
+        assertEquals(TaskPriorityLevel.LOW, mondayTasks.get(0).getPriorityLevel());
+        taskManager.deleteAllTasksOnDate(monday);
+    }
+
+    @Test
+    void undoManager_afterRecurringTaskChanges_nothingToUndo() throws TaskManagerException {
+        // Arrange
+        LocalDate monday = LocalDate.of(2031, 11, 3);
+        WeekView weekView = new WeekView(monday, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        taskManager.addTask(monday, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addRecurringTask(new RecurringTask(RecurrenceRule.parse("daily", "3", monday), new Todo("gym")));
+
+        // Act & Assert
+        assertThrows(TaskManagerException.class, () -> taskManager.undoManager());
+        taskManager.addTask(monday, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.markManager(weekView, null, false, "3", 3);
+        assertThrows(TaskManagerException.class, () -> taskManager.undoManager());
+        taskManager.addTask(monday, "Task 3", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.unrepeatManager(1);
+        assertThrows(TaskManagerException.class, () -> taskManager.undoManager());
+        assertEquals(3, taskManager.getTasksForDate(monday).size());
+        taskManager.deleteAllTasksOnDate(monday);
+    }
+
+    @Test
+    void undoManager_nothingToUndoOrBatchOpen_throwsTaskManagerException() throws TaskManagerException {
+        // Act & Assert
+        assertThrows(TaskManagerException.class, () -> taskManager.undoManager());
+        assertThrows(TaskManagerException.class, () -> taskManager.redoManager());
+        taskManager.beginManager();
+        assertThrows(TaskManagerException.class, () -> taskManager.undoManager());
+        taskManager.rollbackManager();
+    }
+
+    @Test
+    void getTasksInRange_tasksChangedAfterwards_snapshotUnchanged() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.of(2031, 12, 1);
+        taskManager.addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
+        NavigableMap<LocalDate, List<Task>> rangeTasks = taskManager.getTasksInRange(date, date.plusDays(1));
+        List<Task> dayTasks = taskManager.getTasksForDate(date);
+
+        // Act
+        taskManager.deleteTask(date, 0, true);
+        taskManager.addTask(date.plusDays(1), "Task 3", TaskType.TODO, new String[]{null}, new String[]{null});
+
+        // Assert
+        assertEquals(2, rangeTasks.get(date).size());
+        assertEquals(1, rangeTasks.size());
+        assertEquals("Task 1", dayTasks.get(0).getName());
+        assertThrows(UnsupportedOperationException.class, () -> dayTasks.add(new Todo("Task 4")));
+        assertEquals(1, taskManager.getTasksForDate(date).size());
+        taskManager.deleteAllTasksOnDate(date);
+        taskManager.deleteAllTasksOnDate(date.plusDays(1));
+    }
 }
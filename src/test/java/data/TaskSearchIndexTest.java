@@ -0,0 +1,69 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskSearchIndexTest {
+
+    private static Task addTodo(TaskSearchIndex searchIndex, TaskIdMap taskIds, String name, long id) {
+        Task task = new Todo(name);
+        task.setId(id);
+        taskIds.put(id, task, LocalDate.of(2031, 8, 1));
+        searchIndex.add(task);
+        return task;
+    }
+
+    @Test
+    void find_prefixesOfSeveralWords_onlyTasksWithEveryWordFound() {
+        // Arrange
+        TaskSearchIndex searchIndex = new TaskSearchIndex();
+        TaskIdMap taskIds = new TaskIdMap();
+        addTodo(searchIndex, taskIds, "Team meeting", 1);
+        addTodo(searchIndex, taskIds, "Meet the team, again", 2);
+        addTodo(searchIndex, taskIds, "Team lunch", 3);
+        addTodo(searchIndex, taskIds, "Read CS2113 notes", 4);
+
+        // Act
+        List<Long> teamMeetings = searchIndex.find("TEAM meet", taskIds);
+        List<Long> teams = searchIndex.find("tea", taskIds);
+        List<Long> courses = searchIndex.find("cs2113", taskIds);
+        List<Long> noWords = searchIndex.find(" , ", taskIds);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), teamMeetings);
+        assertEquals(List.of(1L, 2L, 3L), teams);
+        assertEquals(List.of(4L), courses);
+        assertEquals(List.of(), noWords);
+    }
+
+    @Test
+    void remove_removedTask_notFoundAndUnusedWordsDropped() {
+        // Arrange
+        TaskSearchIndex searchIndex = new TaskSearchIndex();
+        TaskIdMap taskIds = new TaskIdMap();
+        addTodo(searchIndex, taskIds, "Team meeting", 1);
+        Task lunch = addTodo(searchIndex, taskIds, "Team lunch", 2);
+
+        // Act
+        searchIndex.remove(lunch);
+        taskIds.remove(2, lunch);
+
+        // Assert
+        assertEquals(List.of(1L), searchIndex.find("team", taskIds));
+        assertEquals(List.of(), searchIndex.find("lunch", taskIds));
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void getWords_punctuationAndRepeatedWords_lowerCaseWordsListedOnce() {
+        // Act
+        List<String> words = TaskSearchIndex.getWords("Buy milk, eggs & MILK!");
+
+        // Assert
+        assertEquals(List.of("buy", "milk", "eggs"), words);
+    }
+}
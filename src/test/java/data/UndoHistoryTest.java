@@ -0,0 +1,54 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UndoHistoryTest {
+
+    private static UndoHistory.Edit createEdit(String name) {
+        return new UndoHistory.Edit(name, List.of("D|0|2024-04-10"), List.of("I|0|2024-04-10|T|O|L|" + name));
+    }
+
+    @Test
+    void add_moreEditsThanMaxDepth_dropsOldestEdits() {
+        // Arrange
+        UndoHistory history = new UndoHistory(2);
+
+        // Act
+        history.add(createEdit("first"));
+        history.add(createEdit("second"));
+        history.add(createEdit("third"));
+
+        // Assert
+        List<UndoHistory.Edit> undoEdits = history.getUndoEdits();
+        assertEquals(2, undoEdits.size());
+        assertEquals("second", undoEdits.get(0).getName());
+        assertEquals("third", history.popUndo().getName());
+        assertEquals("second", history.popUndo().getName());
+        assertNull(history.popUndo());
+    }
+
+    @Test
+    void add_afterUndo_dropsEditsThatCouldBeRedone() {
+        // Arrange
+        UndoHistory history = new UndoHistory(UndoHistory.DEFAULT_MAX_DEPTH);
+        UndoHistory.Edit firstEdit = createEdit("first");
+        history.add(firstEdit);
+        history.pushRedo(history.popUndo());
+
+        // Act
+        history.add(createEdit("second"));
+
+        // Assert
+        assertNull(history.popRedo());
+        assertEquals("second", history.popUndo().getName());
+        assertNull(history.popUndo());
+        history.pushRedo(firstEdit);
+        assertSame(firstEdit, history.popRedo());
+    }
+}
@@ -10,9 +10,6 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 import java.util.List;
 
-import static data.TaskManager.addTask;
-import static data.TaskManager.deleteAllTasksOnDate;
-import static data.TaskManager.getDayTasks;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -29,7 +26,7 @@ public class MarkTaskExceptionTest {
     @AfterEach
     void resetTaskManager() {
         LocalDate date = LocalDate.now();
-        deleteAllTasksOnDate(taskManager, date);
+        taskManager.deleteAllTasksOnDate(date);
     }
 
     @Test
@@ -44,8 +41,8 @@ public class MarkTaskExceptionTest {
         TaskType testTaskType = TaskType.TODO;
         String[] dummyTestDates = new String[]{null};
         String[] dummyTestTimes = new String[]{null};
-        addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
-        List<Task> dayTasks = getDayTasks(date);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        List<Task> dayTasks = taskManager.getDayTasks(date);
 
         // Assert
         assertDoesNotThrow(() -> MarkTaskException.checkIfTaskIndexIsValidForMarkingTask(dayTasks, 1));
@@ -64,8 +61,8 @@ public class MarkTaskExceptionTest {
         TaskType testTaskType = TaskType.TODO;
         String[] dummyTestDates = new String[]{null};
         String[] dummyTestTimes = new String[]{null};
-        addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
-        List<Task> dayTasks = getDayTasks(date);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        List<Task> dayTasks = taskManager.getDayTasks(date);
 
         // Assert
         MarkTaskException thrown = assertThrows(MarkTaskException.class, () ->
@@ -82,7 +79,7 @@ public class MarkTaskExceptionTest {
         LocalDate date = LocalDate.now();
 
         // Act
-        List<Task> dayTasks = getDayTasks(date);
+        List<Task> dayTasks = taskManager.getDayTasks(date);
 
         // Assert
         MarkTaskException thrown = assertThrows(MarkTaskException.class, () ->
@@ -0,0 +1,76 @@
+package storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class BackgroundSaverTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void flush_recordsSubmitted_recordsWrittenInOrder() throws IOException {
+        // Arrange
+        Path journalPath = tempDirectory.resolve("clintonJournal.txt");
+        BackgroundSaver saver = new BackgroundSaver(journalPath,
+                new ShardedStorageBackend(tempDirectory.resolve("months")));
+
+        // Act
+        saver.submitRecord("A|2024-04-15|T|O|L|first");
+        saver.submitRecord("M|0|2024-04-15|X");
+        saver.submitRecord("D|0|2024-04-15");
+        saver.flush();
+
+        // Assert
+        assertEquals(List.of("A|2024-04-15|T|O|L|first", "M|0|2024-04-15|X", "D|0|2024-04-15"),
+                Files.readAllLines(journalPath));
+        assertFalse(saver.isCompactionDue());
+    }
+
+    @Test
+    void close_recordsSubmitted_recordsWrittenAndSaverThreadStopped() throws IOException, InterruptedException {
+        // Arrange
+        Path journalPath = tempDirectory.resolve("clintonJournal.txt");
+        BackgroundSaver saver = new BackgroundSaver(journalPath,
+                new ShardedStorageBackend(tempDirectory.resolve("months")));
+        long saverThreadCount = countSaverThreads();
+        saver.submitRecord("A|2024-04-15|T|O|L|first");
+
+        // Act
+        saver.close();
+
+        // Assert
+        assertEquals(List.of("A|2024-04-15|T|O|L|first"), Files.readAllLines(journalPath));
+        for (int i = 0; i < 100 && countSaverThreads() > saverThreadCount; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(saverThreadCount, countSaverThreads());
+    }
+
+    @Test
+    void flush_nothingSubmitted_returnsImmediately() {
+        // Arrange
+        BackgroundSaver saver = new BackgroundSaver(tempDirectory.resolve("clintonJournal.txt"),
+                new ShardedStorageBackend(tempDirectory.resolve("months")));
+
+        // Act
+        saver.flush();
+
+        // Assert
+        assertFalse(Files.exists(tempDirectory.resolve("clintonJournal.txt")));
+    }
+
+    private static long countSaverThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("clinton-saver"))
+                .count();
+    }
+}
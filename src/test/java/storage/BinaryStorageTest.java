@@ -0,0 +1,237 @@
+package storage;
+
+import data.Deadline;
+import data.Event;
+import data.Task;
+import data.TaskIdMap;
+import data.TaskPriorityLevel;
+import data.Todo;
+import data.exceptions.StorageFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryStorageTest {
+
+    private static final LocalDate TEST_DATE = LocalDate.of(2024, 4, 15);
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void saveAndLoadTasks_allTaskTypes_tasksUnchanged() throws IOException, StorageFileException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.bin");
+        Task todo = new Todo("read book");
+        todo.setCompleteness(true);
+        Task deadline = new Deadline("submit report", "19/04/2024", "2359");
+        deadline.setPriorityLevel(TaskPriorityLevel.HIGH);
+        Task event = new Event("conference", "15/04/2024", "17/04/2024", "0900", "1730");
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(TEST_DATE, new ArrayList<>(List.of(todo, deadline, event)));
+
+        // Act
+        assertTrue(BinaryStorage.saveTasksToFile(tasks, testFilePath));
+        List<Task> loadedTasks = BinaryStorage.loadTasksFromFile(testFilePath).get(TEST_DATE);
+
+        // Assert
+        assertEquals(3, loadedTasks.size());
+        for (int i = 0; i < loadedTasks.size(); i++) {
+            assertEquals(tasks.get(TEST_DATE).get(i).getSaveFormat(), loadedTasks.get(i).getSaveFormat());
+        }
+    }
+
+    @Test
+    void saveAndLoadTasks_taskWithId_idKept() throws IOException, StorageFileException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.bin");
+        Task withId = new Todo("read book");
+        withId.setId(70000);
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(TEST_DATE, new ArrayList<>(List.of(withId, new Todo("no id"))));
+
+        // Act
+        assertTrue(BinaryStorage.saveTasksToFile(tasks, testFilePath));
+        List<Task> loadedTasks = BinaryStorage.loadTasksFromFile(testFilePath).get(TEST_DATE);
+
+        // Assert
+        assertEquals(70000, loadedTasks.get(0).getId());
+        assertEquals(TaskIdMap.NO_ID, loadedTasks.get(1).getId());
+        assertEquals("no id", loadedTasks.get(1).getName());
+    }
+
+    @Test
+    void saveAndLoadTasks_invalidCalendarDate_keptAsText() throws IOException, StorageFileException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.bin");
+        Task deadline = new Deadline("impossible", "31/02/2024", "1200");
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(TEST_DATE, new ArrayList<>(List.of(deadline)));
+
+        // Act
+        BinaryStorage.saveTasksToFile(tasks, testFilePath);
+        Task loadedTask = BinaryStorage.loadTasksFromFile(testFilePath).get(TEST_DATE).get(0);
+
+        // Assert
+        assertEquals("31/02/2024", loadedTask.getByDate());
+    }
+
+    @Test
+    void loadTasksFromFile_unknownVersion_exceptionThrown() throws IOException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.bin");
+        Files.write(testFilePath, new byte[]{0x43, 0x4C, 0x4E, 0x54, 0x00, 0x63});
+
+        // Act and Assert
+        assertThrows(StorageFileException.class, () -> BinaryStorage.loadTasksFromFile(testFilePath));
+    }
+
+    @Test
+    void migrateFromTextFile_textFileExists_convertsAndKeepsBackup() throws IOException, StorageFileException {
+        // Arrange
+        Path textFilePath = tempDirectory.resolve("clintonData.txt");
+        Path binaryFilePath = tempDirectory.resolve("clintonData.bin");
+        Files.writeString(textFilePath, "2024-04-15|T|X|M|read book\n");
+
+        // Act
+        boolean isMigrated = BinaryStorage.migrateFromTextFile(textFilePath, binaryFilePath);
+
+        // Assert
+        assertTrue(isMigrated);
+        assertTrue(Files.exists(tempDirectory.resolve("clintonData.txt.bak")));
+        assertEquals("T|X|M|read book",
+                BinaryStorage.loadTasksFromFile(binaryFilePath).get(TEST_DATE).get(0).getSaveFormat());
+    }
+
+    @Test
+    void migrateFromTextFile_malformedLine_convertsOtherLines() throws IOException, StorageFileException {
+        // Arrange
+        Path textFilePath = tempDirectory.resolve("clintonData.txt");
+        Path binaryFilePath = tempDirectory.resolve("clintonData.bin");
+        Files.writeString(textFilePath, "2024-04-15|T|X|M|read book\n"
+                + "malformed\n"
+                + "2024-04-16|T|O|L|after\n");
+
+        // Act
+        boolean isMigrated = BinaryStorage.migrateFromTextFile(textFilePath, binaryFilePath);
+
+        // Assert
+        assertTrue(isMigrated);
+        Map<LocalDate, List<Task>> loadedTasks = BinaryStorage.loadTasksFromFile(binaryFilePath);
+        assertEquals(2, loadedTasks.size());
+        assertEquals("after", loadedTasks.get(TEST_DATE.plusDays(1)).get(0).getName());
+    }
+
+    @Test
+    void migrateFromTextFile_unreadableTextFile_leavesTextFileInPlace() throws IOException {
+        // Arrange
+        Path textFilePath = tempDirectory.resolve("clintonData.txt");
+        Path binaryFilePath = tempDirectory.resolve("clintonData.bin");
+        Files.createDirectory(textFilePath);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> BinaryStorage.migrateFromTextFile(textFilePath, binaryFilePath));
+        assertTrue(Files.exists(textFilePath));
+        assertFalse(Files.exists(binaryFilePath));
+        assertFalse(Files.exists(tempDirectory.resolve("clintonData.txt.bak")));
+    }
+
+    @Test
+    void loadTasksFromFile_damagedBlock_otherDatesLoaded() throws IOException, StorageFileException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.bin");
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(TEST_DATE, new ArrayList<>(List.of(new Todo("first"))));
+        tasks.put(TEST_DATE.plusDays(1), new ArrayList<>(List.of(new Todo("damaged"))));
+        tasks.put(TEST_DATE.plusDays(2), new ArrayList<>(List.of(new Todo("third"))));
+        BinaryStorage.saveTasksToFile(tasks, testFilePath);
+        byte[] bytes = Files.readAllBytes(testFilePath);
+        int damagedPosition = new String(bytes, StandardCharsets.ISO_8859_1).indexOf("damaged");
+        bytes[damagedPosition] = 'D';
+        Files.write(testFilePath, bytes);
+
+        // Act
+        Map<LocalDate, List<Task>> loadedTasks = BinaryStorage.loadTasksFromFile(testFilePath);
+
+        // Assert
+        assertEquals(2, loadedTasks.size());
+        assertEquals("first", loadedTasks.get(TEST_DATE).get(0).getName());
+        assertEquals("third", loadedTasks.get(TEST_DATE.plusDays(2)).get(0).getName());
+        assertEquals(1, BinaryStorage.verifyFile(testFilePath));
+    }
+
+    @Test
+    void verifyFile_intactFile_noDamagedBlocks() throws IOException, StorageFileException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.bin");
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(TEST_DATE, new ArrayList<>(List.of(new Todo("first"), new Deadline("second", "19/04/2024", "1200"))));
+        BinaryStorage.saveTasksToFile(tasks, testFilePath);
+
+        // Act
+        int damagedBlocks = BinaryStorage.verifyFile(testFilePath);
+
+        // Assert
+        assertEquals(0, damagedBlocks);
+    }
+
+    @Test
+    void loadTasksFromFile_firstFormatVersion_tasksLoaded() throws IOException, StorageFileException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.bin");
+        int epochDay = (int) TEST_DATE.toEpochDay();
+        Files.write(testFilePath, new byte[]{0x43, 0x4C, 0x4E, 0x54, 0x00, 0x01,
+            (byte) (epochDay >> 24), (byte) (epochDay >> 16), (byte) (epochDay >> 8), (byte) epochDay,
+            0x01, 0x04, 0x02, 'h', 'i'});
+
+        // Act
+        List<Task> loadedTasks = BinaryStorage.loadTasksFromFile(testFilePath).get(TEST_DATE);
+
+        // Assert
+        assertEquals("T|X|L|hi", loadedTasks.get(0).getSaveFormat());
+    }
+
+    @Test
+    void loadTasksFromFile_firstFormatVersionWithDamagedLengths_countedAsDamaged()
+            throws IOException, StorageFileException {
+        // Arrange
+        Path hugeCountPath = tempDirectory.resolve("hugeCount.bin");
+        Path negativeLengthPath = tempDirectory.resolve("negativeLength.bin");
+        int epochDay = (int) TEST_DATE.toEpochDay();
+        byte[] dateBytes = {(byte) (epochDay >> 24), (byte) (epochDay >> 16), (byte) (epochDay >> 8), (byte) epochDay};
+        byte[] header = {0x43, 0x4C, 0x4E, 0x54, 0x00, 0x01};
+        Files.write(hugeCountPath, concat(header, dateBytes, new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+            (byte) 0xFF, 0x07}));
+        Files.write(negativeLengthPath, concat(header, dateBytes, new byte[]{0x01, 0x04, (byte) 0xFF, (byte) 0xFF,
+            (byte) 0xFF, (byte) 0xFF, 0x0F, 'h', 'i'}));
+
+        // Act & Assert
+        assertTrue(BinaryStorage.loadTasksFromFile(hugeCountPath).isEmpty());
+        assertTrue(BinaryStorage.loadTasksFromFile(negativeLengthPath).isEmpty());
+        assertEquals(1, BinaryStorage.verifyFile(hugeCountPath));
+        assertEquals(1, BinaryStorage.verifyFile(negativeLengthPath));
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            output.writeBytes(part);
+        }
+        return output.toByteArray();
+    }
+}
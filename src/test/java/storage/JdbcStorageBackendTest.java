@@ -0,0 +1,92 @@
+package storage;
+
+import data.Deadline;
+import data.Task;
+import data.Todo;
+import data.exceptions.StorageFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcStorageBackendTest {
+
+    private static final YearMonth APRIL = YearMonth.of(2024, 4);
+    private static final YearMonth MAY = YearMonth.of(2024, 5);
+
+    @TempDir
+    Path tempDirectory;
+
+    private JdbcStorageBackend createStorageBackend() {
+        return new JdbcStorageBackend("jdbc:h2:" + tempDirectory.resolve("clintonData").toAbsolutePath());
+    }
+
+    @Test
+    void loadTasksInRange_savedMonths_tasksLoadedInOrder() throws IOException, StorageFileException {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(15), new ArrayList<>(List.of(new Todo("first"),
+                new Deadline("second", "19/04/2024", "1200"))));
+        tasks.put(MAY.atDay(3), new ArrayList<>(List.of(new Todo("may task"))));
+        JdbcStorageBackend storageBackend = createStorageBackend();
+        storageBackend.saveMonths(tasks, Set.of(APRIL, MAY));
+
+        // Act
+        Map<LocalDate, List<Task>> rangeTasks = storageBackend.loadTasksInRange(APRIL.atDay(14), APRIL.atDay(30));
+
+        // Assert
+        assertEquals(Set.of(APRIL.atDay(15)), rangeTasks.keySet());
+        assertEquals("T|O|L|first", rangeTasks.get(APRIL.atDay(15)).get(0).getSaveFormat());
+        assertEquals("D|O|L|second|19/04/2024|1200", rangeTasks.get(APRIL.atDay(15)).get(1).getSaveFormat());
+        assertEquals(Set.of(APRIL, MAY), Set.copyOf(storageBackend.listMonths()));
+    }
+
+    @Test
+    void saveMonths_tasksWithIdsAndNextTaskId_idsAndNextTaskIdKept() throws IOException, StorageFileException {
+        // Arrange
+        Task task = new Todo("first");
+        task.setId(7);
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(15), new ArrayList<>(List.of(task)));
+        JdbcStorageBackend storageBackend = createStorageBackend();
+
+        // Act
+        storageBackend.saveMonths(tasks, Set.of(APRIL), 3, 9);
+
+        // Assert
+        assertEquals(7, storageBackend.loadMonth(APRIL).get(APRIL.atDay(15)).get(0).getId());
+        assertEquals(3, storageBackend.loadJournalGeneration());
+        assertEquals(9, storageBackend.loadNextTaskId());
+    }
+
+    @Test
+    void saveMonths_monthWithoutTasks_monthRemoved() throws IOException, StorageFileException {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(15), new ArrayList<>(List.of(new Todo("april task"))));
+        tasks.put(MAY.atDay(3), new ArrayList<>(List.of(new Todo("may task"))));
+        JdbcStorageBackend storageBackend = createStorageBackend();
+        storageBackend.saveMonths(tasks, Set.of(APRIL, MAY));
+        tasks.remove(APRIL.atDay(15));
+
+        // Act
+        boolean isSaved = storageBackend.saveMonths(tasks, Set.of(APRIL));
+
+        // Assert
+        assertTrue(isSaved);
+        assertEquals(List.of(MAY), storageBackend.listMonths());
+        assertTrue(storageBackend.loadMonth(APRIL).isEmpty());
+        assertEquals("may task", storageBackend.loadMonth(MAY).get(MAY.atDay(3)).get(0).getName());
+    }
+}
@@ -0,0 +1,175 @@
+package storage;
+
+import data.Deadline;
+import data.Task;
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.Todo;
+import data.UndoHistory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalTest {
+
+    private static final LocalDate TEST_DATE = LocalDate.of(2024, 4, 15);
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void getAddRecord_todoTask_recordsSaveFormat() {
+        // Arrange
+        Task task = new Todo("read book");
+
+        // Act
+        String record = Journal.getAddRecord(TEST_DATE, task);
+
+        // Assert
+        assertEquals("A|2024-04-15|T|O|L|read book", record);
+    }
+
+    @Test
+    void getUpdateRecord_deadlineTask_recordsIndexBeforeSaveFormat() {
+        // Arrange
+        Task task = new Deadline("submit report", "19/04/2024", "1400");
+
+        // Act
+        String record = Journal.getUpdateRecord(TEST_DATE, 2, task);
+
+        // Assert
+        assertEquals("U|2|2024-04-15|D|O|L|submit report|19/04/2024|1400", record);
+    }
+
+    @Test
+    void getMarkAndPriorityRecords_validTask_recordsNewStatus() {
+        // Arrange
+        Task task = new Todo("read book");
+        task.setPriorityLevel(TaskPriorityLevel.HIGH);
+
+        // Act and Assert
+        assertEquals("M|0|2024-04-15|X", Journal.getMarkRecord(TEST_DATE, 0, true));
+        assertEquals("P|1|2024-04-15|H", Journal.getPriorityRecord(TEST_DATE, 1, task));
+        assertEquals("D|3|2024-04-15", Journal.getDeleteRecord(TEST_DATE, 3));
+    }
+
+    @Test
+    void replayJournal_editCutShort_skipsWholeEdit() throws IOException {
+        // Arrange
+        Path journalPath = tempDirectory.resolve("clintonJournal.txt");
+        List<String> firstEdit = Journal.getEditRecords(new UndoHistory.Edit("batch",
+                List.of(Journal.getAddRecord(TEST_DATE, new Todo("first")), Journal.getMarkRecord(TEST_DATE, 0, true)),
+                List.of(Journal.getMarkRecord(TEST_DATE, 0, false), Journal.getDeleteRecord(TEST_DATE, 0))));
+        List<String> secondEdit = Journal.getEditRecords(new UndoHistory.Edit("batch",
+                List.of(Journal.getAddRecord(TEST_DATE, new Todo("second")),
+                Journal.getAddRecord(TEST_DATE, new Todo("third"))),
+                List.of(Journal.getDeleteRecord(TEST_DATE, 2), Journal.getDeleteRecord(TEST_DATE, 1))));
+        Files.write(journalPath, firstEdit);
+        Files.write(journalPath, secondEdit.subList(0, 3), StandardOpenOption.APPEND);
+        TaskManager taskManager = new TaskManager();
+
+        // Act
+        Journal.replayJournal(journalPath, taskManager);
+
+        // Assert
+        assertEquals("E|batch|2|2", firstEdit.get(0));
+        List<Task> dayTasks = taskManager.getTasksForDate(TEST_DATE);
+        assertEquals(1, dayTasks.size());
+        assertEquals("first", dayTasks.get(0).getName());
+        assertTrue(dayTasks.get(0).isCompleted());
+    }
+
+    @Test
+    void replayJournal_editWithRecordThatNoLongerApplies_skipsWholeEdit() throws IOException {
+        // Arrange
+        Path journalPath = tempDirectory.resolve("clintonJournal.txt");
+        Files.write(journalPath, Journal.getEditRecords(new UndoHistory.Edit("batch",
+                List.of(Journal.getAddRecord(TEST_DATE, new Todo("first")), Journal.getDeleteRecord(TEST_DATE, 5)),
+                List.of(Journal.getInsertRecord(TEST_DATE, 5, new Todo("gone")),
+                Journal.getDeleteRecord(TEST_DATE, 0)))));
+        TaskManager taskManager = new TaskManager();
+
+        // Act
+        Set<YearMonth> changedMonths = Journal.replayJournal(journalPath, taskManager);
+
+        // Assert
+        assertTrue(changedMonths.isEmpty());
+        assertTrue(taskManager.getTasksForDate(TEST_DATE).isEmpty());
+        assertTrue(taskManager.findTasks("first").isEmpty());
+    }
+
+    @Test
+    void replayJournal_editThenUndo_revertsEditAndKeepsItForRedo() throws Exception {
+        // Arrange
+        Path journalPath = tempDirectory.resolve("clintonJournal.txt");
+        List<String> journalRecords = new ArrayList<>(Journal.getEditRecords(new UndoHistory.Edit("add",
+                List.of(Journal.getAddRecord(TEST_DATE, new Todo("read book"))),
+                List.of(Journal.getDeleteRecord(TEST_DATE, 0)))));
+        journalRecords.add(Journal.UNDO_RECORD);
+        Files.write(journalPath, journalRecords);
+        TaskManager taskManager = new TaskManager();
+
+        // Act
+        Journal.replayJournal(journalPath, taskManager);
+
+        // Assert
+        assertTrue(taskManager.getTasksForDate(TEST_DATE).isEmpty());
+        taskManager.redoEdit();
+        assertEquals("read book", taskManager.getTasksForDate(TEST_DATE).get(0).getName());
+    }
+
+    @Test
+    void replayJournal_generationAlreadySaved_onlyRebuildsUndoHistory() throws Exception {
+        // Arrange
+        Path journalPath = tempDirectory.resolve("clintonJournal.txt");
+        List<String> journalRecords = new ArrayList<>(List.of(Journal.GENERATION_RECORD + "|3"));
+        journalRecords.addAll(Journal.getEditRecords(new UndoHistory.Edit("add",
+                List.of(Journal.getAddRecord(TEST_DATE, new Todo("read book"))),
+                List.of(Journal.getDeleteRecord(TEST_DATE, 0)))));
+        journalRecords.add(Journal.getAddRecord(TEST_DATE, new Todo("write essay")));
+        Files.write(journalPath, journalRecords);
+        TaskManager taskManager = new TaskManager();
+
+        // Act
+        Set<YearMonth> changedMonths = Journal.replayJournal(journalPath, taskManager, 3);
+
+        // Assert
+        assertTrue(changedMonths.isEmpty());
+        assertTrue(taskManager.getTasksForDate(TEST_DATE).isEmpty());
+        taskManager.moveEditInHistory(true);
+        taskManager.redoEdit();
+        assertEquals("read book", taskManager.getTasksForDate(TEST_DATE).get(0).getName());
+    }
+
+    @Test
+    void compact_journalWithoutGeneration_backendRecordsGenerationAndJournalMovesOn() throws IOException {
+        // Arrange
+        Path journalPath = tempDirectory.resolve("clintonJournal.txt");
+        Files.write(journalPath, List.of(Journal.getAddRecord(TEST_DATE, new Todo("read book"))));
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(TEST_DATE, List.of(new Todo("read book")));
+        StorageBackend storageBackend = new ShardedStorageBackend(tempDirectory.resolve("months"));
+
+        // Act
+        Journal.compact(tasks, Set.of(YearMonth.from(TEST_DATE)), storageBackend, journalPath, List.of(), -1);
+
+        // Assert
+        assertEquals(0, storageBackend.loadJournalGeneration());
+        assertEquals(1, Journal.readGeneration(journalPath));
+        assertEquals(List.of("G|1"), Files.readAllLines(journalPath));
+    }
+}
@@ -0,0 +1,102 @@
+package storage;
+
+import data.TaskIdMap;
+import data.exceptions.StorageFileException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LineScannerTest {
+
+    @Test
+    void scanTask_linesOfEveryTaskType_tasksDecoded() throws StorageFileException {
+        // Arrange
+        LineScanner scanner = new LineScanner("2024-04-15|T|X|H|read book\r\n"
+                + "2024-04-16|D|O|M|submit report|19/04/2024|2359\n"
+                + "2024-04-17|E|O|L|conference|17/04/2024|18/04/2024|0900|1730\n");
+
+        // Act & Assert
+        assertTrue(scanner.nextLine());
+        assertEquals(LocalDate.of(2024, 4, 15), scanner.scanDate());
+        assertEquals("T|X|H|read book", scanner.scanTask().getSaveFormat());
+
+        assertTrue(scanner.nextLine());
+        assertEquals(LocalDate.of(2024, 4, 16), scanner.scanDate());
+        assertEquals("D|O|M|submit report|19/04/2024|2359", scanner.scanTask().getSaveFormat());
+
+        assertTrue(scanner.nextLine());
+        assertEquals(LocalDate.of(2024, 4, 17), scanner.scanDate());
+        assertEquals("E|O|L|conference|17/04/2024|18/04/2024|0900|1730", scanner.scanTask().getSaveFormat());
+
+        assertFalse(scanner.nextLine());
+    }
+
+    @Test
+    void scanTask_lineWithAndWithoutId_idKeptOnlyWhenSaved() throws StorageFileException {
+        // Arrange
+        LineScanner scanner = new LineScanner("2024-04-15|T|X|H|read book|42\n"
+                + "2024-04-16|D|O|M|submit report|19/04/2024|2359\n");
+
+        // Act & Assert
+        assertTrue(scanner.nextLine());
+        scanner.scanDate();
+        assertEquals(42, scanner.scanTask().getId());
+
+        assertTrue(scanner.nextLine());
+        scanner.scanDate();
+        assertEquals(TaskIdMap.NO_ID, scanner.scanTask().getId());
+    }
+
+    @Test
+    void scanDate_invalidCalendarDate_throwsStorageFileException() {
+        // Arrange
+        LineScanner scanner = new LineScanner("2024-02-31|T|O|L|task");
+        scanner.nextLine();
+
+        // Act & Assert
+        StorageFileException exception = assertThrows(StorageFileException.class, scanner::scanDate);
+        assertEquals("Error in file format at column 1: expected a valid date.", exception.getMessage());
+    }
+
+    @Test
+    void scanTask_invalidTime_reportsColumnOfTime() throws StorageFileException {
+        // Arrange
+        LineScanner scanner = new LineScanner("2024-04-16|D|O|M|task|19/04/2024|2460");
+        scanner.nextLine();
+        scanner.scanDate();
+
+        // Act & Assert
+        StorageFileException exception = assertThrows(StorageFileException.class, scanner::scanTask);
+        assertEquals("Error in file format at column 34: expected a time in the format HHmm.",
+                exception.getMessage());
+    }
+
+    @Test
+    void scanTask_missingDeadlineFields_throwsStorageFileException() throws StorageFileException {
+        // Arrange
+        LineScanner scanner = new LineScanner("2024-04-16|D|O|M|task");
+        scanner.nextLine();
+        scanner.scanDate();
+
+        // Act & Assert
+        assertThrows(StorageFileException.class, scanner::scanTask);
+    }
+
+    @Test
+    void scanTask_unknownTaskType_throwsStorageFileException() throws StorageFileException {
+        // Arrange
+        LineScanner scanner = new LineScanner("2024-04-16|Q|O|M|task");
+        scanner.nextLine();
+        scanner.scanDate();
+
+        // Act & Assert
+        StorageFileException exception = assertThrows(StorageFileException.class, scanner::scanTask);
+        assertEquals("Error in file format at column 12: expected a task type of T, D or E.",
+                exception.getMessage());
+    }
+}
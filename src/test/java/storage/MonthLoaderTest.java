@@ -0,0 +1,159 @@
+package storage;
+
+import data.Event;
+import data.Task;
+import data.Todo;
+import data.exceptions.StorageFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonthLoaderTest {
+
+    private static final YearMonth APRIL = YearMonth.of(2024, 4);
+    private static final YearMonth MAY = YearMonth.of(2024, 5);
+
+    @TempDir
+    Path tempDirectory;
+
+    private void saveTasksInAprilAndMay() {
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(15), new ArrayList<>(List.of(new Todo("april task"))));
+        tasks.put(MAY.atDay(2), new ArrayList<>(List.of(new Todo("may task"))));
+        ShardedStorage.saveShards(tasks, Set.of(APRIL, MAY), tempDirectory);
+    }
+
+    @Test
+    void loadMonth_savedMonth_loadedOnlyOnce() throws IOException, StorageFileException {
+        // Arrange
+        saveTasksInAprilAndMay();
+        MonthLoader monthLoader = new MonthLoader(new ShardedStorageBackend(tempDirectory), false);
+
+        // Act
+        Map<LocalDate, List<Task>> firstLoad = monthLoader.loadMonth(APRIL);
+        Map<LocalDate, List<Task>> secondLoad = monthLoader.loadMonth(APRIL);
+
+        // Assert
+        assertEquals("april task", firstLoad.get(APRIL.atDay(15)).get(0).getName());
+        assertTrue(secondLoad.isEmpty());
+        assertTrue(monthLoader.isLoaded(APRIL));
+        assertFalse(monthLoader.isLoaded(MAY));
+    }
+
+    @Test
+    void loadMonth_neighbouringMonthPrefetched_sameTasksLoaded() throws IOException, StorageFileException {
+        // Arrange
+        saveTasksInAprilAndMay();
+        MonthLoader monthLoader = new MonthLoader(new ShardedStorageBackend(tempDirectory), true);
+        monthLoader.loadMonth(APRIL);
+
+        // Act
+        Map<LocalDate, List<Task>> mayTasks = monthLoader.loadMonth(MAY);
+
+        // Assert
+        assertEquals("may task", mayTasks.get(MAY.atDay(2)).get(0).getName());
+    }
+
+    @Test
+    void loadRange_dateLoadedBefore_dateLeftOut() throws IOException, StorageFileException {
+        // Arrange
+        saveTasksInAprilAndMay();
+        MonthLoader monthLoader = new MonthLoader(new ShardedStorageBackend(tempDirectory), false);
+        monthLoader.loadDate(APRIL.atDay(15));
+
+        // Act
+        Map<LocalDate, List<Task>> rangeTasks = monthLoader.loadRange(APRIL.atDay(10), MAY.atDay(5));
+
+        // Assert
+        assertEquals(Set.of(MAY.atDay(2)), rangeTasks.keySet());
+        assertTrue(monthLoader.isLoaded(APRIL.atDay(30)));
+        assertFalse(monthLoader.isLoaded(MAY.atDay(6)));
+    }
+
+    @Test
+    void loadRange_eventSavedUnderEarlierMonthTakesUpRange_eventDateLoaded()
+            throws IOException, StorageFileException {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(29), new ArrayList<>(List.of(new Todo("april task"),
+                new Event("conference", "29/04/2024", "02/05/2024", "0900", "1700"))));
+        tasks.put(APRIL.atDay(30), new ArrayList<>(List.of(new Todo("unrelated task"))));
+        ShardedStorage.saveShards(tasks, Set.of(APRIL), tempDirectory);
+        MonthLoader monthLoader = new MonthLoader(new ShardedStorageBackend(tempDirectory), false);
+        assertFalse(monthLoader.isEventSpanLoaded(MAY.atDay(1), MAY.atDay(4)));
+
+        // Act
+        Map<LocalDate, List<Task>> rangeTasks = monthLoader.loadRange(MAY.atDay(1), MAY.atDay(4));
+
+        // Assert
+        assertEquals(Set.of(APRIL.atDay(29)), rangeTasks.keySet());
+        assertEquals("conference", rangeTasks.get(APRIL.atDay(29)).get(1).getName());
+        assertTrue(monthLoader.isEventSpanLoaded(MAY.atDay(1), MAY.atDay(4)));
+        assertFalse(monthLoader.isLoaded(APRIL.atDay(30)));
+    }
+
+    @Test
+    void reloadMonth_dateLoadedBefore_wholeMonthReadAgain() throws IOException, StorageFileException {
+        // Arrange
+        saveTasksInAprilAndMay();
+        MonthLoader monthLoader = new MonthLoader(new ShardedStorageBackend(tempDirectory), false);
+        monthLoader.loadDate(APRIL.atDay(15));
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(15), new ArrayList<>(List.of(new Todo("changed elsewhere"))));
+        tasks.put(APRIL.atDay(20), new ArrayList<>(List.of(new Todo("added elsewhere"))));
+        ShardedStorage.saveShards(tasks, Set.of(APRIL), tempDirectory);
+
+        // Act
+        Map<LocalDate, List<Task>> aprilTasks = monthLoader.reloadMonth(APRIL);
+        Map<LocalDate, List<Task>> mayTasks = monthLoader.reloadMonth(MAY);
+
+        // Assert
+        assertEquals("changed elsewhere", aprilTasks.get(APRIL.atDay(15)).get(0).getName());
+        assertEquals("added elsewhere", aprilTasks.get(APRIL.atDay(20)).get(0).getName());
+        assertTrue(monthLoader.isLoaded(APRIL));
+        assertNull(mayTasks);
+        assertFalse(monthLoader.isLoaded(MAY));
+    }
+
+    @Test
+    void isLoaded_monthWithoutSaveFile_returnsTrue() throws IOException {
+        // Arrange
+        saveTasksInAprilAndMay();
+
+        // Act
+        MonthLoader monthLoader = new MonthLoader(new ShardedStorageBackend(tempDirectory), false);
+
+        // Assert
+        assertTrue(monthLoader.isLoaded(YearMonth.of(2024, 6)));
+    }
+
+    @Test
+    void loadMonth_corruptedSaveFile_leftUnloaded() throws IOException {
+        // Arrange
+        saveTasksInAprilAndMay();
+        Files.write(ShardedStorage.getShardPath(tempDirectory, APRIL), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        MonthLoader monthLoader = new MonthLoader(new ShardedStorageBackend(tempDirectory), false);
+
+        // Act
+        assertThrows(StorageFileException.class, () -> monthLoader.loadMonth(APRIL));
+
+        // Assert
+        assertFalse(monthLoader.isLoaded(APRIL));
+    }
+}
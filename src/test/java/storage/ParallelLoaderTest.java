@@ -0,0 +1,101 @@
+package storage;
+
+import data.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelLoaderTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void loadTasks_validFile_keepsOrderAndStatuses() throws IOException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.txt");
+        Files.writeString(testFilePath, "2024-04-15|T|X|H|first\n"
+                + "2024-04-16|D|O|L|deadline|19/04/2024|1400\n"
+                + "2024-04-15|E|O|M|second|15/04/2024|15/04/2024|1200|1300\n");
+
+        // Act
+        Map<LocalDate, List<Task>> tasks = ParallelLoader.loadTasks(testFilePath);
+
+        // Assert
+        List<Task> dayTasks = tasks.get(LocalDate.of(2024, 4, 15));
+        assertEquals(2, dayTasks.size());
+        assertEquals("first", dayTasks.get(0).getName());
+        assertEquals("X", dayTasks.get(0).getMarkedStatusIcon());
+        assertEquals("H", dayTasks.get(0).getPriorityLevelIcon());
+        assertEquals("second", dayTasks.get(1).getName());
+        assertEquals(1, tasks.get(LocalDate.of(2024, 4, 16)).size());
+    }
+
+    @Test
+    void loadTasks_malformedLine_skipsOnlyMalformedLine() throws IOException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.txt");
+        Files.writeString(testFilePath, "2024-04-15|T|O|L|first\n"
+                + "15-04-2024|T|O|L|malformed\n"
+                + "2024-04-17|T|O|L|after\n");
+
+        // Act
+        Map<LocalDate, List<Task>> tasks = ParallelLoader.loadTasks(testFilePath);
+
+        // Assert
+        assertEquals(2, tasks.size());
+        assertTrue(tasks.containsKey(LocalDate.of(2024, 4, 15)));
+        assertEquals("after", tasks.get(LocalDate.of(2024, 4, 17)).get(0).getName());
+    }
+
+    @Test
+    void loadTasks_fileSplitIntoManyChunks_keepsOrderAcrossChunks() throws IOException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.txt");
+        StringBuilder fileContent = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            fileContent.append("2024-04-").append(10 + i % 3).append("|T|O|L|task ").append(i).append("\n");
+        }
+        Files.writeString(testFilePath, fileContent.toString());
+
+        // Act
+        Map<LocalDate, List<Task>> tasks = ParallelLoader.loadTasks(testFilePath, 64);
+
+        // Assert
+        assertEquals(3, tasks.size());
+        List<Task> dayTasks = tasks.get(LocalDate.of(2024, 4, 11));
+        assertEquals(67, dayTasks.size());
+        for (int i = 0; i < dayTasks.size(); i++) {
+            assertEquals("task " + (1 + 3 * i), dayTasks.get(i).getName());
+        }
+    }
+
+    @Test
+    void loadFile_malformedLinesInSeveralChunks_keepsLaterChunksAndCountsSkippedLines() throws IOException {
+        // Arrange
+        Path testFilePath = tempDirectory.resolve("clintonData.txt");
+        StringBuilder fileContent = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            fileContent.append(i == 20 || i == 50 ? "malformed\n" : "2024-04-15|T|O|L|task " + i + "\n");
+        }
+        Files.writeString(testFilePath, fileContent.toString());
+
+        // Act
+        ParallelLoader.LoadedFile loadedFile = ParallelLoader.loadFile(testFilePath, 64);
+
+        // Assert
+        List<Task> dayTasks = loadedFile.getTasks().get(LocalDate.of(2024, 4, 15));
+        assertEquals(98, dayTasks.size());
+        assertEquals("task 99", dayTasks.get(97).getName());
+        assertEquals(2, loadedFile.getSkippedLineCount());
+    }
+}
@@ -0,0 +1,77 @@
+package storage;
+
+import data.Event;
+import data.RecurrenceRule;
+import data.RecurringTask;
+import data.Task;
+import data.TaskPriorityLevel;
+import data.Todo;
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecurrenceStorageTest {
+
+    private static final LocalDate TEST_DATE = LocalDate.of(2031, 10, 6);
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void saveAndLoad_recurringTasksWithChanges_recurringTasksUnchanged()
+            throws IOException, TaskManagerException {
+        // Arrange
+        RecurrenceStorage storage = new RecurrenceStorage(tempDirectory.resolve("recurring.txt"));
+        Task event = new Event("lecture", "06/10/2031", "06/10/2031", "1000", "1200");
+        RecurringTask lecture = new RecurringTask(RecurrenceRule.parse("mon wed", RecurrenceRule.NO_LIMIT,
+                TEST_DATE), event);
+        lecture.setChange(TEST_DATE.plusDays(2), new RecurringTask.OccurrenceChange(true, false,
+                TaskPriorityLevel.LOW));
+        lecture.setChange(TEST_DATE.plusDays(7), new RecurringTask.OccurrenceChange(false, true,
+                TaskPriorityLevel.HIGH));
+        RecurringTask standup = new RecurringTask(RecurrenceRule.parse("daily", "31/10/2031", TEST_DATE),
+                new Todo("standup"));
+
+        // Act
+        boolean isSaved = storage.save(List.of(lecture, standup));
+        List<RecurringTask> loaded = storage.load();
+
+        // Assert
+        assertTrue(isSaved);
+        assertEquals(2, loaded.size());
+        assertEquals(lecture.getDescription(), loaded.get(0).getDescription());
+        assertEquals(standup.getDescription(), loaded.get(1).getDescription());
+        assertEquals(List.of(TEST_DATE, TEST_DATE.plusDays(7)),
+                loaded.get(0).getOccurrenceDatesBetween(TEST_DATE, TEST_DATE.plusDays(7)));
+        Task occurrence = loaded.get(0).createOccurrence(TEST_DATE.plusDays(7));
+        assertTrue(occurrence.isCompleted());
+        assertEquals(TaskPriorityLevel.HIGH, occurrence.getPriorityLevel());
+        assertEquals(TEST_DATE.plusDays(7), occurrence.getStartLocalDate());
+    }
+
+    @Test
+    void load_damagedRecurringTasks_skipsThemAndLoadsTheRest() throws IOException {
+        // Arrange
+        Path path = tempDirectory.resolve("recurring.txt");
+        Files.write(path, List.of("R|weekly|3|", "R|daily|2|", "2031-10-06|D|O|L|paper|31/02/2031|0900",
+                "R|daily|2|", "2031-10-06|T|O|L|standup", "R|weekly|3|"), StandardCharsets.UTF_8);
+        RecurrenceStorage storage = new RecurrenceStorage(path);
+
+        // Act
+        List<RecurringTask> loaded = storage.load();
+
+        // Assert
+        assertEquals(1, loaded.size());
+        assertEquals("standup", loaded.get(0).getTemplate().getName());
+    }
+}
@@ -0,0 +1,34 @@
+package storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SaveDirectoryLockTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void tryAcquire_lockAlreadyHeld_returnsNullUntilReleased() throws IOException {
+        // Arrange
+        Path lockPath = tempDirectory.resolve("save").resolve("clinton.lock");
+        SaveDirectoryLock firstLock = SaveDirectoryLock.tryAcquire(lockPath);
+
+        // Act
+        SaveDirectoryLock secondLock = SaveDirectoryLock.tryAcquire(lockPath);
+        firstLock.release();
+        SaveDirectoryLock thirdLock = SaveDirectoryLock.tryAcquire(lockPath);
+
+        // Assert
+        assertNotNull(firstLock);
+        assertNull(secondLock);
+        assertNotNull(thirdLock);
+        thirdLock.release();
+    }
+}
@@ -0,0 +1,53 @@
+package storage;
+
+import data.Task;
+import data.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SaveFileWatcherTest {
+
+    private static final YearMonth APRIL = YearMonth.of(2024, 4);
+    private static final long WAIT_MILLIS = 10000;
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void takeChangedMonths_monthSaveFileWritten_monthNoted() throws IOException, InterruptedException {
+        // Arrange
+        SaveFileWatcher saveFileWatcher = new SaveFileWatcher(tempDirectory);
+        saveFileWatcher.start();
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(15), new ArrayList<>(List.of(new Todo("written elsewhere"))));
+        Files.write(tempDirectory.resolve("notes.txt"), new byte[] {1});
+
+        // Act
+        ShardedStorage.saveShards(tasks, Set.of(APRIL), tempDirectory);
+        Set<YearMonth> changedMonths = new HashSet<>();
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (changedMonths.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            changedMonths.addAll(saveFileWatcher.takeChangedMonths());
+        }
+
+        // Assert
+        assertEquals(Set.of(APRIL), changedMonths);
+        assertTrue(saveFileWatcher.takeChangedMonths().isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package storage;
+
+import data.Deadline;
+import data.Task;
+import data.Todo;
+import data.exceptions.StorageFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardIndexTest {
+
+    private static final YearMonth APRIL = YearMonth.of(2024, 4);
+
+    @TempDir
+    Path tempDirectory;
+
+    private Path saveApril(Map<LocalDate, List<Task>> tasks) {
+        ShardedStorage.saveShards(tasks, Set.of(APRIL), tempDirectory);
+        return ShardedStorage.getShardPath(tempDirectory, APRIL);
+    }
+
+    @Test
+    void readDayTasks_indexMissing_indexBuiltAndDateRead() throws IOException, StorageFileException {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(1), new ArrayList<>(List.of(new Todo("first"))));
+        tasks.put(APRIL.atDay(15), new ArrayList<>(List.of(new Todo("second"),
+                new Deadline("third", "19/04/2024", "1200"))));
+        Path shardPath = saveApril(tasks);
+
+        // Act
+        List<Task> dayTasks = ShardIndex.open(shardPath).readDayTasks(APRIL.atDay(15));
+
+        // Assert
+        assertTrue(Files.exists(ShardIndex.getIndexPath(shardPath)));
+        assertEquals(2, dayTasks.size());
+        assertEquals("D|O|L|third|19/04/2024|1200", dayTasks.get(1).getSaveFormat());
+        assertTrue(ShardIndex.open(shardPath).readDayTasks(APRIL.atDay(2)).isEmpty());
+    }
+
+    @Test
+    void open_saveFileChangedAfterIndexWritten_indexRebuilt() throws IOException, StorageFileException {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(1), new ArrayList<>(List.of(new Todo("first"))));
+        Path shardPath = saveApril(tasks);
+        ShardIndex.open(shardPath);
+        tasks.put(APRIL.atDay(3), new ArrayList<>(List.of(new Todo("added later"))));
+        Path temporaryPath = tempDirectory.resolve("rewritten.bin");
+        BinaryStorage.saveTasksToFile(tasks, temporaryPath);
+        Files.copy(temporaryPath, shardPath, StandardCopyOption.REPLACE_EXISTING);
+        Files.setLastModifiedTime(shardPath, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+
+        // Act
+        List<Task> dayTasks = ShardIndex.open(shardPath).readDayTasks(APRIL.atDay(3));
+
+        // Assert
+        assertEquals("added later", dayTasks.get(0).getName());
+    }
+}
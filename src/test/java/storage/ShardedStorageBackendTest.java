@@ -0,0 +1,111 @@
+package storage;
+
+import data.Task;
+import data.TaskIdMap;
+import data.Todo;
+import data.exceptions.StorageFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedStorageBackendTest {
+
+    private static final YearMonth APRIL = YearMonth.of(2024, 4);
+    private static final YearMonth MAY = YearMonth.of(2024, 5);
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void loadTasksInRange_rangeAcrossTwoMonths_onlyDatesInRangeLoaded() throws IOException, StorageFileException {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(10), new ArrayList<>(List.of(new Todo("before range"))));
+        tasks.put(APRIL.atDay(29), new ArrayList<>(List.of(new Todo("end of april"))));
+        tasks.put(MAY.atDay(3), new ArrayList<>(List.of(new Todo("start of may"))));
+        tasks.put(MAY.atDay(20), new ArrayList<>(List.of(new Todo("after range"))));
+        ShardedStorageBackend storageBackend = new ShardedStorageBackend(tempDirectory);
+        storageBackend.saveMonths(tasks, Set.of(APRIL, MAY));
+
+        // Act
+        Map<LocalDate, List<Task>> rangeTasks = storageBackend.loadTasksInRange(APRIL.atDay(28), MAY.atDay(4));
+
+        // Assert
+        assertEquals(Set.of(APRIL.atDay(29), MAY.atDay(3)), rangeTasks.keySet());
+        assertEquals("start of may", rangeTasks.get(MAY.atDay(3)).get(0).getName());
+        assertTrue(Files.exists(ShardIndex.getIndexPath(ShardedStorage.getShardPath(tempDirectory, MAY))));
+    }
+
+    @Test
+    void copyFrom_emptyBackend_everyMonthCopied() throws IOException, StorageFileException {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL.atDay(10), new ArrayList<>(List.of(new Todo("april task"))));
+        tasks.put(MAY.atDay(3), new ArrayList<>(List.of(new Todo("may task"))));
+        StorageBackend source = new TextStorageBackend(tempDirectory.resolve("clintonData.txt"));
+        source.saveMonths(tasks, Set.of(APRIL, MAY));
+        ShardedStorageBackend storageBackend = new ShardedStorageBackend(tempDirectory.resolve("months"));
+
+        // Act
+        boolean isCopied = storageBackend.copyFrom(source);
+
+        // Assert
+        assertTrue(isCopied);
+        assertEquals("may task", storageBackend.loadMonth(MAY).get(MAY.atDay(3)).get(0).getName());
+        assertFalse(storageBackend.copyFrom(source));
+    }
+
+    @Test
+    void loadMonth_saveCutShortAfterCommit_saveFinishedFirst() throws IOException, StorageFileException {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(MAY.atDay(3), new ArrayList<>(List.of(new Todo("may task"))));
+        Path shardPath = ShardedStorage.getShardPath(tempDirectory, MAY);
+        BinaryStorage.saveTasksToFile(tasks, shardPath.resolveSibling(shardPath.getFileName() + ".tmp"));
+        Files.write(ShardedStorage.getCommitPath(tempDirectory), List.of("4", "2024-05.bin|2024-05.bin.tmp"));
+        ShardedStorageBackend storageBackend = new ShardedStorageBackend(tempDirectory);
+
+        // Act
+        Map<LocalDate, List<Task>> monthTasks = storageBackend.loadMonth(MAY);
+
+        // Assert
+        assertEquals("may task", monthTasks.get(MAY.atDay(3)).get(0).getName());
+        assertEquals(4, storageBackend.loadJournalGeneration());
+        assertEquals(-1, storageBackend.loadNextTaskId());
+        assertEquals(List.of("4"), Files.readAllLines(ShardedStorage.getCommitPath(tempDirectory)));
+    }
+
+    @Test
+    void saveMonths_tasksWithIdsAndNextTaskId_idsAndNextTaskIdKept() throws IOException, StorageFileException {
+        // Arrange
+        Task task = new Todo("may task");
+        task.setId(300);
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(MAY.atDay(3), new ArrayList<>(List.of(task, new Todo("no id"))));
+        ShardedStorageBackend storageBackend = new ShardedStorageBackend(tempDirectory);
+
+        // Act
+        storageBackend.saveMonths(tasks, Set.of(MAY), 5, 301);
+
+        // Assert
+        List<Task> dayTasks = new ShardedStorageBackend(tempDirectory).loadMonth(MAY).get(MAY.atDay(3));
+        assertEquals(300, dayTasks.get(0).getId());
+        assertEquals(TaskIdMap.NO_ID, dayTasks.get(1).getId());
+        assertEquals(5, storageBackend.loadJournalGeneration());
+        assertEquals(301, storageBackend.loadNextTaskId());
+    }
+}
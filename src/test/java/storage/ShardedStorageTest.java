@@ -0,0 +1,105 @@
+package storage;
+
+import data.Task;
+import data.Todo;
+import data.exceptions.StorageFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedStorageTest {
+
+    private static final LocalDate APRIL_DATE = LocalDate.of(2024, 4, 15);
+    private static final LocalDate MAY_DATE = LocalDate.of(2024, 5, 2);
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void saveShards_tasksInTwoMonths_oneFilePerMonth() throws IOException, StorageFileException {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL_DATE, new ArrayList<>(List.of(new Todo("april task"))));
+        tasks.put(MAY_DATE, new ArrayList<>(List.of(new Todo("may task"))));
+
+        // Act
+        assertTrue(ShardedStorage.saveShards(tasks, Set.of(YearMonth.of(2024, 4), YearMonth.of(2024, 5)),
+                tempDirectory));
+
+        // Assert
+        assertTrue(Files.exists(tempDirectory.resolve("2024-04.bin")));
+        assertTrue(Files.exists(tempDirectory.resolve("2024-05.bin")));
+        Map<LocalDate, List<Task>> aprilTasks = ShardedStorage.loadShard(tempDirectory, YearMonth.of(2024, 4));
+        assertEquals(Set.of(APRIL_DATE), aprilTasks.keySet());
+        assertEquals(2, ShardedStorage.loadAllShards(tempDirectory).size());
+    }
+
+    @Test
+    void saveShards_onlyOneMonthChanged_otherMonthFileUntouched() throws IOException {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL_DATE, new ArrayList<>(List.of(new Todo("april task"))));
+        tasks.put(MAY_DATE, new ArrayList<>(List.of(new Todo("may task"))));
+        ShardedStorage.saveShards(tasks, Set.of(YearMonth.of(2024, 4), YearMonth.of(2024, 5)), tempDirectory);
+        Path mayPath = tempDirectory.resolve("2024-05.bin");
+        Files.write(mayPath, new byte[] {1, 2, 3});
+
+        // Act
+        tasks.get(APRIL_DATE).add(new Todo("another april task"));
+        ShardedStorage.saveShards(tasks, Set.of(YearMonth.of(2024, 4)), tempDirectory);
+
+        // Assert
+        assertEquals(3, Files.size(mayPath));
+    }
+
+    @Test
+    void saveShards_monthWithoutTasks_fileDeleted() {
+        // Arrange
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL_DATE, new ArrayList<>(List.of(new Todo("april task"))));
+        ShardedStorage.saveShards(tasks, Set.of(YearMonth.of(2024, 4)), tempDirectory);
+
+        // Act
+        tasks.remove(APRIL_DATE);
+        ShardedStorage.saveShards(tasks, Set.of(YearMonth.of(2024, 4)), tempDirectory);
+
+        // Assert
+        assertFalse(Files.exists(tempDirectory.resolve("2024-04.bin")));
+    }
+
+    @Test
+    void migrateFromSingleFile_singleFileExists_splitIntoMonths() throws IOException, StorageFileException {
+        // Arrange
+        Path singleFilePath = tempDirectory.resolve("clintonData.bin");
+        Path shardDirectory = tempDirectory.resolve("months");
+        Map<LocalDate, List<Task>> tasks = new HashMap<>();
+        tasks.put(APRIL_DATE, new ArrayList<>(List.of(new Todo("april task"))));
+        tasks.put(MAY_DATE, new ArrayList<>(List.of(new Todo("may task"))));
+        BinaryStorage.saveTasksToFile(tasks, singleFilePath);
+
+        // Act
+        boolean isMigrated = ShardedStorage.migrateFromSingleFile(singleFilePath, shardDirectory);
+
+        // Assert
+        assertTrue(isMigrated);
+        assertFalse(Files.exists(singleFilePath));
+        assertTrue(Files.exists(tempDirectory.resolve("clintonData.bin.bak")));
+        assertEquals(List.of(YearMonth.of(2024, 4), YearMonth.of(2024, 5)),
+                ShardedStorage.listShards(shardDirectory).stream().sorted().collect(Collectors.toList()));
+    }
+}
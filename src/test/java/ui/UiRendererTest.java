@@ -15,10 +15,8 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
-import static data.TaskManager.addTask;
 import static ui.UiRenderer.printWeekHeader;
 import static ui.UiRenderer.printWeekBody;
-import static data.TaskManager.deleteAllTasksOnDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static ui.UiRenderer.printTaskForDay;
@@ -45,7 +43,7 @@ public class UiRendererTest {
     @AfterEach
     void resetTaskManager() {
         LocalDate date = LocalDate.now();
-        deleteAllTasksOnDate(taskManager, date);
+        taskManager.deleteAllTasksOnDate(date);
     }
     
     @BeforeEach
@@ -113,7 +111,7 @@ public class UiRendererTest {
     @Test
     void printWeekBody_noTasks_printsEmptyWeekBody() {
         LocalDate startOfWeek = DateUtils.getStartOfWeek(LocalDate.now());
-        deleteAllTasksOnDate(taskManager, startOfWeek);
+        taskManager.deleteAllTasksOnDate(startOfWeek);
 
         outContent.reset();
         printWeekBody(startOfWeek, taskManager);
@@ -130,9 +128,9 @@ public class UiRendererTest {
     void printWeekBody_singleTaskPerDay_printsWeekBodyWithSingleTaskPerDay() throws TaskManagerException {
         LocalDate startOfWeek = DateUtils.getStartOfWeek(LocalDate.now());
 
-        deleteAllTasksOnDate(taskManager, startOfWeek);
-        addTask(startOfWeek, "Task 1", TaskType.TODO, new String[]{}, new String[]{});
-        addTask(startOfWeek.plusDays(1), "Task 2", TaskType.TODO, new String[]{}, new String[]{});
+        taskManager.deleteAllTasksOnDate(startOfWeek);
+        taskManager.addTask(startOfWeek, "Task 1", TaskType.TODO, new String[]{}, new String[]{});
+        taskManager.addTask(startOfWeek.plusDays(1), "Task 2", TaskType.TODO, new String[]{}, new String[]{});
 
         outContent.reset();
         printWeekBody(startOfWeek, taskManager);
@@ -148,17 +146,17 @@ public class UiRendererTest {
 
         assertEquals(expectedOutput, outContent.toString());
 
-        deleteAllTasksOnDate(taskManager, LocalDate.now().plusDays(1));
+        taskManager.deleteAllTasksOnDate(LocalDate.now().plusDays(1));
     }
 
     @Test
     void printWeekBody_multipleTasksPerDay_printsWeekBodyWithMultipleTasksPerDay() throws TaskManagerException {
         LocalDate startOfWeek = DateUtils.getStartOfWeek(LocalDate.now());
 
-        addTask(startOfWeek, "Task 1", TaskType.TODO, new String[]{}, new String[]{});
-        addTask(startOfWeek, "Task 2", TaskType.TODO, new String[]{}, new String[]{});
-        addTask(startOfWeek.plusDays(1), "Task 3", TaskType.TODO, new String[]{}, new String[]{});
-        addTask(startOfWeek.plusDays(1), "Task 4", TaskType.TODO, new String[]{}, new String[]{});
+        taskManager.addTask(startOfWeek, "Task 1", TaskType.TODO, new String[]{}, new String[]{});
+        taskManager.addTask(startOfWeek, "Task 2", TaskType.TODO, new String[]{}, new String[]{});
+        taskManager.addTask(startOfWeek.plusDays(1), "Task 3", TaskType.TODO, new String[]{}, new String[]{});
+        taskManager.addTask(startOfWeek.plusDays(1), "Task 4", TaskType.TODO, new String[]{}, new String[]{});
 
         ByteArrayOutputStream outContent = new ByteArrayOutputStream();
         System.setOut(new PrintStream(outContent));
@@ -179,6 +177,6 @@ public class UiRendererTest {
                 "---------------+---------------+---------------+" + lineSeparator;
         assertEquals(expectedOutput, outContent.toString());
 
-        deleteAllTasksOnDate(taskManager, LocalDate.now().plusDays(1));
+        taskManager.deleteAllTasksOnDate(LocalDate.now().plusDays(1));
     }
 }
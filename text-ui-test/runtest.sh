@@ -11,6 +11,18 @@ if [ -e "save/clintonData.txt" ]
 then 
     rm save/clintonData.txt
 fi
+if [ -e "save/clintonData.bin" ]
+then
+    rm save/clintonData.bin
+fi
+if [ -e "save/clintonJournal.txt" ]
+then
+    rm save/clintonJournal.txt
+fi
+if [ -e "save/months" ]
+then
+    rm -r save/months
+fi
 
 ./gradlew clean shadowJar
 